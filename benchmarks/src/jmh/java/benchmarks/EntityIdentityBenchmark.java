@@ -0,0 +1,186 @@
+package benchmarks;
+
+import commons.Board;
+import commons.Card;
+import commons.Tag;
+import commons.TaskList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the id based equals and hashCode of the commons entities with the reflection based
+ * ones they replaced. The cards belong to a board with several lists and carry a few tags each,
+ * like the cards of a board loaded by the client.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EntityIdentityBenchmark {
+    private static final int LISTS = 8;
+    private static final int TAGS = 10;
+    private static final int TAGS_PER_CARD = 3;
+
+    @Param({"40"})
+    public int cardsPerList;
+
+    private List<Card> cards;
+    private List<Card> cardCopies;
+    private List<ReflectionEntities.Card> reflectionCards;
+    private List<ReflectionEntities.Card> reflectionCardCopies;
+
+    /**
+     * Builds two copies of the same board for both implementations, the second copy stands
+     * for the cards received again from the server
+     */
+    @Setup
+    public void setup() {
+        cards = entityGraph();
+        cardCopies = entityGraph();
+        reflectionCards = reflectionGraph();
+        reflectionCardCopies = reflectionGraph();
+    }
+
+    /**
+     * @return the sum of the hashCodes of all cards
+     */
+    @Benchmark
+    public int hashCodeEntity() {
+        int sum = 0;
+        for (Card card : cards) {
+            sum += card.hashCode();
+        }
+        return sum;
+    }
+
+    /**
+     * @return the sum of the hashCodes of all cards
+     */
+    @Benchmark
+    public int hashCodeReflection() {
+        int sum = 0;
+        for (ReflectionEntities.Card card : reflectionCards) {
+            sum += card.hashCode();
+        }
+        return sum;
+    }
+
+    /**
+     * @return a set containing all cards
+     */
+    @Benchmark
+    public Set<Card> hashSetEntity() {
+        return new HashSet<>(cards);
+    }
+
+    /**
+     * @return a set containing all cards
+     */
+    @Benchmark
+    public Set<ReflectionEntities.Card> hashSetReflection() {
+        return new HashSet<>(reflectionCards);
+    }
+
+    /**
+     * @return the number of cards equal to their copy
+     */
+    @Benchmark
+    public int equalsEntity() {
+        int equal = 0;
+        for (int i = 0; i < cards.size(); i++) {
+            equal += cards.get(i).equals(cardCopies.get(i)) ? 1 : 0;
+        }
+        return equal;
+    }
+
+    /**
+     * @return the number of cards equal to their copy
+     */
+    @Benchmark
+    public int equalsReflection() {
+        int equal = 0;
+        for (int i = 0; i < reflectionCards.size(); i++) {
+            equal += reflectionCards.get(i).equals(reflectionCardCopies.get(i)) ? 1 : 0;
+        }
+        return equal;
+    }
+
+    private List<Card> entityGraph() {
+        Board board = new Board("Benchmark board");
+        board.id = 1L;
+        List<Tag> tags = new ArrayList<>();
+        for (long t = 0; t < TAGS; t++) {
+            Tag tag = new Tag("Tag " + t, "#00FF00");
+            tag.id = t + 1;
+            tag.board = board;
+            tags.add(tag);
+        }
+        List<Card> res = new ArrayList<>();
+        for (int l = 0; l < LISTS; l++) {
+            TaskList list = new TaskList("List " + l, board);
+            list.id = l + 1L;
+            list.index = l;
+            for (int c = 0; c < cardsPerList; c++) {
+                Card card = new Card("Card " + c, "A description of the task", list);
+                card.id = (long) res.size() + 1;
+                card.index = c;
+                card.rank = Integer.toString(c + 1, Character.MAX_RADIX);
+                for (int t = 0; t < TAGS_PER_CARD; t++) {
+                    card.tags.add(tags.get((c + t) % TAGS));
+                }
+                res.add(card);
+            }
+        }
+        return res;
+    }
+
+    private List<ReflectionEntities.Card> reflectionGraph() {
+        ReflectionEntities.Board board = new ReflectionEntities.Board();
+        board.id = 1L;
+        board.name = "Benchmark board";
+        List<ReflectionEntities.Tag> tags = new ArrayList<>();
+        for (long t = 0; t < TAGS; t++) {
+            ReflectionEntities.Tag tag = new ReflectionEntities.Tag();
+            tag.id = t + 1;
+            tag.name = "Tag " + t;
+            tag.color = "#00FF00";
+            tag.board = board;
+            tags.add(tag);
+        }
+        List<ReflectionEntities.Card> res = new ArrayList<>();
+        for (int l = 0; l < LISTS; l++) {
+            ReflectionEntities.TaskList list = new ReflectionEntities.TaskList();
+            list.id = l + 1L;
+            list.name = "List " + l;
+            list.index = l;
+            list.board = board;
+            for (int c = 0; c < cardsPerList; c++) {
+                ReflectionEntities.Card card = new ReflectionEntities.Card();
+                card.id = (long) res.size() + 1;
+                card.title = "Card " + c;
+                card.description = "A description of the task";
+                card.index = c;
+                card.rank = Integer.toString(c + 1, Character.MAX_RADIX);
+                card.doneSubtasks = 0;
+                card.totalSubtasks = -1;
+                card.taskList = list;
+                for (int t = 0; t < TAGS_PER_CARD; t++) {
+                    card.tags.add(tags.get((c + t) % TAGS));
+                }
+                res.add(card);
+            }
+        }
+        return res;
+    }
+}
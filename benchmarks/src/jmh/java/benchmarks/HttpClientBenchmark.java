@@ -0,0 +1,98 @@
+package benchmarks;
+
+import commons.Card;
+import jakarta.ws.rs.client.Client;
+import jakarta.ws.rs.client.ClientBuilder;
+import jakarta.ws.rs.client.WebTarget;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.glassfish.jersey.apache.connector.ApacheClientProperties;
+import org.glassfish.jersey.apache.connector.ApacheConnectorProvider;
+import org.glassfish.jersey.client.ClientConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import static jakarta.ws.rs.core.MediaType.APPLICATION_JSON;
+
+/**
+ * Compares the latency of the requests of the client when every request builds its own client,
+ * which opens a new connection, with a shared client keeping its connections alive in a pool.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class HttpClientBenchmark {
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    private String server;
+    private Client pooled;
+
+    /**
+     * Builds the shared client the same way as the ServerUtils of the client
+     * @param state the running server
+     */
+    @Setup(Level.Trial)
+    public void setup(ServerState state) {
+        server = "http://localhost:"
+            + state.context.getEnvironment().getProperty("local.server.port") + "/";
+        var pool = new PoolingHttpClientConnectionManager();
+        pool.setMaxTotal(20);
+        pool.setDefaultMaxPerRoute(20);
+        pooled = ClientBuilder.newClient(new ClientConfig()
+            .connectorProvider(new ApacheConnectorProvider())
+            .property(ApacheClientProperties.CONNECTION_MANAGER, pool));
+    }
+
+    /**
+     * Closes the shared client
+     */
+    @TearDown(Level.Trial)
+    public void teardown() {
+        pooled.close();
+    }
+
+    /**
+     * The client before, a new client and connection for every request
+     * @param state the running server
+     * @return the body of the card
+     */
+    @Benchmark
+    public String clientPerRequest(ServerState state) {
+        Client client = ClientBuilder.newClient(new ClientConfig());
+        try {
+            return getCard(client.target(server), state);
+        } finally {
+            client.close();
+        }
+    }
+
+    /**
+     * The client after, one client reusing the connections of its pool
+     * @param state the running server
+     * @return the body of the card
+     */
+    @Benchmark
+    public String sharedPooledClient(ServerState state) {
+        return getCard(pooled.target(server), state);
+    }
+
+    private String getCard(WebTarget target, ServerState state) {
+        Card card;
+        synchronized (random) {
+            card = state.cards.get(random.nextInt(state.cards.size()));
+        }
+        return target.path("api/cards/" + card.id)
+            .request(APPLICATION_JSON)
+            .accept(APPLICATION_JSON)
+            .get(String.class);
+    }
+}
@@ -0,0 +1,163 @@
+package benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import commons.Board;
+import commons.Card;
+import commons.CardDto;
+import commons.Subtask;
+import commons.SubtaskDto;
+import commons.Tag;
+import commons.TaskList;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the JSON sent for cards and subtasks as entities, which carry their list together
+ * with the board, with their wire forms referencing the parents by id. Next to the time of the
+ * serialization, the bytes counter reports the size of one payload.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PayloadSizeBenchmark {
+    private static final int LISTS = 8;
+    private static final int TAGS = 10;
+    private static final int TAGS_PER_CARD = 3;
+
+    @Param({"40"})
+    public int cardsPerList;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private List<Card> cards;
+    private Card card;
+    private Subtask subtask;
+
+    /**
+     * The size of the last serialized payload
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Size {
+        public long bytes;
+    }
+
+    /**
+     * Builds a board with several lists whose cards carry a few tags each, like the cards of
+     * a board loaded by the client
+     */
+    @Setup
+    public void setup() {
+        Board board = new Board("Benchmark board", "a password");
+        board.id = 1L;
+        board.color = "#FFFFFF";
+        List<Tag> tags = new ArrayList<>();
+        for (long t = 0; t < TAGS; t++) {
+            Tag tag = new Tag("Tag " + t, "#00FF00");
+            tag.id = t + 1;
+            tag.board = board;
+            tags.add(tag);
+        }
+        cards = new ArrayList<>();
+        for (int l = 0; l < LISTS; l++) {
+            TaskList list = new TaskList("List " + l, board);
+            list.id = l + 1L;
+            list.index = l;
+            for (int c = 0; c < cardsPerList; c++) {
+                Card card = new Card("Card " + c, "A description of the task", list);
+                card.id = (long) cards.size() + 1;
+                card.index = c;
+                card.rank = Integer.toString(c + 1, Character.MAX_RADIX);
+                for (int t = 0; t < TAGS_PER_CARD; t++) {
+                    card.tags.add(tags.get((c + t) % TAGS));
+                }
+                cards.add(card);
+            }
+        }
+        card = cards.get(0);
+        Card parent = new Card("Card with subtasks", "A description of the task", card.taskList);
+        parent.id = cards.size() + 1L;
+        parent.index = cardsPerList;
+        parent.tags = null; // the tags of the card were left out of the subtask events
+        subtask = new Subtask("Subtask", parent);
+        subtask.id = 1L;
+        subtask.index = 0;
+    }
+
+    /**
+     * @param size the size of the payload
+     * @return the card of an event as entity
+     * @throws JsonProcessingException never
+     */
+    @Benchmark
+    public byte[] cardEntity(Size size) throws JsonProcessingException {
+        return write(card, size);
+    }
+
+    /**
+     * @param size the size of the payload
+     * @return the card of an event in its wire form
+     * @throws JsonProcessingException never
+     */
+    @Benchmark
+    public byte[] cardDto(Size size) throws JsonProcessingException {
+        return write(CardDto.of(card), size);
+    }
+
+    /**
+     * @param size the size of the payload
+     * @return the cards of a snapshot as entities
+     * @throws JsonProcessingException never
+     */
+    @Benchmark
+    public byte[] boardCardsEntity(Size size) throws JsonProcessingException {
+        return write(cards, size);
+    }
+
+    /**
+     * @param size the size of the payload
+     * @return the cards of a snapshot in their wire form
+     * @throws JsonProcessingException never
+     */
+    @Benchmark
+    public byte[] boardCardsDto(Size size) throws JsonProcessingException {
+        return write(CardDto.of(cards), size);
+    }
+
+    /**
+     * @param size the size of the payload
+     * @return the subtask of an event as entity
+     * @throws JsonProcessingException never
+     */
+    @Benchmark
+    public byte[] subtaskEntity(Size size) throws JsonProcessingException {
+        return write(subtask, size);
+    }
+
+    /**
+     * @param size the size of the payload
+     * @return the subtask of an event in its wire form
+     * @throws JsonProcessingException never
+     */
+    @Benchmark
+    public byte[] subtaskDto(Size size) throws JsonProcessingException {
+        return write(SubtaskDto.of(subtask), size);
+    }
+
+    private byte[] write(Object payload, Size size) throws JsonProcessingException {
+        byte[] json = mapper.writeValueAsBytes(payload);
+        size.bytes = json.length;
+        return json;
+    }
+}
@@ -0,0 +1,88 @@
+package benchmarks;
+
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Copies of the commons entities which keep the reflection based equals and hashCode they
+ * had before, used as the baseline of the identity benchmarks
+ */
+public final class ReflectionEntities {
+    private ReflectionEntities() {
+    }
+
+    /**
+     * Board with reflection based identity
+     */
+    public static class Board extends Reflective {
+        public Long id;
+        public String name;
+        public String password;
+        public String color;
+    }
+
+    /**
+     * Task list with reflection based identity
+     */
+    public static class TaskList extends Reflective {
+        public Long id;
+        public String name;
+        public String color;
+        public Integer index;
+        public Board board;
+    }
+
+    /**
+     * Tag with reflection based identity
+     */
+    public static class Tag extends Reflective {
+        public Long id;
+        public String name;
+        public String color;
+        public Board board;
+    }
+
+    /**
+     * Card with reflection based identity
+     */
+    public static class Card extends Reflective {
+        public Long id;
+        public String title;
+        public String description;
+        public String color;
+        public String createdBy;
+        public Integer index;
+        public String rank;
+        public Integer doneSubtasks;
+        public Integer totalSubtasks;
+        public TaskList taskList;
+        public Set<Tag> tags = new HashSet<>();
+    }
+
+    /**
+     * The equals and hashCode the entities used to have
+     */
+    public abstract static class Reflective {
+        /**
+         * Checks if the 2 objects are equal
+         * @param obj - another object compared to
+         * @return - true if the 2 objects are equal
+         */
+        @Override
+        public boolean equals(Object obj) {
+            return EqualsBuilder.reflectionEquals(this, obj);
+        }
+
+        /**
+         * Generates the hashCode of this object
+         * @return the hashCode
+         */
+        @Override
+        public int hashCode() {
+            return HashCodeBuilder.reflectionHashCode(this);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package benchmarks;
+
+import commons.Board;
+import commons.Card;
+import commons.Rank;
+import commons.Status;
+import commons.Subtask;
+import commons.Tag;
+import commons.TaskList;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import server.Main;
+import server.database.BoardRepository;
+import server.database.CardRepository;
+import server.database.ListRepository;
+import server.database.SubtaskRepository;
+import server.database.TagRepository;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Boots the server against an in-memory H2 database and seeds it with boards of a configurable
+ * size. The benchmarks get the services and controllers from the application context.
+ */
+@State(Scope.Benchmark)
+public class ServerState {
+    @Param({"1"})
+    public int boards;
+
+    @Param({"8"})
+    public int listsPerBoard;
+
+    @Param({"50"})
+    public int cardsPerList;
+
+    @Param({"10"})
+    public int subtasksPerCard;
+
+    @Param({"10"})
+    public int tagsPerBoard;
+
+    @Param({"3"})
+    public int tagsPerCard;
+
+    public ConfigurableApplicationContext context;
+
+    /**
+     * Seeded lists, in the order of their boards
+     */
+    public final List<TaskList> lists = new ArrayList<>();
+
+    /**
+     * Seeded cards, in the order of their lists
+     */
+    public final List<Card> cards = new ArrayList<>();
+
+    /**
+     * Seeded tags, in the order of their boards
+     */
+    public final List<Tag> tags = new ArrayList<>();
+
+    /**
+     * Seeded subtasks, in the order of their cards
+     */
+    public final List<Subtask> subtasks = new ArrayList<>();
+
+    /**
+     * Starts the server and seeds the database
+     */
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(Main.class)
+            .properties("server.port=0",
+                "spring.datasource.url=jdbc:h2:mem:benchmarks;DB_CLOSE_DELAY=-1",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.h2.console.enabled=false",
+                "spring.main.banner-mode=off",
+                "logging.level.root=WARN")
+            .run();
+        for (int b = 0; b < boards; b++) {
+            seedBoard(b);
+        }
+    }
+
+    /**
+     * Stops the server, which drops the database
+     */
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    /**
+     * @param type the type of the bean
+     * @param <T> the type of the bean
+     * @return the bean of the application context with the given type
+     */
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    /**
+     * @param list a seeded list
+     * @return the lists of the board containing that list
+     */
+    public List<TaskList> listsOfBoard(TaskList list) {
+        int board = lists.indexOf(list) / listsPerBoard;
+        return lists.subList(board * listsPerBoard, (board + 1) * listsPerBoard);
+    }
+
+    private void seedBoard(int b) {
+        Board board = bean(BoardRepository.class).save(new Board("Board " + b));
+        List<Tag> boardTags = new ArrayList<>();
+        for (int t = 0; t < tagsPerBoard; t++) {
+            Tag tag = new Tag("Tag " + t, "#00FF00");
+            tag.board = board;
+            tag.status = Status.ACTIVE;
+            boardTags.add(tag);
+        }
+        boardTags = bean(TagRepository.class).saveAll(boardTags);
+        tags.addAll(boardTags);
+
+        for (int l = 0; l < listsPerBoard; l++) {
+            TaskList list = new TaskList("List " + l, board);
+            list.index = l;
+            list = bean(ListRepository.class).save(list);
+            lists.add(list);
+            seedCards(list, boardTags);
+        }
+    }
+
+    private void seedCards(TaskList list, List<Tag> boardTags) {
+        List<String> ranks = Rank.spread(cardsPerList);
+        List<Card> listCards = new ArrayList<>();
+        for (int c = 0; c < cardsPerList; c++) {
+            Card card = new Card("Card " + c, "A description of the task", list);
+            card.index = c;
+            card.rank = ranks.get(c);
+            card.totalSubtasks = subtasksPerCard;
+            card.tags = new HashSet<>();
+            for (int t = 0; t < Math.min(tagsPerCard, boardTags.size()); t++) {
+                card.tags.add(boardTags.get((c + t) % boardTags.size()));
+            }
+            listCards.add(card);
+        }
+        listCards = bean(CardRepository.class).saveAll(listCards);
+        cards.addAll(listCards);
+
+        List<Subtask> subtasks = new ArrayList<>();
+        for (Card card : listCards) {
+            for (int s = 0; s < subtasksPerCard; s++) {
+                Subtask subtask = new Subtask("Subtask " + s, card);
+                subtask.index = s;
+                subtask.status = Status.PLANNED;
+                subtasks.add(subtask);
+            }
+        }
+        this.subtasks.addAll(bean(SubtaskRepository.class).saveAll(subtasks));
+    }
+}
@@ -0,0 +1,148 @@
+package benchmarks;
+
+import commons.Card;
+import commons.Status;
+import commons.Subtask;
+import commons.Tag;
+import commons.TaskList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.ResponseEntity;
+import server.api.TagController;
+import server.service.CardService;
+import server.service.ListService;
+import server.service.SubtaskService;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Benchmarks of the operations the clients of a board send the most. Every benchmark is
+ * measured both as throughput and as sampled latency, which reports the percentiles.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ServiceBenchmark {
+    private final AtomicLong renames = new AtomicLong();
+
+    private CardService cardService;
+    private ListService listService;
+    private SubtaskService subtaskService;
+    private TagController tagController;
+
+    /**
+     * Random choices of a benchmark thread
+     */
+    @State(Scope.Thread)
+    public static class Picker {
+        private final SplittableRandom random = new SplittableRandom(42);
+
+        /**
+         * @param bound the upper bound
+         * @return a random number between 0 inclusive and bound exclusive
+         */
+        public int below(int bound) {
+            return random.nextInt(bound);
+        }
+
+        /**
+         * @param items the items to choose from
+         * @param <T> the type of the items
+         * @return a random item of the list
+         */
+        public <T> T any(List<T> items) {
+            return items.get(random.nextInt(items.size()));
+        }
+    }
+
+    /**
+     * Gets the services from the started server
+     * @param server the started server
+     */
+    @Setup(Level.Trial)
+    public void setup(ServerState server) {
+        cardService = server.bean(CardService.class);
+        listService = server.bean(ListService.class);
+        subtaskService = server.bean(SubtaskService.class);
+        tagController = server.bean(TagController.class);
+    }
+
+    /**
+     * Moves a card to a random position of a random list of its board
+     * @param server the started server
+     * @param pick random choices of the thread
+     * @return the applied change
+     */
+    @Benchmark
+    public Card moveCard(ServerState server, Picker pick) {
+        Card card = pick.any(server.cards);
+        Card info = new Card();
+        info.id = card.id;
+        info.taskList = pick.any(server.listsOfBoard(card.taskList));
+        info.index = pick.below(server.cardsPerList);
+        info.status = Status.ACTIVE;
+        return cardService.assignCardToList(info);
+    }
+
+    /**
+     * Moves a list to a random position of its board
+     * @param server the started server
+     * @param pick random choices of the thread
+     * @return the moved list
+     */
+    @Benchmark
+    public TaskList moveList(ServerState server, Picker pick) {
+        TaskList info = new TaskList();
+        info.id = pick.any(server.lists).id;
+        info.index = pick.below(server.listsPerBoard);
+        return listService.editList(info);
+    }
+
+    /**
+     * Moves a subtask to a random position of its card
+     * @param server the started server
+     * @param pick random choices of the thread
+     * @return the moved subtask
+     */
+    @Benchmark
+    public Subtask reorderSubtask(ServerState server, Picker pick) {
+        Subtask subtask = pick.any(server.subtasks);
+        Subtask info = new Subtask();
+        info.id = subtask.id;
+        info.index = pick.below(server.subtasksPerCard);
+        return subtaskService.relocateSubtask(info, subtask.card.id);
+    }
+
+    /**
+     * Adds a card at the end of a random list, the lists keep growing during the measurement
+     * @param server the started server
+     * @param pick random choices of the thread
+     * @return the added card
+     */
+    @Benchmark
+    public Card addCard(ServerState server, Picker pick) {
+        return cardService.addNewCard(new Card("New card", "", pick.any(server.lists)));
+    }
+
+    /**
+     * Renames a tag, which is sent to every card having that tag
+     * @param server the started server
+     * @param pick random choices of the thread
+     * @return the response of the controller
+     */
+    @Benchmark
+    public ResponseEntity<Tag> renameTag(ServerState server, Picker pick) {
+        Tag tag = pick.any(server.tags);
+        Tag info = new Tag("Tag " + tag.id + "." + renames.incrementAndGet(), tag.color);
+        return tagController.updateTag(tag.id, info);
+    }
+}
@@ -4,6 +4,7 @@ import client.scenes.BoardCtrl;
 import client.scenes.EditCardCtrl;
 import client.services.CardService;
 import commons.Card;
+import commons.Status;
 import commons.Tag;
 import javafx.collections.ObservableList;
 import javafx.event.EventHandler;
@@ -29,6 +30,7 @@ import javafx.stage.StageStyle;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
 
 public class Task {
     private Card card;
@@ -366,15 +368,14 @@ public class Task {
         tagsInd.setPadding(new Insets(5, 15, 0, 15));
         tagsInd.setPrefHeight(10);
 
-        for (Tag t : cardService.getTagsByCard(card.id)) {
+        for (Tag t : getTags()) {
             if (tagsInd.getChildren().size() == 6) break;
             Rectangle visualTag = new Rectangle(32, 5);
             visualTag.setFill(Paint.valueOf(t.color));
             tagsInd.getChildren().add(visualTag);
         }
 
-        if (card.description != null && !card.description.isBlank()) descrInd
-            .setText("  \u2261   ");
+        if (hasDescription()) descrInd.setText("  \u2261   ");
         descrInd.setFont(Font.font("Arial", 14));
         descrInd.setTextFill(Paint.valueOf("787878"));
 
@@ -384,6 +385,19 @@ public class Task {
         progrInd.setTextFill(Paint.valueOf("787878"));
     }
 
+    /**
+     * Returns the not deleted tags of the card. Cards received from the server carry their
+     * tags, a card without any, e.g. a new one, has none to display.
+     * @return the tags to be displayed on the task
+     */
+    private List<Tag> getTags() {
+        if (card.tags == null) {
+            return List.of();
+        }
+        return card.tags.stream().filter(t -> t.status != Status.DELETED)
+            .collect(Collectors.toList());
+    }
+
     /**
      * deletes an existing task from the list
      */
@@ -459,6 +473,14 @@ public class Task {
         return card.title;
     }
 
+    /**
+     * @return whether the card has a description, the cards of the board only carry a flag
+     */
+    private boolean hasDescription() {
+        if (card.description != null) return !card.description.isBlank();
+        return Boolean.TRUE.equals(card.hasDescription);
+    }
+
     /**
      * @return Description of the Task
      */
@@ -501,8 +523,19 @@ public class Task {
      * @param card the updated card
      */
     public void applyVisualChanges(Card card) {
+        if (card.tags == null) card.tags = this.card.tags; // the change did not carry the tags
         this.card = card;
         getRootInstance(false);
     }
+
+    /**
+     * Shows a tag of the board which got edited or deleted, if the card has it
+     * @param tag the tag after the change
+     */
+    public void applyTagChange(Tag tag) {
+        if (card.tags == null || !card.tags.removeIf(t -> t.id.equals(tag.id))) return;
+        if (tag.status != Status.DELETED) card.tags.add(tag);
+        getRootInstance(false);
+    }
 }
 
@@ -109,7 +109,15 @@ public class BoardSettingsCtrl implements Initializable {
         privateButtonImg.setImage(privateImage);
 
         // Load data
-        this.board = boardService.getBoardFromServer(boardId);
+        boardService.getBoardFromServer(boardId).thenAccept(this::showBoard);
+    }
+
+    /**
+     * Fills in the settings of the board once it was retrieved from the server
+     * @param board the board
+     */
+    private void showBoard(Board board) {
+        this.board = board;
         boardName.setText(board.name);
 
         if(board.password == null){
@@ -152,15 +160,6 @@ public class BoardSettingsCtrl implements Initializable {
     public void save() {
         boardService.changeBoardName(boardId, boardName.getText());
 
-        // Small pause in between request, to avoid concurrent modification
-        // On the server (Hotfix)
-        try {
-            Thread.sleep(100);
-        }
-        catch (InterruptedException ex) {
-            ex.printStackTrace();
-        }
-
         if (passwordField.isVisible()) {
             if (passwordField.getText().length() < 1) {
                 boardService.changeBoardPassword(boardId, null);
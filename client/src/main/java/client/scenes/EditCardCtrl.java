@@ -3,6 +3,7 @@ package client.scenes;
 import client.NestedTask;
 import client.Task;
 import client.services.CardService;
+import client.services.ModelCache;
 import client.utils.ServerUtils;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
@@ -39,6 +40,7 @@ import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.ResourceBundle;
+import java.util.concurrent.CompletableFuture;
 
 @Singleton
 public class EditCardCtrl implements Initializable {
@@ -46,6 +48,7 @@ public class EditCardCtrl implements Initializable {
     private Task taskCtrl;
     private Stage stage;
     private ServerUtils server;
+    private ModelCache cache;
     private CardService cardService;
 
     @FXML
@@ -82,10 +85,12 @@ public class EditCardCtrl implements Initializable {
     /**
      * Constructor for the EditCard Controller
      * @param server the instance of the ServerUtils
+     * @param cache the instance of the ModelCache
      */
     @Inject
-    public EditCardCtrl(ServerUtils server) {
+    public EditCardCtrl(ServerUtils server, ModelCache cache) {
         this.server = server;
+        this.cache = cache;
     }
 
     /**
@@ -223,26 +228,41 @@ public class EditCardCtrl implements Initializable {
     public void loadEditingCardAndStage(Task task, Stage stage) {
         this.stage = stage;
         this.taskCtrl = task;
-        currentCard = server.getCardById(task.getId());
+        // the cards of the board leave the description out, it is only retrieved when opened
+        var card = server.getCardByIdAsync(task.getId());
+        cardService.watchDescription(task.getId());
+        var subtasks = server.getSubtasksByCardIdAsync(task.getId());
+        var assignedTags = server.getAssignedTagsByCardIDAsync(task.getId());
+        CompletableFuture.allOf(card, subtasks, assignedTags)
+            .thenRun(() -> showCard(card.join(), subtasks.join(), assignedTags.join()));
+    }
+
+    /**
+     * Populates the UI fields once the card, its subtasks and its tags were retrieved
+     * @param card the card
+     * @param subtasks the subtasks of the card
+     * @param assignedTags the tags assigned to the card
+     */
+    private void showCard(Card card, List<Subtask> subtasks, List<Tag> assignedTags) {
+        currentCard = card;
+        cache.putSubtasks(subtasks);
         cardTitle.setText(currentCard.title);
         cardDescription.setText(currentCard.description);
         createdByLabel.setText(currentCard.createdBy);
 
         nestedTasksHolder.getChildren().clear();
         nestedTasks = new ArrayList<>();
-        Card card = server.getCardById(task.getId());
         if (card.totalSubtasks != -1) {
             nestedTasksLabel.setText("Add a new subtask");
             progressBar.setVisible(true);
             setProgress(card.doneSubtasks, card.totalSubtasks);
         } else progressBar.setVisible(false);
-        for (Subtask st : server.getSubtasksByCardId(currentCard.id)) {
+        for (Subtask st : subtasks) {
             addNestedTaskOnPosition(st, -1);
         }
         textFieldShown = disableEscape = false;
 
         flowPane.getChildren().remove(0, flowPane.getChildren().size() - 1);
-        List<Tag> assignedTags = server.getAssignedTagsByCardID(getCurrentId());
         for (Tag tag : assignedTags) {
             flowPane.getChildren().add(0, createTagVisualForCardEdit(tag, true));
         }
@@ -446,12 +466,20 @@ public class EditCardCtrl implements Initializable {
         editTagsStage.setHeight(300);
         editTagsStage.setResizable(false);
 
+        server.getAssignedTagsByCardIDAsync(getCurrentId())
+            .thenAcceptBoth(server.getAvailableTagsByCardIDAsync(getCurrentId()), this::showTags);
+    }
+
+    /**
+     * Displays the tags of the card and of the board once they were retrieved
+     * @param assignedTags the tags assigned to the card
+     * @param availableTags the tags of the board which are not assigned to the card
+     */
+    private void showTags(List<Tag> assignedTags, List<Tag> availableTags) {
         assignedTagsHolder = new VBox();
         assignedTagsHolder.setSpacing(5);
         availableTagsHolder = new VBox();
         availableTagsHolder.setSpacing(5);
-        List<Tag> assignedTags = server.getAssignedTagsByCardID(getCurrentId());
-        List<Tag> availableTags = server.getAvailableTagsByCardID(getCurrentId());
 
         Label assignedTagsLabel = new Label("Tags in card");
         assignedTagsLabel.setFont(Font.font("Arial", 15));
@@ -539,16 +567,17 @@ public class EditCardCtrl implements Initializable {
      * Closes the edit card view
      */
     public void closeEditCardView() {
+        cardService.unwatchDescription();
         taskCtrl.closeEditCardStage();
         stage = null;
     }
 
     /**
      * Update card title and description
-     * @param card the card to update with
+     * @param card the card to update with, the description is kept if it does not carry one
      */
     public void updateBasics(Card card) {
         cardTitle.setText(card.title);
-        cardDescription.setText(card.description);
+        if (card.description != null) cardDescription.setText(card.description);
     }
 }
\ No newline at end of file
@@ -26,7 +26,6 @@ import javafx.stage.Stage;
 import javafx.stage.StageStyle;
 
 import java.net.URL;
-import java.util.List;
 import java.util.ResourceBundle;
 
 public class EditTagsCtrl implements Initializable {
@@ -91,11 +90,12 @@ public class EditTagsCtrl implements Initializable {
      */
     @Override
     public void initialize(URL location, ResourceBundle resources) {
-        List<Tag> tags = server.getNotDeletedTagsByBoardId(getBoardID());
-        for (Tag tag : tags)
-        {
-            tagHolder.getChildren().add(0, createTagVisual(tag));
-        }
+        server.getNotDeletedTagsByBoardIdAsync(getBoardID()).thenAccept(tags -> {
+            for (Tag tag : tags)
+            {
+                tagHolder.getChildren().add(0, createTagVisual(tag));
+            }
+        });
         stackpaneaddtag.setOnMouseClicked(event -> {
             if (event.getClickCount()==2)
             {
@@ -144,9 +144,10 @@ public class EditTagsCtrl implements Initializable {
             if(!textField.getText().isEmpty()) {
                 Tag tag = new Tag(textField.getText(), String.valueOf(cp.getValue()));
                 tag.status = Status.ACTIVE;
-                tag.board = server.getBoard(getBoardID());
-                Tag newtag =server.createTag(tag);
-                tagHolder.getChildren().add(0, createTagVisual(newtag));
+                server.getBoardAsync(getBoardID()).thenCompose(board -> {
+                    tag.board = board;
+                    return server.createTagAsync(tag);
+                }).thenAccept(newtag -> tagHolder.getChildren().add(0, createTagVisual(newtag)));
                 editOrCreateTagStage.close();
             }
             else {
@@ -247,7 +248,7 @@ public class EditTagsCtrl implements Initializable {
                 deleteTag.setStyle("-fx-background-color:transparent;"
                         + " -fx-border-color: transparent; -fx-text-fill: White;"));
         deleteTag.setOnAction(event -> {
-            server.deleteTagById(tag.id);
+            server.deleteTagByIdAsync(tag.id);
             tagHolder.getChildren().remove(tagVisual);
 
         });
@@ -304,7 +305,7 @@ public class EditTagsCtrl implements Initializable {
         saveButton.setStyle("-fx-background-color:#308FFF ; -fx-text-fill: #ffffff;");
         saveButton.setOnAction(event -> {
             if (!textField.getText().isEmpty()) {
-                server.updateTag(tag.id, textField.getText(), cp.getValue().toString());
+                server.updateTagAsync(tag.id, textField.getText(), cp.getValue().toString());
                 StackPane newstackpane = (StackPane) tagHolder.getChildren().get(index);
                 Label newlabel = (Label) newstackpane.lookup("#label");
                 newlabel.setText(textField.getText());
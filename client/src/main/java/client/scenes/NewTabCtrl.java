@@ -139,12 +139,23 @@ public class NewTabCtrl implements Initializable {
                 " board in more than one tab.");
             return;
         }
-        if (boardService.getBoardFromServer(boardIdLong) == null) {
+        boardService.getBoardFromServer(boardIdLong)
+            .thenAccept(board -> joinBoard(boardIdLong, board));
+    }
+
+    /**
+     * Joins a board once it was retrieved from the server, asking for its password if it is
+     * not saved
+     * @param boardIdLong the id entered by the user
+     * @param board the board or null if it does not exist
+     */
+    private void joinBoard(long boardIdLong, Board board) {
+        if (board == null) {
             mainCtrl.createPopUp("Board does not exist!", "Board with id '" + boardIdLong +
                     "' does not exist on the server.");
             return;
         }
-        String curPassword = boardService.getPasswordFromBoard(boardIdLong);
+        String curPassword = board.password;
         if (curPassword != null) {
             if (curPassword.equals(rbu.getPasswordByBoardId(boardIdLong))) {
                 boardService.joinExistingBoard(boardIdLong, parent);
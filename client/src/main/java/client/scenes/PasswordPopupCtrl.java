@@ -90,8 +90,16 @@ public class PasswordPopupCtrl implements Initializable {
      */
     public void submit() {
         String passwordText = password.getText();
-        String boardPassword = boardService.getPasswordFromBoard(boardId);
+        boardService.getPasswordFromBoard(boardId)
+            .thenAccept(boardPassword -> checkPassword(passwordText, boardPassword));
+    }
 
+    /**
+     * Joins the board if the entered password matches the password of the board
+     * @param passwordText the entered password
+     * @param boardPassword the password of the board
+     */
+    private void checkPassword(String passwordText, String boardPassword) {
         if (passwordText.equals(boardPassword)) {
             // This means the password is changed, so we don't have to join
             // a board
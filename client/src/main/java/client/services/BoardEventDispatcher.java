@@ -0,0 +1,183 @@
+package client.services;
+
+import commons.BoardEvent;
+import commons.Card;
+import commons.Subtask;
+import commons.TaskList;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Routes the events of the single event topic of an open board to the lists and cards
+ * they are about. Events about lists or cards that are not displayed are dropped.
+ */
+public class BoardEventDispatcher {
+    private final Long boardId;
+    private final BoardService boardService;
+    private final ListService listService;
+    private final CardService cardService;
+
+    /**
+     * Creates the dispatcher of an open board
+     * @param boardId the id of the board
+     * @param boardService the instance of the BoardService
+     * @param listService the instance of the ListService
+     * @param cardService the instance of the CardService
+     */
+    public BoardEventDispatcher(Long boardId, BoardService boardService,
+                                ListService listService, CardService cardService) {
+        this.boardId = boardId;
+        this.boardService = boardService;
+        this.listService = listService;
+        this.cardService = cardService;
+    }
+
+    /**
+     * Returns the topic on which all events of a board are published
+     * @param boardId the id of the board
+     * @return the destination of the topic
+     */
+    public static String destination(Long boardId) {
+        return "/topic/board/" + boardId + "/events";
+    }
+
+    /**
+     * Applies an event, has to be called on the JavaFX application thread
+     * @param event the event received from the server
+     */
+    public void dispatch(BoardEvent event) {
+        switch (event.entity) {
+            case BOARD:
+                break; // the name is shown from the changeName topic, the cache takes the rest
+            case LIST:
+                dispatchList(event);
+                break;
+            case CARD:
+                if (event.operation == BoardEvent.Operation.BATCH) dispatchCardBatch(event);
+                else dispatchCard(event);
+                break;
+            case NESTED_TASK_LIST:
+                if (cardService.getTaskById(event.parentId) != null) {
+                    cardService.addNestedTaskList(event.parentId);
+                }
+                break;
+            case SUBTASK:
+                dispatchSubtask(event);
+                break;
+            default:
+                dispatchTag(event);
+        }
+    }
+
+    private void dispatchList(BoardEvent event) {
+        switch (event.operation) {
+            case ADD:
+                boardService.addList(boardId, event.list);
+                break;
+            case RELOCATE:
+                boardService.relocateList(boardId, event.list);
+                break;
+            case DELETE:
+                boardService.removeList(boardId, event.id);
+                break;
+            default:
+                if (listService.isDisplayed(event.id)) listService.editListTitle(event.list);
+        }
+    }
+
+    private void dispatchCard(BoardEvent event) {
+        if (event.operation == BoardEvent.Operation.ADD) {
+            addIfDisplayed(event.card.toCard());
+            return;
+        }
+        if (cardService.getTaskById(event.id) == null) return;
+        Card card = event.card.toCard();
+        switch (event.operation) {
+            case RELOCATE:
+                listService.relocateCard(card, event.parentId);
+                break;
+            case DELETE:
+                listService.removeCard(card);
+                break;
+            case RECOLOR:
+                cardService.editCardColorVisual(card);
+                break;
+            default:
+                cardService.applyCardEdit(card);
+        }
+    }
+
+    /**
+     * Applies the cards changed by a batch. The moved cards are taken out of their old lists
+     * first, so that inserting them in the order of their new positions gives the order of
+     * the server no matter how the moves depended on each other.
+     */
+    private void dispatchCardBatch(BoardEvent event) {
+        List<BoardEvent> placed = new ArrayList<>();
+        for (BoardEvent e : event.batch) {
+            boolean moved = e.operation == BoardEvent.Operation.RELOCATE
+                || e.operation == BoardEvent.Operation.DELETE;
+            if (moved && cardService.getTaskById(e.id) != null) {
+                listService.removeCard(shownIn(e.id, e.parentId));
+            }
+            if (e.operation == BoardEvent.Operation.RELOCATE
+                || e.operation == BoardEvent.Operation.ADD) {
+                placed.add(e);
+            } else if (!moved) {
+                dispatchCard(e);
+            }
+        }
+        placed.sort(Comparator.comparing(e -> e.card.index));
+        for (BoardEvent e : placed) {
+            addIfDisplayed(e.card.toCard());
+        }
+    }
+
+    private void addIfDisplayed(Card card) {
+        if (listService.isDisplayed(card.taskList.id)) listService.addCard(card);
+    }
+
+    private static Card shownIn(Long cardId, Long listId) {
+        Card shown = new Card();
+        shown.id = cardId;
+        shown.taskList = new TaskList();
+        shown.taskList.id = listId;
+        return shown;
+    }
+
+    private void dispatchSubtask(BoardEvent event) {
+        Subtask subtask = event.subtask.toSubtask();
+        switch (event.operation) {
+            case ADD:
+                cardService.addSubtask(subtask);
+                break;
+            case DELETE:
+                cardService.removeSubtask(subtask);
+                break;
+            case RELOCATE:
+                cardService.applySubtaskRelocate(subtask);
+                break;
+            default:
+                cardService.applySubtaskEdit(subtask);
+        }
+    }
+
+    private void dispatchTag(BoardEvent event) {
+        if (event.parentId == null) {
+            cardService.applyBoardTagChange(event.tag);
+            return;
+        }
+        switch (event.operation) {
+            case ASSIGN:
+                cardService.applyTagAdded(event.parentId, event.tag);
+                break;
+            case UNASSIGN:
+                cardService.applyTagRemoved(event.parentId, event.tag);
+                break;
+            default:
+                cardService.applyTagEdited(event.parentId, event.tag);
+        }
+    }
+}
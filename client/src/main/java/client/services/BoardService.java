@@ -7,6 +7,12 @@ import client.scenes.MainCtrl;
 import client.utils.RecentBoardsUtils;
 import client.utils.ServerUtils;
 import commons.Board;
+import commons.BoardChanges;
+import commons.BoardEvent;
+import commons.BoardSnapshot;
+import commons.Card;
+import commons.CardDto;
+import commons.ListRemovals;
 import commons.TaskList;
 import javafx.application.Platform;
 import javafx.scene.Parent;
@@ -15,9 +21,13 @@ import javafx.util.Pair;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 @Singleton
 public class BoardService {
@@ -28,6 +38,10 @@ public class BoardService {
     private FXMLLoader fxml;
     private Map<Long, BoardCtrl> boards;
     private CardService cardService;
+    private ModelCache cache;
+    private final Map<Long, BoardEventDispatcher> dispatchers = new HashMap<>();
+    private final Map<Long, Long> lastSeq = new HashMap<>();      // last applied event per board
+    private final Map<Long, Boolean> resyncing = new HashMap<>(); // true if it has to run again
 
     /**
      * Initializes board service
@@ -46,6 +60,7 @@ public class BoardService {
         this.listService = listService;
         this.cardService = cardService;
         this.listService.setBoardService(this);
+        this.cache = listService.getCache();
         this.rbu = rbu;
         this.fxml = fxml;
         this.boards = new HashMap<>();
@@ -77,6 +92,7 @@ public class BoardService {
     }
 
     private void displayBoard(Board board, Tab parent) {
+        cache.putBoard(board);
         Pair<BoardCtrl, Parent> newBoardScene = fxml.returnBoardScene();
         BoardCtrl boardCtrl = newBoardScene.getKey();
         boards.put(board.id, boardCtrl);
@@ -90,23 +106,22 @@ public class BoardService {
         boardCtrl.getAddListButton().setOnAction(event -> {
             createNewList(board.id);
         });
-        server.registerForMessages("/topic/" + board.id + "/lists/add", TaskList.class, q -> {
-            Platform.runLater(() -> {
-                addList(board.id, q);
+        dispatchers.put(board.id,
+            new BoardEventDispatcher(board.id, this, listService, cardService));
+        server.registerForMessages(BoardEventDispatcher.destination(board.id), BoardEvent.class,
+            q -> {
+                Platform.runLater(() -> {
+                    applyEvent(board.id, q);
+                });
             });
-        });
         server.registerForLongPolling("/api/lists/" + board.id + "/lists/remove", q -> {
             Platform.runLater(() -> {
-                removeList(board.id, ((TaskList)q).id);
-            });
-        });
-        server.registerForMessages("/topic/" + board.id + "/lists/relocate", TaskList.class, q -> {
-            Platform.runLater(() -> {
-                relocateList(board.id, q);
+                applyListRemovals(board.id, q);
             });
         });
         server.registerForMessages("/topic/" + board.id + "/changePassword", Board.class, q -> {
             Platform.runLater(() -> {
+                cache.putBoard(q);
                 if (q.password != null && !q.password.equals(board.password)) {
                     mainCtrl.showPasswordPopup(q.id, parent, true);
                 }
@@ -114,6 +129,7 @@ public class BoardService {
         });
         server.registerForMessages("/topic/" + board.id + "/changeName", Board.class, q -> {
             Platform.runLater(() -> {
+                cache.putBoard(q);
                 parent.setText(q.name);
             });
         });
@@ -125,8 +141,7 @@ public class BoardService {
      * @param parent the parent tab
      */
     public void createNewBoard(Board board, Tab parent) {
-        Board newBoard = server.createBoard(board);
-        displayBoard(newBoard, parent);
+        server.createBoardAsync(board).thenAccept(newBoard -> displayBoard(newBoard, parent));
     }
 
     /**
@@ -135,8 +150,7 @@ public class BoardService {
      * @param parent the parent tab
      */
     public void joinExistingBoard(Long id, Tab parent) {
-        Board board = server.getBoard(id);
-        displayBoard(board, parent);
+        server.getBoardAsync(id).thenAccept(board -> displayBoard(board, parent));
     }
 
     /**
@@ -149,19 +163,109 @@ public class BoardService {
     }
 
     /**
-     * Retrieves all lists inside a board and displays them
+     * Retrieves all lists inside a board together with their cards and displays them.
+     * The whole board is loaded with a single request to the server.
      * @param boardId the id of the board
      */
     public void retrieveLists(Long boardId) {
-        List<TaskList> serverLists = server.getNotDeletedListsByBoard(boardId);
+        server.getBoardSnapshotAsync(boardId).thenAccept(snapshot -> showLists(boardId, snapshot));
+    }
+
+    private void showLists(Long boardId, BoardSnapshot snapshot) {
         BoardCtrl parentBoard = getBoardById(boardId);
+        if (parentBoard == null) return; // closed before the snapshot arrived
+        Long seen = lastSeq.put(boardId, snapshot.seq);
+        if (seen != null && seen > snapshot.seq) {
+            resync(boardId); // events newer than the snapshot arrived before its lists were shown
+        }
+        cache.putSnapshot(snapshot);
+        Map<Long, List<Card>> cardsByList = new HashMap<>();
+        for (CardDto card : snapshot.cards) {
+            cardsByList.computeIfAbsent(card.taskListId, id -> new ArrayList<>())
+                .add(card.toCard());
+        }
         int idx = 0;
-        for (TaskList list : serverLists) {
-            BoardList listElem = listService.initializeList(list, parentBoard);
+        for (TaskList list : snapshot.lists) {
+            BoardList listElem = listService.initializeList(list, parentBoard,
+                cardsByList.getOrDefault(list.id, List.of()));
             parentBoard.addListOnPosition(listElem, idx++);
         }
     }
 
+    /**
+     * Applies an event of an open board. Events which were already applied are skipped, and a
+     * gap in the sequence numbers, e.g. after the websocket was down, is filled from the change
+     * log of the board instead of applying the event out of order.
+     * @param boardId the id of the board
+     * @param event the event received from the server
+     */
+    public void applyEvent(Long boardId, BoardEvent event) {
+        Long last = lastSeq.get(boardId);
+        if (event.seq != null && last != null) {
+            if (event.seq <= last) return;
+            if (event.seq > last + 1) {
+                resync(boardId);
+                return;
+            }
+        }
+        apply(boardId, event);
+    }
+
+    private void apply(Long boardId, BoardEvent event) {
+        BoardEventDispatcher dispatcher = dispatchers.get(boardId);
+        if (dispatcher == null) return; // closed in the meantime
+        if (event.seq != null) lastSeq.put(boardId, event.seq);
+        cache.apply(event);
+        dispatcher.dispatch(event);
+    }
+
+    /**
+     * Replays the events of a board after the last applied one from its change log. If the log
+     * no longer has all of them, the lists of the board are loaded again.
+     * @param boardId the id of the board
+     */
+    public void resync(Long boardId) {
+        Long last = lastSeq.get(boardId);
+        if (last == null) return;
+        if (resyncing.containsKey(boardId)) {
+            resyncing.put(boardId, true);
+            return;
+        }
+        resyncing.put(boardId, false);
+        server.getBoardChangesAsync(boardId, last)
+            .whenComplete((changes, e) -> applyChanges(boardId, changes));
+    }
+
+    private void applyChanges(Long boardId, BoardChanges changes) {
+        boolean again = Boolean.TRUE.equals(resyncing.remove(boardId));
+        if (changes == null || !boards.containsKey(boardId)) return;
+        if (changes.truncated) {
+            reloadLists(boardId);
+            return;
+        }
+        for (BoardEvent event : changes.events) {
+            if (event.seq > lastSeq.get(boardId)) apply(boardId, event); // the log has no gaps
+        }
+        if (again || !changes.events.isEmpty() && lastSeq.get(boardId) < changes.seq) {
+            resync(boardId);
+        }
+    }
+
+    /**
+     * Replaces the displayed lists of a board by a new snapshot of the board
+     * @param boardId the id of the board
+     */
+    private void reloadLists(Long boardId) {
+        BoardCtrl board = boards.get(boardId);
+        for (BoardList list : new ArrayList<>(board.getLists())) {
+            listService.closeList(list.getId());
+            board.removeList(list.getId());
+            cache.removeList(list.getId());
+        }
+        lastSeq.remove(boardId);
+        retrieveLists(boardId);
+    }
+
     /**
      * Creates a new list inside a board and sends it to the server
      * @param boardId the id of the board
@@ -203,14 +307,43 @@ public class BoardService {
         board.removeList(listId);
     }
 
+    /**
+     * Removes the lists reported by a long poll. If the server no longer knows every removal
+     * since the last poll, the displayed lists are compared to the lists of the board instead.
+     * @param boardId the id of the board
+     * @param removals the answer of the long poll
+     */
+    public void applyListRemovals(Long boardId, ListRemovals removals) {
+        if (!removals.truncated) {
+            for (TaskList tl : removals.lists) {
+                cache.removeList(tl.id);
+                removeList(boardId, tl.id);
+            }
+            return;
+        }
+        server.getNotDeletedListsByBoardAsync(boardId).thenAccept(lists -> {
+            BoardCtrl board = boards.get(boardId);
+            if (board == null) return;
+            Set<Long> remaining = new HashSet<>();
+            for (TaskList tl : lists) {
+                remaining.add(tl.id);
+            }
+            for (BoardList list : new ArrayList<>(board.getLists())) {
+                if (!remaining.contains(list.getId())) {
+                    cache.removeList(list.getId());
+                    removeList(boardId, list.getId());
+                }
+            }
+        });
+    }
+
     /**
      * Deregister for websocket updates to related lists on board close
      * @param boardId the board id
      */
     public void closeBoard(Long boardId) {
-        server.deregisterForMessages("/topic/" + boardId + "/lists/add");
+        server.deregisterForMessages(BoardEventDispatcher.destination(boardId));
         server.deregisterForLongPolling("/api/lists/" + boardId + "/lists/remove");
-        server.deregisterForMessages("/topic/" + boardId + "/lists/relocate");
         server.deregisterForMessages("/topic/" + boardId + "/changePassword");
         server.deregisterForMessages("/topic/" + boardId + "/changeName");
         BoardCtrl board = boards.get(boardId);
@@ -219,6 +352,14 @@ public class BoardService {
             listService.closeList(list.getId());
         }
         boards.remove(boardId);
+        forget(boardId);
+    }
+
+    private void forget(Long boardId) {
+        cache.removeBoard(boardId);
+        dispatchers.remove(boardId);
+        lastSeq.remove(boardId);
+        resyncing.remove(boardId);
     }
 
     /**
@@ -226,9 +367,8 @@ public class BoardService {
      */
     public void closeAll() {
         for (Long boardId : boards.keySet()) {
-            server.deregisterForMessages("/topic/" + boardId + "/lists/add");
+            server.deregisterForMessages(BoardEventDispatcher.destination(boardId));
             server.deregisterForLongPolling("/api/lists/" + boardId + "/lists/remove");
-            server.deregisterForMessages("/topic/" + boardId + "/lists/relocate");
             server.deregisterForMessages("/topic/" + boardId + "/changePassword");
             server.deregisterForMessages("/topic/" + boardId + "/changeName");
             BoardCtrl board = boards.get(boardId);
@@ -236,6 +376,7 @@ public class BoardService {
             for (BoardList list : lists) {
                 listService.closeList(list.getId());
             }
+            forget(boardId);
         }
         boards.clear();
     }
@@ -243,21 +384,20 @@ public class BoardService {
     /**
      * Returns the password for a board by boardId in plain string format
      * @param boardId - the id of the board to get the password from
-     * @return - the password in string format
+     * @return - the password in string format, completed on the JavaFX application thread
      */
-    public String getPasswordFromBoard(Long boardId) {
-        Board board = server.getBoard(boardId);
-        if (board == null) return null;
-        return board.password;
+    public CompletableFuture<String> getPasswordFromBoard(Long boardId) {
+        return server.getBoardAsync(boardId)
+            .thenApply(board -> board == null ? null : board.password);
     }
 
     /**
      * Gets the board from the server by specified Id
      * @param boardId - the boardId
-     * @return - the board or null if not found
+     * @return - the board or null if not found, completed on the JavaFX application thread
      */
-    public Board getBoardFromServer(Long boardId) {
-        return server.getBoard(boardId);
+    public CompletableFuture<Board> getBoardFromServer(Long boardId) {
+        return server.getBoardAsync(boardId);
     }
 
     /**
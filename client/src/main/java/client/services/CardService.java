@@ -6,17 +6,17 @@ import client.scenes.BoardCtrl;
 import client.scenes.EditCardCtrl;
 import client.utils.ServerUtils;
 import commons.Card;
+import commons.CardDto;
 import commons.Status;
 import commons.Subtask;
 import commons.Tag;
-import commons.TaskList;
 import javafx.application.Platform;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 @Singleton
 public class CardService {
@@ -25,22 +25,60 @@ public class CardService {
     private EditCardCtrl editCardCtrl;
     private Map<Long, Task> cards;
     private ListService listService;
+    private ModelCache cache;
+    private String watchedDescription;
 
     /**
      * Initialize card service
      * @param server the instance of server utils
      * @param fxml the instance of the fxml loader
      * @param editCardCtrl the instance of the edit card controller
+     * @param cache the instance of the ModelCache
      */
     @Inject
-    public CardService(ServerUtils server, FXMLLoader fxml, EditCardCtrl editCardCtrl) {
+    public CardService(ServerUtils server, FXMLLoader fxml, EditCardCtrl editCardCtrl,
+                       ModelCache cache) {
         this.server = server;
+        this.cache = cache;
         this.fxml = fxml;
         this.editCardCtrl = editCardCtrl;
         editCardCtrl.setCardService(this);
         this.cards = new HashMap<>();
     }
 
+    /**
+     * Returns the topic on which the description of a card is published
+     * @param cardId the id of the card
+     * @return the destination of the topic
+     */
+    public static String descriptionDestination(Long cardId) {
+        return "/topic/cards/" + cardId + "/description";
+    }
+
+    /**
+     * Receives the changes of the description of a card while its details are open, the
+     * events of the board leave the descriptions out
+     * @param cardId the id of the card
+     */
+    public void watchDescription(Long cardId) {
+        unwatchDescription();
+        watchedDescription = descriptionDestination(cardId);
+        server.registerForMessages(watchedDescription, CardDto.class, q -> {
+            Platform.runLater(() -> {
+                if (isEditing(q.id)) editCardCtrl.updateBasics(q.toCard());
+            });
+        });
+    }
+
+    /**
+     * Stops receiving the description of the card whose details were open
+     */
+    public void unwatchDescription() {
+        if (watchedDescription == null) return;
+        server.deregisterForMessages(watchedDescription);
+        watchedDescription = null;
+    }
+
     /**
      * Creates a link between the Card and ListService
      * @param ls the instance of ListService
@@ -58,75 +96,61 @@ public class CardService {
     public Task initializeCard(Card card, BoardCtrl parentBoard) {
         Task cardElem = new Task(card, parentBoard, this, editCardCtrl);
         cards.put(card.id, cardElem);
-        server.registerForMessages("/topic/" + card.id + "/cards/edit", Card.class, q -> {
-            Platform.runLater(() -> {
-                editCardVisual(q);
-                if (editCardCtrl.getCurrentId() == card.id) editCardCtrl.updateBasics(q);
-            });
-        });
-        server.registerForMessages("/topic/" + card.id + "/changeCardColor", Card.class, q -> {
-            Platform.runLater(() -> {
-                editCardColorVisual(q);
-            });
-        });
-
-        registerForSubtasks(card);
-        registerForTags(card);
         return cardElem;
     }
 
-    private void registerForSubtasks(Card card) {
-        server.registerForMessages("/topic/" + card.id + "/addNestedTaskList", Card.class, q -> {
-            Platform.runLater(() -> {
-                addNestedTaskList(card.id);
-            });
-        });
-        server.registerForMessages("/topic/" + card.id + "/addSubtask", Subtask.class, q -> {
-            Platform.runLater(() -> {
-                addSubtask(q);
-            });
-        });
-        server.registerForMessages("/topic/" + card.id + "/editSubtask", Subtask.class, q -> {
-            Platform.runLater(() -> {
-                applySubtaskEdit(q);
-            });
-        });
-        server.registerForMessages("/topic/" + card.id + "/deleteSubtask", Subtask.class, q -> {
-            Platform.runLater(() -> {
-                removeSubtask(q);
-            });
-        });
-        server.registerForMessages("/topic/" + card.id + "/relocateSubtask", Subtask.class, q -> {
-            Platform.runLater(() -> {
-                applySubtaskRelocate(q);
-            });
-        });
+    /**
+     * Applies an edit of a card to its visual element and to the card details if they are open
+     * @param card the updated card
+     */
+    public void applyCardEdit(Card card) {
+        editCardVisual(card);
+        if (isEditing(card.id)) editCardCtrl.updateBasics(card);
     }
 
-    private void registerForTags(Card card) {
-        server.registerForMessages("/topic/" + card.id + "/addTagToCard", Tag.class, q -> {
-            Platform.runLater(() -> {
-                if (editCardCtrl.getCurrentId() == card.id) editCardCtrl.addTag(q);
-                //System.out.println("Card: "+card.id+"\n"+q.toString());
-            });
-        });
+    /**
+     * Shows a tag which got assigned to a card if the details of the card are open
+     * @param cardId the id of the card
+     * @param tag the assigned tag
+     */
+    public void applyTagAdded(Long cardId, Tag tag) {
+        if (isEditing(cardId)) editCardCtrl.addTag(tag);
+    }
 
-        server.registerForMessages("/topic/" + card.id + "/removeTagFromCard", Tag.class, q -> {
-            Platform.runLater(() -> {
-                if (editCardCtrl.getCurrentId() == card.id) editCardCtrl.removeTag(q);
-                //System.out.println("Card: "+card.id+"\n"+q.toString());
-            });
-        });
+    /**
+     * Hides a tag which got removed from a card if the details of the card are open
+     * @param cardId the id of the card
+     * @param tag the removed tag
+     */
+    public void applyTagRemoved(Long cardId, Tag tag) {
+        if (isEditing(cardId)) editCardCtrl.removeTag(tag);
+    }
 
-        server.registerForMessages("/topic/"+card.id+"/editTagFromCard",Tag.class, q ->{
-            Platform.runLater(()->{
-                if (editCardCtrl.getCurrentId() == card.id) {
-                    editCardCtrl.editTag(q);
-                }
-                // update the overview and also card Details
-                // change the colors
-            });
-        });
+    /**
+     * Updates a tag of a card if the details of the card are open
+     * @param cardId the id of the card
+     * @param tag the updated tag
+     */
+    public void applyTagEdited(Long cardId, Tag tag) {
+        if (isEditing(cardId)) editCardCtrl.editTag(tag);
+    }
+
+    /**
+     * Shows a tag which got edited or deleted on the board in every card having it, the server
+     * sends a single event for the whole board instead of one for each card
+     * @param tag the tag after the change
+     */
+    public void applyBoardTagChange(Tag tag) {
+        for (Task task : cards.values()) {
+            task.applyTagChange(tag);
+        }
+        if (editCardCtrl.getCurrentId() == null) return;
+        if (tag.status == Status.DELETED) editCardCtrl.removeTag(tag);
+        else editCardCtrl.editTag(tag);
+    }
+
+    private boolean isEditing(Long cardId) {
+        return Objects.equals(editCardCtrl.getCurrentId(), cardId);
     }
 
     /**
@@ -177,17 +201,18 @@ public class CardService {
 
     /**
      * This method saved a recently edited card to the repository and updates the board for
-     * all users using websockets.
+     * all users using websockets. Only the changed attributes are sent, the server would take
+     * a list, index or status as a move, and the cached ones may be outdated.
      * @param id ID of the card that got edited and will now be saved
      * @param title the new title
      * @param description the new description
      */
     public void saveEditedCard(Long id, String title, String description) {
-        Card card = server.getCardById(id);
-        card.title = title;
-        card.description = description;
-        card.id = id;
-        server.send("/app/" + id + "/cards/edit", card);
+        Card edit = new Card();
+        edit.id = id;
+        edit.title = title;
+        edit.description = description;
+        server.send("/app/" + id + "/cards/edit", edit);
     }
 
     /**
@@ -199,11 +224,13 @@ public class CardService {
      * @param newIdx the new index of the card
      */
     public void relocateTask(Long cardId, Long oldListId, Long newListId, int newIdx) {
-        Card card = server.getCardById(cardId);
-        TaskList list = server.getListById(newListId);
-        card.taskList = list;
-        card.index = newIdx;
-        server.send("/app/" + oldListId + "/cards/relocate", card);
+        cache.card(cardId)
+            .thenCombine(cache.list(newListId), (card, list) -> {
+                card.taskList = list;
+                card.index = newIdx;
+                return card;
+            })
+            .thenAccept(card -> server.send("/app/" + oldListId + "/cards/relocate", card));
     }
 
     /**
@@ -211,28 +238,19 @@ public class CardService {
      * @param id
      */
     public void deleteTask(Long id) {
-        Card card = server.getCardById(id);
-        card.status = Status.DELETED;
-        card.index = -1;
-        server.send("/app/" + card.taskList.id + "/cards/delete", card);
+        cache.card(id).thenAccept(card -> {
+            card.status = Status.DELETED;
+            card.index = -1;
+            server.send("/app/" + card.taskList.id + "/cards/delete", card);
+        });
     }
 
     /**
-     * Deregisters for updates related to a card and removes it from the service
+     * Closes the card details if they show the card and removes it from the service
      * @param id the id of the card
      */
     public void closeTask(Long id) {
-        server.deregisterForMessages("/topic/" + id + "/cards/edit");
-        server.deregisterForMessages("/topic/" + id + "/changeCardColor");
-        server.deregisterForMessages("/topic/" + id + "/addNestedTaskList");
-        server.deregisterForMessages("/topic/" + id + "/addSubtask");
-        server.deregisterForMessages("/topic/" + id + "/editSubtask");
-        server.deregisterForMessages("/topic/" + id + "/deleteSubtask");
-        server.deregisterForMessages("/topic/" + id + "/relocateSubtask");
-        server.deregisterForMessages("/topic/" + id + "/addTagToCard");
-        server.deregisterForMessages("/topic/" + id + "/removeTagFromCard");
-        server.deregisterForMessages("/topic/" + id + "/editTagFromCard");
-        if (editCardCtrl.getCurrentId() == id) editCardCtrl.closeEditCardView();
+        if (isEditing(id)) editCardCtrl.closeEditCardView();
         cards.remove(id);
     }
 
@@ -243,10 +261,10 @@ public class CardService {
      * @param color hex value
      */
     public void changeCardColor(Long id, String color) {
-        Card card = server.getCardById(id);
-        card.color = color;
-        card.id = id;
-        server.send("/app/" + id + "/changeCardColor", card);
+        Card edit = new Card();
+        edit.id = id;
+        edit.color = color;
+        server.send("/app/" + id + "/changeCardColor", edit);
     }
 
     /** Enables/disables the drag-and-drop for lists
@@ -277,7 +295,7 @@ public class CardService {
      */
     public void addNestedTaskList(Long cardId) {
         Task task = cards.get(cardId);
-        if (editCardCtrl.getCurrentId() == cardId) {
+        if (isEditing(cardId)) {
             editCardCtrl.addNestedTaskList();
         }
     }
@@ -296,7 +314,7 @@ public class CardService {
      * @param st the new subtask
      */
     public void addSubtask(Subtask st) {
-        if (editCardCtrl.getCurrentId() == st.card.id) {
+        if (isEditing(st.card.id)) {
             editCardCtrl.setProgress(st.card.doneSubtasks, st.card.totalSubtasks);
             editCardCtrl.addNestedTaskOnPosition(st, st.index);
         }
@@ -315,7 +333,7 @@ public class CardService {
      * @param st the updated subtask
      */
     public void applySubtaskEdit(Subtask st) {
-        if (editCardCtrl.getCurrentId() == st.card.id) {
+        if (isEditing(st.card.id)) {
             editCardCtrl.setProgress(st.card.doneSubtasks, st.card.totalSubtasks);
             editCardCtrl.updateSubtask(st);
         }
@@ -334,7 +352,7 @@ public class CardService {
      * @param st the deleted subtask
      */
     public void removeSubtask(Subtask st) {
-        if (editCardCtrl.getCurrentId() == st.card.id) {
+        if (isEditing(st.card.id)) {
             editCardCtrl.setProgress(st.card.doneSubtasks, st.card.totalSubtasks);
             editCardCtrl.removeSubtask(st);
         }
@@ -353,17 +371,8 @@ public class CardService {
      * @param st the relocated subtask
      */
     public void applySubtaskRelocate(Subtask st) {
-        if (editCardCtrl.getCurrentId() == st.card.id) {
+        if (isEditing(st.card.id)) {
             editCardCtrl.relocateSubtask(st);
         }
     }
-
-    /**
-     * Gets the assigned tags to a card
-     * @param cardId the id of the card
-     * @return the list of tags
-     */
-    public List<Tag> getTagsByCard(Long cardId) {
-        return server.getAssignedTagsByCardID(cardId);
-    }
 }
\ No newline at end of file
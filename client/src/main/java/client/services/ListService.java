@@ -9,7 +9,6 @@ import client.utils.ServerUtils;
 import commons.Card;
 import commons.Status;
 import commons.TaskList;
-import javafx.application.Platform;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -26,6 +25,7 @@ public class ListService {
     private FXMLLoader fxml;
     private ConfigUtils config;
     private Map<Long, BoardList> lists;
+    private ModelCache cache;
     private int dragDrop = +1;
 
     /**
@@ -34,11 +34,13 @@ public class ListService {
      * @param cardService the instance of the CardService
      * @param config the instance of the ConfigUtils
      * @param fxml the instance of the FXMLLoader
+     * @param cache the instance of the ModelCache
      */
     @Inject
     public ListService(ServerUtils server, CardService cardService, ConfigUtils config,
-                       FXMLLoader fxml) {
+                       FXMLLoader fxml, ModelCache cache) {
         this.server = server;
+        this.cache = cache;
         this.cardService = cardService;
         this.cardService.setListService(this);
         this.config = config;
@@ -55,39 +57,49 @@ public class ListService {
     }
 
     /**
-     * Creates a new list and loads a list scene
+     * @return the cache of the entities of the open boards
+     */
+    public ModelCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Creates a new list and loads a list scene, its cards are added once they are retrieved
      * @param list a blueprint for the list
      * @param parentBoard the parent board
      * @return the new list element
      */
     public BoardList initializeList(TaskList list, BoardCtrl parentBoard) {
-        BoardList listElem = new BoardList(list, parentBoard, this);
-        lists.put(list.id, listElem);
+        BoardList listElem = initializeList(list, parentBoard, List.of());
         retrieveCards(list.id);
-        server.registerForMessages("/topic/" + list.id + "/cards/add", Card.class, q -> {
-            Platform.runLater(() -> {
-                addCard(q);
-            });
-        });
-        server.registerForMessages("/topic/" + list.id + "/cards/relocate", Card.class, q -> {
-            Platform.runLater(() -> {
-                relocateCard(q, list.id);
-            });
-        });
-        server.registerForMessages("/topic/" + list.id + "/cards/delete", Card.class, q -> {
-            Platform.runLater(() -> {
-                removeCard(q);
-            });
-        });
+        return listElem;
+    }
 
-        server.registerForMessages("/topic/" + list.id + "/lists/edit/title", TaskList.class, q -> {
-            Platform.runLater(() -> {
-                editListTitle(q);
-            });
-        });
+    /**
+     * Creates a new list and loads a list scene with cards that were already retrieved
+     * @param list a blueprint for the list
+     * @param parentBoard the parent board
+     * @param cards the cards of the list in increasing order of their index
+     * @return the new list element
+     */
+    public BoardList initializeList(TaskList list, BoardCtrl parentBoard, List<Card> cards) {
+        BoardList listElem = new BoardList(list, parentBoard, this);
+        lists.put(list.id, listElem);
+        for (Card card : cards) {
+            addCard(card);
+        }
         return listElem;
     }
 
+    /**
+     * Checks whether a list is currently displayed
+     * @param id the id of the list
+     * @return true if the list is displayed or false otherwise
+     */
+    public boolean isDisplayed(Long id) {
+        return lists.containsKey(id);
+    }
+
     /**
      * Edits the title a list
      * @param q the updated list
@@ -111,10 +123,13 @@ public class ListService {
      * @param listId the id of the list
      */
     public void retrieveCards(Long listId) {
-        List<Card> cards = server.getCardsByList(listId);
-        for (Card card : cards) {
-            addCard(card);
-        }
+        server.getCardsByListAsync(listId).thenAccept(cards -> {
+            if (!isDisplayed(listId)) return; // closed before its cards arrived
+            for (Card card : cards) {
+                cache.putCard(card);
+                addCard(card);
+            }
+        });
     }
 
     /**
@@ -143,19 +158,15 @@ public class ListService {
     }
 
     /**
-     * Closes the list and deregister for websocket updates
+     * Closes the list together with its cards
      * @param listId the list id
      */
     public void closeList(Long listId) {
-        server.deregisterForMessages("/topic/" + listId + "/cards/add");
-        server.deregisterForMessages("/topic/" + listId + "/cards/relocate");
-        server.deregisterForMessages("/topic/" + listId + "/cards/delete");
-        server.deregisterForMessages("/topic/" + listId + "/lists/edit/title");
         BoardList list = lists.get(listId);
         for (Task task : list.getTasks()) {
             cardService.closeTask(task.getId());
         }
-        lists.remove(list);
+        lists.remove(listId);
     }
 
     /**
@@ -167,7 +178,8 @@ public class ListService {
         TaskList tl = new TaskList();
         lists.remove(tl);
         tl.id = id;
-        server.deleteListById(tl.id);
+        server.deleteListByIdAsync(tl.id);
+        cache.removeList(id);
         closeList(id);
     }
 
@@ -177,9 +189,10 @@ public class ListService {
      * @param idx the new idx of the list
      */
     public void relocateList(Long id, int idx) {
-        TaskList tl = server.getListById(id);
-        tl.index = idx;
-        server.send("/app/" + tl.board.id + "/lists/relocate", tl);
+        cache.list(id).thenAccept(tl -> {
+            tl.index = idx;
+            server.send("/app/" + tl.board.id + "/lists/relocate", tl);
+        });
     }
 
     /**
@@ -221,14 +234,16 @@ public class ListService {
     }
 
     /**
-     * sends to the right endpoint the edited tasklist
+     * sends to the right endpoint the edited tasklist, carrying only its id and title since
+     * the server would move the list to an index it carries
      * @param id id of the list
      * @param title title of the list
      */
     public void saveEditedList(Long id, String title) {
-        TaskList list = server.getListById(id);
-        list.name = title;
-        server.send("/app/" + id + "/lists/edit/title", list);
+        TaskList edit = new TaskList();
+        edit.id = id;
+        edit.name = title;
+        server.send("/app/" + id + "/lists/edit/title", edit);
     }
 
     /**
@@ -0,0 +1,314 @@
+package client.services;
+
+import client.utils.ServerUtils;
+import commons.Board;
+import commons.BoardEvent;
+import commons.BoardSnapshot;
+import commons.Card;
+import commons.Subtask;
+import commons.Tag;
+import commons.TaskList;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * The boards, lists, cards, tags and subtasks of the open boards as last seen from the server.
+ * It is filled when a board is loaded and kept up to date by the events of the board, so that
+ * changes can be built from local state instead of retrieving the entity first. The cache is
+ * confined to the JavaFX application thread, on which the events and the results of the
+ * asynchronous requests are delivered.
+ */
+@Singleton
+public class ModelCache {
+    private final ServerUtils server;
+    private final Map<Long, Board> boards = new HashMap<>();
+    private final Map<Long, TaskList> lists = new HashMap<>();
+    private final Map<Long, Card> cards = new HashMap<>();
+    private final Map<Long, Tag> tags = new HashMap<>();
+    private final Map<Long, Subtask> subtasks = new HashMap<>();
+    private final Map<String, CompletableFuture<?>> inFlight = new HashMap<>();
+
+    /**
+     * Initializes the cache
+     * @param server the instance of the ServerUtils used on a cache miss
+     */
+    @Inject
+    public ModelCache(ServerUtils server) {
+        this.server = server;
+    }
+
+    /**
+     * Returns a copy of a board, which is only retrieved from the server if it is not cached
+     * @param id the id of the board
+     * @return the board or null if it does not exist
+     */
+    public CompletableFuture<Board> board(Long id) {
+        return lookup(boards, "board", id, () -> server.getBoardAsync(id));
+    }
+
+    /**
+     * Returns a copy of a list, which is only retrieved from the server if it is not cached
+     * @param id the id of the list
+     * @return the list or null if it does not exist
+     */
+    public CompletableFuture<TaskList> list(Long id) {
+        return lookup(lists, "list", id, () -> server.getListByIdAsync(id));
+    }
+
+    /**
+     * Returns a copy of a card, which is only retrieved from the server if it is not cached
+     * @param id the id of the card
+     * @return the card or null if it does not exist
+     */
+    public CompletableFuture<Card> card(Long id) {
+        return lookup(cards, "card", id, () -> server.getCardByIdAsync(id));
+    }
+
+    /**
+     * Returns a copy of a tag, which is only retrieved from the server if it is not cached
+     * @param id the id of the tag
+     * @return the tag or null if it does not exist
+     */
+    public CompletableFuture<Tag> tag(Long id) {
+        return lookup(tags, "tag", id, () -> server.getTagAsync(id));
+    }
+
+    /**
+     * Returns a copy of a cached subtask, subtasks can't be retrieved on their own
+     * @param id the id of the subtask
+     * @return the subtask or null if it is not cached
+     */
+    public Subtask getSubtask(Long id) {
+        return copy(subtasks.get(id));
+    }
+
+    /**
+     * Caches everything a board was loaded with
+     * @param snapshot the snapshot of the board
+     */
+    public void putSnapshot(BoardSnapshot snapshot) {
+        if (snapshot.board != null) putBoard(snapshot.board);
+        snapshot.lists.forEach(this::putList);
+        snapshot.cards.forEach(card -> putCard(card.toCard()));
+        putTags(snapshot.tags);
+    }
+
+    /**
+     * @param board the board to be cached
+     */
+    public void putBoard(Board board) {
+        boards.put(board.id, board);
+    }
+
+    /**
+     * @param list the list to be cached
+     */
+    public void putList(TaskList list) {
+        lists.put(list.id, list);
+    }
+
+    /**
+     * @param card the card to be cached, if it does not carry its tags the cached ones are kept
+     */
+    public void putCard(Card card) {
+        Card cached = cards.get(card.id);
+        if (card.tags == null && cached != null && cached.tags != null) {
+            card = copy(card); // it may be a card shown on the board
+            card.tags = cached.tags;
+        }
+        cards.put(card.id, card);
+    }
+
+    /**
+     * @param tags the tags to be cached
+     */
+    public void putTags(List<Tag> tags) {
+        for (Tag tag : tags) {
+            this.tags.put(tag.id, tag);
+        }
+    }
+
+    /**
+     * @param subtasks the subtasks to be cached
+     */
+    public void putSubtasks(List<Subtask> subtasks) {
+        for (Subtask st : subtasks) {
+            this.subtasks.put(st.id, st);
+        }
+    }
+
+    /**
+     * Removes a list together with its cards
+     * @param listId the id of the list
+     */
+    public void removeList(Long listId) {
+        lists.remove(listId);
+        cards.values().removeIf(c -> c.taskList != null && listId.equals(c.taskList.id));
+    }
+
+    /**
+     * Removes a board together with everything cached for it, called when it is closed
+     * @param boardId the id of the board
+     */
+    public void removeBoard(Long boardId) {
+        boards.remove(boardId);
+        Set<Long> boardLists = new HashSet<>();
+        for (TaskList l : lists.values()) {
+            if (l.board != null && boardId.equals(l.board.id)) boardLists.add(l.id);
+        }
+        Set<Long> boardCards = new HashSet<>();
+        for (Card c : cards.values()) {
+            if (c.taskList != null && boardLists.contains(c.taskList.id)) boardCards.add(c.id);
+        }
+        boardLists.forEach(this::removeList);
+        tags.values().removeIf(t -> t.board != null && boardId.equals(t.board.id));
+        // the card of a subtask may only carry its id
+        subtasks.values().removeIf(st -> st.card != null && boardCards.contains(st.card.id));
+    }
+
+    /**
+     * Applies an event of a board to the cached entities
+     * @param event the event received from the server
+     */
+    public void apply(BoardEvent event) {
+        switch (event.entity) {
+            case BOARD:
+                applyBoard(event);
+                break;
+            case LIST:
+                if (event.operation == BoardEvent.Operation.DELETE) removeList(event.id);
+                else putList(event.list);
+                break;
+            case CARD:
+                if (event.operation == BoardEvent.Operation.BATCH) event.batch.forEach(this::apply);
+                else if (event.operation == BoardEvent.Operation.DELETE) cards.remove(event.id);
+                else putCard(event.card.toCard());
+                break;
+            case NESTED_TASK_LIST:
+                cards.remove(event.parentId); // its subtask counters changed
+                break;
+            case SUBTASK:
+                applySubtask(event);
+                break;
+            default:
+                applyTag(event);
+        }
+    }
+
+    /**
+     * Applies a change of the board, the events never carry its password, so a board whose
+     * password changed is loaded again when it is needed
+     */
+    private void applyBoard(BoardEvent event) {
+        Board cached = boards.get(event.id);
+        if (cached == null) return;
+        if (event.passwordChanged) {
+            boards.remove(event.id);
+        } else if (event.board != null) {
+            Board renamed = new Board(event.board.name, cached.password);
+            renamed.id = cached.id;
+            renamed.status = cached.status;
+            renamed.color = cached.color;
+            putBoard(renamed);
+        }
+    }
+
+    private void applySubtask(BoardEvent event) {
+        if (event.operation == BoardEvent.Operation.DELETE) subtasks.remove(event.subtask.id);
+        else subtasks.put(event.subtask.id, event.subtask.toSubtask());
+        Card cached = cards.get(event.parentId);
+        if (cached != null && event.subtask.cardId != null) {
+            cached.doneSubtasks = event.subtask.doneSubtasks;
+            cached.totalSubtasks = event.subtask.totalSubtasks;
+        }
+    }
+
+    private void applyTag(BoardEvent event) {
+        boolean removed = event.operation == BoardEvent.Operation.UNASSIGN
+            || event.operation == BoardEvent.Operation.DELETE;
+        if (event.operation == BoardEvent.Operation.DELETE) tags.remove(event.tag.id);
+        else if (event.operation == BoardEvent.Operation.EDIT
+            || event.operation == BoardEvent.Operation.ADD) tags.put(event.tag.id, event.tag);
+        for (Card cached : new ArrayList<>(cardsOf(event))) {
+            if (cached != null && cached.tags != null) updateTags(cached, event, removed);
+        }
+    }
+
+    /**
+     * Caches a copy of a card with the tag of an event replaced or removed. The cached card
+     * may be the one shown on the board, which is only changed when the event is dispatched.
+     */
+    private void updateTags(Card cached, BoardEvent event, boolean removed) {
+        Set<Tag> updated = new HashSet<>(cached.tags);
+        boolean had = updated.removeIf(t -> t.id.equals(event.tag.id));
+        if (!had && event.parentId == null) return;
+        if (!removed) updated.add(event.tag);
+        Card card = copy(cached);
+        card.tags = updated;
+        putCard(card);
+    }
+
+    /**
+     * Returns the cached cards a tag event is about, a change of the tag itself applies to
+     * every card having it
+     */
+    private Collection<Card> cardsOf(BoardEvent event) {
+        if (event.parentId == null) return cards.values();
+        return Collections.singleton(cards.get(event.parentId));
+    }
+
+    /**
+     * Looks an entity up, on a miss only a single request is sent no matter how many lookups
+     * of the entity are waiting for it
+     */
+    @SuppressWarnings("unchecked")
+    private <T> CompletableFuture<T> lookup(Map<Long, T> cache, String kind, Long id,
+                                            Supplier<CompletableFuture<T>> fetch) {
+        T cached = cache.get(id);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(copy(cached));
+        }
+        String key = kind + ":" + id;
+        CompletableFuture<T> pending = (CompletableFuture<T>) inFlight.get(key);
+        if (pending == null) {
+            pending = fetch.get();
+            inFlight.put(key, pending);
+            pending.whenComplete((res, e) -> {
+                inFlight.remove(key);
+                if (res != null) cache.putIfAbsent(id, res); // an event may have been newer
+            });
+        }
+        return pending.thenApply(ModelCache::copy);
+    }
+
+    /**
+     * Copies the public fields of an entity, so that changes built from it don't modify the
+     * cached state before the server confirms them
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T copy(T entity) {
+        if (entity == null) return null;
+        try {
+            T copy = (T) entity.getClass().getConstructor().newInstance();
+            for (Field f : entity.getClass().getFields()) {
+                if (!Modifier.isStatic(f.getModifiers())) f.set(copy, f.get(entity));
+            }
+            return copy;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Can't copy " + entity.getClass(), e);
+        }
+    }
+}
@@ -21,21 +21,36 @@ import java.lang.reflect.Type;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import commons.Board;
+import commons.BoardChanges;
+import commons.BoardSnapshot;
 import commons.Card;
+import commons.CardDto;
+import commons.ListRemovals;
 import commons.Subtask;
+import commons.SubtaskDto;
 import commons.Tag;
 import commons.TaskList;
 import jakarta.ws.rs.BadRequestException;
 import jakarta.ws.rs.core.Response;
+import javafx.application.Platform;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.glassfish.jersey.apache.connector.ApacheClientProperties;
+import org.glassfish.jersey.apache.connector.ApacheConnectorProvider;
 import org.glassfish.jersey.client.ClientConfig;
 
+import jakarta.ws.rs.client.Client;
 import jakarta.ws.rs.client.ClientBuilder;
 import jakarta.ws.rs.client.Entity;
+import jakarta.ws.rs.client.WebTarget;
 import jakarta.ws.rs.core.GenericType;
 import org.springframework.messaging.converter.MappingJackson2MessageConverter;
 import org.springframework.messaging.simp.stomp.StompFrameHandler;
@@ -55,6 +70,18 @@ public class ServerUtils {
     private final Map<String, StompSession.Subscription> subscriptions = new HashMap<>();
     private final HashMap<String, ExecutorService> executors = new HashMap<>();
     private boolean isConnected;
+    private Client client;
+    private final ExecutorService io = Executors.newFixedThreadPool(IO_THREADS, r -> {
+        Thread t = new Thread(r, "talio-io");
+        t.setDaemon(true);
+        return t;
+    });
+    private final Executor fxThread;
+
+    // the number of pooled HTTP connections, can be changed with -Dtalio.http.poolSize=<n>
+    private static final int POOL_SIZE = Integer.getInteger("talio.http.poolSize", 20);
+    // the number of threads sending the asynchronous requests, -Dtalio.io.threads=<n>
+    private static final int IO_THREADS = Integer.getInteger("talio.io.threads", 4);
 
 
     /**
@@ -64,6 +91,17 @@ public class ServerUtils {
      */
     @Inject
     public ServerUtils(ConfigUtils configUtils){
+        this(configUtils, Platform::runLater);
+    }
+
+    /**
+     * Loads the serverUtils from the config file and completes the asynchronous requests
+     * on the given executor instead of the JavaFX application thread
+     * @param configUtils - instance of configUtils
+     * @param fxThread - the executor on which the results of asynchronous requests are delivered
+     */
+    public ServerUtils(ConfigUtils configUtils, Executor fxThread){
+        this.fxThread = fxThread;
         Map<String,Object> map;
         //We try to load the file
         try{
@@ -84,8 +122,7 @@ public class ServerUtils {
      */
     public List<Tag> getNotDeletedTagsByBoardId(Long boardId){
         try {
-            return ClientBuilder.newClient(new ClientConfig())
-                    .target(server).path("api/tags/board/"+boardId)
+            return target().path("api/tags/board/"+boardId)
                     .request(APPLICATION_JSON)
                     .accept(APPLICATION_JSON)
                     .get(new GenericType<List<Tag>>(){
@@ -103,8 +140,7 @@ public class ServerUtils {
      */
     public List<Tag> getAssignedTagsByCardID(Long cardId) {
         try {
-            return ClientBuilder.newClient(new ClientConfig())
-                    .target(server).path("api/tags/card/" + cardId + "/assigned")
+            return target().path("api/tags/card/" + cardId + "/assigned")
                     .request(APPLICATION_JSON)
                     .accept(APPLICATION_JSON)
                     .get(new GenericType<List<Tag>>(){
@@ -121,8 +157,7 @@ public class ServerUtils {
      */
     public List<Tag> getAvailableTagsByCardID(Long cardId) {
         try {
-            return ClientBuilder.newClient(new ClientConfig())
-                    .target(server).path("api/tags/card/" + cardId + "/available")
+            return target().path("api/tags/card/" + cardId + "/available")
                     .request(APPLICATION_JSON)
                     .accept(APPLICATION_JSON)
                     .get(new GenericType<List<Tag>>(){
@@ -139,8 +174,7 @@ public class ServerUtils {
 
     public Tag getTag(long id) {
         try {
-            return ClientBuilder.newClient(new ClientConfig())
-                    .target(server).path("api/tags/" + id)
+            return target().path("api/tags/" + id)
                     .request(APPLICATION_JSON)
                     .accept(APPLICATION_JSON)
                     .get(new GenericType<Tag>() {});
@@ -156,8 +190,7 @@ public class ServerUtils {
      */
     public Tag createTag(Tag tag){
         try{
-            return ClientBuilder.newClient(new ClientConfig())
-                    .target(server).path("/api/tags")
+            return target().path("/api/tags")
                     .request(APPLICATION_JSON)
                     .accept(APPLICATION_JSON)
                     .post(Entity.entity(tag,APPLICATION_JSON), Tag.class);
@@ -180,8 +213,7 @@ public class ServerUtils {
             updatedTag.name=name;
             updatedTag.color=color;
 
-            return ClientBuilder.newClient(new ClientConfig())
-                    .target(server).path("api/tags/" + id)
+            return target().path("api/tags/" + id)
                     .request(APPLICATION_JSON)
                     .accept(APPLICATION_JSON)
                     .post(Entity.entity(updatedTag,APPLICATION_JSON), Tag.class);
@@ -196,11 +228,10 @@ public class ServerUtils {
      */
     public void deleteTagById(Long id){
         try{
-            ClientBuilder.newClient(new ClientConfig())
-                    .target(server).path("api/tags/"+id)
+            target().path("api/tags/"+id)
                     .request(APPLICATION_JSON)
                     .accept(APPLICATION_JSON)
-                    .delete();
+                    .delete().close();
         }catch (BadRequestException e){
             return ;
         }
@@ -214,8 +245,7 @@ public class ServerUtils {
      */
     public Board getBoard(long id) {
         try {
-            return ClientBuilder.newClient(new ClientConfig())
-                    .target(server).path("api/boards/" + id)
+            return target().path("api/boards/" + id)
                     .request(APPLICATION_JSON)
                     .accept(APPLICATION_JSON)
                     .get(new GenericType<Board>() {
@@ -230,21 +260,53 @@ public class ServerUtils {
      * @return the newly created board.
      */
     public Board createBoard(Board board){
-        return ClientBuilder.newClient(new ClientConfig())
-                .target(server).path("api/boards/")
+        return target().path("api/boards/")
                 .request(APPLICATION_JSON)
                 .accept(APPLICATION_JSON)
                 .post(Entity.entity(board, APPLICATION_JSON), Board.class);
     }
 
+    /**
+     * Retrieves the lists, active cards and tags of a board in a single request
+     * @param boardId the id of the board
+     * @return the snapshot of the board or null if the board does not exist
+     */
+    public BoardSnapshot getBoardSnapshot(long boardId) {
+        try {
+            return target().path("api/boards/" + boardId + "/snapshot")
+                .request(APPLICATION_JSON)
+                .accept(APPLICATION_JSON)
+                .get(BoardSnapshot.class);
+        } catch (BadRequestException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Retrieves the events of a board after the last one the client has seen
+     * @param boardId the id of the board
+     * @param since the sequence number of the last event the client has seen
+     * @return the events after since or null if the board does not exist
+     */
+    public BoardChanges getBoardChanges(long boardId, long since) {
+        try {
+            return target().path("api/boards/" + boardId + "/changes")
+                .queryParam("since", since)
+                .request(APPLICATION_JSON)
+                .accept(APPLICATION_JSON)
+                .get(BoardChanges.class);
+        } catch (BadRequestException e) {
+            return null;
+        }
+    }
+
     /**
      * @param boardId the id of the board of which you retrieve the lists.
      * @return an List with all the lists of the board.
      */
     public List<TaskList> getListsByBoard(long boardId){
         try {
-            return ClientBuilder.newClient(new ClientConfig())
-                    .target(server).path("api/lists/board/" + boardId)
+            return target().path("api/lists/board/" + boardId)
                     .request(APPLICATION_JSON)
                     .accept(APPLICATION_JSON)
                     .get(new GenericType<List<TaskList>>() {
@@ -260,8 +322,7 @@ public class ServerUtils {
      */
     public List<TaskList> getNotDeletedListsByBoard(long boardId){
         try {
-            return ClientBuilder.newClient(new ClientConfig())
-                .target(server).path("api/lists/notDeleted/board/" + boardId)
+            return target().path("api/lists/notDeleted/board/" + boardId)
                 .request(APPLICATION_JSON)
                 .accept(APPLICATION_JSON)
                 .get(new GenericType<List<TaskList>>() {
@@ -277,12 +338,11 @@ public class ServerUtils {
      */
     public List<Card> getCardsByList(long listId){
         try {
-            return ClientBuilder.newClient(new ClientConfig())
-                .target(server).path("api/cards/taskList/" + listId + "/active")
+            return target().path("api/cards/taskList/" + listId + "/active")
                 .request(APPLICATION_JSON)
                 .accept(APPLICATION_JSON)
-                .get(new GenericType<List<Card>>() {
-                });
+                .get(new GenericType<List<CardDto>>() {
+                }).stream().map(CardDto::toCard).collect(Collectors.toList());
         } catch (BadRequestException e){
             return null;
         }
@@ -294,8 +354,7 @@ public class ServerUtils {
      * @return - the data received
      */
     public List<TaskList> getLists(long boardId) {
-        return ClientBuilder.newClient(new ClientConfig())
-                .target(server).path("/api/lists/board/" + boardId)
+        return target().path("/api/lists/board/" + boardId)
                 .request(APPLICATION_JSON)
                 .accept(APPLICATION_JSON)
                 .get(new GenericType<List<TaskList>>() {});
@@ -308,12 +367,11 @@ public class ServerUtils {
      */
     public Card getCardById(Long id) {
         try {
-            return ClientBuilder.newClient(new ClientConfig())
-                .target(server).path("api/cards/" + id)
+            return target().path("api/cards/" + id)
                 .request(APPLICATION_JSON)
                 .accept(APPLICATION_JSON)
-                .get(new GenericType<List<Card>>() {
-                }).get(0); // in order to avoid using custom (de)serializer the result is List<Card>
+                .get(new GenericType<List<CardDto>>() {
+                }).get(0).toCard(); // to avoid a custom (de)serializer the result is a List
         } catch (BadRequestException e){
             return null;
         }
@@ -326,8 +384,7 @@ public class ServerUtils {
      */
     public TaskList getListById(Long id) {
         try {
-            return ClientBuilder.newClient(new ClientConfig())
-                .target(server).path("api/lists/" + id)
+            return target().path("api/lists/" + id)
                 .request(APPLICATION_JSON)
                 .accept(APPLICATION_JSON)
                 .get(TaskList.class);
@@ -342,11 +399,10 @@ public class ServerUtils {
      */
     public void deleteListById(Long listId) {
         try {
-            ClientBuilder.newClient(new ClientConfig())
-                .target(server).path("/api/lists/" + listId)
+            target().path("/api/lists/" + listId)
                 .request(APPLICATION_JSON)
                 .accept(APPLICATION_JSON)
-                .delete();
+                .delete().close();
         } catch (BadRequestException e){
         }
     }
@@ -357,11 +413,11 @@ public class ServerUtils {
      * @return a list containing all not deleted subtasks
      */
     public List<Subtask> getSubtasksByCardId(Long cardId) {
-        return ClientBuilder.newClient(new ClientConfig())
-            .target(server).path("/api/subtasks/" + cardId)
+        return target().path("/api/subtasks/" + cardId)
             .request(APPLICATION_JSON)
             .accept(APPLICATION_JSON)
-            .get(new GenericType<List<Subtask>>() {});
+            .get(new GenericType<List<SubtaskDto>>() {})
+            .stream().map(SubtaskDto::toSubtask).collect(Collectors.toList());
     }
 
     /**
@@ -370,8 +426,7 @@ public class ServerUtils {
      * @return the updated board
      */
     public Board changeBoardName(Board board) {
-        return ClientBuilder.newClient(new ClientConfig())
-                .target(server).path("api/boards/changeName")
+        return target().path("api/boards/changeName")
                 .request(APPLICATION_JSON)
                 .accept(APPLICATION_JSON)
                 .post(Entity.entity(board, APPLICATION_JSON), Board.class);
@@ -383,13 +438,234 @@ public class ServerUtils {
      * @return the updated board
      */
     public Board changeBoardPassword(Board board) {
-        return ClientBuilder.newClient(new ClientConfig())
-                .target(server).path("api/boards/changePassword")
+        return target().path("api/boards/changePassword")
                 .request(APPLICATION_JSON)
                 .accept(APPLICATION_JSON)
                 .post(Entity.entity(board, APPLICATION_JSON), Board.class);
     }
 
+    /**
+     * Performs a blocking call to the server on the I/O executor and completes the returned
+     * future on the JavaFX application thread, so that its dependent stages may update the UI
+     * @param call the blocking call
+     * @param <T> the type of the result
+     * @return the future result, completed exceptionally if the call fails
+     */
+    public <T> CompletableFuture<T> async(Supplier<T> call) {
+        CompletableFuture<T> res = new CompletableFuture<>();
+        io.execute(() -> {
+            try {
+                T value = call.get();
+                fxThread.execute(() -> res.complete(value));
+            } catch (RuntimeException e) {
+                fxThread.execute(() -> res.completeExceptionally(e));
+            }
+        });
+        return res;
+    }
+
+    /**
+     * Asynchronous variant of {@link #getNotDeletedTagsByBoardId}
+     * @param boardId the id of the board
+     * @return the tags of a board which are not deleted, completed on the JavaFX application thread
+     */
+    public CompletableFuture<List<Tag>> getNotDeletedTagsByBoardIdAsync(Long boardId) {
+        return async(() -> getNotDeletedTagsByBoardId(boardId));
+    }
+
+    /**
+     * Asynchronous variant of {@link #getAssignedTagsByCardID}
+     * @param cardId the id of the card
+     * @return the tags assigned to a card, completed on the JavaFX application thread
+     */
+    public CompletableFuture<List<Tag>> getAssignedTagsByCardIDAsync(Long cardId) {
+        return async(() -> getAssignedTagsByCardID(cardId));
+    }
+
+    /**
+     * Asynchronous variant of {@link #getAvailableTagsByCardID}
+     * @param cardId the id of the card
+     * @return the tags of the board which are not assigned to a card,
+     *  completed on the JavaFX application thread
+     */
+    public CompletableFuture<List<Tag>> getAvailableTagsByCardIDAsync(Long cardId) {
+        return async(() -> getAvailableTagsByCardID(cardId));
+    }
+
+    /**
+     * Asynchronous variant of {@link #getTag}
+     * @param id the id of the tag
+     * @return a tag, completed on the JavaFX application thread
+     */
+    public CompletableFuture<Tag> getTagAsync(long id) {
+        return async(() -> getTag(id));
+    }
+
+    /**
+     * Asynchronous variant of {@link #createTag}
+     * @param tag the tag to be created
+     * @return the tag created on the server, completed on the JavaFX application thread
+     */
+    public CompletableFuture<Tag> createTagAsync(Tag tag) {
+        return async(() -> createTag(tag));
+    }
+
+    /**
+     * Asynchronous variant of {@link #updateTag}
+     * @param id the id of the tag
+     * @param name the new name of the tag
+     * @param color the new color of the tag
+     * @return the updated tag, completed on the JavaFX application thread
+     */
+    public CompletableFuture<Tag> updateTagAsync(long id, String name, String color) {
+        return async(() -> updateTag(id, name, color));
+    }
+
+    /**
+     * Asynchronous variant of {@link #deleteTagById}
+     * @param id the id of the tag
+     * @return the completion of the deletion of a tag, completed on the JavaFX application thread
+     */
+    public CompletableFuture<Void> deleteTagByIdAsync(Long id) {
+        return async(() -> {
+            deleteTagById(id);
+            return null;
+        });
+    }
+
+    /**
+     * Asynchronous variant of {@link #getBoard}
+     * @param id the id of the board
+     * @return a board, completed on the JavaFX application thread
+     */
+    public CompletableFuture<Board> getBoardAsync(long id) {
+        return async(() -> getBoard(id));
+    }
+
+    /**
+     * Asynchronous variant of {@link #createBoard}
+     * @param board blueprint of the new board
+     * @return the board created on the server, completed on the JavaFX application thread
+     */
+    public CompletableFuture<Board> createBoardAsync(Board board) {
+        return async(() -> createBoard(board));
+    }
+
+    /**
+     * Asynchronous variant of {@link #getBoardSnapshot}
+     * @param boardId the id of the board
+     * @return the lists, active cards and tags of a board,
+     *  completed on the JavaFX application thread
+     */
+    public CompletableFuture<BoardSnapshot> getBoardSnapshotAsync(long boardId) {
+        return async(() -> getBoardSnapshot(boardId));
+    }
+
+    /**
+     * Asynchronous variant of {@link #getBoardChanges}
+     * @param boardId the id of the board
+     * @param since the sequence number of the last event the client has seen
+     * @return the events after since, completed on the JavaFX application thread
+     */
+    public CompletableFuture<BoardChanges> getBoardChangesAsync(long boardId, long since) {
+        return async(() -> getBoardChanges(boardId, since));
+    }
+
+    /**
+     * Asynchronous variant of {@link #getListsByBoard}
+     * @param boardId the id of the board
+     * @return all lists of a board, completed on the JavaFX application thread
+     */
+    public CompletableFuture<List<TaskList>> getListsByBoardAsync(long boardId) {
+        return async(() -> getListsByBoard(boardId));
+    }
+
+    /**
+     * Asynchronous variant of {@link #getNotDeletedListsByBoard}
+     * @param boardId the id of the board
+     * @return the lists of a board which are not deleted,
+     *  completed on the JavaFX application thread
+     */
+    public CompletableFuture<List<TaskList>> getNotDeletedListsByBoardAsync(long boardId) {
+        return async(() -> getNotDeletedListsByBoard(boardId));
+    }
+
+    /**
+     * Asynchronous variant of {@link #getCardsByList}
+     * @param listId the id of the list
+     * @return the active cards of a list, completed on the JavaFX application thread
+     */
+    public CompletableFuture<List<Card>> getCardsByListAsync(long listId) {
+        return async(() -> getCardsByList(listId));
+    }
+
+    /**
+     * Asynchronous variant of {@link #getLists}
+     * @param boardId the id of the board
+     * @return all lists of a board, completed on the JavaFX application thread
+     */
+    public CompletableFuture<List<TaskList>> getListsAsync(long boardId) {
+        return async(() -> getLists(boardId));
+    }
+
+    /**
+     * Asynchronous variant of {@link #getCardById}
+     * @param id the id of the card
+     * @return a card, completed on the JavaFX application thread
+     */
+    public CompletableFuture<Card> getCardByIdAsync(Long id) {
+        return async(() -> getCardById(id));
+    }
+
+    /**
+     * Asynchronous variant of {@link #getListById}
+     * @param id the id of the list
+     * @return a list, completed on the JavaFX application thread
+     */
+    public CompletableFuture<TaskList> getListByIdAsync(Long id) {
+        return async(() -> getListById(id));
+    }
+
+    /**
+     * Asynchronous variant of {@link #deleteListById}
+     * @param listId the id of the list
+     * @return the completion of the deletion of a list, completed on the JavaFX application thread
+     */
+    public CompletableFuture<Void> deleteListByIdAsync(Long listId) {
+        return async(() -> {
+            deleteListById(listId);
+            return null;
+        });
+    }
+
+    /**
+     * Asynchronous variant of {@link #getSubtasksByCardId}
+     * @param cardId the id of the card
+     * @return the subtasks of a card which are not deleted,
+     *  completed on the JavaFX application thread
+     */
+    public CompletableFuture<List<Subtask>> getSubtasksByCardIdAsync(Long cardId) {
+        return async(() -> getSubtasksByCardId(cardId));
+    }
+
+    /**
+     * Asynchronous variant of {@link #changeBoardName}
+     * @param board the board with the changed name
+     * @return the board with the changed name, completed on the JavaFX application thread
+     */
+    public CompletableFuture<Board> changeBoardNameAsync(Board board) {
+        return async(() -> changeBoardName(board));
+    }
+
+    /**
+     * Asynchronous variant of {@link #changeBoardPassword}
+     * @param board the board with the changed password
+     * @return the board with the changed password, completed on the JavaFX application thread
+     */
+    public CompletableFuture<Board> changeBoardPasswordAsync(Board board) {
+        return async(() -> changeBoardPassword(board));
+    }
+
     /**
      * Method for connecting to a certain websocket endpoint
      * @param url - the websocket endpoint to connect to
@@ -476,28 +752,77 @@ public class ServerUtils {
         });
         subscriptions.clear();
         executors.clear();
+        closeClient();
     }
 
     /**
-     * Method for registering for long polling of a given rest endpoint
+     * Returns a target for the current server on the shared HTTP client, which is built on
+     * first use after every reinitialize
+     * @return the target of the root of the server
+     */
+    private synchronized WebTarget target() {
+        assert !Platform.isFxApplicationThread() : "Request to the server on the FX thread";
+        if (client == null) {
+            client = createClient(POOL_SIZE);
+        }
+        return client.target(server);
+    }
+
+    /**
+     * Closes the shared HTTP client together with its pooled connections
+     */
+    private synchronized void closeClient() {
+        if (client != null) {
+            client.close();
+            client = null;
+        }
+    }
+
+    /**
+     * Builds a client whose requests share a pool of keep-alive connections
+     * @param poolSize the maximum number of open connections, every open board keeps one busy
+     *                 with long polling
+     * @return the client
+     */
+    private static Client createClient(int poolSize) {
+        var pool = new PoolingHttpClientConnectionManager();
+        pool.setMaxTotal(poolSize);
+        pool.setDefaultMaxPerRoute(poolSize);
+        ClientConfig config = new ClientConfig()
+            .connectorProvider(new ApacheConnectorProvider())
+            .property(ApacheClientProperties.CONNECTION_MANAGER, pool);
+        return ClientBuilder.newClient(config);
+    }
+
+    /**
+     * Method for registering for long polling of the list removals of a board. The first poll
+     * only returns the position of the board, every later one passes the sequence number of
+     * the last removal received, so removals between two polls are not lost.
      * @param dest the address of the endpoint
      * @param consumer a consumer object that will be used to return the result
      */
-    public void registerForLongPolling(String dest, Consumer consumer) {
+    public void registerForLongPolling(String dest, Consumer<ListRemovals> consumer) {
         ExecutorService exec = Executors.newSingleThreadExecutor();
         executors.put(dest, exec);
         exec.submit(() -> {
+            Long since = null;
             while (!Thread.interrupted()) {
-                var res = ClientBuilder.newClient(new ClientConfig())
-                    .target(server).path(dest)
-                    .request(APPLICATION_JSON)
-                    .accept(APPLICATION_JSON)
-                    .get(Response.class);
-                if (res.getStatus() == 204) {
-                    continue;
+                var poll = target().path(dest);
+                if (since != null) {
+                    poll = poll.queryParam("since", since);
+                }
+                try (var res = poll.request(APPLICATION_JSON)
+                        .accept(APPLICATION_JSON)
+                        .get(Response.class)) {
+                    if (res.getStatus() == 204) {
+                        continue;
+                    }
+                    var q = res.readEntity(ListRemovals.class);
+                    if (since != null) {
+                        consumer.accept(q);
+                    }
+                    since = q.seq;
                 }
-                var q = res.readEntity(TaskList.class);
-                consumer.accept(q);
             }
         });
     }
@@ -0,0 +1,170 @@
+package client.services;
+
+import client.Task;
+import commons.Board;
+import commons.BoardEvent;
+import commons.Card;
+import commons.Subtask;
+import commons.Tag;
+import commons.TaskList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+
+class BoardEventDispatcherTest {
+    private BoardService boardService;
+    private ListService listService;
+    private CardService cardService;
+    private BoardEventDispatcher sut;
+
+    @BeforeEach
+    void setUp() {
+        boardService = Mockito.mock(BoardService.class);
+        listService = Mockito.mock(ListService.class);
+        cardService = Mockito.mock(CardService.class);
+        sut = new BoardEventDispatcher(1L, boardService, listService, cardService);
+    }
+
+    private static Card card(Long id, Long listId) {
+        Card card = new Card();
+        card.id = id;
+        card.taskList = new TaskList();
+        card.taskList.id = listId;
+        return card;
+    }
+
+    @Test
+    void destination() {
+        assertEquals("/topic/board/1/events", BoardEventDispatcher.destination(1L));
+    }
+
+    @Test
+    void listEvents() {
+        TaskList list = new TaskList();
+        list.id = 5L;
+        Mockito.when(listService.isDisplayed(5L)).thenReturn(true);
+
+        sut.dispatch(BoardEvent.ofList(BoardEvent.Operation.ADD, list));
+        sut.dispatch(BoardEvent.ofList(BoardEvent.Operation.RELOCATE, list));
+        sut.dispatch(BoardEvent.ofList(BoardEvent.Operation.EDIT, list));
+
+        Mockito.verify(boardService).addList(1L, list);
+        Mockito.verify(boardService).relocateList(1L, list);
+        Mockito.verify(listService).editListTitle(list);
+    }
+
+    @Test
+    void deletedListIsRemoved() {
+        TaskList list = new TaskList();
+        list.id = 5L;
+
+        sut.dispatch(BoardEvent.ofList(BoardEvent.Operation.DELETE, list));
+
+        Mockito.verify(boardService).removeList(1L, 5L);
+        Mockito.verifyNoInteractions(listService);
+    }
+
+    @Test
+    void boardEventsAreLeftToTheCache() {
+        sut.dispatch(BoardEvent.ofBoard(BoardEvent.Operation.EDIT, new Board("board")));
+
+        Mockito.verifyNoInteractions(boardService, listService, cardService);
+    }
+
+    @Test
+    void cardAddedToDisplayedList() {
+        Card card = card(7L, 5L);
+        Mockito.when(listService.isDisplayed(5L)).thenReturn(true);
+
+        sut.dispatch(BoardEvent.ofCard(BoardEvent.Operation.ADD, 5L, card));
+
+        Mockito.verify(listService).addCard(card);
+    }
+
+    @Test
+    void cardAddedToHiddenListIsDropped() {
+        sut.dispatch(BoardEvent.ofCard(BoardEvent.Operation.ADD, 5L, card(7L, 5L)));
+
+        Mockito.verify(listService, Mockito.never()).addCard(any());
+    }
+
+    @Test
+    void cardEvents() {
+        Card card = card(7L, 6L);
+        Mockito.when(cardService.getTaskById(7L)).thenReturn(Mockito.mock(Task.class));
+
+        sut.dispatch(BoardEvent.ofCard(BoardEvent.Operation.RELOCATE, 5L, card));
+        sut.dispatch(BoardEvent.ofCard(BoardEvent.Operation.EDIT, null, card));
+        sut.dispatch(BoardEvent.ofCard(BoardEvent.Operation.RECOLOR, null, card));
+        sut.dispatch(BoardEvent.ofCard(BoardEvent.Operation.DELETE, 6L, card));
+
+        Mockito.verify(listService).relocateCard(card, 5L);
+        Mockito.verify(cardService).applyCardEdit(card);
+        Mockito.verify(cardService).editCardColorVisual(card);
+        Mockito.verify(listService).removeCard(card);
+    }
+
+    @Test
+    void batchRemovesMovedCardsBeforeInsertingThemInOrder() {
+        Card last = card(7L, 5L);
+        last.index = 1;
+        Card first = card(8L, 5L);
+        first.index = 0;
+        Mockito.when(cardService.getTaskById(any())).thenReturn(Mockito.mock(Task.class));
+        Mockito.when(listService.isDisplayed(5L)).thenReturn(true);
+
+        sut.dispatch(BoardEvent.ofCardBatch(List.of(
+            BoardEvent.ofCard(BoardEvent.Operation.RELOCATE, 5L, last),
+            BoardEvent.ofCard(BoardEvent.Operation.RELOCATE, 6L, first))));
+
+        InOrder order = Mockito.inOrder(listService);
+        order.verify(listService, Mockito.times(2)).removeCard(any());
+        order.verify(listService).addCard(first);
+        order.verify(listService).addCard(last);
+    }
+
+    @Test
+    void eventOfUnknownCardIsDropped() {
+        sut.dispatch(BoardEvent.ofCard(BoardEvent.Operation.EDIT, null, card(7L, 5L)));
+
+        Mockito.verify(cardService, Mockito.never()).applyCardEdit(any());
+    }
+
+    @Test
+    void subtaskAndTagEvents() {
+        Subtask subtask = new Subtask();
+        subtask.id = 3L;
+        Tag tag = new Tag("Work", "Blue");
+        tag.id = 4L;
+        Mockito.when(cardService.getTaskById(7L)).thenReturn(Mockito.mock(Task.class));
+
+        sut.dispatch(BoardEvent.ofNestedTaskList(7L));
+        sut.dispatch(BoardEvent.ofSubtask(BoardEvent.Operation.ADD, 7L, subtask));
+        sut.dispatch(BoardEvent.ofSubtask(BoardEvent.Operation.RELOCATE, 7L, subtask));
+        sut.dispatch(BoardEvent.ofTag(BoardEvent.Operation.ASSIGN, 7L, tag));
+        sut.dispatch(BoardEvent.ofTag(BoardEvent.Operation.EDIT, 7L, tag));
+
+        Mockito.verify(cardService).addNestedTaskList(7L);
+        Mockito.verify(cardService).addSubtask(subtask);
+        Mockito.verify(cardService).applySubtaskRelocate(subtask);
+        Mockito.verify(cardService).applyTagAdded(7L, tag);
+        Mockito.verify(cardService).applyTagEdited(7L, tag);
+    }
+
+    @Test
+    void tagChangedOnTheBoardIsAppliedOnce() {
+        Tag tag = new Tag("Work", "Blue");
+        tag.id = 4L;
+
+        sut.dispatch(BoardEvent.ofBoardTag(BoardEvent.Operation.EDIT, tag));
+
+        Mockito.verify(cardService).applyBoardTagChange(tag);
+        Mockito.verify(cardService, Mockito.never()).applyTagEdited(any(), any());
+    }
+}
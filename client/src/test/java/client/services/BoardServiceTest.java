@@ -8,6 +8,10 @@ import client.scenes.MainCtrl;
 import client.utils.RecentBoardsUtils;
 import client.utils.ServerUtils;
 import commons.Board;
+import commons.BoardSnapshot;
+import commons.Card;
+import commons.CardDto;
+import commons.ListRemovals;
 import commons.TaskList;
 import javafx.scene.control.Tab;
 import org.junit.jupiter.api.BeforeEach;
@@ -20,6 +24,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.eq;
@@ -31,6 +36,7 @@ class BoardServiceTest {
     private RecentBoardsUtils rbu;
     private CardService cardService;
     private FXMLLoader fxml;
+    private ModelCache cache;
     private BoardService sut;
 
 
@@ -42,6 +48,8 @@ class BoardServiceTest {
         rbu = Mockito.mock(RecentBoardsUtils.class);
         cardService = Mockito.mock(CardService.class);
         fxml = Mockito.mock(FXMLLoader.class);
+        cache = new ModelCache(server);
+        Mockito.when(listService.getCache()).thenReturn(cache);
         sut = new BoardService(mainCtrl, server, listService, rbu, cardService, fxml);
     }
 
@@ -63,16 +71,23 @@ class BoardServiceTest {
         boards.put(1L, boardCtrl);
         sut.setBoards(boards);
 
-        List<TaskList> lists = new ArrayList<>();
-        lists.add(new TaskList());
-        Mockito.when(server.getNotDeletedListsByBoard(1L)).thenReturn(lists);
+        BoardSnapshot snapshot = new BoardSnapshot(new Board());
+        TaskList tl = new TaskList();
+        tl.id = 2L;
+        snapshot.lists.add(tl);
+        Card card = new Card("title", "description", tl);
+        card.id = 3L;
+        snapshot.cards.add(CardDto.of(card));
+        Mockito.when(server.getBoardSnapshotAsync(1L))
+            .thenReturn(CompletableFuture.completedFuture(snapshot));
 
         BoardList bl = new BoardList();
-        Mockito.when(listService.initializeList(lists.get(0), boardCtrl)).thenReturn(bl);
+        Mockito.when(listService.initializeList(tl, boardCtrl, List.of(card))).thenReturn(bl);
 
         sut.retrieveLists(1L);
 
-        Mockito.verify(listService).initializeList(lists.get(0), boardCtrl);
+        Mockito.verify(server, Mockito.never()).getNotDeletedListsByBoardAsync(1L);
+        Mockito.verify(listService).initializeList(tl, boardCtrl, List.of(card));
         Mockito.verify(boardCtrl).addListOnPosition(bl, 0);
     }
 
@@ -127,6 +142,46 @@ class BoardServiceTest {
         Mockito.verify(boardCtrl).removeList(5L);
     }
 
+    @Test
+    void applyListRemovals() {
+        BoardCtrl boardCtrl = Mockito.mock(BoardCtrl.class);
+        Map<Long, BoardCtrl> boards = new HashMap<>();
+        boards.put(1L, boardCtrl);
+        sut.setBoards(boards);
+        TaskList tl = new TaskList();
+        tl.id = 5L;
+
+        sut.applyListRemovals(1L, new ListRemovals(3, List.of(tl), false));
+
+        Mockito.verify(boardCtrl).removeList(5L);
+        Mockito.verifyNoInteractions(server);
+    }
+
+    @Test
+    void applyTruncatedListRemovals() {
+        BoardCtrl boardCtrl = Mockito.mock(BoardCtrl.class);
+        Map<Long, BoardCtrl> boards = new HashMap<>();
+        boards.put(1L, boardCtrl);
+        sut.setBoards(boards);
+        List<BoardList> displayed = new ArrayList<>();
+        for (long id = 5; id <= 7; id++) {
+            BoardList bl = new BoardList();
+            bl.setId(id);
+            displayed.add(bl);
+        }
+        Mockito.when(boardCtrl.getLists()).thenReturn(displayed);
+        TaskList kept = new TaskList();
+        kept.id = 6L;
+        Mockito.when(server.getNotDeletedListsByBoardAsync(1L))
+            .thenReturn(CompletableFuture.completedFuture(List.of(kept)));
+
+        sut.applyListRemovals(1L, new ListRemovals(300, List.of(), true));
+
+        Mockito.verify(boardCtrl).removeList(5L);
+        Mockito.verify(boardCtrl).removeList(7L);
+        Mockito.verify(boardCtrl, Mockito.never()).removeList(6L);
+    }
+
     @Test
     void closeBoard() {
         BoardCtrl boardCtrl = Mockito.mock(BoardCtrl.class);
@@ -144,8 +199,7 @@ class BoardServiceTest {
 
         Mockito.verify(boardCtrl).getLists();
         Mockito.verify(listService).closeList(5L);
-        Mockito.verify(server).deregisterForMessages("/topic/" + 1 + "/lists/add");
-        Mockito.verify(server).deregisterForMessages("/topic/" + 1 + "/lists/relocate");
+        Mockito.verify(server).deregisterForMessages("/topic/board/" + 1 + "/events");
         Mockito.verify(server).deregisterForMessages("/topic/" + 1 + "/changePassword");
         Mockito.verify(server).deregisterForMessages("/topic/" + 1 + "/changeName");
         Mockito.verify(server).deregisterForLongPolling("/api/lists/" + 1 + "/lists/remove");
@@ -170,8 +224,7 @@ class BoardServiceTest {
 
         Mockito.verify(boardCtrl).getLists();
         Mockito.verify(listService).closeList(5L);
-        Mockito.verify(server).deregisterForMessages("/topic/" + 1 + "/lists/add");
-        Mockito.verify(server).deregisterForMessages("/topic/" + 1 + "/lists/relocate");
+        Mockito.verify(server).deregisterForMessages("/topic/board/" + 1 + "/events");
         Mockito.verify(server).deregisterForMessages("/topic/" + 1 + "/changePassword");
         Mockito.verify(server).deregisterForMessages("/topic/" + 1 + "/changeName");
         Mockito.verify(server).deregisterForLongPolling("/api/lists/" + 1 + "/lists/remove");
@@ -183,19 +236,19 @@ class BoardServiceTest {
     void getPasswordFromBoard() {
         Board b = new Board();
         b.password = "123";
-        Mockito.when(server.getBoard(1L)).thenReturn(b);
-        Mockito.when(server.getBoard(2L)).thenReturn(null);
+        Mockito.when(server.getBoardAsync(1L)).thenReturn(CompletableFuture.completedFuture(b));
+        Mockito.when(server.getBoardAsync(2L)).thenReturn(CompletableFuture.completedFuture(null));
 
-        assertEquals("123", sut.getPasswordFromBoard(1L));
-        assertEquals(null, sut.getPasswordFromBoard(2L));
+        assertEquals("123", sut.getPasswordFromBoard(1L).join());
+        assertEquals(null, sut.getPasswordFromBoard(2L).join());
     }
 
     @Test
     void getBoardFromServer() {
         Board b = new Board();
-        Mockito.when(server.getBoard(1L)).thenReturn(b);
+        Mockito.when(server.getBoardAsync(1L)).thenReturn(CompletableFuture.completedFuture(b));
 
-        assertEquals(b, sut.getBoardFromServer(1L));
+        assertEquals(b, sut.getBoardFromServer(1L).join());
     }
 
     @Test
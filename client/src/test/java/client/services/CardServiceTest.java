@@ -0,0 +1,108 @@
+package client.services;
+
+import client.FXMLLoader;
+import client.scenes.EditCardCtrl;
+import client.utils.ServerUtils;
+import commons.Board;
+import commons.BoardSnapshot;
+import commons.Card;
+import commons.CardDto;
+import commons.Status;
+import commons.TaskList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+
+class CardServiceTest {
+    private ServerUtils server;
+    private ListService listService;
+    private CardService sut;
+
+    /**
+     * A cached board with a list of two cards and a second list
+     */
+    @BeforeEach
+    void setUp() {
+        server = Mockito.mock(ServerUtils.class);
+        ModelCache cache = new ModelCache(server);
+        sut = new CardService(server, Mockito.mock(FXMLLoader.class),
+            Mockito.mock(EditCardCtrl.class), cache);
+        listService = new ListService(server, sut, null, Mockito.mock(FXMLLoader.class), cache);
+
+        Board board = new Board("board");
+        board.id = 1L;
+        BoardSnapshot snapshot = new BoardSnapshot(board);
+        TaskList list = list(board, 2L, 0);
+        snapshot.lists.add(list);
+        snapshot.lists.add(list(board, 3L, 1));
+        snapshot.cards.add(CardDto.of(card(list, 4L, 0)));
+        snapshot.cards.add(CardDto.of(card(list, 5L, 1)));
+        cache.putSnapshot(snapshot);
+    }
+
+    private static TaskList list(Board board, Long id, int index) {
+        TaskList res = new TaskList("list " + id, board);
+        res.id = id;
+        res.index = index;
+        res.status = Status.ACTIVE;
+        return res;
+    }
+
+    private static Card card(TaskList list, Long id, int index) {
+        Card res = new Card("card " + id, "-", list);
+        res.id = id;
+        res.index = index;
+        res.status = Status.ACTIVE;
+        return res;
+    }
+
+    private <T> T sent(String destination, Class<T> type) {
+        ArgumentCaptor<T> payload = ArgumentCaptor.forClass(type);
+        Mockito.verify(server).send(eq(destination), payload.capture());
+        return payload.getValue();
+    }
+
+    @Test
+    void renameAfterASiblingMovedDoesNotMoveTheCard() {
+        sut.relocateTask(5L, 2L, 2L, 0); // the renamed card is now second, not first
+        sut.saveEditedCard(4L, "renamed", "description");
+
+        Card edit = sent("/app/4/cards/edit", Card.class);
+        assertEquals(4L, edit.id);
+        assertEquals("renamed", edit.title);
+        assertEquals("description", edit.description);
+        assertNull(edit.taskList);
+        assertNull(edit.index);
+        assertNull(edit.status);
+    }
+
+    @Test
+    void recolorAfterASiblingMovedDoesNotMoveTheCard() {
+        sut.relocateTask(5L, 2L, 2L, 0);
+        sut.changeCardColor(4L, "#000000");
+
+        Card edit = sent("/app/4/changeCardColor", Card.class);
+        assertEquals("#000000", edit.color);
+        assertNull(edit.title);
+        assertNull(edit.taskList);
+        assertNull(edit.index);
+        assertNull(edit.status);
+    }
+
+    @Test
+    void renameAfterASiblingListMovedDoesNotMoveTheList() {
+        listService.relocateList(3L, 0);
+        listService.saveEditedList(2L, "renamed");
+
+        TaskList edit = sent("/app/2/lists/edit/title", TaskList.class);
+        assertEquals(2L, edit.id);
+        assertEquals("renamed", edit.name);
+        assertNull(edit.index);
+        assertNull(edit.board);
+        assertNull(edit.status);
+    }
+}
@@ -0,0 +1,218 @@
+package client.services;
+
+import client.utils.ServerUtils;
+import commons.Board;
+import commons.BoardEvent;
+import commons.BoardSnapshot;
+import commons.Card;
+import commons.CardDto;
+import commons.Status;
+import commons.Tag;
+import commons.TaskList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ModelCacheTest {
+    private ServerUtils server;
+    private ModelCache sut;
+    private Board board;
+    private TaskList list;
+    private Card card;
+
+    @BeforeEach
+    void setUp() {
+        server = Mockito.mock(ServerUtils.class);
+        sut = new ModelCache(server);
+        board = new Board("board");
+        board.id = 1L;
+        list = new TaskList("list", board);
+        list.id = 2L;
+        card = new Card("title", "description", list);
+        card.id = 3L;
+        card.tags = new HashSet<>();
+    }
+
+    private void loadBoard() {
+        BoardSnapshot snapshot = new BoardSnapshot(board);
+        snapshot.lists.add(list);
+        snapshot.cards.add(CardDto.of(card));
+        sut.putSnapshot(snapshot);
+    }
+
+    @Test
+    void loadedEntitiesAreNotRetrieved() {
+        loadBoard();
+
+        assertEquals("title", sut.card(3L).join().title);
+        assertEquals("list", sut.list(2L).join().name);
+        assertEquals("board", sut.board(1L).join().name);
+        Mockito.verifyNoInteractions(server);
+    }
+
+    @Test
+    void changesToACopyDoNotChangeTheCache() {
+        loadBoard();
+
+        sut.card(3L).join().title = "changed";
+
+        assertEquals("title", sut.card(3L).join().title);
+    }
+
+    @Test
+    void concurrentMissesSendOneRequest() {
+        CompletableFuture<Card> response = new CompletableFuture<>();
+        Mockito.when(server.getCardByIdAsync(3L)).thenReturn(response);
+
+        CompletableFuture<Card> first = sut.card(3L);
+        CompletableFuture<Card> second = sut.card(3L);
+        response.complete(card);
+
+        assertEquals("title", first.join().title);
+        assertEquals("title", second.join().title);
+        assertEquals("title", sut.card(3L).join().title);
+        Mockito.verify(server, Mockito.times(1)).getCardByIdAsync(3L);
+    }
+
+    @Test
+    void failedMissIsRetried() {
+        Mockito.when(server.getCardByIdAsync(3L))
+            .thenReturn(CompletableFuture.failedFuture(new IllegalStateException()))
+            .thenReturn(CompletableFuture.completedFuture(card));
+
+        assertTrue(sut.card(3L).isCompletedExceptionally());
+        assertEquals("title", sut.card(3L).join().title);
+    }
+
+    @Test
+    void eventsUpdateTheCache() {
+        loadBoard();
+        Card edited = new Card("edited", "description", list);
+        edited.id = 3L;
+        edited.tags = new HashSet<>();
+        Tag tag = new Tag("tag", "#FFFFFF");
+        tag.id = 4L;
+
+        sut.apply(BoardEvent.ofCard(BoardEvent.Operation.EDIT, 2L, edited));
+        assertEquals("edited", sut.card(3L).join().title);
+
+        sut.apply(BoardEvent.ofTag(BoardEvent.Operation.ASSIGN, 3L, tag));
+        assertEquals(List.of(tag), List.copyOf(sut.card(3L).join().tags));
+
+        sut.apply(BoardEvent.ofTag(BoardEvent.Operation.UNASSIGN, 3L, tag));
+        assertTrue(sut.card(3L).join().tags.isEmpty());
+        Mockito.verifyNoInteractions(server);
+    }
+
+    @Test
+    void cardWithoutItsTagsKeepsTheCachedOnes() {
+        Tag tag = new Tag("tag", "#FFFFFF");
+        tag.id = 4L;
+        card.tags.add(tag);
+        loadBoard();
+        Card edited = new Card("edited", "description", list);
+        edited.id = 3L;
+
+        sut.apply(BoardEvent.ofCard(BoardEvent.Operation.EDIT, 2L, edited));
+
+        assertEquals("edited", sut.card(3L).join().title);
+        assertEquals(List.of(tag), List.copyOf(sut.card(3L).join().tags));
+    }
+
+    @Test
+    void boardEventsUpdateTheBoard() {
+        loadBoard();
+        Board renamed = new Board("renamed");
+        renamed.id = 1L;
+
+        sut.apply(BoardEvent.ofBoard(BoardEvent.Operation.EDIT, renamed));
+
+        assertEquals("renamed", sut.board(1L).join().name);
+        Mockito.verifyNoInteractions(server);
+    }
+
+    @Test
+    void boardEventsNeverCarryThePassword() {
+        board.password = "secret";
+        loadBoard();
+        Board renamed = new Board("renamed", "leaked");
+        renamed.id = 1L;
+
+        BoardEvent event = BoardEvent.ofBoard(BoardEvent.Operation.EDIT, renamed);
+        assertNull(event.board.password);
+        sut.apply(event);
+        assertEquals("secret", sut.board(1L).join().password);
+
+        Mockito.when(server.getBoardAsync(1L)).thenReturn(CompletableFuture.completedFuture(board));
+        sut.apply(BoardEvent.ofBoardPassword(1L));
+        sut.board(1L).join();
+        Mockito.verify(server).getBoardAsync(1L);
+    }
+
+    @Test
+    void tagChangedOnTheBoardUpdatesEveryCardHavingIt() {
+        Tag tag = new Tag("tag", "#FFFFFF");
+        tag.id = 4L;
+        card.tags.add(tag);
+        loadBoard();
+        Tag renamed = new Tag("renamed", "#000000");
+        renamed.id = 4L;
+
+        sut.apply(BoardEvent.ofBoardTag(BoardEvent.Operation.EDIT, renamed));
+        assertEquals("renamed", sut.card(3L).join().tags.iterator().next().name);
+        assertEquals("tag", card.tags.iterator().next().name); // the shown card is left alone
+
+        renamed.status = Status.DELETED;
+        sut.apply(BoardEvent.ofBoardTag(BoardEvent.Operation.DELETE, renamed));
+        assertTrue(sut.card(3L).join().tags.isEmpty());
+    }
+
+    @Test
+    void batchEventsUpdateEveryCard() {
+        loadBoard();
+        Card moved = new Card("moved", "description", list);
+        moved.id = 3L;
+        Card other = new Card("other", "description", list);
+        other.id = 5L;
+
+        sut.apply(BoardEvent.ofCardBatch(List.of(
+            BoardEvent.ofCard(BoardEvent.Operation.RELOCATE, 2L, moved),
+            BoardEvent.ofCard(BoardEvent.Operation.ADD, 2L, other))));
+
+        assertEquals("moved", sut.card(3L).join().title);
+        assertEquals("other", sut.card(5L).join().title);
+        Mockito.verifyNoInteractions(server);
+    }
+
+    @Test
+    void deletedCardIsRetrievedAgain() {
+        loadBoard();
+        Mockito.when(server.getCardByIdAsync(3L))
+            .thenReturn(CompletableFuture.completedFuture(null));
+
+        sut.apply(BoardEvent.ofCard(BoardEvent.Operation.DELETE, 2L, card));
+
+        assertNull(sut.card(3L).join());
+        Mockito.verify(server).getCardByIdAsync(3L);
+    }
+
+    @Test
+    void closingTheBoardForgetsItsEntities() {
+        loadBoard();
+        Mockito.when(server.getCardByIdAsync(3L))
+            .thenReturn(CompletableFuture.completedFuture(null));
+        Mockito.when(server.getListByIdAsync(2L))
+            .thenReturn(CompletableFuture.completedFuture(null));
+
+        sut.removeBoard(1L);
+
+        assertNull(sut.card(3L).join());
+        assertNull(sut.list(2L).join());
+    }
+}
@@ -0,0 +1,52 @@
+package commons;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import javax.persistence.*;
+
+import static org.apache.commons.lang3.builder.ToStringStyle.MULTI_LINE_STYLE;
+
+/**
+ * A deleted card moved out of the card table after the retention, it keeps the id of its
+ * list instead of a reference so that the list may be archived on its own
+ */
+@Entity
+@Table(name = "archived_card",
+    indexes = @Index(name = "idx_archived_card_list", columnList = "task_list_id"))
+public class ArchivedCard {
+    @Id
+    public Long id;
+    public String title;
+    public String description;
+    public String color;
+    public String createdBy;
+    public Integer index;
+    public String rank;
+    public Integer doneSubtasks;
+    public Integer totalSubtasks;
+    @Enumerated(EnumType.STRING)
+    public Status status;
+
+    @Column(name = "task_list_id")
+    public Long taskListId;
+    @Column(name = "deleted_at")
+    public Long deletedAt;
+    @Column(name = "archived_at")
+    public long archivedAt;     // milliseconds since the epoch
+
+    /**
+     * Dummy constructor for ArchivedCard used by JPA
+     */
+    @SuppressWarnings("unused")
+    public ArchivedCard() {
+    }
+
+    /**
+     * Returns a human-readable string representation of this object.
+     * @return - a string
+     */
+    @Override
+    public String toString() {
+        return ToStringBuilder.reflectionToString(this, MULTI_LINE_STYLE);
+    }
+}
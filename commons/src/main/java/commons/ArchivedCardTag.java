@@ -0,0 +1,44 @@
+package commons;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import javax.persistence.*;
+
+import static org.apache.commons.lang3.builder.ToStringStyle.MULTI_LINE_STYLE;
+
+/**
+ * A row of the table assigning tags to cards, moved out of it when either its card or its
+ * tag was archived
+ */
+@Entity
+@Table(name = "archived_card_tags", indexes = {
+    @Index(name = "idx_archived_card_tags_card", columnList = "card_id"),
+    @Index(name = "idx_archived_card_tags_tag", columnList = "tags_id")})
+public class ArchivedCardTag {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    public Long id;
+
+    @Column(name = "card_id")
+    public Long cardId;
+    @Column(name = "tags_id")
+    public Long tagId;
+    @Column(name = "archived_at")
+    public long archivedAt;     // milliseconds since the epoch
+
+    /**
+     * Dummy constructor for ArchivedCardTag used by JPA
+     */
+    @SuppressWarnings("unused")
+    public ArchivedCardTag() {
+    }
+
+    /**
+     * Returns a human-readable string representation of this object.
+     * @return - a string
+     */
+    @Override
+    public String toString() {
+        return ToStringBuilder.reflectionToString(this, MULTI_LINE_STYLE);
+    }
+}
@@ -0,0 +1,46 @@
+package commons;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import javax.persistence.*;
+
+import static org.apache.commons.lang3.builder.ToStringStyle.MULTI_LINE_STYLE;
+
+/**
+ * A subtask moved out of the subtask table after the retention, either deleted itself or
+ * archived together with its card
+ */
+@Entity
+@Table(name = "archived_subtask",
+    indexes = @Index(name = "idx_archived_subtask_card", columnList = "card_id"))
+public class ArchivedSubtask {
+    @Id
+    public Long id;
+    public String title;
+    public Integer index;
+    @Enumerated(EnumType.STRING)
+    public Status status;
+
+    @Column(name = "card_id")
+    public Long cardId;
+    @Column(name = "deleted_at")
+    public Long deletedAt;
+    @Column(name = "archived_at")
+    public long archivedAt;     // milliseconds since the epoch
+
+    /**
+     * Dummy constructor for ArchivedSubtask used by JPA
+     */
+    @SuppressWarnings("unused")
+    public ArchivedSubtask() {
+    }
+
+    /**
+     * Returns a human-readable string representation of this object.
+     * @return - a string
+     */
+    @Override
+    public String toString() {
+        return ToStringBuilder.reflectionToString(this, MULTI_LINE_STYLE);
+    }
+}
@@ -0,0 +1,44 @@
+package commons;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import javax.persistence.*;
+
+import static org.apache.commons.lang3.builder.ToStringStyle.MULTI_LINE_STYLE;
+
+/**
+ * A deleted tag moved out of the tag table after the retention
+ */
+@Entity
+@Table(name = "archived_tag")
+public class ArchivedTag {
+    @Id
+    public Long id;
+    public String name;
+    public String color;
+    @Enumerated(EnumType.STRING)
+    public Status status;
+
+    @Column(name = "board_id")
+    public Long boardId;
+    @Column(name = "deleted_at")
+    public Long deletedAt;
+    @Column(name = "archived_at")
+    public long archivedAt;     // milliseconds since the epoch
+
+    /**
+     * Dummy constructor for ArchivedTag used by JPA
+     */
+    @SuppressWarnings("unused")
+    public ArchivedTag() {
+    }
+
+    /**
+     * Returns a human-readable string representation of this object.
+     * @return - a string
+     */
+    @Override
+    public String toString() {
+        return ToStringBuilder.reflectionToString(this, MULTI_LINE_STYLE);
+    }
+}
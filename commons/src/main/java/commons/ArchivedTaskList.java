@@ -0,0 +1,46 @@
+package commons;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import javax.persistence.*;
+
+import static org.apache.commons.lang3.builder.ToStringStyle.MULTI_LINE_STYLE;
+
+/**
+ * A deleted task list moved out of the task list table after the retention together with
+ * its cards
+ */
+@Entity
+@Table(name = "archived_task_list")
+public class ArchivedTaskList {
+    @Id
+    public Long id;
+    public String name;
+    @Enumerated(EnumType.STRING)
+    public Status status;
+    public String color;
+    public Integer index;
+
+    @Column(name = "board_id")
+    public Long boardId;
+    @Column(name = "deleted_at")
+    public Long deletedAt;
+    @Column(name = "archived_at")
+    public long archivedAt;     // milliseconds since the epoch
+
+    /**
+     * Dummy constructor for ArchivedTaskList used by JPA
+     */
+    @SuppressWarnings("unused")
+    public ArchivedTaskList() {
+    }
+
+    /**
+     * Returns a human-readable string representation of this object.
+     * @return - a string
+     */
+    @Override
+    public String toString() {
+        return ToStringBuilder.reflectionToString(this, MULTI_LINE_STYLE);
+    }
+}
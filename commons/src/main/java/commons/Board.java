@@ -1,7 +1,5 @@
 package commons;
 
-import org.apache.commons.lang3.builder.EqualsBuilder;
-import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 
 import javax.persistence.Entity;
@@ -54,12 +52,15 @@ public class Board {
     /**
      * Checks if the 2 objects are equal
      * @param obj - another object compared to
-     * @return - true if the 2 objects are equal
+     * @return - true if the 2 objects have the same id
      */
 
     @Override
     public boolean equals(Object obj) {
-        return EqualsBuilder.reflectionEquals(this, obj);
+        if (this == obj) {
+            return true;
+        }
+        return obj instanceof Board && id != null && id.equals(((Board) obj).id);
     }
 
     /**
@@ -69,7 +70,7 @@ public class Board {
 
     @Override
     public int hashCode() {
-        return HashCodeBuilder.reflectionHashCode(this);
+        return id == null ? System.identityHashCode(this) : Long.hashCode(id);
     }
 
     /**
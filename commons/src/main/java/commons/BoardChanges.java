@@ -0,0 +1,68 @@
+package commons;
+
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.apache.commons.lang3.builder.ToStringStyle.MULTI_LINE_STYLE;
+
+/**
+ * The events of a board after a given sequence number, used by a client to catch up on the
+ * events it missed
+ */
+public class BoardChanges {
+
+    public long seq;                // sequence number of the last event of the board
+    public List<BoardEvent> events;
+    public boolean truncated;       // some events after the requested one are no longer kept
+
+    /**
+     * Dummy constructor for BoardChanges used by object mapper
+     */
+    @SuppressWarnings("unused")
+    public BoardChanges() {
+    }
+
+    /**
+     * Creates the answer to a request for the changes of a board
+     * @param seq - the sequence number of the last event of the board
+     * @param events - the events in the order of their sequence numbers, at most a page of them
+     * @param truncated - whether older events the client has not seen were compacted
+     */
+    public BoardChanges(long seq, List<BoardEvent> events, boolean truncated) {
+        this.seq = seq;
+        this.events = new ArrayList<>(events);
+        this.truncated = truncated;
+    }
+
+    /**
+     * Checks if the 2 objects are equal
+     * @param obj - another object compared to
+     * @return - true if the 2 objects are equal
+     */
+    @Override
+    public boolean equals(Object obj) {
+        return EqualsBuilder.reflectionEquals(this, obj);
+    }
+
+    /**
+     * Generates the hashCode of this object
+     * @return the hashCode
+     */
+    @Override
+    public int hashCode() {
+        return HashCodeBuilder.reflectionHashCode(this);
+    }
+
+    /**
+     * Returns a human-readable string representation of this object.
+     * @return - a string
+     */
+    @Override
+    public String toString() {
+        return ToStringBuilder.reflectionToString(this, MULTI_LINE_STYLE);
+    }
+}
@@ -0,0 +1,198 @@
+package commons;
+
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.apache.commons.lang3.builder.ToStringStyle.MULTI_LINE_STYLE;
+
+/**
+ * A change to something inside a board, sent on the single event topic of that board.
+ * Exactly one of the payload fields is filled in, matching the entity of the event. Cards and
+ * subtasks are sent in their wire form, which references their parent by id.
+ */
+public class BoardEvent {
+
+    /**
+     * The kind of object an event is about
+     */
+    public enum Entity {
+        BOARD, LIST, CARD, NESTED_TASK_LIST, SUBTASK, TAG
+    }
+
+    /**
+     * What happened to the object
+     */
+    public enum Operation {
+        ADD, EDIT, RECOLOR, RELOCATE, DELETE, ASSIGN, UNASSIGN, BATCH
+    }
+
+    public Long seq;            // position in the change log of the board, set when published
+    public Entity entity;
+    public Operation operation;
+    public Long id;
+    public Long parentId;       // old list of a card, card of a subtask or of an assigned tag,
+                                // null for a tag changed on the whole board
+
+    public Board board;         // only its id and name, the password is never sent
+    public boolean passwordChanged;
+    public TaskList list;
+    public CardDto card;
+    public SubtaskDto subtask;
+    public Tag tag;
+    public List<BoardEvent> batch;  // the card events of a batch, in the order they were applied
+
+    /**
+     * Dummy constructor for BoardEvent used by object mapper
+     */
+    @SuppressWarnings("unused")
+    public BoardEvent() {
+    }
+
+    private BoardEvent(Entity entity, Operation operation, Long id, Long parentId) {
+        this.entity = entity;
+        this.operation = operation;
+        this.id = id;
+        this.parentId = parentId;
+    }
+
+    /**
+     * Creates an event about the board itself, e.g. a new name. The event is kept in the
+     * change log, which anyone knowing the board can read, so it only carries the id and the
+     * name of the board.
+     * @param operation - what happened to the board
+     * @param board - the board after the change
+     * @return - the event
+     */
+    public static BoardEvent ofBoard(Operation operation, Board board) {
+        BoardEvent event = new BoardEvent(Entity.BOARD, operation, board.id, null);
+        event.board = new Board();
+        event.board.id = board.id;
+        event.board.name = board.name;
+        return event;
+    }
+
+    /**
+     * Creates an event about the password of a board being changed, without the password
+     * @param boardId - the id of the board
+     * @return - the event
+     */
+    public static BoardEvent ofBoardPassword(Long boardId) {
+        BoardEvent event = new BoardEvent(Entity.BOARD, Operation.EDIT, boardId, null);
+        event.passwordChanged = true;
+        return event;
+    }
+
+    /**
+     * Creates an event about a task list
+     * @param operation - what happened to the list
+     * @param list - the list after the change
+     * @return - the event
+     */
+    public static BoardEvent ofList(Operation operation, TaskList list) {
+        BoardEvent event = new BoardEvent(Entity.LIST, operation, list.id, null);
+        event.list = list;
+        return event;
+    }
+
+    /**
+     * Creates an event about a card
+     * @param operation - what happened to the card
+     * @param listId - the list the card was in before the change
+     * @param card - the card after the change
+     * @return - the event
+     */
+    public static BoardEvent ofCard(Operation operation, Long listId, Card card) {
+        BoardEvent event = new BoardEvent(Entity.CARD, operation, card.id, listId);
+        event.card = CardDto.of(card);
+        return event;
+    }
+
+    /**
+     * Creates a single event about the cards changed together by a batch
+     * @param events - the events of the changed cards
+     * @return - the event
+     */
+    public static BoardEvent ofCardBatch(List<BoardEvent> events) {
+        BoardEvent event = new BoardEvent(Entity.CARD, Operation.BATCH, null, null);
+        event.batch = new ArrayList<>(events);
+        return event;
+    }
+
+    /**
+     * Creates an event about the nested task list of a card being created
+     * @param cardId - the id of the card
+     * @return - the event
+     */
+    public static BoardEvent ofNestedTaskList(Long cardId) {
+        return new BoardEvent(Entity.NESTED_TASK_LIST, Operation.ADD, cardId, cardId);
+    }
+
+    /**
+     * Creates an event about a subtask
+     * @param operation - what happened to the subtask
+     * @param cardId - the card the subtask belongs to
+     * @param subtask - the subtask after the change
+     * @return - the event
+     */
+    public static BoardEvent ofSubtask(Operation operation, Long cardId, Subtask subtask) {
+        BoardEvent event = new BoardEvent(Entity.SUBTASK, operation, subtask.id, cardId);
+        event.subtask = SubtaskDto.of(subtask);
+        return event;
+    }
+
+    /**
+     * Creates an event about a tag of a card
+     * @param operation - what happened to the tag
+     * @param cardId - the card the tag is (or was) assigned to
+     * @param tag - the tag after the change
+     * @return - the event
+     */
+    public static BoardEvent ofTag(Operation operation, Long cardId, Tag tag) {
+        BoardEvent event = new BoardEvent(Entity.TAG, operation, tag.id, cardId);
+        event.tag = tag;
+        return event;
+    }
+
+    /**
+     * Creates a single event about a tag which got edited or deleted, it applies to every card
+     * of the board having the tag
+     * @param operation - EDIT or DELETE
+     * @param tag - the tag after the change
+     * @return - the event
+     */
+    public static BoardEvent ofBoardTag(Operation operation, Tag tag) {
+        return ofTag(operation, null, tag);
+    }
+
+    /**
+     * Checks if the 2 objects are equal
+     * @param obj - another object compared to
+     * @return - true if the 2 objects are equal
+     */
+    @Override
+    public boolean equals(Object obj) {
+        return EqualsBuilder.reflectionEquals(this, obj);
+    }
+
+    /**
+     * Generates the hashCode of this object
+     * @return the hashCode
+     */
+    @Override
+    public int hashCode() {
+        return HashCodeBuilder.reflectionHashCode(this);
+    }
+
+    /**
+     * Returns a human-readable string representation of this object.
+     * @return - a string
+     */
+    @Override
+    public String toString() {
+        return ToStringBuilder.reflectionToString(this, MULTI_LINE_STYLE);
+    }
+}
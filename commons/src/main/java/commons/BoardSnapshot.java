@@ -0,0 +1,68 @@
+package commons;
+
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.apache.commons.lang3.builder.ToStringStyle.MULTI_LINE_STYLE;
+
+/**
+ * Everything a client needs to display a board, sent in a single response
+ */
+public class BoardSnapshot {
+
+    public Board board;
+    public List<TaskList> lists;
+    public List<CardDto> cards;     // active cards of all lists, each with its tags filled in
+    public List<Tag> tags;
+    public long seq;                // sequence number of the last event included in the snapshot
+
+    /**
+     * Dummy constructor for BoardSnapshot used by object mapper
+     */
+    @SuppressWarnings("unused")
+    public BoardSnapshot() {
+    }
+
+    /**
+     * Creates an empty snapshot of a board
+     * @param board - the board this snapshot describes
+     */
+    public BoardSnapshot(Board board) {
+        this.board = board;
+        this.lists = new ArrayList<>();
+        this.cards = new ArrayList<>();
+        this.tags = new ArrayList<>();
+    }
+
+    /**
+     * Checks if the 2 objects are equal
+     * @param obj - another object compared to
+     * @return - true if the 2 objects are equal
+     */
+    @Override
+    public boolean equals(Object obj) {
+        return EqualsBuilder.reflectionEquals(this, obj);
+    }
+
+    /**
+     * Generates the hashCode of this object
+     * @return the hashCode
+     */
+    @Override
+    public int hashCode() {
+        return HashCodeBuilder.reflectionHashCode(this);
+    }
+
+    /**
+     * Returns a human-readable string representation of this object.
+     * @return - a string
+     */
+    @Override
+    public String toString() {
+        return ToStringBuilder.reflectionToString(this, MULTI_LINE_STYLE);
+    }
+}
@@ -1,7 +1,5 @@
 package commons;
 
-import org.apache.commons.lang3.builder.EqualsBuilder;
-import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 
 import javax.persistence.*;
@@ -13,6 +11,9 @@ import java.util.Set;
 import static org.apache.commons.lang3.builder.ToStringStyle.MULTI_LINE_STYLE;
 
 @Entity
+@Table(indexes = {
+    @Index(name = "idx_card_list_status_rank", columnList = "task_list_id, status, rank, index"),
+    @Index(name = "idx_card_status_deleted", columnList = "status, deleted_at")})
 public class Card implements Comparable<Card> {
 
     @Id
@@ -20,18 +21,28 @@ public class Card implements Comparable<Card> {
     public Long id;
     public String title;
     public String description;
+    @Transient
+    public Boolean hasDescription;  // set on the client, which only loads open descriptions
     public String color;
     public String createdBy;
     public Integer index;
+    public String rank;     // key deciding the order inside the list, see Rank
     public Integer doneSubtasks;
     public Integer totalSubtasks;
     @Enumerated(EnumType.STRING)
     public Status status;
+    @Column(name = "deleted_at")
+    public Long deletedAt;  // milliseconds since the epoch, deleted rows are archived after a while
 
     @ManyToOne
+    @JoinColumn(name = "task_list_id")
     public TaskList taskList;
 
     @ManyToMany
+    @JoinTable(name = "card_tags",
+            joinColumns = @JoinColumn(name = "card_id"),
+            inverseJoinColumns = @JoinColumn(name = "tags_id"),
+            indexes = @Index(name = "idx_card_tags_tag", columnList = "tags_id, card_id"))
     public Set<Tag> tags;
 
     /**
@@ -56,14 +67,28 @@ public class Card implements Comparable<Card> {
         this.totalSubtasks = -1;
     }
 
+    /**
+     * Records when the card was deleted and forgets it once it is restored
+     */
+    @PrePersist
+    @PreUpdate
+    void stampDeletion() {
+        if (status != Status.DELETED) deletedAt = null;
+        else if (deletedAt == null) deletedAt = System.currentTimeMillis();
+    }
+
     /**
      * Checks if the 2 objects are equal
      * @param obj - another object compared to
-     * @return - true if the 2 objects are equal
+     * @return - true if the 2 objects have the same id
      */
     @Override
     public boolean equals(Object obj) {
-        return EqualsBuilder.reflectionEquals(this, obj);
+        if (this == obj) {
+            return true;
+        }
+        // entities which are not saved yet have no id and are only equal to themselves
+        return obj instanceof Card && id != null && id.equals(((Card) obj).id);
     }
 
     /**
@@ -73,7 +98,7 @@ public class Card implements Comparable<Card> {
 
     @Override
     public int hashCode() {
-        return HashCodeBuilder.reflectionHashCode(this);
+        return id == null ? System.identityHashCode(this) : Long.hashCode(id);
     }
 
     /**
@@ -87,7 +112,8 @@ public class Card implements Comparable<Card> {
     }
 
     /**
-     * Compares this card to another one based on their indexes in the task list
+     * Compares this card to another one based on their ranks in the task list,
+     * falling back to their indexes if one of them is not ranked yet
      * Potentially throws IllegalArgumentException if the cards are not in the same list
      * or NullPointerException if the objects miss important attributes
      * @param card the other card
@@ -98,6 +124,8 @@ public class Card implements Comparable<Card> {
         if (card.status != Status.ACTIVE || this.status != Status.ACTIVE
             || card.taskList != this.taskList)
             throw new IllegalArgumentException();
+        if (this.rank != null && card.rank != null)
+            return this.rank.compareTo(card.rank);
         return Integer.compare(this.index, card.index);
     }
 }
\ No newline at end of file
@@ -0,0 +1,158 @@
+package commons;
+
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import javax.persistence.Persistence;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.apache.commons.lang3.builder.ToStringStyle.MULTI_LINE_STYLE;
+
+/**
+ * The wire form of a card, sent in the responses and events about cards. The list of the card
+ * is referenced by its id, instead of carrying the list together with its board. The
+ * description is only sent where a single card is shown in full, the board only learns if
+ * there is one.
+ */
+public class CardDto {
+
+    public Long id;
+    public String title;
+    public String description;      // null unless the card is sent in full
+    public boolean hasDescription;
+    public String color;
+    public String createdBy;
+    public Integer index;
+    public String rank;
+    public Integer doneSubtasks;
+    public Integer totalSubtasks;
+    public Status status;
+    public Long taskListId;
+    public Set<TagDto> tags;        // null if the tags of the card were not loaded
+
+    /**
+     * Dummy constructor for CardDto used by object mapper
+     */
+    @SuppressWarnings("unused")
+    public CardDto() {
+    }
+
+    /**
+     * Creates the wire form of a card without its description, its tags are only included if
+     * they are loaded already
+     * @param card - the card to be sent
+     * @return - the wire form of the card
+     */
+    public static CardDto of(Card card) {
+        boolean loaded = card.tags != null && Persistence.getPersistenceUtil().isLoaded(card.tags);
+        return of(card, loaded ? card.tags : null);
+    }
+
+    /**
+     * Creates the wire form of a card without its description carrying the given tags
+     * @param card - the card to be sent
+     * @param tags - the tags of the card, null if they are not sent
+     * @return - the wire form of the card
+     */
+    public static CardDto of(Card card, Collection<Tag> tags) {
+        CardDto dto = new CardDto();
+        dto.id = card.id;
+        dto.title = card.title;
+        dto.hasDescription = card.description != null && !card.description.isBlank();
+        dto.color = card.color;
+        dto.createdBy = card.createdBy;
+        dto.index = card.index;
+        dto.rank = card.rank;
+        dto.doneSubtasks = card.doneSubtasks;
+        dto.totalSubtasks = card.totalSubtasks;
+        dto.status = card.status;
+        dto.taskListId = card.taskList == null ? null : card.taskList.id;
+        dto.tags = TagDto.of(tags);
+        return dto;
+    }
+
+    /**
+     * @param cards - the cards to be sent
+     * @return - the wire form of each card, in the same order
+     */
+    public static List<CardDto> of(List<Card> cards) {
+        List<CardDto> res = new ArrayList<>(cards.size());
+        for (Card card : cards) {
+            res.add(of(card));
+        }
+        return res;
+    }
+
+    /**
+     * Creates the wire form of a card with its description and the given tags
+     * @param card - the card to be sent
+     * @param tags - the tags of the card, null if they are not sent
+     * @return - the wire form of the card
+     */
+    public static CardDto full(Card card, Collection<Tag> tags) {
+        CardDto dto = of(card, tags);
+        dto.description = card.description;
+        return dto;
+    }
+
+    /**
+     * Turns the received card back into an entity, its list only carries the id
+     * @return - the received card
+     */
+    public Card toCard() {
+        Card card = new Card();
+        card.id = id;
+        card.title = title;
+        card.description = description;
+        card.hasDescription = hasDescription;
+        card.color = color;
+        card.createdBy = createdBy;
+        card.index = index;
+        card.rank = rank;
+        card.doneSubtasks = doneSubtasks;
+        card.totalSubtasks = totalSubtasks;
+        card.status = status;
+        card.taskList = listOf(taskListId);
+        card.tags = TagDto.toTags(tags);
+        return card;
+    }
+
+    private static TaskList listOf(Long id) {
+        if (id == null) return null;
+        TaskList list = new TaskList();
+        list.id = id;
+        return list;
+    }
+
+    /**
+     * Checks if the 2 objects are equal
+     * @param obj - another object compared to
+     * @return - true if the 2 objects are equal
+     */
+    @Override
+    public boolean equals(Object obj) {
+        return EqualsBuilder.reflectionEquals(this, obj);
+    }
+
+    /**
+     * Generates the hashCode of this object
+     * @return the hashCode
+     */
+    @Override
+    public int hashCode() {
+        return HashCodeBuilder.reflectionHashCode(this);
+    }
+
+    /**
+     * Returns a human-readable string representation of this object.
+     * @return - a string
+     */
+    @Override
+    public String toString() {
+        return ToStringBuilder.reflectionToString(this, MULTI_LINE_STYLE);
+    }
+}
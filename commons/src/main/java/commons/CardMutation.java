@@ -0,0 +1,100 @@
+package commons;
+
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import static org.apache.commons.lang3.builder.ToStringStyle.MULTI_LINE_STYLE;
+
+/**
+ * A change to one card inside a batch of changes. Only the non-null fields are changed.
+ */
+public class CardMutation {
+
+    public Long cardId;
+    public Long listId;         // the list the card is moved to
+    public Integer index;       // the position in the list, null moves a card to the end
+    public Status status;       // DELETED removes the card from its list
+    public String color;
+
+    /**
+     * Dummy constructor for CardMutation used by object mapper
+     */
+    @SuppressWarnings("unused")
+    public CardMutation() {
+    }
+
+    /**
+     * Creates a change of a card
+     * @param cardId - the id of the card
+     */
+    public CardMutation(Long cardId) {
+        this.cardId = cardId;
+    }
+
+    /**
+     * Creates a move of a card
+     * @param cardId - the id of the card
+     * @param listId - the id of the list the card is moved to
+     * @param index - the position in that list or null for the end of it
+     * @return - the change
+     */
+    public static CardMutation move(Long cardId, Long listId, Integer index) {
+        CardMutation mutation = new CardMutation(cardId);
+        mutation.listId = listId;
+        mutation.index = index;
+        return mutation;
+    }
+
+    /**
+     * Creates a change of the status of a card
+     * @param cardId - the id of the card
+     * @param status - the new status
+     * @return - the change
+     */
+    public static CardMutation status(Long cardId, Status status) {
+        CardMutation mutation = new CardMutation(cardId);
+        mutation.status = status;
+        return mutation;
+    }
+
+    /**
+     * Creates a change of the color of a card
+     * @param cardId - the id of the card
+     * @param color - the new color
+     * @return - the change
+     */
+    public static CardMutation recolor(Long cardId, String color) {
+        CardMutation mutation = new CardMutation(cardId);
+        mutation.color = color;
+        return mutation;
+    }
+
+    /**
+     * Checks if the 2 objects are equal
+     * @param obj - another object compared to
+     * @return - true if the 2 objects are equal
+     */
+    @Override
+    public boolean equals(Object obj) {
+        return EqualsBuilder.reflectionEquals(this, obj);
+    }
+
+    /**
+     * Generates the hashCode of this object
+     * @return the hashCode
+     */
+    @Override
+    public int hashCode() {
+        return HashCodeBuilder.reflectionHashCode(this);
+    }
+
+    /**
+     * Returns a human-readable string representation of this object.
+     * @return - a string
+     */
+    @Override
+    public String toString() {
+        return ToStringBuilder.reflectionToString(this, MULTI_LINE_STYLE);
+    }
+}
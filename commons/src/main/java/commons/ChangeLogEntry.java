@@ -0,0 +1,84 @@
+package commons;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import javax.persistence.*;
+
+import static org.apache.commons.lang3.builder.ToStringStyle.MULTI_LINE_STYLE;
+
+/**
+ * A board event kept in the change log of its board, so that a client which missed events
+ * can replay them from the sequence number of the last one it has seen
+ */
+@Entity
+@Table(indexes = {
+    @Index(name = "idx_change_log_board_seq", columnList = "board_id, seq", unique = true),
+    @Index(name = "idx_change_log_created", columnList = "created_at")})
+public class ChangeLogEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    public Long id;
+
+    @Column(name = "board_id")
+    public Long boardId;
+    public long seq;
+
+    @Column(name = "created_at")
+    public long createdAt;      // milliseconds since the epoch
+
+    @Lob
+    public String payload;      // the event as JSON
+
+    /**
+     * Dummy constructor for ChangeLogEntry used by object mapper
+     */
+    @SuppressWarnings("unused")
+    public ChangeLogEntry() {
+    }
+
+    /**
+     * Creates an entry of the change log
+     * @param boardId - the id of the board
+     * @param seq - the sequence number of the event within the board
+     * @param createdAt - when the event happened in milliseconds since the epoch
+     * @param payload - the event as JSON
+     */
+    public ChangeLogEntry(Long boardId, long seq, long createdAt, String payload) {
+        this.boardId = boardId;
+        this.seq = seq;
+        this.createdAt = createdAt;
+        this.payload = payload;
+    }
+
+    /**
+     * Checks if the 2 objects are equal
+     * @param obj - another object compared to
+     * @return - true if the 2 objects have the same id
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        return obj instanceof ChangeLogEntry && id != null
+            && id.equals(((ChangeLogEntry) obj).id);
+    }
+
+    /**
+     * Generates the hashCode of this object
+     * @return the hashCode
+     */
+    @Override
+    public int hashCode() {
+        return id == null ? System.identityHashCode(this) : Long.hashCode(id);
+    }
+
+    /**
+     * Returns a human-readable string representation of this object.
+     * @return - a string
+     */
+    @Override
+    public String toString() {
+        return ToStringBuilder.reflectionToString(this, MULTI_LINE_STYLE);
+    }
+}
@@ -0,0 +1,67 @@
+package commons;
+
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.apache.commons.lang3.builder.ToStringStyle.MULTI_LINE_STYLE;
+
+/**
+ * The lists removed from a board after a given sequence number, answered to a long poll
+ */
+public class ListRemovals {
+
+    public long seq;            // sequence number of the last removal of the board
+    public List<TaskList> lists;
+    public boolean truncated;   // some removals after the requested one are no longer kept
+
+    /**
+     * Dummy constructor for ListRemovals used by object mapper
+     */
+    @SuppressWarnings("unused")
+    public ListRemovals() {
+    }
+
+    /**
+     * Creates the answer to a long poll
+     * @param seq - the sequence number of the last removal of the board
+     * @param lists - the removed lists in the order of their removal
+     * @param truncated - whether older removals the client has not seen were dropped
+     */
+    public ListRemovals(long seq, List<TaskList> lists, boolean truncated) {
+        this.seq = seq;
+        this.lists = new ArrayList<>(lists);
+        this.truncated = truncated;
+    }
+
+    /**
+     * Checks if the 2 objects are equal
+     * @param obj - another object compared to
+     * @return - true if the 2 objects are equal
+     */
+    @Override
+    public boolean equals(Object obj) {
+        return EqualsBuilder.reflectionEquals(this, obj);
+    }
+
+    /**
+     * Generates the hashCode of this object
+     * @return the hashCode
+     */
+    @Override
+    public int hashCode() {
+        return HashCodeBuilder.reflectionHashCode(this);
+    }
+
+    /**
+     * Returns a human-readable string representation of this object.
+     * @return - a string
+     */
+    @Override
+    public String toString() {
+        return ToStringBuilder.reflectionToString(this, MULTI_LINE_STYLE);
+    }
+}
@@ -0,0 +1,110 @@
+package commons;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lexicographic keys used for ordering cards inside a list. A key can always be generated
+ * between two existing ones, so moving a card only changes the key of that card.
+ */
+public final class Rank {
+    private static final String DIGITS = "0123456789abcdefghijklmnopqrstuvwxyz";
+    private static final int BASE = DIGITS.length();
+
+    /**
+     * Keys longer than this should be redistributed with {@link #spread(int)}
+     */
+    public static final int MAX_LENGTH = 24;
+
+    private Rank() {
+    }
+
+    /**
+     * Generates a key which is ordered strictly between two other keys
+     * @param lower - the key before the new one or null if the new key goes first
+     * @param upper - the key after the new one or null if the new key goes last
+     * @return - a key greater than lower and smaller than upper
+     */
+    public static String between(String lower, String upper) {
+        String low = lower == null ? "" : lower;
+        if (upper != null && low.compareTo(upper) >= 0) {
+            throw new IllegalArgumentException("Lower key must be smaller than the upper key");
+        }
+        StringBuilder key = new StringBuilder();
+        String high = upper;
+        for (int i = 0; ; i++) {
+            int a = digitAt(low, i);
+            int b = upperDigitAt(high, i);
+            if (a == b) {
+                key.append(DIGITS.charAt(a));
+                continue;
+            }
+            int mid = (a + b) / 2;
+            if (mid > a) {
+                return key.append(DIGITS.charAt(mid)).toString();
+            }
+            // b == a + 1: keep the lower digit, everything after it is below the upper key
+            key.append(DIGITS.charAt(a));
+            high = null;
+        }
+    }
+
+    /**
+     * Generates evenly distributed keys, used when a list is ranked for the first time
+     * or when its keys became too long
+     * @param count - the number of keys
+     * @return - a list of count keys in increasing order
+     */
+    public static List<String> spread(int count) {
+        int width = 1;
+        long range = BASE;
+        while (range <= count + 1L) {
+            range *= BASE;
+            width++;
+        }
+        // one more digit leaves room for insertions between neighbouring keys
+        range *= BASE;
+        width++;
+
+        List<String> keys = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            keys.add(encode(range / (count + 1) * i, width));
+        }
+        return keys;
+    }
+
+    private static String encode(long value, int width) {
+        char[] chars = new char[width];
+        long rest = value;
+        for (int i = width - 1; i >= 0; i--) {
+            chars[i] = DIGITS.charAt((int) (rest % BASE));
+            rest /= BASE;
+        }
+        int end = width;
+        while (end > 1 && chars[end - 1] == '0') {
+            end--;
+        }
+        return new String(chars, 0, end);
+    }
+
+    private static int digitAt(String key, int i) {
+        if (i >= key.length()) {
+            return 0;
+        }
+        int digit = DIGITS.indexOf(key.charAt(i));
+        if (digit < 0) {
+            throw new IllegalArgumentException("Invalid character in key " + key);
+        }
+        return digit;
+    }
+
+    private static int upperDigitAt(String key, int i) {
+        if (key == null) {
+            return BASE;
+        }
+        if (i >= key.length()) {
+            throw new IllegalArgumentException("There is no key before " + key);
+        }
+        return digitAt(key, i);
+    }
+}
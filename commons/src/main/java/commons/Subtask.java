@@ -1,7 +1,5 @@
 package commons;
 
-import org.apache.commons.lang3.builder.EqualsBuilder;
-import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 
 import javax.persistence.*;
@@ -9,6 +7,9 @@ import javax.persistence.*;
 import static org.apache.commons.lang3.builder.ToStringStyle.MULTI_LINE_STYLE;
 
 @Entity
+@Table(indexes = {
+    @Index(name = "idx_subtask_card_status_index", columnList = "card_id, status, index"),
+    @Index(name = "idx_subtask_status_deleted", columnList = "status, deleted_at")})
 public class Subtask implements Comparable<Subtask> {
 
     @Id
@@ -18,8 +19,11 @@ public class Subtask implements Comparable<Subtask> {
     public Integer index;
     @Enumerated(EnumType.STRING)
     public Status status;
+    @Column(name = "deleted_at")
+    public Long deletedAt;  // milliseconds since the epoch, deleted rows are archived after a while
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)  // the card is loaded before its subtasks
+    @JoinColumn(name = "card_id")
     public Card card;
 
     /**
@@ -39,14 +43,27 @@ public class Subtask implements Comparable<Subtask> {
         this.status = Status.ACTIVE;
     }
 
+    /**
+     * Records when the subtask was deleted and forgets it once it is restored
+     */
+    @PrePersist
+    @PreUpdate
+    void stampDeletion() {
+        if (status != Status.DELETED) deletedAt = null;
+        else if (deletedAt == null) deletedAt = System.currentTimeMillis();
+    }
+
     /**
      * Checks if the 2 objects are equal
      * @param obj - another object compared to
-     * @return - true if the 2 objects are equal
+     * @return - true if the 2 objects have the same id
      */
     @Override
     public boolean equals(Object obj) {
-        return EqualsBuilder.reflectionEquals(this, obj);
+        if (this == obj) {
+            return true;
+        }
+        return obj instanceof Subtask && id != null && id.equals(((Subtask) obj).id);
     }
 
     /**
@@ -56,7 +73,7 @@ public class Subtask implements Comparable<Subtask> {
 
     @Override
     public int hashCode() {
-        return HashCodeBuilder.reflectionHashCode(this);
+        return id == null ? System.identityHashCode(this) : Long.hashCode(id);
     }
 
     /**
@@ -0,0 +1,119 @@
+package commons;
+
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.apache.commons.lang3.builder.ToStringStyle.MULTI_LINE_STYLE;
+
+/**
+ * The wire form of a subtask, sent in the responses and events about subtasks. The card of the
+ * subtask is referenced by its id, only its progress is sent along.
+ */
+public class SubtaskDto {
+
+    public Long id;
+    public String title;
+    public Integer index;
+    public Status status;
+    public Long cardId;
+    public Integer doneSubtasks;    // progress of the card after the change
+    public Integer totalSubtasks;
+
+    /**
+     * Dummy constructor for SubtaskDto used by object mapper
+     */
+    @SuppressWarnings("unused")
+    public SubtaskDto() {
+    }
+
+    /**
+     * @param subtask - the subtask to be sent, its card has to be loaded
+     * @return - the wire form of the subtask
+     */
+    public static SubtaskDto of(Subtask subtask) {
+        SubtaskDto dto = withoutCard(subtask);
+        if (subtask.card != null) {
+            dto.cardId = subtask.card.id;
+            dto.doneSubtasks = subtask.card.doneSubtasks;
+            dto.totalSubtasks = subtask.card.totalSubtasks;
+        }
+        return dto;
+    }
+
+    /**
+     * @param subtasks - the subtasks of a card, whose card does not have to be loaded
+     * @param cardId - the id of the card
+     * @return - the wire form of each subtask without the progress of the card, in the same
+     *  order
+     */
+    public static List<SubtaskDto> of(List<Subtask> subtasks, Long cardId) {
+        List<SubtaskDto> res = new ArrayList<>(subtasks.size());
+        for (Subtask subtask : subtasks) {
+            SubtaskDto dto = withoutCard(subtask);
+            dto.cardId = cardId;
+            res.add(dto);
+        }
+        return res;
+    }
+
+    private static SubtaskDto withoutCard(Subtask subtask) {
+        SubtaskDto dto = new SubtaskDto();
+        dto.id = subtask.id;
+        dto.title = subtask.title;
+        dto.index = subtask.index;
+        dto.status = subtask.status;
+        return dto;
+    }
+
+    /**
+     * Turns the received subtask back into an entity, its card only carries the id and the
+     * progress
+     * @return - the received subtask
+     */
+    public Subtask toSubtask() {
+        Subtask subtask = new Subtask();
+        subtask.id = id;
+        subtask.title = title;
+        subtask.index = index;
+        subtask.status = status;
+        if (cardId != null) {
+            subtask.card = new Card();
+            subtask.card.id = cardId;
+            subtask.card.doneSubtasks = doneSubtasks;
+            subtask.card.totalSubtasks = totalSubtasks;
+        }
+        return subtask;
+    }
+
+    /**
+     * Checks if the 2 objects are equal
+     * @param obj - another object compared to
+     * @return - true if the 2 objects are equal
+     */
+    @Override
+    public boolean equals(Object obj) {
+        return EqualsBuilder.reflectionEquals(this, obj);
+    }
+
+    /**
+     * Generates the hashCode of this object
+     * @return the hashCode
+     */
+    @Override
+    public int hashCode() {
+        return HashCodeBuilder.reflectionHashCode(this);
+    }
+
+    /**
+     * Returns a human-readable string representation of this object.
+     * @return - a string
+     */
+    @Override
+    public String toString() {
+        return ToStringBuilder.reflectionToString(this, MULTI_LINE_STYLE);
+    }
+}
@@ -1,7 +1,5 @@
 package commons;
 
-import org.apache.commons.lang3.builder.EqualsBuilder;
-import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 
 import javax.persistence.*;
@@ -9,6 +7,9 @@ import javax.persistence.*;
 import static org.apache.commons.lang3.builder.ToStringStyle.MULTI_LINE_STYLE;
 
 @Entity
+@Table(indexes = {
+    @Index(name = "idx_tag_board_name_status", columnList = "board_id, name, status"),
+    @Index(name = "idx_tag_status_deleted", columnList = "status, deleted_at")})
 public class Tag {
 
     @Id
@@ -20,8 +21,11 @@ public class Tag {
 
     @Enumerated(EnumType.STRING)
     public Status status;
+    @Column(name = "deleted_at")
+    public Long deletedAt;  // milliseconds since the epoch, deleted rows are archived after a while
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)  // repository methods reading it fetch it explicitly
+    @JoinColumn(name = "board_id")
     public Board board;
 
 
@@ -43,14 +47,27 @@ public class Tag {
         this.color = color;
     }
 
+    /**
+     * Records when the tag was deleted and forgets it once it is restored
+     */
+    @PrePersist
+    @PreUpdate
+    void stampDeletion() {
+        if (status != Status.DELETED) deletedAt = null;
+        else if (deletedAt == null) deletedAt = System.currentTimeMillis();
+    }
+
     /**
      * Checks if the 2 objects are equal
      * @param obj - another object compared to
-     * @return - true if the 2 objects are equal
+     * @return - true if the 2 objects have the same id
      */
     @Override
     public boolean equals(Object obj) {
-        return EqualsBuilder.reflectionEquals(this, obj);
+        if (this == obj) {
+            return true;
+        }
+        return obj instanceof Tag && id != null && id.equals(((Tag) obj).id);
     }
 
 
@@ -60,7 +77,7 @@ public class Tag {
      */
     @Override
     public int hashCode() {
-        return HashCodeBuilder.reflectionHashCode(this);
+        return id == null ? System.identityHashCode(this) : Long.hashCode(id);
     }
 
     /**
@@ -0,0 +1,107 @@
+package commons;
+
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.apache.commons.lang3.builder.ToStringStyle.MULTI_LINE_STYLE;
+
+/**
+ * The wire form of a tag assigned to a card. It leaves out the board, which is the board of
+ * the card.
+ */
+public class TagDto {
+
+    public Long id;
+    public String name;
+    public String color;
+    public Status status;
+
+    /**
+     * Dummy constructor for TagDto used by object mapper
+     */
+    @SuppressWarnings("unused")
+    public TagDto() {
+    }
+
+    /**
+     * @param tag - the tag to be sent
+     * @return - the wire form of the tag
+     */
+    public static TagDto of(Tag tag) {
+        TagDto dto = new TagDto();
+        dto.id = tag.id;
+        dto.name = tag.name;
+        dto.color = tag.color;
+        dto.status = tag.status;
+        return dto;
+    }
+
+    /**
+     * @param tags - the tags to be sent, may be null
+     * @return - the wire form of the tags or null if tags is null
+     */
+    public static Set<TagDto> of(Collection<Tag> tags) {
+        if (tags == null) return null;
+        Set<TagDto> res = new HashSet<>();
+        for (Tag tag : tags) {
+            res.add(of(tag));
+        }
+        return res;
+    }
+
+    /**
+     * @param tags - the received tags, may be null
+     * @return - the tags without their board or null if tags is null
+     */
+    public static Set<Tag> toTags(Collection<TagDto> tags) {
+        if (tags == null) return null;
+        Set<Tag> res = new HashSet<>();
+        for (TagDto dto : tags) {
+            res.add(dto.toTag());
+        }
+        return res;
+    }
+
+    /**
+     * @return - the received tag, without its board
+     */
+    public Tag toTag() {
+        Tag tag = new Tag(name, color);
+        tag.id = id;
+        tag.status = status;
+        return tag;
+    }
+
+    /**
+     * Checks if the 2 objects are equal
+     * @param obj - another object compared to
+     * @return - true if the 2 objects are equal
+     */
+    @Override
+    public boolean equals(Object obj) {
+        return EqualsBuilder.reflectionEquals(this, obj);
+    }
+
+    /**
+     * Generates the hashCode of this object
+     * @return the hashCode
+     */
+    @Override
+    public int hashCode() {
+        return HashCodeBuilder.reflectionHashCode(this);
+    }
+
+    /**
+     * Returns a human-readable string representation of this object.
+     * @return - a string
+     */
+    @Override
+    public String toString() {
+        return ToStringBuilder.reflectionToString(this, MULTI_LINE_STYLE);
+    }
+}
@@ -1,7 +1,5 @@
 package commons;
 
-import org.apache.commons.lang3.builder.EqualsBuilder;
-import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 
 import javax.persistence.*;
@@ -9,6 +7,9 @@ import javax.persistence.*;
 import static org.apache.commons.lang3.builder.ToStringStyle.MULTI_LINE_STYLE;
 
 @Entity
+@Table(indexes = {
+    @Index(name = "idx_task_list_board_status_index", columnList = "board_id, status, index"),
+    @Index(name = "idx_task_list_status_deleted", columnList = "status, deleted_at")})
 public class TaskList {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -17,11 +18,14 @@ public class TaskList {
 
     @Enumerated(EnumType.STRING)
     public Status status;
+    @Column(name = "deleted_at")
+    public Long deletedAt;  // milliseconds since the epoch, deleted rows are archived after a while
 
     public String color;    // to be determined if String or Color class
     public Integer index;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)  // repository methods reading it fetch it explicitly
+    @JoinColumn(name = "board_id")
     public Board board;
 
 
@@ -44,14 +48,27 @@ public class TaskList {
         this.status = Status.ACTIVE;
     }
 
+    /**
+     * Records when the list was deleted and forgets it once it is restored
+     */
+    @PrePersist
+    @PreUpdate
+    void stampDeletion() {
+        if (status != Status.DELETED) deletedAt = null;
+        else if (deletedAt == null) deletedAt = System.currentTimeMillis();
+    }
+
     /**
      * Checks if the 2 objects are equal
      * @param obj - another object compared to
-     * @return - true if the 2 objects are equal
+     * @return - true if the 2 objects have the same id
      */
     @Override
     public boolean equals(Object obj) {
-        return EqualsBuilder.reflectionEquals(this, obj);
+        if (this == obj) {
+            return true;
+        }
+        return obj instanceof TaskList && id != null && id.equals(((TaskList) obj).id);
     }
 
     /**
@@ -60,7 +77,7 @@ public class TaskList {
      */
     @Override
     public int hashCode() {
-        return HashCodeBuilder.reflectionHashCode(this);
+        return id == null ? System.identityHashCode(this) : Long.hashCode(id);
     }
 
     /**
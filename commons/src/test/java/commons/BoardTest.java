@@ -30,14 +30,28 @@ class BoardTest {
         assertEquals(a, a);
         assertNotEquals(a, b);
         b = new Board(name1);
+        assertNotEquals(a, b);
+        a.id = 1L;
+        b.id = 1L;
         assertEquals(a, b);
+        b.id = 2L;
+        assertNotEquals(a, b);
+    }
+
+    @Test
+    void testEqualsOtherEntity() {
+        a.id = 1L;
+        TaskList other = new TaskList(name1, a);
+        other.id = 1L;
+        assertNotEquals(a, other);
+        assertNotEquals(a, null);
     }
 
     @Test
     void testHashCode() {
         assertEquals(a.hashCode(), a.hashCode());
-        assertNotEquals(a.hashCode(), b.hashCode());
-        b = new Board(name1);
+        a.id = 1L;
+        b.id = 1L;
         assertEquals(a.hashCode(), b.hashCode());
     }
 
@@ -4,6 +4,11 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class CardTest {
@@ -37,17 +42,44 @@ class CardTest {
         assertEquals(a, a);
         assertNotEquals(a, b);
         b = new Card(title1, description1, taskList);
+        assertNotEquals(a, b);
+        a.id = 1L;
+        b.id = 1L;
         assertEquals(a, b);
+        b.id = 2L;
+        assertNotEquals(a, b);
+    }
+
+    @Test
+    void testEqualsOtherEntity() {
+        a.id = 1L;
+        TaskList other = new TaskList("listName", board);
+        other.id = 1L;
+        assertNotEquals(a, other);
+        assertNotEquals(a, null);
     }
 
     @Test
     void testHashCode() {
         assertEquals(a.hashCode(), a.hashCode());
-        assertNotEquals(a.hashCode(), b.hashCode());
-        b = new Card(title1, description1, taskList);
+        a.id = 1L;
+        b.id = 1L;
         assertEquals(a.hashCode(), b.hashCode());
     }
 
+    @Test
+    void cardsOfSeveralListsShareAHashSet() {
+        List<Card> all = new ArrayList<>();
+        for (long i = 0; i < 80; i++) {
+            Card card = new Card("card " + i, "-", new TaskList("list " + i % 8, board));
+            card.id = i < 70 ? i : null; // the last ones are not saved yet
+            all.add(card);
+        }
+        Set<Card> cards = new HashSet<>(all);
+        assertEquals(all.size(), cards.size());
+        all.forEach(card -> assertTrue(cards.contains(card)));
+    }
+
     @Test
     void testToString() {
         var s = a.toString();
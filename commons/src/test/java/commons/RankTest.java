@@ -0,0 +1,61 @@
+package commons;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RankTest {
+
+    @Test
+    void betweenTwoKeys() {
+        String key = Rank.between("a", "c");
+        assertTrue("a".compareTo(key) < 0);
+        assertTrue(key.compareTo("c") < 0);
+    }
+
+    @Test
+    void betweenAdjacentKeys() {
+        String key = Rank.between("a", "b");
+        assertTrue("a".compareTo(key) < 0);
+        assertTrue(key.compareTo("b") < 0);
+    }
+
+    @Test
+    void firstAndLastKeys() {
+        String first = Rank.between(null, "1");
+        String last = Rank.between("z", null);
+        assertTrue(first.compareTo("1") < 0);
+        assertTrue("z".compareTo(last) < 0);
+        assertNotNull(Rank.between(null, null));
+    }
+
+    @Test
+    void invalidBounds() {
+        assertThrows(IllegalArgumentException.class, () -> Rank.between("b", "a"));
+        assertThrows(IllegalArgumentException.class, () -> Rank.between("b", "b"));
+    }
+
+    @Test
+    void repeatedInsertsKeepOrder() {
+        List<String> keys = new ArrayList<>(Rank.spread(3));
+        for (int i = 0; i < 200; i++) {
+            keys.add(1, Rank.between(keys.get(0), keys.get(1)));
+        }
+        for (int i = 1; i < keys.size(); i++) {
+            assertTrue(keys.get(i - 1).compareTo(keys.get(i)) < 0);
+        }
+    }
+
+    @Test
+    void spreadKeys() {
+        List<String> keys = Rank.spread(1000);
+        assertEquals(1000, keys.size());
+        for (int i = 1; i < keys.size(); i++) {
+            assertTrue(keys.get(i - 1).compareTo(keys.get(i)) < 0);
+        }
+        assertTrue(Rank.spread(0).isEmpty());
+    }
+}
@@ -22,13 +22,18 @@ class TagTest {
     void testEquals() {
         Tag tag1 = new Tag("Work","Blue");
         Tag tag2 = new Tag("Work","Blue");
+        assertNotEquals(tag1,tag2);
+        tag1.id = 1L;
+        tag2.id = 1L;
         assertEquals(tag1,tag2);
     }
 
     @Test
     void testHashCodeSame() {
         Tag tag1 = new Tag("Work","Blue");
-        Tag tag2 = new Tag("Work","Blue");
+        Tag tag2 = new Tag("Personal","Green");
+        tag1.id = 1L;
+        tag2.id = 1L;
         assertEquals(tag1.hashCode(),tag2.hashCode());
     }
 
@@ -42,7 +47,9 @@ class TagTest {
     @Test
     void testNotEquals() {
         Tag tag1 = new Tag("Work", "Blue");
-        Tag tag2 = new Tag("Personal", "Green");
+        Tag tag2 = new Tag("Work", "Blue");
+        tag1.id = 1L;
+        tag2.id = 2L;
         assertNotEquals(tag1, tag2);
     }
 }
\ No newline at end of file
@@ -30,14 +30,28 @@ class TaskListTest {
         assertEquals(a, a);
         assertNotEquals(a, b);
         b = new TaskList(name1, board);
+        assertNotEquals(a, b);
+        a.id = 1L;
+        b.id = 1L;
         assertEquals(a, b);
+        b.id = 2L;
+        assertNotEquals(a, b);
+    }
+
+    @Test
+    void testEqualsOtherEntity() {
+        a.id = 1L;
+        Board other = new Board(name1);
+        other.id = 1L;
+        assertNotEquals(a, other);
+        assertNotEquals(a, null);
     }
 
     @Test
     void testHashCode() {
         assertEquals(a.hashCode(), a.hashCode());
-        assertNotEquals(a.hashCode(), b.hashCode());
-        b = new TaskList(name1, board);
+        a.id = 1L;
+        b.id = 1L;
         assertEquals(a.hashCode(), b.hashCode());
     }
 
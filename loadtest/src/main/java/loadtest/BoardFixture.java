@@ -0,0 +1,20 @@
+package loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ids of a seeded board and of its lists and cards
+ */
+public class BoardFixture {
+    public final long boardId;
+    public final List<Long> listIds = new ArrayList<>();
+    public final List<Long> cardIds = new ArrayList<>();
+
+    /**
+     * @param boardId the id of the seeded board
+     */
+    public BoardFixture(long boardId) {
+        this.boardId = boardId;
+    }
+}
@@ -0,0 +1,70 @@
+package loadtest;
+
+import commons.Card;
+import commons.TaskList;
+import org.springframework.context.ApplicationContext;
+import server.database.CardRepository;
+import server.database.ListRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Checks the order of the lists and cards of the seeded boards once the load has stopped
+ */
+public class ConsistencyChecker {
+    private final ListRepository lists;
+    private final CardRepository cards;
+
+    /**
+     * @param context the context of the started server
+     */
+    public ConsistencyChecker(ApplicationContext context) {
+        this.lists = context.getBean(ListRepository.class);
+        this.cards = context.getBean(CardRepository.class);
+    }
+
+    /**
+     * Lists must have the indexes 0 to n - 1 on their board, the cards of a list must have
+     * distinct ranks and no card may be lost or duplicated
+     * @param boards the seeded boards
+     * @return a description of every violation found
+     */
+    public List<String> check(List<BoardFixture> boards) {
+        List<String> violations = new ArrayList<>();
+        for (BoardFixture board : boards) {
+            List<TaskList> boardLists = lists.findNotDeletedListsByBoardId(board.boardId);
+            int cardCount = 0;
+            for (int i = 0; i < boardLists.size(); i++) {
+                TaskList list = boardLists.get(i);
+                if (list.index != i) {
+                    violations.add("board " + board.boardId + ": list " + list.id
+                        + " has index " + list.index + " at position " + i);
+                }
+                cardCount += checkCards(list, violations);
+            }
+            if (boardLists.size() != board.listIds.size()) {
+                violations.add("board " + board.boardId + ": " + boardLists.size()
+                    + " lists instead of " + board.listIds.size());
+            }
+            if (cardCount != board.cardIds.size()) {
+                violations.add("board " + board.boardId + ": " + cardCount
+                    + " cards instead of " + board.cardIds.size());
+            }
+        }
+        return violations;
+    }
+
+    private int checkCards(TaskList list, List<String> violations) {
+        List<Card> listCards = cards.findNotDeletedCardsByTaskListId(list.id);
+        String previous = null;
+        for (Card card : listCards) {
+            if (card.rank == null || (previous != null && previous.compareTo(card.rank) >= 0)) {
+                violations.add("list " + list.id + ": card " + card.id + " has rank "
+                    + card.rank + " after " + previous);
+            }
+            previous = card.rank;
+        }
+        return listCards.size();
+    }
+}
@@ -0,0 +1,43 @@
+package loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Collects the latencies of one operation, in microseconds
+ */
+public class LatencyRecorder {
+    private long[] samples = new long[1024];
+    private int count;
+
+    /**
+     * @param micros the latency of a command until its broadcast was received
+     */
+    public synchronized void record(long micros) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = micros;
+    }
+
+    /**
+     * @return the number of recorded latencies
+     */
+    public synchronized int count() {
+        return count;
+    }
+
+    /**
+     * @param percentiles the percentiles to compute, between 0 and 100
+     * @return the latencies at those percentiles, 0 if nothing was recorded
+     */
+    public synchronized long[] percentiles(double... percentiles) {
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        long[] res = new long[percentiles.length];
+        for (int i = 0; i < percentiles.length && count > 0; i++) {
+            int rank = (int) Math.ceil(percentiles[i] / 100 * count) - 1;
+            res[i] = sorted[Math.max(0, Math.min(rank, count - 1))];
+        }
+        return res;
+    }
+}
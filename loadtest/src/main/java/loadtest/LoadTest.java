@@ -0,0 +1,119 @@
+package loadtest;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import server.Main;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts the server on a random port and lets many simulated users work on the same few boards
+ * through STOMP. Run it with ./gradlew :loadtest:run --args="--users=300 --duration=60"
+ */
+public class LoadTest {
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9, 100};
+
+    private final LoadTestConfig config;
+    private final Map<Operation, LatencyRecorder> latencies = new EnumMap<>(Operation.class);
+
+    /**
+     * @param config the configuration of the run
+     */
+    public LoadTest(LoadTestConfig config) {
+        this.config = config;
+        for (Operation op : Operation.values()) {
+            latencies.put(op, new LatencyRecorder());
+        }
+    }
+
+    /**
+     * Entry point of the load test
+     * @param args the configuration as --name=value arguments, see LoadTestConfig
+     * @throws Exception if the server or the sessions cannot be started
+     */
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        try (ConfigurableApplicationContext server = startServer()) {
+            new LoadTest(config).run(server);
+        }
+    }
+
+    private static ConfigurableApplicationContext startServer() {
+        return new SpringApplicationBuilder(Main.class)
+            .properties("server.port=0",
+                "spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.h2.console.enabled=false",
+                "spring.main.banner-mode=off",
+                "logging.level.root=WARN")
+            .run();
+    }
+
+    /**
+     * Seeds the boards, runs the users until the configured duration passed and prints the
+     * latencies, the throughput and the consistency violations
+     * @param server the started server
+     * @throws Exception if the sessions cannot be started
+     */
+    public void run(ConfigurableApplicationContext server) throws Exception {
+        List<BoardFixture> boards = new Seeder(server, config).seed();
+        String url = "ws://localhost:" + server.getEnvironment().getProperty("local.server.port")
+            + "/websocket";
+        WebSocketStompClient client = new WebSocketStompClient(new StandardWebSocketClient());
+        client.setMessageConverter(new MappingJackson2MessageConverter());
+
+        List<SimulatedUser> users = new ArrayList<>();
+        for (int i = 0; i < config.users; i++) {
+            SimulatedUser user = new SimulatedUser(i, boards.get(i % boards.size()), config,
+                latencies);
+            user.connect(client, url);
+            users.add(user);
+        }
+        System.out.println("Running " + config);
+
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(config.durationSeconds);
+        ExecutorService pool = Executors.newFixedThreadPool(users.size());
+        users.forEach(user -> pool.execute(() -> user.run(deadline)));
+        pool.shutdown();
+        pool.awaitTermination(config.durationSeconds + 60L, TimeUnit.SECONDS);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        Thread.sleep(TimeUnit.SECONDS.toMillis(config.graceSeconds));
+
+        report(users, seconds);
+        List<String> violations = new ConsistencyChecker(server).check(boards);
+        System.out.println("Consistency violations: " + violations.size());
+        violations.forEach(v -> System.out.println("  " + v));
+        users.forEach(SimulatedUser::disconnect);
+        client.stop();
+    }
+
+    private void report(List<SimulatedUser> users, double seconds) {
+        long sent = users.stream().mapToLong(SimulatedUser::sent).sum();
+        long lost = users.stream().mapToLong(SimulatedUser::lost).sum();
+        long received = 0;
+        System.out.println("Latency from command to broadcast (ms): p50 p90 p99 p99.9 max");
+        for (Map.Entry<Operation, LatencyRecorder> entry : latencies.entrySet()) {
+            LatencyRecorder recorder = entry.getValue();
+            received += recorder.count();
+            StringBuilder line = new StringBuilder("  " + entry.getKey().getKey() + " ("
+                + recorder.count() + "):");
+            for (long micros : recorder.percentiles(PERCENTILES)) {
+                line.append(String.format(" %.2f", micros / 1000.0));
+            }
+            System.out.println(line);
+        }
+        System.out.printf("Sent %d commands, %d broadcasts received, %d lost%n",
+            sent, received, lost);
+        System.out.printf("Throughput: %.1f commands/s%n", sent / seconds);
+    }
+}
@@ -0,0 +1,88 @@
+package loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Parameters of a load test run, given as --name=value arguments
+ */
+public class LoadTestConfig {
+    public int users = 200;
+    public int boards = 2;
+    public int listsPerBoard = 6;
+    public int cardsPerList = 20;
+    public int durationSeconds = 30;
+    public int thinkMillis = 100;
+    public int graceSeconds = 5;
+    public final Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+
+    private int totalWeight;
+
+    /**
+     * Reads the configuration from the command line arguments, every parameter which is not
+     * given keeps its default value
+     * @param args arguments like --users=300 or --mix=relocateCard:70,editCard:20,relocateList:10
+     * @return the configuration
+     */
+    public static LoadTestConfig parse(String[] args) {
+        LoadTestConfig config = new LoadTestConfig();
+        String mix = "relocateCard:70,editCard:20,relocateList:10";
+        for (String arg : args) {
+            String[] parts = arg.replaceFirst("^--", "").split("=", 2);
+            if (parts[0].equals("mix")) {
+                mix = parts[1];
+            } else {
+                config.set(parts[0], Integer.parseInt(parts[1]));
+            }
+        }
+        config.parseMix(mix);
+        return config;
+    }
+
+    private void set(String name, int value) {
+        switch (name) {
+            case "users": users = value; break;
+            case "boards": boards = value; break;
+            case "lists": listsPerBoard = value; break;
+            case "cards": cardsPerList = value; break;
+            case "duration": durationSeconds = value; break;
+            case "think": thinkMillis = value; break;
+            case "grace": graceSeconds = value; break;
+            default: throw new IllegalArgumentException("Unknown parameter " + name);
+        }
+    }
+
+    private void parseMix(String mix) {
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.split(":");
+            int weight = Integer.parseInt(parts[1]);
+            this.mix.put(Operation.findByKey(parts[0].trim()), weight);
+            totalWeight += weight;
+        }
+    }
+
+    /**
+     * Picks an operation with a probability proportional to its weight in the mix
+     * @param random the random generator of the user
+     * @return the picked operation
+     */
+    public Operation pick(SplittableRandom random) {
+        int r = random.nextInt(totalWeight);
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            r -= entry.getValue();
+            if (r < 0) return entry.getKey();
+        }
+        throw new IllegalStateException("The mix is empty");
+    }
+
+    /**
+     * @return a readable summary of the configuration
+     */
+    @Override
+    public String toString() {
+        return users + " users on " + boards + " boards of " + listsPerBoard + " lists with "
+            + cardsPerList + " cards, " + durationSeconds + "s, think time " + thinkMillis
+            + "ms, mix " + mix;
+    }
+}
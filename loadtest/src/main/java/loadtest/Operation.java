@@ -0,0 +1,35 @@
+package loadtest;
+
+/**
+ * The operations a simulated user can send, named like in the mix of the configuration
+ */
+public enum Operation {
+    RELOCATE_CARD("relocateCard"),
+    EDIT_CARD("editCard"),
+    RELOCATE_LIST("relocateList");
+
+    private final String key;
+
+    Operation(String key) {
+        this.key = key;
+    }
+
+    /**
+     * @return the name of the operation used in the configuration
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Finds the operation with a given name
+     * @param key the name used in the configuration
+     * @return the operation with that name
+     */
+    public static Operation findByKey(String key) {
+        for (Operation op : values()) {
+            if (op.key.equals(key)) return op;
+        }
+        throw new IllegalArgumentException("Unknown operation " + key);
+    }
+}
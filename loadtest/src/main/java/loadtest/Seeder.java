@@ -0,0 +1,69 @@
+package loadtest;
+
+import commons.Board;
+import commons.Card;
+import commons.Rank;
+import commons.TaskList;
+import org.springframework.context.ApplicationContext;
+import server.database.BoardRepository;
+import server.database.CardRepository;
+import server.database.ListRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fills the database of the started server with the boards the users work on
+ */
+public class Seeder {
+    private final BoardRepository boards;
+    private final ListRepository lists;
+    private final CardRepository cards;
+    private final LoadTestConfig config;
+
+    /**
+     * @param context the context of the started server
+     * @param config the configuration of the run
+     */
+    public Seeder(ApplicationContext context, LoadTestConfig config) {
+        this.boards = context.getBean(BoardRepository.class);
+        this.lists = context.getBean(ListRepository.class);
+        this.cards = context.getBean(CardRepository.class);
+        this.config = config;
+    }
+
+    /**
+     * Creates the configured number of boards, lists and cards
+     * @return the ids of the created boards
+     */
+    public List<BoardFixture> seed() {
+        List<BoardFixture> res = new ArrayList<>();
+        for (int b = 0; b < config.boards; b++) {
+            Board board = boards.save(new Board("Load test " + b));
+            BoardFixture fixture = new BoardFixture(board.id);
+            for (int l = 0; l < config.listsPerBoard; l++) {
+                TaskList list = new TaskList("List " + l, board);
+                list.index = l;
+                list = lists.save(list);
+                fixture.listIds.add(list.id);
+                for (Card card : cards.saveAll(cardsOf(list))) {
+                    fixture.cardIds.add(card.id);
+                }
+            }
+            res.add(fixture);
+        }
+        return res;
+    }
+
+    private List<Card> cardsOf(TaskList list) {
+        List<String> ranks = Rank.spread(config.cardsPerList);
+        List<Card> res = new ArrayList<>();
+        for (int c = 0; c < config.cardsPerList; c++) {
+            Card card = new Card("Card " + c, "", list);
+            card.index = c;
+            card.rank = ranks.get(c);
+            res.add(card);
+        }
+        return res;
+    }
+}
@@ -0,0 +1,193 @@
+package loadtest;
+
+import commons.BoardEvent;
+import commons.Card;
+import commons.Status;
+import commons.TaskList;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.reflect.Type;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A user working on a board through its own STOMP session. It subscribes to the event topic of
+ * its board like the client and measures the time from sending a command until the event of
+ * the change comes back.
+ */
+public class SimulatedUser {
+    private final int id;
+    private final BoardFixture board;
+    private final LoadTestConfig config;
+    private final Map<Operation, LatencyRecorder> latencies;
+    private final SplittableRandom random;
+    private final Map<String, Deque<Long>> pending = new ConcurrentHashMap<>();
+    private StompSession session;
+    private long sent;
+    private long sequence;
+
+    /**
+     * @param id the number of the user
+     * @param board the board the user works on
+     * @param config the configuration of the run
+     * @param latencies the recorders shared by all users
+     */
+    public SimulatedUser(int id, BoardFixture board, LoadTestConfig config,
+                         Map<Operation, LatencyRecorder> latencies) {
+        this.id = id;
+        this.board = board;
+        this.config = config;
+        this.latencies = latencies;
+        this.random = new SplittableRandom(id);
+    }
+
+    /**
+     * Opens the session of the user and subscribes to the events of its board
+     * @param client the STOMP client
+     * @param url the websocket endpoint of the server
+     * @throws Exception if the connection cannot be established
+     */
+    public void connect(WebSocketStompClient client, String url) throws Exception {
+        session = client.connect(url, new StompSessionHandlerAdapter() { })
+            .get(10, TimeUnit.SECONDS);
+        session.subscribe("/topic/board/" + board.boardId + "/events", new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return BoardEvent.class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                if (payload != null) received((BoardEvent) payload);
+            }
+        });
+    }
+
+    /**
+     * Sends commands with a random think time in between until the deadline passes
+     * @param deadline the value of System.nanoTime() at which the user stops
+     */
+    public void run(long deadline) {
+        while (System.nanoTime() < deadline) {
+            send(config.pick(random));
+            try {
+                Thread.sleep(random.nextInt(2 * config.thinkMillis + 1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return the number of commands sent
+     */
+    public long sent() {
+        return sent;
+    }
+
+    /**
+     * @return the number of commands whose broadcast did not arrive
+     */
+    public long lost() {
+        return pending.values().stream().mapToLong(Deque::size).sum();
+    }
+
+    /**
+     * Closes the session of the user
+     */
+    public void disconnect() {
+        session.disconnect();
+    }
+
+    /**
+     * Sends a single command and starts waiting for its broadcast
+     * @param op the operation of the command
+     */
+    void send(Operation op) {
+        sent++;
+        String token = "u" + id + "-" + sequence++;
+        switch (op) {
+            case RELOCATE_CARD:
+                Card move = new Card();
+                move.id = pick(board.cardIds);
+                move.taskList = new TaskList();
+                move.taskList.id = pick(board.listIds);
+                move.index = random.nextInt(config.cardsPerList);
+                move.status = Status.ACTIVE;
+                expect(Operation.RELOCATE_CARD, cardKey(move.id, move.taskList.id));
+                session.send("/app/" + move.taskList.id + "/cards/relocate", move);
+                break;
+            case EDIT_CARD:
+                Card edit = new Card();
+                edit.id = pick(board.cardIds);
+                edit.title = token;
+                expect(Operation.EDIT_CARD, token);
+                session.send("/app/" + edit.id + "/cards/edit", edit);
+                break;
+            default:
+                TaskList list = new TaskList();
+                list.id = pick(board.listIds);
+                list.index = random.nextInt(board.listIds.size());
+                expect(Operation.RELOCATE_LIST, listKey(list.id, list.index));
+                session.send("/app/" + board.boardId + "/lists/relocate", list);
+        }
+    }
+
+    private long pick(List<Long> ids) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    private void expect(Operation op, String key) {
+        pending.computeIfAbsent(op + ":" + key, k -> new ConcurrentLinkedDeque<>())
+            .add(System.nanoTime());
+    }
+
+    /**
+     * Broadcasts of list moves carry no token, they are matched by the list and its new index
+     */
+    private static String listKey(Long listId, Integer index) {
+        return "list" + listId + "@" + index;
+    }
+
+    /**
+     * Card moves are matched by the card and its new list. Their index is left out because the
+     * server moves a card past the end of a list to its last position.
+     */
+    private static String cardKey(Long cardId, Long listId) {
+        return "card" + cardId + "@" + listId;
+    }
+
+    /**
+     * Matches an event of the board with the commands waiting for it. An edited card carries
+     * the token of its edit as its title, the server may report a move or an edit as an edit
+     * or a relocation.
+     */
+    private void received(BoardEvent event) {
+        if (event.batch != null) {
+            event.batch.forEach(this::received);
+        } else if (event.entity == BoardEvent.Entity.LIST && event.list != null) {
+            arrived(Operation.RELOCATE_LIST, listKey(event.list.id, event.list.index));
+        } else if (event.entity == BoardEvent.Entity.CARD && event.card != null) {
+            arrived(Operation.RELOCATE_CARD, cardKey(event.card.id, event.card.taskListId));
+            arrived(Operation.EDIT_CARD, event.card.title);
+        }
+    }
+
+    private void arrived(Operation op, String key) {
+        Deque<Long> sentAt = key == null ? null : pending.get(op + ":" + key);
+        Long start = sentAt == null ? null : sentAt.poll();
+        if (start != null) {
+            latencies.get(op).record((System.nanoTime() - start) / 1000);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package loadtest;
+
+import commons.BoardEvent;
+import commons.Card;
+import commons.TaskList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandler;
+import org.springframework.util.concurrent.SettableListenableFuture;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+
+class SimulatedUserTest {
+
+    private StompSession session;
+    private StompFrameHandler events;
+    private final Map<Operation, LatencyRecorder> latencies = new EnumMap<>(Operation.class);
+    private SimulatedUser user;
+
+    /**
+     * A user connected to a mocked session on a board with a single list and card, so every
+     * command it sends targets them
+     */
+    @BeforeEach
+    void setup() throws Exception {
+        for (Operation op : Operation.values()) latencies.put(op, new LatencyRecorder());
+        BoardFixture board = new BoardFixture(1);
+        board.listIds.add(20L);
+        board.cardIds.add(5L);
+        user = new SimulatedUser(0, board, new LoadTestConfig(), latencies);
+
+        session = Mockito.mock(StompSession.class);
+        SettableListenableFuture<StompSession> connected = new SettableListenableFuture<>();
+        connected.set(session);
+        WebSocketStompClient client = Mockito.mock(WebSocketStompClient.class);
+        Mockito.when(client.connect(anyString(), any(StompSessionHandler.class)))
+            .thenReturn(connected);
+        user.connect(client, "ws://localhost/websocket");
+
+        ArgumentCaptor<StompFrameHandler> handler =
+            ArgumentCaptor.forClass(StompFrameHandler.class);
+        Mockito.verify(session).subscribe(eq("/topic/board/1/events"), handler.capture());
+        events = handler.getValue();
+    }
+
+    /**
+     * @return the card the user sent to the server
+     */
+    private Card sentCard(String destination) {
+        ArgumentCaptor<Object> payload = ArgumentCaptor.forClass(Object.class);
+        Mockito.verify(session).send(eq(destination), payload.capture());
+        return (Card) payload.getValue();
+    }
+
+    /**
+     * Broadcasts a card the way the server does after saving it: only the list, position,
+     * status and basic attributes are kept, nothing else of the command comes back
+     */
+    private void broadcast(Card command, long oldListId, int index) {
+        Card saved = new Card("title", "-", new TaskList());
+        saved.id = command.id;
+        saved.taskList.id = command.taskList.id;
+        saved.index = index;
+        saved.status = command.status;
+        events.handleFrame(new StompHeaders(),
+            BoardEvent.ofCard(BoardEvent.Operation.RELOCATE, oldListId, saved));
+    }
+
+    @Test
+    void relocatedCardIsMatched() {
+        user.send(Operation.RELOCATE_CARD);
+        Card move = sentCard("/app/20/cards/relocate");
+
+        broadcast(move, 30L, 0); // the list was shorter than the requested index
+
+        assertEquals(0, user.lost());
+        assertEquals(1, latencies.get(Operation.RELOCATE_CARD).count());
+    }
+
+    @Test
+    void cardRelocatedElsewhereIsNotMatched() {
+        user.send(Operation.RELOCATE_CARD);
+        Card move = sentCard("/app/20/cards/relocate");
+        move.taskList.id = 30L;
+
+        broadcast(move, 20L, 0);
+
+        assertEquals(1, user.lost());
+        assertEquals(0, latencies.get(Operation.RELOCATE_CARD).count());
+    }
+
+    @Test
+    void relocatedCardInABatchIsMatched() {
+        user.send(Operation.RELOCATE_CARD);
+        Card move = sentCard("/app/20/cards/relocate");
+        Card saved = new Card("title", "-", move.taskList);
+        saved.id = move.id;
+        saved.index = 3;
+        saved.status = move.status;
+
+        events.handleFrame(new StompHeaders(), BoardEvent.ofCardBatch(List.of(
+            BoardEvent.ofCard(BoardEvent.Operation.RELOCATE, 30L, saved))));
+
+        assertEquals(0, user.lost());
+    }
+}
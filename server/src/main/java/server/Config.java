@@ -17,6 +17,7 @@ package server;
 
 import java.util.Random;
 
+import com.fasterxml.jackson.datatype.hibernate5.Hibernate5Module;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -31,4 +32,17 @@ public class Config {
     public Random getRandom() {
         return new Random();
     }
+
+    /**
+     * Serializes a lazy association which was not loaded as its id instead of loading it,
+     * e.g. the board of a task list. Registered with the ObjectMapper of Spring Boot, which
+     * converts the REST responses and, see WebsocketConfig, the STOMP messages.
+     * @return - the Jackson module for Hibernate
+     */
+    @Bean
+    public Hibernate5Module hibernateModule() {
+        Hibernate5Module module = new Hibernate5Module();
+        module.enable(Hibernate5Module.Feature.SERIALIZE_IDENTIFIER_FOR_LAZY_NOT_LOADED_OBJECTS);
+        return module;
+    }
 }
\ No newline at end of file
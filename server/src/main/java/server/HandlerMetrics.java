@@ -0,0 +1,110 @@
+package server;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times the REST and STOMP handlers of the controllers and the methods of the services doing
+ * the work of a change, and counts the SQL statements each handler call runs. The meters of a
+ * method are created on its first call.
+ */
+@Aspect
+@Component
+public class HandlerMetrics {
+    private final MeterRegistry registry;
+    private final Map<Method, Timer> services = new ConcurrentHashMap<>();
+    private final Map<Method, HandlerMeters> handlers = new ConcurrentHashMap<>();
+
+    /**
+     * Initializes the aspect
+     * @param registry the registry the timers and the statement counts are reported to
+     */
+    public HandlerMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Times a handler of a controller, tagged with the handler and whether it serves REST
+     * or STOMP, and records the number of SQL statements it ran
+     * @param call the call of the handler
+     * @return the result of the handler
+     * @throws Throwable anything the handler throws
+     */
+    @Around("execution(public * server.api..*(..))")
+    public Object timeHandler(ProceedingJoinPoint call) throws Throwable {
+        HandlerMeters meters = handlers.computeIfAbsent(method(call), this::handlerMeters);
+        long statements = StatementCounter.count();
+        long start = System.nanoTime();
+        try {
+            return call.proceed();
+        } finally {
+            meters.time.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            meters.statements.record(StatementCounter.count() - statements);
+        }
+    }
+
+    /**
+     * Times a method of the card, list and subtask services
+     * @param call the call of the method
+     * @return the result of the method
+     * @throws Throwable anything the method throws
+     */
+    @Around("execution(public * server.service.CardService.*(..))"
+        + " || execution(public * server.service.ListService.*(..))"
+        + " || execution(public * server.service.SubtaskService.*(..))")
+    public Object timeService(ProceedingJoinPoint call) throws Throwable {
+        Timer timer = services.computeIfAbsent(method(call), m -> Timer.builder("talio.service")
+            .description("Time spent in a method of a service")
+            .tag("method", name(m))
+            .register(registry));
+        long start = System.nanoTime();
+        try {
+            return call.proceed();
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private HandlerMeters handlerMeters(Method method) {
+        String transport = method.isAnnotationPresent(MessageMapping.class) ? "stomp" : "rest";
+        Timer time = Timer.builder("talio.handler")
+            .description("Time spent in a REST or STOMP handler")
+            .tags("handler", name(method), "transport", transport)
+            .register(registry);
+        DistributionSummary statements = DistributionSummary.builder("talio.handler.statements")
+            .description("SQL statements run by one call of a REST or STOMP handler")
+            .tags("handler", name(method), "transport", transport)
+            .register(registry);
+        return new HandlerMeters(time, statements);
+    }
+
+    private static Method method(ProceedingJoinPoint call) {
+        return ((MethodSignature) call.getSignature()).getMethod();
+    }
+
+    private static String name(Method method) {
+        return method.getDeclaringClass().getSimpleName() + "." + method.getName();
+    }
+
+    private static final class HandlerMeters {
+        private final Timer time;
+        private final DistributionSummary statements;
+
+        private HandlerMeters(Timer time, DistributionSummary statements) {
+            this.time = time;
+            this.statements = statements;
+        }
+    }
+}
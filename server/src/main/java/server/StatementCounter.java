@@ -0,0 +1,30 @@
+package server;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on each thread, so that the statements of one
+ * request can be told apart from the ones of the other requests. Hibernate creates the
+ * inspector itself, see hibernate.session_factory.statement_inspector.
+ */
+public class StatementCounter implements StatementInspector {
+    private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+    /**
+     * Counts a statement and leaves it unchanged
+     * @param sql the statement
+     * @return the same statement
+     */
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+
+    /**
+     * @return the number of statements prepared on the current thread so far
+     */
+    public static long count() {
+        return COUNT.get()[0];
+    }
+}
@@ -0,0 +1,92 @@
+package server;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reports the queues of the executors handling the inbound and outbound STOMP messages and
+ * the number of subscriptions to the broker
+ */
+@Component
+public class StompMetrics {
+    private final Map<String, Set<String>> subscriptions = new ConcurrentHashMap<>();
+
+    /**
+     * Registers the gauges
+     * @param registry the registry the gauges are reported to
+     * @param inbound the executor of the clientInboundChannel
+     * @param outbound the executor of the clientOutboundChannel
+     */
+    public StompMetrics(MeterRegistry registry,
+                        @Qualifier("clientInboundChannelExecutor") ThreadPoolTaskExecutor inbound,
+                        @Qualifier("clientOutboundChannelExecutor")
+                            ThreadPoolTaskExecutor outbound) {
+        channel(registry, "inbound", inbound);
+        channel(registry, "outbound", outbound);
+        Gauge.builder("stomp.subscriptions", this, StompMetrics::subscriptionCount)
+            .description("Subscriptions of the connected clients to the broker")
+            .register(registry);
+        Gauge.builder("stomp.sessions", subscriptions, Map::size)
+            .description("Connected clients having subscribed to the broker")
+            .register(registry);
+    }
+
+    private static void channel(MeterRegistry registry, String name,
+                                ThreadPoolTaskExecutor executor) {
+        Gauge.builder("stomp.channel.queued", executor,
+                e -> e.getThreadPoolExecutor().getQueue().size())
+            .description("Messages waiting for a thread of the channel")
+            .tag("channel", name)
+            .register(registry);
+        Gauge.builder("stomp.channel.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+            .description("Threads of the channel handling a message")
+            .tag("channel", name)
+            .register(registry);
+    }
+
+    /**
+     * @param event a client subscribing to a destination
+     */
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.wrap(event.getMessage());
+        if (headers.getSessionId() == null || headers.getSubscriptionId() == null) return;
+        subscriptions.computeIfAbsent(headers.getSessionId(), s -> ConcurrentHashMap.newKeySet())
+            .add(headers.getSubscriptionId());
+    }
+
+    /**
+     * @param event a client ending a subscription
+     */
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.wrap(event.getMessage());
+        if (headers.getSessionId() == null) return;
+        Set<String> ids = subscriptions.get(headers.getSessionId());
+        if (ids != null) ids.remove(headers.getSubscriptionId());
+    }
+
+    /**
+     * @param event a client disconnecting, which ends all of its subscriptions
+     */
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        subscriptions.remove(event.getSessionId());
+    }
+
+    private double subscriptionCount() {
+        return subscriptions.values().stream().mapToInt(Set::size).sum();
+    }
+}
@@ -1,14 +1,33 @@
 package server;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.converter.ByteArrayMessageConverter;
+import org.springframework.messaging.converter.DefaultContentTypeResolver;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.converter.MessageConverter;
+import org.springframework.messaging.converter.StringMessageConverter;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.util.MimeTypeUtils;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
 
+import java.util.List;
+
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebsocketConfig implements WebSocketMessageBrokerConfigurer {
+    private final ObjectMapper mapper;
+
+    /**
+     * @param mapper - the object mapper of the server, which the STOMP messages are converted
+     *               with as well
+     */
+    public WebsocketConfig(ObjectMapper mapper) {
+        this.mapper = mapper;
+    }
+
     /**
      * Add a STOMP Endpoint called /websocket
      * @param registry - The registry to add the endpoint to
@@ -28,4 +47,24 @@ public class WebsocketConfig implements WebSocketMessageBrokerConfigurer {
         config.enableSimpleBroker("/topic");
         config.setApplicationDestinationPrefixes("/app");
     }
+
+    /**
+     * Converts the JSON payloads of the STOMP messages with the object mapper of the server
+     * instead of a mapper of its own, so the modules of the server, e.g. the one for the
+     * Hibernate proxies, apply to them as well. Strings and byte arrays are kept as they are.
+     * @param messageConverters - the converters to add to
+     * @return - false, the converters added replace the default ones
+     */
+    @Override
+    public boolean configureMessageConverters(List<MessageConverter> messageConverters) {
+        DefaultContentTypeResolver resolver = new DefaultContentTypeResolver();
+        resolver.setDefaultMimeType(MimeTypeUtils.APPLICATION_JSON);
+        MappingJackson2MessageConverter json = new MappingJackson2MessageConverter();
+        json.setObjectMapper(mapper);
+        json.setContentTypeResolver(resolver);
+        messageConverters.add(new StringMessageConverter());
+        messageConverters.add(new ByteArrayMessageConverter());
+        messageConverters.add(json);
+        return false;
+    }
 }
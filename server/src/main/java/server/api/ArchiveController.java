@@ -0,0 +1,69 @@
+package server.api;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import server.service.ArchiveService;
+
+import java.util.function.Predicate;
+
+@RestController
+@RequestMapping("/api/archive")
+public class ArchiveController {
+    private final ArchiveService archive;
+
+    /**
+     * Initializes the controller restoring archived rows
+     * @param archive the service moving deleted rows to and from the archive
+     */
+    public ArchiveController(ArchiveService archive) {
+        this.archive = archive;
+    }
+
+    /**
+     * Request for moving an archived list back together with its cards
+     * @param id - the id of the list
+     * @return - ok if the list was restored, bad request otherwise
+     */
+    @PostMapping("/lists/{id}/restore")
+    public ResponseEntity<Void> restoreList(@PathVariable("id") Long id) {
+        return restore(id, archive::restoreList);
+    }
+
+    /**
+     * Request for moving an archived card back together with its subtasks and tags
+     * @param id - the id of the card
+     * @return - ok if the card was restored, bad request otherwise
+     */
+    @PostMapping("/cards/{id}/restore")
+    public ResponseEntity<Void> restoreCard(@PathVariable("id") Long id) {
+        return restore(id, archive::restoreCard);
+    }
+
+    /**
+     * Request for moving an archived subtask back
+     * @param id - the id of the subtask
+     * @return - ok if the subtask was restored, bad request otherwise
+     */
+    @PostMapping("/subtasks/{id}/restore")
+    public ResponseEntity<Void> restoreSubtask(@PathVariable("id") Long id) {
+        return restore(id, archive::restoreSubtask);
+    }
+
+    /**
+     * Request for moving an archived tag back together with its assignments to cards
+     * @param id - the id of the tag
+     * @return - ok if the tag was restored, bad request otherwise
+     */
+    @PostMapping("/tags/{id}/restore")
+    public ResponseEntity<Void> restoreTag(@PathVariable("id") Long id) {
+        return restore(id, archive::restoreTag);
+    }
+
+    private static ResponseEntity<Void> restore(Long id, Predicate<Long> restore) {
+        if (id == null || !restore.test(id)) return ResponseEntity.badRequest().build();
+        return ResponseEntity.ok().build();
+    }
+}
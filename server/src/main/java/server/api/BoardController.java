@@ -1,5 +1,8 @@
 package server.api;
 
+import commons.BoardChanges;
+import commons.BoardEvent;
+import commons.BoardSnapshot;
 import commons.TaskList;
 import org.springframework.http.ResponseEntity;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
@@ -8,8 +11,15 @@ import org.springframework.messaging.handler.annotation.SendTo;
 import org.springframework.web.bind.annotation.*;
 import server.database.BoardRepository;
 import commons.Board;
+import server.service.BoardEventPublisher;
+import server.service.BoardLocks;
+import server.service.BoardSnapshotService;
+import server.service.ExportService;
 import server.service.ListService;
+import server.service.Pagination;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.util.*;
 
 @RestController
@@ -17,25 +27,54 @@ import java.util.*;
 public class BoardController {
     private final BoardRepository boards;
     private final ListService listService;
+    private final BoardSnapshotService snapshotService;
+    private final ExportService exportService;
+    private final BoardLocks locks;
+    private final BoardEventPublisher events;
 
     /**
      * Contributor for the REST Controller of the boards
      * @param boards - the repository of Board
      * @param listService - list service instance
+     * @param snapshotService - service assembling the content of a whole board
+     * @param exportService - service writing whole tables as newline delimited JSON
+     * @param locks - the locks running the changes of one board one after the other
+     * @param events - the publisher of the event topic and the change log of each board
      */
-    public BoardController(BoardRepository boards, ListService listService) {
+    public BoardController(BoardRepository boards, ListService listService,
+                           BoardSnapshotService snapshotService, ExportService exportService,
+                           BoardLocks locks, BoardEventPublisher events) {
         this.boards = boards;
         this.listService = listService;
+        this.snapshotService = snapshotService;
+        this.exportService = exportService;
+        this.locks = locks;
+        this.events = events;
     }
 
     /**
-     * Request for getting all the boards
-     * @return - a list with all the boards from the repository
+     * Request for getting all the boards page by page, in increasing order of their ids
+     * @param after - the id of the last board of the previous page, absent for the first page
+     * @param limit - the size of the page, at most Pagination.MAX_LIMIT
+     * @return - a list with the boards of the page
      */
-
     @GetMapping(path = { "", "/" })
-    public List<Board> all(){
-        return boards.findAll();
+    public List<Board> all(@RequestParam(required = false) Long after,
+                           @RequestParam(required = false) Integer limit){
+        return boards.findByIdGreaterThanOrderByIdAsc(Pagination.after(after),
+            Pagination.limit(limit));
+    }
+
+    /**
+     * Request for exporting all the boards as newline delimited JSON, written while they are
+     * read from the database
+     * @param response - the response the boards are written to
+     * @throws IOException - if writing the response fails
+     */
+    @GetMapping(path = "/export", produces = ExportService.NDJSON)
+    public void export(HttpServletResponse response) throws IOException {
+        response.setContentType(ExportService.NDJSON);
+        exportService.writeNdjson(boards::streamAll, response.getOutputStream());
     }
 
     /**
@@ -46,10 +85,46 @@ public class BoardController {
 
     @GetMapping("/{id}")
     public ResponseEntity<Board> getById(@PathVariable("id") long id){
+        return boards.findById(id).map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.badRequest().build());
+    }
+
+    /**
+     * Request for getting the lists, active cards and tags of a board in one response
+     * @param id - the id of the needed board
+     * @return - a Response Entity with the snapshot of the board
+     */
+
+    @GetMapping("/{id}/snapshot")
+    public ResponseEntity<BoardSnapshot> getSnapshot(@PathVariable("id") long id) {
+        if (id < 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        BoardSnapshot snapshot = locks.inBoard(id, () -> snapshotService.getSnapshot(id));
+        if (snapshot == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(snapshot);
+    }
+
+    /**
+     * Request for the events of a board a client missed, e.g. while its websocket was down.
+     * Without since it answers with the sequence number of the last event of the board.
+     * @param id - the id of the board
+     * @param since - the sequence number of the last event the client has seen
+     * @param limit - the maximum number of events, at most Pagination.MAX_LIMIT
+     * @return - a Response Entity with the events after since in the order they happened,
+     *  truncated is set if some of them are no longer kept and the board has to be reloaded
+     */
+    @GetMapping("/{id}/changes")
+    public ResponseEntity<BoardChanges> getChanges(@PathVariable("id") long id,
+                                                   @RequestParam(required = false) Long since,
+                                                   @RequestParam(required = false) Integer limit) {
         if (id < 0 || !boards.existsById(id)) {
             return ResponseEntity.badRequest().build();
         }
-        return ResponseEntity.ok(boards.findById(id).get());
+        long from = since == null ? events.getChangeLog().current(id) : since;
+        return ResponseEntity.ok(events.getChangeLog().since(id, from, limit));
     }
 
     /**
@@ -79,37 +154,45 @@ public class BoardController {
     }
 
     /**
-     * Method for changing the password of a certain board
+     * Method for changing the password of a certain board, the event of the board only tells
+     * that the password changed
      * @param board - the board with the id and new password supplied
      * @return - the board with the updated password
      */
     @PostMapping("/changePassword")
     public ResponseEntity<Board> changePassword(@RequestBody Board board) {
-        if (board.id == null || !boards.findById(board.id).isPresent()) {
-            return ResponseEntity.badRequest().build();
-        }
-        Board updated = boards.findById(board.id).get();
-        updated.password = board.password;
-
-        Board result = boards.save(updated);
-        return ResponseEntity.ok(result);
+        return locks.inBoard(board.id, () -> {
+            Board updated = board.id == null ? null : boards.findById(board.id).orElse(null);
+            if (updated == null) {
+                return ResponseEntity.badRequest().build();
+            }
+            updated.password = board.password;
+
+            Board result = boards.save(updated);
+            events.publish(result.id, BoardEvent.ofBoardPassword(result.id));
+            return ResponseEntity.ok(result);
+        });
     }
 
     /**
-     * Method for changing the name of a board
+     * Method for changing the name of a board, the new name is published on the event topic
+     * of the board
      * @param board - the board with the id and new name supplied
      * @return - the board with the updated name
      */
     @PostMapping("/changeName")
     public ResponseEntity<Board> changeName(@RequestBody Board board) {
-        if (board.id == null || !boards.findById(board.id).isPresent()) {
-            return ResponseEntity.badRequest().build();
-        }
-        Board updated = boards.findById(board.id).get();
-        updated.name = board.name;
-
-        Board result = boards.save(updated);
-        return ResponseEntity.ok(result);
+        return locks.inBoard(board.id, () -> {
+            Board updated = board.id == null ? null : boards.findById(board.id).orElse(null);
+            if (updated == null) {
+                return ResponseEntity.badRequest().build();
+            }
+            updated.name = board.name;
+
+            Board result = boards.save(updated);
+            events.publish(result.id, BoardEvent.ofBoard(BoardEvent.Operation.EDIT, result));
+            return ResponseEntity.ok(result);
+        });
     }
 
     /**
@@ -121,8 +204,7 @@ public class BoardController {
     @MessageMapping("/{boardId}/changePassword")
     @SendTo("/topic/{boardId}/changePassword")
     public Board handleChangePassword(Board board, @DestinationVariable long boardId) {
-        var boardResponse = changePassword(board);
-        return boardResponse.getBody();
+        return changePassword(board).getBody();
     }
 
     /**
@@ -134,7 +216,6 @@ public class BoardController {
     @MessageMapping("/{boardId}/changeName")
     @SendTo("/topic/{boardId}/changeName")
     public Board handleChangeName(Board board, @DestinationVariable long boardId) {
-        var boardResponse = changeName(board);
-        return boardResponse.getBody();
+        return changeName(board).getBody();
     }
 }
@@ -7,46 +7,86 @@ import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.SendTo;
 import org.springframework.web.bind.annotation.*;
 
+import commons.BoardEvent;
 import commons.Card;
+import commons.CardDto;
+import commons.CardMutation;
+import server.service.BoardEventPublisher;
+import server.service.BoardLocks;
 import server.service.CardService;
+import server.service.EditCoalescer;
+import server.service.ExportService;
+
+import static server.service.EditCoalescer.latest;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/cards")
 public class CardController {
     private final CardService cardService;
+    private final ExportService exportService;
+    private final BoardEventPublisher events;
+    private final BoardLocks locks;
+    private final EditCoalescer coalescer;
 
     /**
      * Constructor for the Controller handling the Cards inside a List
      * @param cardService - the service for handling operations on cards
+     * @param exportService - the service writing whole tables as newline delimited JSON
+     * @param events - the publisher of the event topic of each board
+     * @param locks - the locks running the changes of one board one after the other
+     * @param coalescer - the stage merging edits of a card which arrive shortly after each other
      */
-    public CardController(CardService cardService) {
+    public CardController(CardService cardService, ExportService exportService,
+                          BoardEventPublisher events, BoardLocks locks, EditCoalescer coalescer) {
         this.cardService = cardService;
+        this.exportService = exportService;
+        this.events = events;
+        this.locks = locks;
+        this.coalescer = coalescer;
     }
 
     /**
-     * Request for getting all the Cards
-     * @return - a list with all the Lists from the repository
+     * Request for getting all the cards page by page, in increasing order of their ids
+     * @param after - the id of the last card of the previous page, absent for the first page
+     * @param limit - the size of the page, at most Pagination.MAX_LIMIT
+     * @return - a list with the cards of the page
      */
-
     @GetMapping(path = { "", "/" })
-    public List<Card> all(){
-        return cardService.getAllCards();
+    public List<Card> all(@RequestParam(required = false) Long after,
+                          @RequestParam(required = false) Integer limit){
+        return cardService.getCardsAfter(after, limit);
+    }
+
+    /**
+     * Request for exporting all the cards as newline delimited JSON, written while they are
+     * read from the database
+     * @param response - the response the cards are written to
+     * @throws IOException - if writing the response fails
+     */
+    @GetMapping(path = "/export", produces = ExportService.NDJSON)
+    public void export(HttpServletResponse response) throws IOException {
+        response.setContentType(ExportService.NDJSON);
+        exportService.writeNdjson(cardService::streamAllCards, response.getOutputStream());
     }
 
     /**
      * Request for getting a Card by id
      * @param id - the id of the needed Card
-     * @return - a Response Entity with the Card
+     * @return - a Response Entity with the Card carrying its tags and its description
      */
 
     @GetMapping("/{id}")
-    public ResponseEntity<List<Card>> getById(@PathVariable("id") Long id){
+    public ResponseEntity<List<CardDto>> getById(@PathVariable("id") Long id){
         List<Card> card = cardService.getCardById(id);
         if (card == null) {
             return ResponseEntity.badRequest().build();
         } else {
-            return ResponseEntity.ok(card);
+            return ResponseEntity.ok(List.of(CardDto.full(card.get(0), card.get(0).tags)));
         }
     }
 
@@ -55,34 +95,30 @@ public class CardController {
      * increasing order of their indexes (positions inside the list)
      * @param id The id of a Task List
      * @param status The value the status to be matched
-     * @return All active cards within that task list
+     * @return All active cards within that task list, each carrying its not deleted tags
      */
     @GetMapping("/taskList/{id}/{status}")
-    public ResponseEntity<List<Card>> getAllCardsByTaskListIdAndStatus(@PathVariable("id") Long id,
-        @PathVariable("status") String status) {
+    public ResponseEntity<List<CardDto>> getAllCardsByTaskListIdAndStatus(
+        @PathVariable("id") Long id, @PathVariable("status") String status) {
         List<Card> cards = null;
         if (id != null && Status.findByName(status) != null)
             cards = cardService.getAllCardsByTaskListAndStatus(id, Status.findByName(status));
         if (cards == null) {
             return ResponseEntity.badRequest().build();
         } else {
-            return ResponseEntity.ok(cards);
+            return ResponseEntity.ok(CardDto.of(cardService.withTags(id, cards)));
         }
     }
 
     /**
      * Post request for adding a Card to the end of a specific task list
      * @param card - Card to be added (does not allow for DELETED status and index is overwritten)
-     * @return - a response entity with OK method if the adding was successful
+     * @return - a response entity with OK method and the added card if the adding was successful
      */
 
     @PostMapping(path = { "", "/" })
-    public ResponseEntity<Card> add(@RequestBody Card card) {
-        Card newCard = null;
-        if (card.id == null && card.title != null && card.taskList != null && card.status != null
-            && !card.status.equals(Status.DELETED)) {
-            newCard = cardService.addNewCard(card);
-        }
+    public ResponseEntity<CardDto> add(@RequestBody Card card) {
+        CardDto newCard = addInBoard(card.taskList == null ? null : card.taskList.id, card);
         if (newCard == null) {
             return ResponseEntity.badRequest().build();
         } else {
@@ -90,6 +126,26 @@ public class CardController {
         }
     }
 
+    /**
+     * Adds a card to the end of its task list under the lock of its board and publishes it
+     * @param listId - the id of the task list
+     * @param card - Card to be added
+     * @return - the added card or null if the card is invalid
+     */
+    private CardDto addInBoard(Long listId, Card card) {
+        return locks.inBoardOfList(listId, () -> {
+            Card added = null;
+            if (card.id == null && card.title != null && card.taskList != null
+                && card.status != null && !card.status.equals(Status.DELETED)) {
+                added = cardService.addNewCard(card);
+            }
+            if (added == null) return null;
+            events.publishForCard(added.id,
+                BoardEvent.ofCard(BoardEvent.Operation.ADD, listId, added));
+            return CardDto.of(added);
+        });
+    }
+
     /**
      * Patch request for editing an existing card with only the non-null attributes
      * Takes care of change in both simple attributes and change in the related TaskList
@@ -99,14 +155,8 @@ public class CardController {
      * @return a response entity with OK status containing the changes made or Bad Request
      */
     @PatchMapping(path = { "", "/"})
-    public ResponseEntity<Card> edit(@RequestBody Card card) {
-        Card updCard = null;
-        if (card.id != null) {
-            updCard = cardService.edit(card);
-            if (card.taskList != null || card.index != null || card.status != null) {
-                updCard = cardService.assignCardToList(card);
-            }
-        }
+    public ResponseEntity<CardDto> edit(@RequestBody Card card) {
+        CardDto updCard = editInBoard(card);
         if (updCard == null) {
             return ResponseEntity.badRequest().build();
         } else {
@@ -114,6 +164,52 @@ public class CardController {
         }
     }
 
+    /**
+     * Patch request for changing many cards of one board at once, e.g. moving or recoloring
+     * a selection of cards. The changes are applied in one transaction and published as a
+     * single event.
+     * @param mutations - the changes in the order they are applied
+     * @return a response entity with OK status containing the changed cards or Bad Request
+     */
+    @PatchMapping("/batch")
+    public ResponseEntity<List<CardDto>> batch(@RequestBody List<CardMutation> mutations) {
+        List<BoardEvent> changes = applyBatch(mutations);
+        if (changes == null) {
+            return ResponseEntity.badRequest().build();
+        } else {
+            List<CardDto> changed = changes.stream().map(e -> e.card).collect(Collectors.toList());
+            return ResponseEntity.ok(changed);
+        }
+    }
+
+    /**
+     * Batch message handler for websockets, the changed cards are only sent on the event
+     * topic of the board
+     * @param mutations - the changes in the order they are applied
+     * @param boardId - Not used, only here for correct messagemapping syntax
+     */
+    @MessageMapping("/{boardId}/cards/batch")
+    public void handleBatch(List<CardMutation> mutations, @DestinationVariable long boardId) {
+        applyBatch(mutations);
+    }
+
+    /**
+     * Applies a batch under the lock of the board of its cards and publishes the changes
+     * @param mutations - the changes in the order they are applied
+     * @return - the events of the changed cards or null if the batch was invalid
+     */
+    private List<BoardEvent> applyBatch(List<CardMutation> mutations) {
+        if (mutations == null || mutations.isEmpty() || mutations.get(0) == null) return null;
+        Long firstCardId = mutations.get(0).cardId;
+        return locks.inBoardOfCard(firstCardId, () -> {
+            List<BoardEvent> changes = cardService.applyBatch(mutations);
+            if (changes != null) {
+                events.publishForCard(firstCardId, BoardEvent.ofCardBatch(changes));
+            }
+            return changes;
+        });
+    }
+
     /**
      * Card message handler for websockets
      * @param card - Card instance to be added
@@ -122,9 +218,8 @@ public class CardController {
      */
     @MessageMapping("/{listId}/cards/add")
     @SendTo("/topic/{listId}/cards/add")
-    public Card handleAdd(Card card, @DestinationVariable long listId) {
-        var cardResponse = add(card);
-        return cardResponse.getBody();
+    public CardDto handleAdd(Card card, @DestinationVariable long listId) {
+        return addInBoard(listId, card);
     }
 
     /**
@@ -135,9 +230,8 @@ public class CardController {
      */
     @MessageMapping("/{listId}/cards/relocate")
     @SendTo("/topic/{listId}/cards/relocate")
-    public Card handleRelocate(Card card, @DestinationVariable long listId) {
-        var cardResponse = edit(card);
-        return cardResponse.getBody();
+    public CardDto handleRelocate(Card card, @DestinationVariable long listId) {
+        return editInBoard(card);
     }
 
     /**
@@ -148,34 +242,78 @@ public class CardController {
      */
     @MessageMapping("/{listId}/cards/delete")
     @SendTo("/topic/{listId}/cards/delete")
-    public Card handleDelete(Card card, @DestinationVariable long listId) {
-        var cardResponse = edit(card);
-        return cardResponse.getBody();
+    public CardDto handleDelete(Card card, @DestinationVariable long listId) {
+        return editInBoard(card);
     }
 
     /**
-     * Card patch message handler for websockets
+     * Card patch message handler for websockets, edits of a card arriving shortly after each
+     * other may be merged into one
      * @param card - Card instance to be edited
      * @param cardId - Id of the card to be edited
-     * @return - The Card to propagate along subscribers of this websocket topic
+     * @return - The Card to propagate along subscribers of this websocket topic or null if the
+     *  edit is merged with later ones
      */
     @MessageMapping("/{cardId}/cards/edit")
     @SendTo("/topic/{cardId}/cards/edit")
-    public Card handleEditCardId(Card card, @DestinationVariable Long cardId) {
-        var cardResponse = edit(card);
-        return cardResponse.getBody();
+    public CardDto handleEditCardId(Card card, @DestinationVariable Long cardId) {
+        return coalescer.coalesce("/" + cardId + "/cards/edit", card,
+            CardController::merge, this::editInBoard);
     }
+
     /**
-     * Card patch message handler for websockets
+     * Card patch message handler for websockets, color changes of a card arriving shortly
+     * after each other may be merged into one
      * @param card - Card instance to change the color to
      * @param cardId - Id of the card to change the color to
-     * @return - The Card to propagate along subscribers of this websocket topic
+     * @return - The Card to propagate along subscribers of this websocket topic or null if the
+     *  change is merged with later ones
      */
     @MessageMapping("/{cardId}/changeCardColor")
     @SendTo("/topic/{cardId}/changeCardColor")
-    public Card changeCardColor(Card card, @DestinationVariable Long cardId) {
-        var cardResponse = edit(card);
-        return cardResponse.getBody();
+    public CardDto changeCardColor(Card card, @DestinationVariable Long cardId) {
+        return coalescer.coalesce("/" + cardId + "/changeCardColor", card,
+            CardController::merge, this::editInBoard);
+    }
+
+    /**
+     * Edits a card with only the non-null attributes under the lock of its board and publishes
+     * the change, whose operation tells whether the card was edited, recolored, moved or
+     * deleted. A new description is also sent to the clients having the card open.
+     * @param card - the new content of the card
+     * @return - the edited card or null if the edit was invalid
+     */
+    private CardDto editInBoard(Card card) {
+        if (card.id == null) return null;
+        return locks.inBoardOfCard(card.id, () -> {
+            BoardEvent event = cardService.editAndPlace(card);
+            if (event == null) return null;
+            events.publishForCard(card.id, event);
+            if (card.description != null) {
+                Card edited = event.card.toCard();
+                edited.description = card.description;
+                events.publishDescription(edited);
+            }
+            return event.card;
+        });
+    }
+
+    /**
+     * Merges a later partial edit of a card into the pending one
+     * @param pending - the edit waiting to be applied
+     * @param later - the edit arriving after it
+     * @return - an edit setting every attribute to the value of the last edit setting it
+     */
+    static Card merge(Card pending, Card later) {
+        Card res = new Card();
+        res.id = latest(later.id, pending.id);
+        res.title = latest(later.title, pending.title);
+        res.description = latest(later.description, pending.description);
+        res.color = latest(later.color, pending.color);
+        res.taskList = latest(later.taskList, pending.taskList);
+        res.index = latest(later.index, pending.index);
+        res.status = latest(later.status, pending.status);
+        return res;
     }
 
 }
@@ -7,35 +7,75 @@ import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.SendTo;
 import org.springframework.web.bind.annotation.*;
 
+import commons.BoardEvent;
+import commons.ListRemovals;
 import commons.TaskList;
 import org.springframework.web.context.request.async.DeferredResult;
+import server.service.BoardEventPublisher;
+import server.service.BoardLocks;
+import server.service.EditCoalescer;
+import server.service.ExportService;
+import server.service.ListRemovalFeed;
 import server.service.ListService;
 
+import static server.service.EditCoalescer.latest;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
-import java.util.function.Consumer;
 
 @RestController
 @RequestMapping("/api/lists")
 public class ListController {
     private final ListService listService;
+    private final ExportService exportService;
+    private final BoardEventPublisher events;
+    private final BoardLocks locks;
+    private final EditCoalescer coalescer;
+    private final ListRemovalFeed removals;
 
     /**
      * Constructor for the Controller handling the List of Tasks
      * @param listService - The service handling everything that has to do with tasklists
+     * @param exportService - The service writing whole tables as newline delimited JSON
+     * @param events - The publisher of the event topic of each board
+     * @param locks - The locks running the changes of one board one after the other
+     * @param coalescer - The stage merging title edits arriving shortly after each other
+     * @param removals - The sequenced feed of the lists removed from each board
      */
-    public ListController(ListService listService) {
+    public ListController(ListService listService, ExportService exportService,
+                          BoardEventPublisher events, BoardLocks locks, EditCoalescer coalescer,
+                          ListRemovalFeed removals) {
         this.listService = listService;
+        this.exportService = exportService;
+        this.events = events;
+        this.locks = locks;
+        this.coalescer = coalescer;
+        this.removals = removals;
     }
 
     /**
-     * Request for getting all the TaskLists
-     * @return - a list with all the Lists from the repository
+     * Request for getting all the TaskLists page by page, in increasing order of their ids
+     * @param after - the id of the last TaskList of the previous page, absent for the first page
+     * @param limit - the size of the page, at most Pagination.MAX_LIMIT
+     * @return - a list with the TaskLists of the page
      */
     @GetMapping(path = { "", "/" })
-    public List<TaskList> all(){
-        return listService.findAll();
+    public List<TaskList> all(@RequestParam(required = false) Long after,
+                              @RequestParam(required = false) Integer limit){
+        return listService.findAllAfter(after, limit);
+    }
+
+    /**
+     * Request for exporting all the TaskLists as newline delimited JSON, written while they are
+     * read from the database
+     * @param response - the response the TaskLists are written to
+     * @throws IOException - if writing the response fails
+     */
+    @GetMapping(path = "/export", produces = ExportService.NDJSON)
+    public void export(HttpServletResponse response) throws IOException {
+        response.setContentType(ExportService.NDJSON);
+        exportService.writeNdjson(listService::streamAll, response.getOutputStream());
     }
 
     /**
@@ -109,7 +149,8 @@ public class ListController {
 
 
     /**
-     * Post request for adding a List of tasks.
+     * Post request for adding a List of tasks, the list is published on the event topic
+     * of the board
      * @param taskList - taskList to be added
      * @param boardId - ID of board to add list to
      * @return - a response entity with OK method if the adding was successful
@@ -117,7 +158,11 @@ public class ListController {
     @PostMapping("/{boardId}")
     public ResponseEntity<TaskList> add(@RequestBody TaskList taskList,
                                         @PathVariable("boardId") Long boardId) {
-        TaskList added = listService.addList(taskList, boardId);
+        TaskList added = locks.inBoard(boardId, () -> {
+            TaskList res = listService.addList(taskList, boardId);
+            publish(boardId, BoardEvent.Operation.ADD, res);
+            return res;
+        });
         if (added == null) {
             return ResponseEntity.badRequest().build();
         }
@@ -125,13 +170,21 @@ public class ListController {
     }
 
     /**
-     * Patch request for editing an existing tasklist
+     * Patch request for editing an existing tasklist, the change is published on the event
+     * topic of its board
      * @param taskList The new content of the existing tasklist,
      * @return a response entity with OK status containing the changes made or Bad Request
      */
     @PatchMapping(path = { "", "/" })
     public ResponseEntity<TaskList> edit(@RequestBody TaskList taskList) {
-        TaskList editedList = listService.editList(taskList);
+        TaskList editedList = locks.inBoardOfList(taskList.id, () -> {
+            TaskList res = listService.editList(taskList);
+            if (res != null) {
+                events.publishForList(res.id, BoardEvent.ofList(taskList.index == null
+                    ? BoardEvent.Operation.EDIT : BoardEvent.Operation.RELOCATE, res));
+            }
+            return res;
+        });
         if (editedList == null) {
             return ResponseEntity.badRequest().build();
         }
@@ -147,8 +200,11 @@ public class ListController {
     @MessageMapping("/{boardId}/lists/add") //app/lists
     @SendTo("/topic/{boardId}/lists/add")
     public TaskList handleAdd(TaskList tl, @DestinationVariable long boardId) {
-        var tlr = add(tl, boardId);
-        return tlr.getBody();
+        return locks.inBoard(boardId, () -> {
+            TaskList added = listService.addList(tl, boardId);
+            publish(boardId, BoardEvent.Operation.ADD, added);
+            return added;
+        });
     }
 
     /**
@@ -160,8 +216,11 @@ public class ListController {
     @MessageMapping("/{boardId}/lists/edit") //app/lists
     @SendTo("/topic/{boardId}/lists/edit")
     public TaskList handleEdit(TaskList tl, @DestinationVariable long boardId) {
-        var tlr = edit(tl);
-        return tlr.getBody();
+        return locks.inBoard(boardId, () -> {
+            TaskList edited = listService.editList(tl);
+            publish(boardId, BoardEvent.Operation.EDIT, edited);
+            return edited;
+        });
     }
 
     /**
@@ -173,59 +232,109 @@ public class ListController {
     @MessageMapping("/{boardId}/lists/relocate") //app/lists
     @SendTo("/topic/{boardId}/lists/relocate")
     public TaskList handleRelocation(TaskList tl, @DestinationVariable long boardId) {
-        var tlr = edit(tl);
-        return tlr.getBody();
+        return locks.inBoard(boardId, () -> {
+            TaskList relocated = listService.editList(tl);
+            publish(boardId, BoardEvent.Operation.RELOCATE, relocated);
+            return relocated;
+        });
     }
 
-    private ConcurrentMap<Object, Consumer<TaskList>> listeners = new ConcurrentHashMap<>();
-
     /**
      * Delete request for deleting an existing tasklist
-     * in case of ok also notifies all listeners of getDeleteUpdates about the deleted taskList
+     * in case of ok also completes the long polls of getDeleteUpdates on the board of the list
      * @param listId the ID of the tasklist to delete,
      * @return a response entity with OK status containing deleted tasklist or Bad Request
      */
     @DeleteMapping("/{listId}")
     public ResponseEntity<TaskList> deleteById(@PathVariable("listId") Long listId) {
-        TaskList deleted = listService.removeListFromBoard(listId);
+        TaskList deleted = locks.inBoardOfList(listId, () -> {
+            TaskList res = listService.removeListFromBoard(listId);
+            if (res != null) {
+                TaskList tlid = new TaskList();
+                tlid.id = listId;
+                removals.publish(res.board.id, tlid);
+                events.publish(res.board.id,
+                    BoardEvent.ofList(BoardEvent.Operation.DELETE, tlid));
+            }
+            return res;
+        });
         if (deleted == null) {
             return ResponseEntity.badRequest().build();
         }
-        TaskList tlid = new TaskList();
-        tlid.id = listId;
-        listeners.forEach((k, l) -> l.accept(tlid));
         return ResponseEntity.ok().build();
     }
 
     /**
-     * Registers a listener for long polling updates when deletion of a list occurs
+     * Long poll for the lists removed from a board. Without since it answers right away with
+     * the sequence number of the last removal, which the client passes as since on the
+     * next poll.
      * @param boardId the id of the board
-     * @return a response entity with OK if a deletion occurred or NO CONTENT after 5 seconds
+     * @param since the sequence number of the last removal the client has seen
+     * @return a response entity with OK and every removal after since as soon as there is one
+     *  or NO CONTENT after 5 seconds
      */
     @GetMapping("/{boardId}/lists/remove")
-    public DeferredResult<ResponseEntity<TaskList>> getDeleteUpdates(
-            @PathVariable("boardId") Long boardId) {
+    public DeferredResult<ResponseEntity<ListRemovals>> getDeleteUpdates(
+            @PathVariable("boardId") Long boardId, @RequestParam(required = false) Long since) {
         var noContent = ResponseEntity.noContent().build();
-        var res = new DeferredResult<ResponseEntity<TaskList>>(5000L, noContent);
-
-        var key = new Object();
-        listeners.put(key, q -> {
+        var res = new DeferredResult<ResponseEntity<ListRemovals>>(5000L, noContent);
+        if (since == null) {
+            res.setResult(ResponseEntity.ok(removals.current(boardId)));
+            return res;
+        }
+        Runnable cancel = removals.await(boardId, since, q -> {
             res.setResult(ResponseEntity.ok(q));
         });
-        res.onCompletion(() -> listeners.remove(key));
+        res.onCompletion(cancel);
 
         return res;
     }
 
     /**
+     * Title edits of a list arriving shortly after each other may be merged into one
      * @param list List to change the title
      * @param listId id of the list
-     * @return Task list of the edited tasklist
+     * @return Task list of the edited tasklist or null if the edit is merged with later ones
      */
     @MessageMapping("/{listId}/lists/edit/title")
     @SendTo("/topic/{listId}/lists/edit/title")
     public TaskList handleListEdit(TaskList list, @DestinationVariable Long listId) {
-        var listResponse = edit(list);
-        return listResponse.getBody();
+        return coalescer.coalesce("/" + listId + "/lists/edit/title", list,
+            ListController::merge,
+            latest -> locks.inBoardOfList(listId, () -> {
+                TaskList edited = listService.editList(latest);
+                if (edited != null) {
+                    events.publishForList(listId,
+                        BoardEvent.ofList(BoardEvent.Operation.EDIT, edited));
+                }
+                return edited;
+            }));
+    }
+
+    /**
+     * Merges a later partial edit of a list into the pending one
+     * @param pending - the edit waiting to be applied
+     * @param later - the edit arriving after it
+     * @return - an edit setting every attribute to the value of the last edit setting it
+     */
+    private static TaskList merge(TaskList pending, TaskList later) {
+        TaskList res = new TaskList();
+        res.id = latest(later.id, pending.id);
+        res.name = latest(later.name, pending.name);
+        res.color = latest(later.color, pending.color);
+        res.index = latest(later.index, pending.index);
+        return res;
+    }
+
+    /**
+     * Publishes a change of a list on the event topic of its board
+     * @param boardId - the id of the board
+     * @param operation - what happened to the list
+     * @param list - the list after the change, nothing is published if it is null
+     */
+    private void publish(Long boardId, BoardEvent.Operation operation, TaskList list) {
+        if (list != null) {
+            events.publish(boardId, BoardEvent.ofList(operation, list));
+        }
     }
 }
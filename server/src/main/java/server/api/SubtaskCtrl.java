@@ -1,15 +1,18 @@
 package server.api;
 
+import commons.BoardEvent;
 import commons.Subtask;
+import commons.SubtaskDto;
 import org.springframework.http.ResponseEntity;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.SendTo;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import server.service.BoardEventPublisher;
+import server.service.BoardLocks;
 import server.service.SubtaskService;
 
 import java.util.List;
@@ -18,27 +21,34 @@ import java.util.List;
 @RequestMapping("/api/subtasks")
 public class SubtaskCtrl {
     private final SubtaskService subtaskService;
+    private final BoardEventPublisher events;
+    private final BoardLocks locks;
 
     /**
      * Initializes the subtask controller
      * @param subtaskService the subtask service
+     * @param events the publisher of the event topic of each board
+     * @param locks the locks running the changes of one board one after the other
      */
-    public SubtaskCtrl(SubtaskService subtaskService) {
+    public SubtaskCtrl(SubtaskService subtaskService, BoardEventPublisher events,
+                       BoardLocks locks) {
         this.subtaskService = subtaskService;
+        this.events = events;
+        this.locks = locks;
     }
 
     /**
      * Request for getting the list of all subtasks by card id
      * @param cardId - the id of the card
-     * @return - a Response Entity with the Card
+     * @return - a Response Entity with the subtasks
      */
     @GetMapping("/{cardId}")
-    public ResponseEntity<List<Subtask>> getById(@PathVariable("cardId") Long cardId){
+    public ResponseEntity<List<SubtaskDto>> getById(@PathVariable("cardId") Long cardId){
         List<Subtask> subtasks = subtaskService.getAllByCardId(cardId);
         if (subtasks == null) {
             return ResponseEntity.badRequest().build();
         } else {
-            return ResponseEntity.ok(subtasks);
+            return ResponseEntity.ok(SubtaskDto.of(subtasks, cardId));
         }
     }
 
@@ -50,10 +60,12 @@ public class SubtaskCtrl {
      */
     @MessageMapping("/{cardId}/addNestedTaskList")
     @SendTo("/topic/{cardId}/addNestedTaskList")
-    @Transactional
-    public Subtask addNestedTaskList(Subtask card, @DestinationVariable Long cardId) {
-        subtaskService.createSubtaskList(cardId);
-        return new Subtask();
+    public SubtaskDto addNestedTaskList(Subtask card, @DestinationVariable Long cardId) {
+        return locks.inBoardOfCard(cardId, () -> {
+            subtaskService.createSubtaskList(cardId);
+            events.publishForCard(cardId, BoardEvent.ofNestedTaskList(cardId));
+            return new SubtaskDto();
+        });
     }
 
     /**
@@ -64,10 +76,13 @@ public class SubtaskCtrl {
      */
     @MessageMapping("/{cardId}/addSubtask")
     @SendTo("/topic/{cardId}/addSubtask")
-    public Subtask addSubtask(Subtask subtask, @DestinationVariable Long cardId) {
-        Subtask st = subtaskService.createSubtask(subtask, cardId);
-        st.card.tags = null;
-        return st;
+    public SubtaskDto addSubtask(Subtask subtask, @DestinationVariable Long cardId) {
+        return locks.inBoardOfCard(cardId, () -> {
+            Subtask st = subtaskService.createSubtask(subtask, cardId);
+            events.publishForCard(cardId,
+                BoardEvent.ofSubtask(BoardEvent.Operation.ADD, cardId, st));
+            return SubtaskDto.of(st);
+        });
     }
 
     /**
@@ -78,10 +93,13 @@ public class SubtaskCtrl {
      */
     @MessageMapping("/{cardId}/editSubtask")
     @SendTo("/topic/{cardId}/editSubtask")
-    public Subtask editSubtask(Subtask subtask, @DestinationVariable Long cardId) {
-        Subtask st = subtaskService.editSubtask(subtask, cardId);
-        st.card.tags = null;
-        return st;
+    public SubtaskDto editSubtask(Subtask subtask, @DestinationVariable Long cardId) {
+        return locks.inBoardOfCard(cardId, () -> {
+            Subtask st = subtaskService.editSubtask(subtask, cardId);
+            events.publishForCard(cardId,
+                BoardEvent.ofSubtask(BoardEvent.Operation.EDIT, cardId, st));
+            return SubtaskDto.of(st);
+        });
     }
 
     /**
@@ -92,10 +110,13 @@ public class SubtaskCtrl {
      */
     @MessageMapping("/{cardId}/deleteSubtask")
     @SendTo("/topic/{cardId}/deleteSubtask")
-    public Subtask deleteSubtask(Subtask subtask, @DestinationVariable Long cardId) {
-        Subtask st = subtaskService.deleteSubtask(subtask, cardId);
-        st.card.tags = null;
-        return st;
+    public SubtaskDto deleteSubtask(Subtask subtask, @DestinationVariable Long cardId) {
+        return locks.inBoardOfCard(cardId, () -> {
+            Subtask st = subtaskService.deleteSubtask(subtask, cardId);
+            events.publishForCard(cardId,
+                BoardEvent.ofSubtask(BoardEvent.Operation.DELETE, cardId, st));
+            return SubtaskDto.of(st);
+        });
     }
 
     /**
@@ -106,9 +127,12 @@ public class SubtaskCtrl {
      */
     @MessageMapping("/{cardId}/relocateSubtask")
     @SendTo("/topic/{cardId}/relocateSubtask")
-    public Subtask relocateSubtask(Subtask subtask, @DestinationVariable Long cardId) {
-        Subtask st = subtaskService.relocateSubtask(subtask, cardId);
-        st.card.tags = null;
-        return st;
+    public SubtaskDto relocateSubtask(Subtask subtask, @DestinationVariable Long cardId) {
+        return locks.inBoardOfCard(cardId, () -> {
+            Subtask st = subtaskService.relocateSubtask(subtask, cardId);
+            events.publishForCard(cardId,
+                BoardEvent.ofSubtask(BoardEvent.Operation.RELOCATE, cardId, st));
+            return SubtaskDto.of(st);
+        });
     }
 }
@@ -1,5 +1,6 @@
 package server.api;
 
+import commons.BoardEvent;
 import commons.Card;
 import commons.Status;
 import commons.Tag;
@@ -8,13 +9,17 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.SendTo;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.web.bind.annotation.*;
 import server.database.BoardRepository;
 import server.database.TagRepository;
+import server.service.BoardEventPublisher;
+import server.service.BoardLocks;
 import server.service.CardService;
+import server.service.ExportService;
+import server.service.Pagination;
 
-import org.springframework.transaction.annotation.Transactional;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,33 +29,54 @@ import java.util.Optional;
 public class TagController {
     private final TagRepository repo;
     private final CardService cardService;
-
-    private SimpMessagingTemplate template;
     private final BoardRepository boards;
+    private final ExportService exportService;
+    private final BoardEventPublisher events;
+    private final BoardLocks locks;
 
     /**
      * Constructor for the Repository of Tags
      * @param repo  - TagRepository
      * @param boardRepository - the Board Repository
      * @param cardService - Instance of the Card Service
-     * @param template - SimpMessagingTemplate object for updating tags across the board
+     * @param exportService - service writing whole tables as newline delimited JSON
+     * @param events - the publisher of the event topic of each board
+     * @param locks - the locks running the changes of one board one after the other
      */
     public TagController(TagRepository repo, CardService cardService,
-                         BoardRepository boardRepository, SimpMessagingTemplate template) {
+                         BoardRepository boardRepository, ExportService exportService,
+                         BoardEventPublisher events, BoardLocks locks) {
         this.repo = repo;
         this.cardService = cardService;
         this.boards = boardRepository;
-        this.template = template;
+        this.exportService = exportService;
+        this.events = events;
+        this.locks = locks;
     }
 
     /**
-     * Get request for all tags
-     * @return - a list containing all tags
+     * Request for getting all the tags page by page, in increasing order of their ids
+     * @param after - the id of the last tag of the previous page, absent for the first page
+     * @param limit - the size of the page, at most Pagination.MAX_LIMIT
+     * @return - a list with the tags of the page
      */
-
     @GetMapping(path = { "", "/" })
-    public List<Tag> getAll() {
-        return repo.findAll();
+    public List<Tag> getAll(@RequestParam(required = false) Long after,
+                            @RequestParam(required = false) Integer limit) {
+        return repo.findByIdGreaterThanOrderByIdAsc(Pagination.after(after),
+            Pagination.limit(limit));
+    }
+
+    /**
+     * Request for exporting all the tags as newline delimited JSON, written while they are
+     * read from the database
+     * @param response - the response the tags are written to
+     * @throws IOException - if writing the response fails
+     */
+    @GetMapping(path = "/export", produces = ExportService.NDJSON)
+    public void export(HttpServletResponse response) throws IOException {
+        response.setContentType(ExportService.NDJSON);
+        exportService.writeNdjson(repo::streamAll, response.getOutputStream());
     }
 
     /**
@@ -61,24 +87,29 @@ public class TagController {
 
     @GetMapping(path = "/{id}")
     public ResponseEntity<Tag> getById(@PathVariable("id") long id){
-        if (id<0 || !repo.existsById(id)) {
-            return ResponseEntity.badRequest().build();
-        }
-        return ResponseEntity.ok(repo.findById(id).get());
+        return repo.findById(id).map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.badRequest().build());
     }
 
     /**
-     * Adds a given tag to the board with the id
+     * Adds a given tag to the board with the id and publishes it on the event topic of the board
      * @param tag - the tag itself
      * @return - a response entity with OK if the addition was successful
      */
     @PostMapping(path = {"","/"})
     public ResponseEntity<Tag> add(@RequestBody Tag tag){
-        Tag newTag = null;
-        if (tag.id == null && tag.name != null && tag.board != null && tag.status != null
-                && !tag.status.equals(Status.DELETED) && boards.existsById(tag.board.id)) {
-            newTag= repo.save(tag);
-        }
+        Tag newTag = locks.inBoard(tag.board == null ? null : tag.board.id, () -> {
+            if (tag.id == null && tag.name != null && tag.board != null && tag.status != null
+                    && !tag.status.equals(Status.DELETED) && boards.existsById(tag.board.id)
+                    && !repo.existsByBoard_IdAndNameAndStatusNot(tag.board.id, tag.name,
+                        Status.DELETED)) {
+                Tag saved = repo.save(tag);
+                events.publish(tag.board.id,
+                    BoardEvent.ofBoardTag(BoardEvent.Operation.ADD, saved));
+                return saved;
+            }
+            return null;
+        });
         if (newTag == null) {
             return ResponseEntity.badRequest().build();
         } else {
@@ -93,7 +124,7 @@ public class TagController {
      */
     @GetMapping(path ={"/card/{cardId}/assigned"})
     public ResponseEntity<List<Tag>> getTagsByCard(@PathVariable("cardId") Long cardId){
-        if(cardService.getCardById(cardId) == null)
+        if(cardService.findCard(cardId).isEmpty())
             return ResponseEntity.badRequest().build();
         else
             return ResponseEntity.ok(repo.findNotDeletedTagsByCardId(cardId));
@@ -106,11 +137,11 @@ public class TagController {
      */
     @GetMapping(path ={"/card/{cardId}/available"})
     public ResponseEntity<List<Tag>> getAvailableTagsByCard(@PathVariable("cardId") Long cardId){
-        List<Card> card = cardService.getCardById(cardId);
+        Card card = cardService.findCard(cardId).orElse(null);
         if(card == null)
             return ResponseEntity.badRequest().build();
         else {
-            Long boardId = card.get(0).taskList.board.id;
+            Long boardId = card.taskList.board.id;
             return ResponseEntity.ok(repo.findAvailableTagsByCardId(cardId, boardId));
         }
     }
@@ -122,15 +153,20 @@ public class TagController {
      * @return - A response Entity with the Tag which was added
      */
     @GetMapping(path ={"/card/{cardId}/{tagId}"})
-    @Transactional
     public ResponseEntity<Tag> addTagToCard(@PathVariable("cardId") Long cardId,
                                             @PathVariable("tagId") Long tagId){
-        if(cardService.getCardById(cardId)==null || !repo.existsById(tagId))
+        Tag tag = locks.inBoardOfCard(cardId, () -> {
+            Tag added = cardService.addTagToCard(cardId, tagId);
+            if (added != null) {
+                events.publishForCard(cardId,
+                    BoardEvent.ofTag(BoardEvent.Operation.ASSIGN, cardId, added));
+            }
+            return added;
+        });
+        if(tag == null)
             return ResponseEntity.badRequest().build();
-        else {
-            cardService.addTagToCard(cardId,tagId);
-            return ResponseEntity.ok(repo.findById(tagId).get());
-        }
+        else
+            return ResponseEntity.ok(tag);
     }
 
     /**
@@ -140,15 +176,20 @@ public class TagController {
      * @return - A response Entity with the Tag which was deleted
      */
     @DeleteMapping(path={"/delete/{cardId}/{tagId}"})
-    @Transactional
     public ResponseEntity<Tag> removeTagFromCard(@PathVariable("cardId") Long cardId,
                                                  @PathVariable("tagId") Long tagId){
-        if(cardService.getCardById(cardId)==null || !repo.existsById(tagId) )
+        Tag tag = locks.inBoardOfCard(cardId, () -> {
+            Tag removed = cardService.removeTagFromCard(cardId, tagId);
+            if (removed != null) {
+                events.publishForCard(cardId,
+                    BoardEvent.ofTag(BoardEvent.Operation.UNASSIGN, cardId, removed));
+            }
+            return removed;
+        });
+        if(tag == null)
             return ResponseEntity.badRequest().build();
-        else {
-            cardService.removeTagFromCard(cardId,tagId);
-            return ResponseEntity.ok(repo.findById(tagId).get());
-        }
+        else
+            return ResponseEntity.ok(tag);
     }
 
     /**
@@ -170,23 +211,19 @@ public class TagController {
      * @return - A response Entity with the deleted Tag
      */
     @DeleteMapping(path={"/{id}"})
-    @Transactional
     public ResponseEntity<Tag> deleteById(@PathVariable("id") Long id){
-        Optional<Tag> tagOptional = repo.findById(id);
-        Tag tag = null;
-        if(tagOptional.isPresent())
-            tag = tagOptional.get();
+        Tag tag = locks.inBoard(boardOfTag(id), () -> {
+            Tag deleted = id == null ? null : repo.findById(id).orElse(null);
+            if (deleted != null) {
+                deleted.status = Status.DELETED;
+                repo.save(deleted);
+                events.publish(deleted.board.id,
+                    BoardEvent.ofBoardTag(BoardEvent.Operation.DELETE, deleted));
+            }
+            return deleted;
+        });
         if(tag == null)
             return ResponseEntity.badRequest().build();
-        tag.status=Status.DELETED;
-        repo.save(tag);
-
-        List<Long> cardIds = repo.findCardIdByTagId(tag.id);
-        for(Long i:cardIds){
-            this.template.convertAndSend("/topic/"+i+"/removeTagFromCard",tag);
-            this.template.convertAndSend("/topic/"+i+"/cards/edit",
-                cardService.getCardById(i).get(0));
-        }
         return ResponseEntity.ok().build();
     }
 
@@ -194,31 +231,50 @@ public class TagController {
      * POST Mapping for updating a given Tag
      * @param id - The ID of the Tag we want to update
      * @param updatedTag - the tag containing the Updated Values
-     * @return - A response entity with the updated tag
+     * @return - A response entity with the updated tag, bad request if another tag of the
+     *  board which is not deleted already has the new name
      */
     @PostMapping("/{id}")
-    @Transactional
     public ResponseEntity<Tag> updateTag(@PathVariable Long id, @RequestBody Tag updatedTag) {
+        return locks.inBoard(boardOfTag(id), () -> update(id, updatedTag));
+    }
+
+    /**
+     * Updates a tag, see updateTag
+     * @param id - The ID of the Tag we want to update
+     * @param updatedTag - the tag containing the Updated Values
+     * @return - A response entity with the updated tag
+     */
+    private ResponseEntity<Tag> update(Long id, Tag updatedTag) {
         Optional<Tag> tagOptional = repo.findById(id);
         if (tagOptional.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
 
         Tag tag = tagOptional.get();
+        // names are unique among the tags of a board which are not deleted
+        if (updatedTag.name != null && !updatedTag.name.equals(tag.name)
+                && repo.existsByBoard_IdAndNameAndStatusNot(tag.board.id, updatedTag.name,
+                    Status.DELETED)) {
+            return ResponseEntity.badRequest().build();
+        }
         tag.name = updatedTag.name;
         tag.color = updatedTag.color;
         Tag savedTag =repo.save(tag);
-
-        List<Long> cardIds = repo.findCardIdByTagId(id);
-        for(Long i:cardIds){
-            this.template.convertAndSend("/topic/"+i+"/editTagFromCard",tag);
-            this.template.convertAndSend("/topic/"+i+"/cards/edit",
-                cardService.getCardById(i).get(0));
-        }
-
+        // one event for the board, the clients update every card having the tag themselves
+        events.publish(tag.board.id, BoardEvent.ofBoardTag(BoardEvent.Operation.EDIT, savedTag));
         return ResponseEntity.ok(savedTag);
     }
 
+    /**
+     * Finds the board of a tag, tags never leave their board
+     * @param id - the ID of the tag
+     * @return - the ID of the board or null if there is no such tag
+     */
+    private Long boardOfTag(Long id) {
+        return id == null ? null : repo.findBoardIdById(id).orElse(null);
+    }
+
     /**
      * Websocket handler for adding a Tag to a given Card
      * @param tag - the Tag we want to add to a card
@@ -228,8 +284,7 @@ public class TagController {
     @MessageMapping("/{cardId}/addTagToCard")
     @SendTo("/topic/{cardId}/addTagToCard")
     public Tag handleAddTagToCard(Tag tag,@DestinationVariable Long cardId){
-        var cardResponse = addTagToCard(cardId,tag.id);
-        return cardResponse.getBody();
+        return addTagToCard(cardId,tag.id).getBody();
     }
 
     /**
@@ -241,7 +296,6 @@ public class TagController {
     @MessageMapping("/{cardId}/removeTagFromCard")
     @SendTo("/topic/{cardId}/removeTagFromCard")
     public Tag handleRemoveTagFromCard(Tag tag,@DestinationVariable Long cardId){
-        var cardResponse = removeTagFromCard(cardId, tag.id);
-        return cardResponse.getBody();
+        return removeTagFromCard(cardId, tag.id).getBody();
     }
 }
\ No newline at end of file
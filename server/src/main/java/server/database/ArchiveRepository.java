@@ -0,0 +1,516 @@
+package server.database;
+
+import commons.ArchivedCard;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Moves deleted rows between the tables of the board and their archive tables. Every move is
+ * an insert of the selected rows into the other table followed by the deletion of the same
+ * rows, both have to run in one transaction.
+ */
+public interface ArchiveRepository extends JpaRepository<ArchivedCard, Long> {
+    String CARD_COLUMNS = "id, title, description, color, created_by, index, rank, "
+        + "done_subtasks, total_subtasks, status, task_list_id";
+    String LIST_COLUMNS = "id, name, status, color, index, board_id";
+    String SUBTASK_COLUMNS = "id, title, index, status, card_id";
+    String TAG_COLUMNS = "id, name, color, status, board_id";
+    /**
+     * Whether the card c was deleted, or is on a list which was deleted, before the point in
+     * time given as the second parameter
+     */
+    String CARD_DELETED_BEFORE = "(c.status = 'DELETED' AND c.deleted_at < ?2 "
+        + "OR EXISTS (SELECT 1 FROM Task_List l WHERE l.id = c.task_list_id "
+        + "AND l.status = 'DELETED' AND l.deleted_at < ?2))";
+
+    /**
+     * Records the deletion of the cards which were deleted before the time was kept
+     * @param now - the current time in milliseconds since the epoch
+     * @return - the number of updated cards
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE Card SET deleted_at = ?1 WHERE status = 'DELETED' "
+        + "AND deleted_at IS NULL", nativeQuery = true)
+    int stampDeletedCards(long now);
+
+    /**
+     * Records the deletion of the lists which were deleted before the time was kept
+     * @param now - the current time in milliseconds since the epoch
+     * @return - the number of updated lists
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE Task_List SET deleted_at = ?1 WHERE status = 'DELETED' "
+        + "AND deleted_at IS NULL", nativeQuery = true)
+    int stampDeletedLists(long now);
+
+    /**
+     * Records the deletion of the subtasks which were deleted before the time was kept
+     * @param now - the current time in milliseconds since the epoch
+     * @return - the number of updated subtasks
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE Subtask SET deleted_at = ?1 WHERE status = 'DELETED' "
+        + "AND deleted_at IS NULL", nativeQuery = true)
+    int stampDeletedSubtasks(long now);
+
+    /**
+     * Records the deletion of the tags which were deleted before the time was kept
+     * @param now - the current time in milliseconds since the epoch
+     * @return - the number of updated tags
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE Tag SET deleted_at = ?1 WHERE status = 'DELETED' "
+        + "AND deleted_at IS NULL", nativeQuery = true)
+    int stampDeletedTags(long now);
+
+    /**
+     * Returns the ids of the cards deleted before a point in time, the oldest first, and
+     * locks them until the transaction ends, so they are not restored while being moved
+     * @param before - the point in time in milliseconds since the epoch
+     * @param limit - the maximum number of ids
+     * @return - the ids
+     */
+    @Query(value = "SELECT id FROM Card WHERE status = 'DELETED' AND deleted_at < ?1 "
+        + "ORDER BY deleted_at LIMIT ?2 FOR UPDATE", nativeQuery = true)
+    List<Number> findCardIdsDeletedBefore(long before, int limit);
+
+    /**
+     * Returns the ids of the lists deleted before a point in time, the oldest first, and
+     * locks them until the transaction ends, so they are not restored while being moved
+     * @param before - the point in time in milliseconds since the epoch
+     * @param limit - the maximum number of ids
+     * @return - the ids
+     */
+    @Query(value = "SELECT id FROM Task_List WHERE status = 'DELETED' AND deleted_at < ?1 "
+        + "ORDER BY deleted_at LIMIT ?2 FOR UPDATE", nativeQuery = true)
+    List<Number> findListIdsDeletedBefore(long before, int limit);
+
+    /**
+     * Returns the ids of the subtasks deleted before a point in time, the oldest first, and
+     * locks them until the transaction ends, so they are not restored while being moved
+     * @param before - the point in time in milliseconds since the epoch
+     * @param limit - the maximum number of ids
+     * @return - the ids
+     */
+    @Query(value = "SELECT id FROM Subtask WHERE status = 'DELETED' AND deleted_at < ?1 "
+        + "ORDER BY deleted_at LIMIT ?2 FOR UPDATE", nativeQuery = true)
+    List<Number> findSubtaskIdsDeletedBefore(long before, int limit);
+
+    /**
+     * Returns the ids of the tags deleted before a point in time, the oldest first, and
+     * locks them until the transaction ends, so they are not restored while being moved
+     * @param before - the point in time in milliseconds since the epoch
+     * @param limit - the maximum number of ids
+     * @return - the ids
+     */
+    @Query(value = "SELECT id FROM Tag WHERE status = 'DELETED' AND deleted_at < ?1 "
+        + "ORDER BY deleted_at LIMIT ?2 FOR UPDATE", nativeQuery = true)
+    List<Number> findTagIdsDeletedBefore(long before, int limit);
+
+    /**
+     * Returns the ids of every card of some lists, whatever their status, and locks them
+     * until the transaction ends
+     * @param listIds - the ids of the lists
+     * @return - the ids of the cards
+     */
+    @Query(value = "SELECT id FROM Card WHERE task_list_id IN (?1) FOR UPDATE",
+        nativeQuery = true)
+    List<Number> findCardIdsByTaskListIds(Collection<Long> listIds);
+
+    /**
+     * Copies the tag assignments of some cards to the archive
+     * @param cardIds - the ids of the cards
+     * @param before - only the cards deleted, or on a list deleted, before this point in
+     *  time in milliseconds since the epoch are moved
+     * @param now - the time of archiving in milliseconds since the epoch
+     * @return - the number of archived rows
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO archived_card_tags (card_id, tags_id, archived_at) "
+        + "SELECT card_id, tags_id, CAST(?3 AS BIGINT) FROM CARD_TAGS ct "
+        + "WHERE ct.card_id IN (?1) AND EXISTS (SELECT 1 FROM Card c WHERE c.id = ct.card_id "
+        + "AND " + CARD_DELETED_BEFORE + ")", nativeQuery = true)
+    int archiveCardTagsOfCards(Collection<Long> cardIds, long before, long now);
+
+    /**
+     * Deletes the tag assignments of some cards
+     * @param cardIds - the ids of the cards
+     * @param before - only the cards deleted, or on a list deleted, before this point in
+     *  time in milliseconds since the epoch are moved
+     * @return - the number of deleted rows
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM CARD_TAGS ct WHERE ct.card_id IN (?1) "
+        + "AND EXISTS (SELECT 1 FROM Card c WHERE c.id = ct.card_id "
+        + "AND " + CARD_DELETED_BEFORE + ")", nativeQuery = true)
+    int deleteCardTagsOfCards(Collection<Long> cardIds, long before);
+
+    /**
+     * Copies the assignments of some tags to the archive
+     * @param tagIds - the ids of the tags
+     * @param before - only the rows deleted before this point in time are moved
+     * @param now - the time of archiving in milliseconds since the epoch
+     * @return - the number of archived rows
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO archived_card_tags (card_id, tags_id, archived_at) "
+        + "SELECT card_id, tags_id, CAST(?3 AS BIGINT) FROM CARD_TAGS ct "
+        + "WHERE ct.tags_id IN (?1) AND EXISTS (SELECT 1 FROM Tag t WHERE t.id = ct.tags_id "
+        + "AND t.status = 'DELETED' AND t.deleted_at < ?2)", nativeQuery = true)
+    int archiveCardTagsOfTags(Collection<Long> tagIds, long before, long now);
+
+    /**
+     * Deletes the assignments of some tags
+     * @param tagIds - the ids of the tags
+     * @param before - only the rows deleted before this point in time are moved
+     * @return - the number of deleted rows
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM CARD_TAGS ct WHERE ct.tags_id IN (?1) "
+        + "AND EXISTS (SELECT 1 FROM Tag t WHERE t.id = ct.tags_id "
+        + "AND t.status = 'DELETED' AND t.deleted_at < ?2)", nativeQuery = true)
+    int deleteCardTagsOfTags(Collection<Long> tagIds, long before);
+
+    /**
+     * Copies the subtasks of some cards to the archive, whatever their status
+     * @param cardIds - the ids of the cards
+     * @param before - only the cards deleted, or on a list deleted, before this point in
+     *  time in milliseconds since the epoch are moved
+     * @param now - the time of archiving in milliseconds since the epoch
+     * @return - the number of archived subtasks
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO archived_subtask (" + SUBTASK_COLUMNS + ", deleted_at, "
+        + "archived_at) SELECT " + SUBTASK_COLUMNS + ", deleted_at, CAST(?3 AS BIGINT) "
+        + "FROM Subtask s WHERE s.card_id IN (?1) AND EXISTS (SELECT 1 FROM Card c "
+        + "WHERE c.id = s.card_id AND " + CARD_DELETED_BEFORE + ")", nativeQuery = true)
+    int archiveSubtasksOfCards(Collection<Long> cardIds, long before, long now);
+
+    /**
+     * Deletes the subtasks of some cards
+     * @param cardIds - the ids of the cards
+     * @param before - only the cards deleted, or on a list deleted, before this point in
+     *  time in milliseconds since the epoch are moved
+     * @return - the number of deleted subtasks
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM Subtask s WHERE s.card_id IN (?1) AND EXISTS (SELECT 1 "
+        + "FROM Card c WHERE c.id = s.card_id AND " + CARD_DELETED_BEFORE + ")",
+        nativeQuery = true)
+    int deleteSubtasksOfCards(Collection<Long> cardIds, long before);
+
+    /**
+     * Copies subtasks to the archive
+     * @param ids - the ids of the subtasks
+     * @param before - only the rows deleted before this point in time are moved
+     * @param now - the time of archiving in milliseconds since the epoch
+     * @return - the number of archived subtasks
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO archived_subtask (" + SUBTASK_COLUMNS + ", deleted_at, "
+        + "archived_at) SELECT " + SUBTASK_COLUMNS + ", deleted_at, CAST(?3 AS BIGINT) "
+        + "FROM Subtask WHERE id IN (?1) AND status = 'DELETED' AND deleted_at < ?2",
+        nativeQuery = true)
+    int archiveSubtasks(Collection<Long> ids, long before, long now);
+
+    /**
+     * Deletes subtasks
+     * @param ids - the ids of the subtasks
+     * @param before - only the rows deleted before this point in time are moved
+     * @return - the number of deleted subtasks
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM Subtask WHERE id IN (?1) AND status = 'DELETED' "
+        + "AND deleted_at < ?2", nativeQuery = true)
+    int deleteSubtasks(Collection<Long> ids, long before);
+
+    /**
+     * Copies cards to the archive
+     * @param ids - the ids of the cards
+     * @param before - only the cards deleted, or on a list deleted, before this point in
+     *  time in milliseconds since the epoch are moved
+     * @param now - the time of archiving in milliseconds since the epoch
+     * @return - the number of archived cards
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO archived_card (" + CARD_COLUMNS + ", deleted_at, archived_at) "
+        + "SELECT " + CARD_COLUMNS + ", deleted_at, CAST(?3 AS BIGINT) FROM Card c "
+        + "WHERE c.id IN (?1) AND " + CARD_DELETED_BEFORE, nativeQuery = true)
+    int archiveCards(Collection<Long> ids, long before, long now);
+
+    /**
+     * Deletes cards
+     * @param ids - the ids of the cards
+     * @param before - only the cards deleted, or on a list deleted, before this point in
+     *  time in milliseconds since the epoch are moved
+     * @return - the number of deleted cards
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM Card c WHERE c.id IN (?1) AND " + CARD_DELETED_BEFORE,
+        nativeQuery = true)
+    int deleteCards(Collection<Long> ids, long before);
+
+    /**
+     * Copies lists to the archive
+     * @param ids - the ids of the lists
+     * @param before - only the rows deleted before this point in time are moved
+     * @param now - the time of archiving in milliseconds since the epoch
+     * @return - the number of archived lists
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO archived_task_list (" + LIST_COLUMNS + ", deleted_at, "
+        + "archived_at) SELECT " + LIST_COLUMNS + ", deleted_at, CAST(?3 AS BIGINT) "
+        + "FROM Task_List WHERE id IN (?1) AND status = 'DELETED' AND deleted_at < ?2",
+        nativeQuery = true)
+    int archiveLists(Collection<Long> ids, long before, long now);
+
+    /**
+     * Deletes lists
+     * @param ids - the ids of the lists
+     * @param before - only the rows deleted before this point in time are moved
+     * @return - the number of deleted lists
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM Task_List WHERE id IN (?1) AND status = 'DELETED' "
+        + "AND deleted_at < ?2", nativeQuery = true)
+    int deleteLists(Collection<Long> ids, long before);
+
+    /**
+     * Copies tags to the archive
+     * @param ids - the ids of the tags
+     * @param before - only the rows deleted before this point in time are moved
+     * @param now - the time of archiving in milliseconds since the epoch
+     * @return - the number of archived tags
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO archived_tag (" + TAG_COLUMNS + ", deleted_at, archived_at) "
+        + "SELECT " + TAG_COLUMNS + ", deleted_at, CAST(?3 AS BIGINT) FROM Tag "
+        + "WHERE id IN (?1) AND status = 'DELETED' AND deleted_at < ?2", nativeQuery = true)
+    int archiveTags(Collection<Long> ids, long before, long now);
+
+    /**
+     * Deletes tags
+     * @param ids - the ids of the tags
+     * @param before - only the rows deleted before this point in time are moved
+     * @return - the number of deleted tags
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM Tag WHERE id IN (?1) AND status = 'DELETED' "
+        + "AND deleted_at < ?2", nativeQuery = true)
+    int deleteTags(Collection<Long> ids, long before);
+
+    /**
+     * Copies an archived list back if its board still exists. A deleted list is kept
+     * for another retention from now on.
+     * @param id - the id of the list
+     * @param now - the current time in milliseconds since the epoch
+     * @return - 1 if the list was copied, 0 otherwise
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO Task_List (" + LIST_COLUMNS + ", deleted_at) "
+        + "SELECT " + LIST_COLUMNS + ", CASE WHEN status = 'DELETED' THEN CAST(?2 AS BIGINT) "
+        + "END FROM archived_task_list a WHERE a.id = ?1 "
+        + "AND EXISTS (SELECT 1 FROM Board b WHERE b.id = a.board_id)", nativeQuery = true)
+    int restoreList(Long id, long now);
+
+    /**
+     * Deletes an archived list which was copied back
+     * @param id - the id of the list
+     * @return - the number of deleted rows
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM archived_task_list a WHERE a.id = ?1 "
+        + "AND EXISTS (SELECT 1 FROM Task_List l WHERE l.id = a.id)", nativeQuery = true)
+    int deleteRestoredList(Long id);
+
+    /**
+     * Returns the ids of the archived cards of a list
+     * @param listId - the id of the list
+     * @return - the ids of the cards
+     */
+    @Query(value = "SELECT id FROM archived_card WHERE task_list_id = ?1", nativeQuery = true)
+    List<Number> findArchivedCardIdsByTaskListId(Long listId);
+
+    /**
+     * Copies archived cards back if their lists are not archived. Deleted cards are kept
+     * for another retention from now on.
+     * @param ids - the ids of the cards
+     * @param now - the current time in milliseconds since the epoch
+     * @return - the number of copied cards
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO Card (" + CARD_COLUMNS + ", deleted_at) "
+        + "SELECT " + CARD_COLUMNS + ", CASE WHEN status = 'DELETED' THEN CAST(?2 AS BIGINT) "
+        + "END FROM archived_card a WHERE a.id IN (?1) "
+        + "AND EXISTS (SELECT 1 FROM Task_List l WHERE l.id = a.task_list_id)",
+        nativeQuery = true)
+    int restoreCards(Collection<Long> ids, long now);
+
+    /**
+     * Deletes the archived cards which were copied back
+     * @param ids - the ids of the cards
+     * @return - the number of deleted rows
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM archived_card a WHERE a.id IN (?1) "
+        + "AND EXISTS (SELECT 1 FROM Card c WHERE c.id = a.id)", nativeQuery = true)
+    int deleteRestoredCards(Collection<Long> ids);
+
+    /**
+     * Copies the archived subtasks of some cards back if the cards are not archived
+     * @param cardIds - the ids of the cards
+     * @param now - the current time in milliseconds since the epoch
+     * @return - the number of copied subtasks
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO Subtask (" + SUBTASK_COLUMNS + ", deleted_at) "
+        + "SELECT " + SUBTASK_COLUMNS + ", CASE WHEN status = 'DELETED' "
+        + "THEN CAST(?2 AS BIGINT) END FROM archived_subtask a WHERE a.card_id IN (?1) "
+        + "AND EXISTS (SELECT 1 FROM Card c WHERE c.id = a.card_id)", nativeQuery = true)
+    int restoreSubtasksOfCards(Collection<Long> cardIds, long now);
+
+    /**
+     * Deletes the archived subtasks of some cards which were copied back
+     * @param cardIds - the ids of the cards
+     * @return - the number of deleted rows
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM archived_subtask a WHERE a.card_id IN (?1) "
+        + "AND EXISTS (SELECT 1 FROM Subtask s WHERE s.id = a.id)", nativeQuery = true)
+    int deleteRestoredSubtasksOfCards(Collection<Long> cardIds);
+
+    /**
+     * Copies an archived subtask back if its card is not archived. A deleted subtask is kept
+     * for another retention from now on.
+     * @param id - the id of the subtask
+     * @param now - the current time in milliseconds since the epoch
+     * @return - 1 if the subtask was copied, 0 otherwise
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO Subtask (" + SUBTASK_COLUMNS + ", deleted_at) "
+        + "SELECT " + SUBTASK_COLUMNS + ", CASE WHEN status = 'DELETED' "
+        + "THEN CAST(?2 AS BIGINT) END FROM archived_subtask a WHERE a.id = ?1 "
+        + "AND EXISTS (SELECT 1 FROM Card c WHERE c.id = a.card_id)", nativeQuery = true)
+    int restoreSubtask(Long id, long now);
+
+    /**
+     * Deletes an archived subtask which was copied back
+     * @param id - the id of the subtask
+     * @return - the number of deleted rows
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM archived_subtask a WHERE a.id = ?1 "
+        + "AND EXISTS (SELECT 1 FROM Subtask s WHERE s.id = a.id)", nativeQuery = true)
+    int deleteRestoredSubtask(Long id);
+
+    /**
+     * Copies the archived tag assignments of some cards back whose tags are not archived
+     * @param cardIds - the ids of the cards
+     * @return - the number of copied rows
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO CARD_TAGS (card_id, tags_id) "
+        + "SELECT card_id, tags_id FROM archived_card_tags a WHERE a.card_id IN (?1) "
+        + "AND EXISTS (SELECT 1 FROM Card c WHERE c.id = a.card_id) "
+        + "AND EXISTS (SELECT 1 FROM Tag t WHERE t.id = a.tags_id)", nativeQuery = true)
+    int restoreCardTagsOfCards(Collection<Long> cardIds);
+
+    /**
+     * Deletes the archived tag assignments of some cards which were copied back
+     * @param cardIds - the ids of the cards
+     * @return - the number of deleted rows
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM archived_card_tags a WHERE a.card_id IN (?1) "
+        + "AND EXISTS (SELECT 1 FROM CARD_TAGS ct WHERE ct.card_id = a.card_id "
+        + "AND ct.tags_id = a.tags_id)", nativeQuery = true)
+    int deleteRestoredCardTagsOfCards(Collection<Long> cardIds);
+
+    /**
+     * Copies an archived tag back if its board still exists and, unless it is deleted, no
+     * other tag of the board which is not deleted took its name. A deleted tag is kept for
+     * another retention from now on.
+     * @param id - the id of the tag
+     * @param now - the current time in milliseconds since the epoch
+     * @return - 1 if the tag was copied, 0 otherwise
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO Tag (" + TAG_COLUMNS + ", deleted_at) "
+        + "SELECT " + TAG_COLUMNS + ", CASE WHEN status = 'DELETED' THEN CAST(?2 AS BIGINT) "
+        + "END FROM archived_tag a WHERE a.id = ?1 "
+        + "AND EXISTS (SELECT 1 FROM Board b WHERE b.id = a.board_id) "
+        + "AND (a.status = 'DELETED' OR NOT EXISTS (SELECT 1 FROM Tag t "
+        + "WHERE t.board_id = a.board_id AND t.name = a.name AND t.status <> 'DELETED'))",
+        nativeQuery = true)
+    int restoreTag(Long id, long now);
+
+    /**
+     * Deletes an archived tag which was copied back
+     * @param id - the id of the tag
+     * @return - the number of deleted rows
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM archived_tag a WHERE a.id = ?1 "
+        + "AND EXISTS (SELECT 1 FROM Tag t WHERE t.id = a.id)", nativeQuery = true)
+    int deleteRestoredTag(Long id);
+
+    /**
+     * Copies the archived assignments of a tag back whose cards are not archived
+     * @param tagId - the id of the tag
+     * @return - the number of copied rows
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO CARD_TAGS (card_id, tags_id) "
+        + "SELECT card_id, tags_id FROM archived_card_tags a WHERE a.tags_id = ?1 "
+        + "AND EXISTS (SELECT 1 FROM Card c WHERE c.id = a.card_id) "
+        + "AND EXISTS (SELECT 1 FROM Tag t WHERE t.id = a.tags_id)", nativeQuery = true)
+    int restoreCardTagsOfTag(Long tagId);
+
+    /**
+     * Deletes the archived assignments of a tag which were copied back
+     * @param tagId - the id of the tag
+     * @return - the number of deleted rows
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM archived_card_tags a WHERE a.tags_id = ?1 "
+        + "AND EXISTS (SELECT 1 FROM CARD_TAGS ct WHERE ct.card_id = a.card_id "
+        + "AND ct.tags_id = a.tags_id)", nativeQuery = true)
+    int deleteRestoredCardTagsOfTag(Long tagId);
+}
@@ -1,9 +1,34 @@
 package server.database;
 
 import commons.Board;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import javax.persistence.QueryHint;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 
 public interface BoardRepository extends JpaRepository<Board,Long> {
 
+    /**
+     * Returns a page of boards with an id greater than a given one in increasing order of id
+     * @param id - the id after which the page starts
+     * @param pageable - the size of the page
+     * @return - at most pageable.getPageSize() boards
+     */
+    List<Board> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    /**
+     * Streams all boards without loading them into memory at once,
+     * the stream has to be consumed and closed inside a transaction
+     * @return - a stream of all boards
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT b FROM Board b")
+    Stream<Board> streamAll();
 }
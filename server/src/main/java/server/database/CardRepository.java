@@ -1,14 +1,57 @@
 package server.database;
 
 import commons.Card;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.QueryHint;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 public interface CardRepository extends JpaRepository<Card, Long> {
+    /**
+     * Finds a card together with its task list and the board of the list
+     * @param id - the id of the card
+     * @return - the card or empty if there is no such card
+     */
+    @Override
+    @EntityGraph(attributePaths = "taskList.board")
+    Optional<Card> findById(Long id);
+
+    /**
+     * Finds cards together with their task lists and the boards of the lists
+     * @param ids - the ids of the cards
+     * @return - the cards which exist
+     */
+    @Override
+    @EntityGraph(attributePaths = "taskList.board")
+    List<Card> findAllById(Iterable<Long> ids);
+
+    /**
+     * Returns a page of cards with an id greater than a given one in increasing order of id
+     * @param id - the id after which the page starts
+     * @param pageable - the size of the page
+     * @return - at most pageable.getPageSize() cards
+     */
+    List<Card> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    /**
+     * Streams all cards without loading them into memory at once, together with their lists
+     * instead of a query per list, the stream has to be consumed and closed inside a transaction
+     * @return - a stream of all cards
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT c FROM Card c LEFT JOIN FETCH c.taskList")
+    Stream<Card> streamAll();
+
     /**
      * @param id Id of a Task List
      * @return A list of cards belonging to that Task List
@@ -16,24 +59,47 @@ public interface CardRepository extends JpaRepository<Card, Long> {
     List<Card> findCardsByTaskListId(Long id);
 
     /**
-     * Returns all active cards in a specified task list in increasing order of their index
+     * Returns all active cards in a specified task list in increasing order of their rank
      * @param id Id of a Task List
      * @param status the status which the card should match
      * @return A list of cards belonging to that Task List with the corresponding status
      */
     @Query(value = "SELECT * FROM Card c WHERE c.task_List_id = ?1 AND c.status = ?2 "
-            + "ORDER BY c.index;", nativeQuery = true)
+            + "ORDER BY c.rank, c.index;", nativeQuery = true)
     List<Card> findCardsByTaskListIdAndStatus(Long id, String status);
 
     /**
-     * Returns all not deleted cards in a specified task list in increasing order of their index
+     * Returns all not deleted cards in a specified task list in increasing order of their rank
      * @param id - Id of a Task List
      * @return - A list of cards belonging to that Task List with status different than DELETED
      */
     @Query(value = "SELECT * FROM Card c WHERE c.task_List_id = ?1 AND NOT c.status = 'DELETED' "
-            + "ORDER BY c.index;", nativeQuery = true)
+            + "ORDER BY c.rank, c.index;", nativeQuery = true)
     List<Card> findNotDeletedCardsByTaskListId(Long id);
 
+    /**
+     * Counts the not deleted cards of a task list which are ordered before a given rank,
+     * which is the index of a card with that rank
+     * @param id - Id of a Task List
+     * @param rank - the rank of the card
+     * @return - the number of cards before the rank
+     */
+    @Query(value = "SELECT COUNT(*) FROM Card c WHERE c.task_List_id = ?1 "
+            + "AND NOT c.status = 'DELETED' AND c.rank < ?2", nativeQuery = true)
+    long countNotDeletedCardsBeforeRank(Long id, String rank);
+
+    /**
+     * Returns the cards with a given status in all not deleted lists of a board,
+     * grouped by their task list and in increasing order of their rank
+     * @param boardId - Id of the board
+     * @param status - the status which the card should match
+     * @return - A list of cards belonging to that board with the corresponding status
+     */
+    @Query(value = "SELECT c.* FROM Card c JOIN Task_List l ON c.task_list_id = l.id "
+            + "WHERE l.board_id = ?1 AND NOT l.status = 'DELETED' AND c.status = ?2 "
+            + "ORDER BY c.task_list_id, c.rank, c.index;", nativeQuery = true)
+    List<Card> findCardsByBoardIdAndStatus(Long boardId, String status);
+
     /**
      * Inserts a record into the relationship table between card and tag
      * @param cid the id of the card
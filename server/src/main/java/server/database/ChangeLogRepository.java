@@ -0,0 +1,51 @@
+package server.database;
+
+import commons.ChangeLogEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public interface ChangeLogRepository extends JpaRepository<ChangeLogEntry, Long> {
+
+    /**
+     * Returns a page of the entries of a board after a sequence number
+     * @param boardId - the id of the board
+     * @param since - the sequence number of the last entry the client has seen
+     * @param limit - the size of the page
+     * @return - the entries in increasing order of their sequence numbers
+     */
+    @Query(value = "SELECT * FROM Change_Log_Entry e WHERE e.board_id = ?1 AND e.seq > ?2 "
+        + "ORDER BY e.seq LIMIT ?3", nativeQuery = true)
+    List<ChangeLogEntry> findByBoardIdAfter(Long boardId, long since, int limit);
+
+    /**
+     * Returns the sequence number of the last entry of a board
+     * @param boardId - the id of the board
+     * @return - the sequence number or null if the board has no entries
+     */
+    @Query(value = "SELECT MAX(e.seq) FROM Change_Log_Entry e WHERE e.board_id = ?1",
+        nativeQuery = true)
+    Long findLastSeq(Long boardId);
+
+    /**
+     * Returns the sequence number of the oldest entry of a board which is still kept
+     * @param boardId - the id of the board
+     * @return - the sequence number or null if the board has no entries
+     */
+    @Query(value = "SELECT MIN(e.seq) FROM Change_Log_Entry e WHERE e.board_id = ?1",
+        nativeQuery = true)
+    Long findFirstSeq(Long boardId);
+
+    /**
+     * Deletes the entries of all boards created before a point in time
+     * @param before - the point in time in milliseconds since the epoch
+     * @return - the number of deleted entries
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM Change_Log_Entry WHERE created_at < ?1", nativeQuery = true)
+    int deleteCreatedBefore(long before);
+}
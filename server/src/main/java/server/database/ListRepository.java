@@ -1,13 +1,49 @@
 package server.database;
 
 import commons.TaskList;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.QueryHint;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 
 public interface ListRepository extends JpaRepository<TaskList, Long> {
+    /**
+     * Finds a task list together with its board, which is otherwise loaded lazily
+     * @param id - the id of the task list
+     * @return - the task list or empty if there is no such list
+     */
+    @Override
+    @EntityGraph(attributePaths = "board")
+    Optional<TaskList> findById(Long id);
+
+    /**
+     * Returns a page of task lists with an id greater than a given one in increasing order of id
+     * @param id - the id after which the page starts
+     * @param pageable - the size of the page
+     * @return - at most pageable.getPageSize() task lists
+     */
+    List<TaskList> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    /**
+     * Streams all task lists without loading them into memory at once,
+     * the stream has to be consumed and closed inside a transaction
+     * @return - a stream of all task lists
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT l FROM TaskList l")
+    Stream<TaskList> streamAll();
+
      /**
       * Finds a List of Tasks By id
       * @param boardId - ID of the board
@@ -35,4 +71,29 @@ public interface ListRepository extends JpaRepository<TaskList, Long> {
     @Query(value = "SELECT * FROM Task_List l WHERE l.board_id = ?1 AND NOT l.status = 'DELETED' "
             + "ORDER BY l.index;", nativeQuery = true)
     List<TaskList> findNotDeletedListsByBoardId(Long id);
+
+    /**
+     * Counts the not deleted lists in a board
+     * @param id id of a board
+     * @return the number of TaskLists in that Board which are not deleted
+     */
+    @Query(value = "SELECT COUNT(*) FROM Task_List l WHERE l.board_id = ?1 "
+            + "AND NOT l.status = 'DELETED';", nativeQuery = true)
+    long countNotDeletedListsByBoardId(Long id);
+
+    /**
+     * Shifts the index of every not deleted list of a board whose index is in a range
+     * with a single statement. Pending changes are flushed first and the loaded lists are
+     * detached afterwards, so no stale index is read or written back.
+     * @param id id of a board
+     * @param from the lowest index to be shifted
+     * @param to the highest index to be shifted
+     * @param delta the value added to the index of each list in the range
+     * @return the number of updated lists
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query(value = "UPDATE Task_List SET index = index + ?4 WHERE board_id = ?1 "
+            + "AND NOT status = 'DELETED' AND index BETWEEN ?2 AND ?3", nativeQuery = true)
+    int shiftIndexes(Long id, int from, int to, int delta);
 }
@@ -2,7 +2,9 @@ package server.database;
 
 import commons.Subtask;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -18,4 +20,20 @@ public interface SubtaskRepository extends JpaRepository<Subtask,Long> {
         + "ORDER BY st.index;", nativeQuery = true)
     List<Subtask> findNotDeletedSubtasksByCardId(Long id);
 
+    /**
+     * Shifts the index of every not deleted subtask of a card whose index is in a range
+     * with a single statement, flushing the pending changes before and clearing the
+     * persistence context after it, as the loaded subtasks would keep their old index
+     * @param id - id of the card that contains the nested task list
+     * @param from - the lowest index to be shifted
+     * @param to - the highest index to be shifted
+     * @param delta - the value added to the index of each subtask in the range
+     * @return - the number of updated subtasks
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query(value = "UPDATE Subtask SET index = index + ?4 WHERE card_id = ?1 "
+        + "AND NOT status = 'DELETED' AND index BETWEEN ?2 AND ?3", nativeQuery = true)
+    int shiftIndexes(Long id, int from, int to, int delta);
+
 }
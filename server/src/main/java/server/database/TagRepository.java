@@ -1,13 +1,56 @@
 package server.database;
 
+import commons.Status;
 import commons.Tag;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import javax.persistence.QueryHint;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 
 public interface TagRepository extends JpaRepository<Tag, Long> {
+    /**
+     * Finds a tag together with its board, which is otherwise loaded lazily
+     * @param id - the id of the tag
+     * @return - the tag or empty if there is no such tag
+     */
+    @Override
+    @EntityGraph(attributePaths = "board")
+    Optional<Tag> findById(Long id);
+
+    /**
+     * Finds the board of a tag without loading the tag
+     * @param id - the id of the tag
+     * @return - the id of the board or empty if there is no such tag
+     */
+    @Query("SELECT t.board.id FROM Tag t WHERE t.id = ?1")
+    Optional<Long> findBoardIdById(Long id);
+
+    /**
+     * Returns a page of tags with an id greater than a given one in increasing order of id
+     * @param id - the id after which the page starts
+     * @param pageable - the size of the page
+     * @return - at most pageable.getPageSize() tags
+     */
+    List<Tag> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    /**
+     * Streams all tags without loading them into memory at once,
+     * the stream has to be consumed and closed inside a transaction
+     * @return - a stream of all tags
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT t FROM Tag t")
+    Stream<Tag> streamAll();
+
 
     /**
      * Checks if there exists already a tag with that name in the given card
@@ -18,6 +61,17 @@ public interface TagRepository extends JpaRepository<Tag, Long> {
     @SuppressWarnings({"checkstyle:MethodName","checkstyle:ParameterName"})
     boolean existsByBoard_IdAndName(Long card_id, String name);
 
+    /**
+     * Checks if a board has a tag with a given name and another status, e.g. one which is
+     * not deleted, deleted tags do not keep their name from being used again
+     * @param boardId - the id of the board
+     * @param name - the name of the tag
+     * @param status - the status the tag must not have
+     * @return - true if there is such a tag
+     */
+    @SuppressWarnings("checkstyle:MethodName")
+    boolean existsByBoard_IdAndNameAndStatusNot(Long boardId, String name, Status status);
+
 
     /**
      * Query for getting all Tags that are not deleted by Board id
@@ -44,19 +98,33 @@ public interface TagRepository extends JpaRepository<Tag, Long> {
      * @param id - the ID of the card
      * @return - A list of tags
      */
-    @Query(value = "SELECT T.ID, T.COLOR, T.NAME, T.STATUS,T.BOARD_ID FROM TAG AS T " +
+    @Query(value = "SELECT T.ID, T.COLOR, T.NAME, T.STATUS,T.BOARD_ID, T.DELETED_AT " +
+            "FROM TAG AS T " +
             "JOIN CARD_TAGS ON T.ID = CARD_TAGS.TAGS_ID " +
             "WHERE CARD_TAGS.CARD_ID=?1 AND NOT T.STATUS = 'DELETED';",nativeQuery = true)
     List<Tag> findNotDeletedTagsByCardId(Long id);
 
     /**
-     * Querry for finding all Cards that contain a given Tag
-     * @param id - The ID of the Given TAG
-     * @return - A list of Card IDs
+     * Query for getting every (card id, tag id) pair of the active cards of a board
+     * whose tag is not deleted
+     * @param boardId - The ID of the board
+     * @return - A list of rows, each holding the card id followed by the tag id
      */
-    @Query(value ="SELECT Card.id FROM Card JOIN CARD_TAGS ON Card.ID = CARD_TAGS.CARD_ID " +
-            "WHERE CARD_TAGS.TAGS_ID=?1 AND NOT Card.STATUS = 'DELETED'",nativeQuery = true)
-    List<Long> findCardIdByTagId(Long id);
+    @Query(value = "SELECT ct.card_id, ct.tags_id FROM CARD_TAGS ct "
+            + "JOIN Card c ON c.id = ct.card_id JOIN Task_List l ON l.id = c.task_list_id "
+            + "JOIN TAG t ON t.id = ct.tags_id WHERE l.board_id = ?1 "
+            + "AND c.status = 'ACTIVE' AND NOT t.status = 'DELETED';", nativeQuery = true)
+    List<Object[]> findActiveCardTagIdsByBoardId(Long boardId);
 
+    /**
+     * Query for getting every (card id, tag id) pair of the cards of a task list
+     * whose tag is not deleted
+     * @param listId - The ID of the task list
+     * @return - A list of rows, each holding the card id followed by the tag id
+     */
+    @Query(value = "SELECT ct.card_id, ct.tags_id FROM Card c "
+            + "JOIN CARD_TAGS ct ON ct.card_id = c.id JOIN TAG t ON t.id = ct.tags_id "
+            + "WHERE c.task_list_id = ?1 AND NOT t.status = 'DELETED';", nativeQuery = true)
+    List<Object[]> findCardTagIdsByTaskListId(Long listId);
 
 }
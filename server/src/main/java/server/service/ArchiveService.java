@@ -0,0 +1,219 @@
+package server.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import server.database.ArchiveRepository;
+
+import javax.annotation.PreDestroy;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+@Service
+public class ArchiveService {
+    private static final Logger LOG = LoggerFactory.getLogger(ArchiveService.class);
+
+    private final ArchiveRepository archive;
+    private final TransactionTemplate transactions;
+    private final long retentionMs;
+    private final int batchSize;
+    private final ScheduledExecutorService compactor;
+
+    /**
+     * Initializes the archive of the deleted cards, lists, subtasks and tags. Once an hour the
+     * rows deleted longer ago than the retention are moved to the archive tables, a batch at
+     * a time, so the queries of the boards don't have to skip them.
+     * @param archive the repository moving the rows
+     * @param transactionManager the transaction manager each batch runs in
+     * @param retentionHours how long deleted rows are kept, 0 keeps them forever
+     * @param batchSize how many rows of a table are moved in one transaction
+     */
+    public ArchiveService(ArchiveRepository archive, PlatformTransactionManager transactionManager,
+                          @Value("${talio.archive.retention-hours:168}") long retentionHours,
+                          @Value("${talio.archive.batch-size:200}") int batchSize) {
+        this.archive = archive;
+        this.transactions = new TransactionTemplate(transactionManager);
+        this.retentionMs = TimeUnit.HOURS.toMillis(retentionHours);
+        this.batchSize = batchSize;
+        this.compactor = retentionHours > 0 ? Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "archive-compactor");
+            t.setDaemon(true);
+            return t;
+        }) : null;
+        if (compactor != null) {
+            compactor.scheduleWithFixedDelay(this::compactLogged, 5, 60, TimeUnit.MINUTES);
+        }
+    }
+
+    /**
+     * Moves the rows deleted longer ago than the retention to the archive. A list is archived
+     * together with its cards and a card together with its subtasks and tag assignments.
+     * Rows deleted before their deletion time was kept are stamped now.
+     * @return the number of archived cards, lists, subtasks and tags
+     */
+    public int compact() {
+        long now = System.currentTimeMillis();
+        transactions.executeWithoutResult(status -> {
+            archive.stampDeletedCards(now);
+            archive.stampDeletedLists(now);
+            archive.stampDeletedSubtasks(now);
+            archive.stampDeletedTags(now);
+        });
+        long before = now - retentionMs;
+        return drain(() -> archive.findTagIdsDeletedBefore(before, batchSize),
+                ids -> archiveTags(ids, before))
+            + drain(() -> archive.findSubtaskIdsDeletedBefore(before, batchSize),
+                ids -> archiveSubtasks(ids, before))
+            + drain(() -> archive.findCardIdsDeletedBefore(before, batchSize),
+                ids -> archiveCards(ids, before, System.currentTimeMillis()))
+            + drain(() -> archive.findListIdsDeletedBefore(before, batchSize),
+                ids -> archiveLists(ids, before));
+    }
+
+    /**
+     * Archives batches of rows in a transaction each until a batch is not full. The rows of
+     * a batch stay locked until they are moved, and every statement checks again that they
+     * were deleted before the retention, so a row restored meanwhile is never archived.
+     */
+    private int drain(Supplier<List<Number>> batch, Consumer<List<Long>> move) {
+        int moved = 0;
+        int size;
+        do {
+            size = transactions.execute(status -> {
+                List<Long> ids = ids(batch.get());
+                if (!ids.isEmpty()) move.accept(ids);
+                return ids.size();
+            });
+            moved += size;
+        } while (size == batchSize);
+        return moved;
+    }
+
+    private void archiveTags(List<Long> ids, long before) {
+        long now = System.currentTimeMillis();
+        archive.archiveCardTagsOfTags(ids, before, now);
+        archive.deleteCardTagsOfTags(ids, before);
+        archive.archiveTags(ids, before, now);
+        archive.deleteTags(ids, before);
+    }
+
+    private void archiveSubtasks(List<Long> ids, long before) {
+        archive.archiveSubtasks(ids, before, System.currentTimeMillis());
+        archive.deleteSubtasks(ids, before);
+    }
+
+    private void archiveCards(List<Long> ids, long before, long now) {
+        archive.archiveSubtasksOfCards(ids, before, now);
+        archive.deleteSubtasksOfCards(ids, before);
+        archive.archiveCardTagsOfCards(ids, before, now);
+        archive.deleteCardTagsOfCards(ids, before);
+        archive.archiveCards(ids, before, now);
+        archive.deleteCards(ids, before);
+    }
+
+    private void archiveLists(List<Long> ids, long before) {
+        long now = System.currentTimeMillis();
+        List<Long> cards = ids(archive.findCardIdsByTaskListIds(ids));
+        if (!cards.isEmpty()) archiveCards(cards, before, now);
+        archive.archiveLists(ids, before, now);
+        archive.deleteLists(ids, before);
+    }
+
+    /**
+     * Moves an archived list back together with its cards, it keeps its status
+     * @param id the id of the list
+     * @return true if the list was restored, false if it is not archived or its board is gone
+     */
+    public boolean restoreList(Long id) {
+        return transactions.execute(status -> {
+            long now = System.currentTimeMillis();
+            if (archive.restoreList(id, now) == 0) return false;
+            archive.deleteRestoredList(id);
+            List<Long> cards = ids(archive.findArchivedCardIdsByTaskListId(id));
+            if (!cards.isEmpty()) restoreCards(cards, now);
+            return true;
+        });
+    }
+
+    /**
+     * Moves an archived card back together with its subtasks and the assignments of the tags
+     * which are not archived, it keeps its status
+     * @param id the id of the card
+     * @return true if the card was restored, false if it or its list is archived
+     */
+    public boolean restoreCard(Long id) {
+        return transactions.execute(status ->
+            restoreCards(List.of(id), System.currentTimeMillis()) > 0);
+    }
+
+    private int restoreCards(List<Long> ids, long now) {
+        int restored = archive.restoreCards(ids, now);
+        if (restored == 0) return 0;
+        archive.deleteRestoredCards(ids);
+        archive.restoreSubtasksOfCards(ids, now);
+        archive.deleteRestoredSubtasksOfCards(ids);
+        archive.restoreCardTagsOfCards(ids);
+        archive.deleteRestoredCardTagsOfCards(ids);
+        return restored;
+    }
+
+    /**
+     * Moves an archived subtask back, it keeps its status
+     * @param id the id of the subtask
+     * @return true if the subtask was restored, false if it or its card is archived
+     */
+    public boolean restoreSubtask(Long id) {
+        return transactions.execute(status -> {
+            if (archive.restoreSubtask(id, System.currentTimeMillis()) == 0) return false;
+            archive.deleteRestoredSubtask(id);
+            return true;
+        });
+    }
+
+    /**
+     * Moves an archived tag back together with its assignments to cards which are not
+     * archived, it keeps its status
+     * @param id the id of the tag
+     * @return true if the tag was restored, false if it is not archived, its board is gone or
+     *  another tag of the board which is not deleted has its name
+     */
+    public boolean restoreTag(Long id) {
+        return transactions.execute(status -> {
+            if (archive.restoreTag(id, System.currentTimeMillis()) == 0) return false;
+            archive.deleteRestoredTag(id);
+            archive.restoreCardTagsOfTag(id);
+            archive.deleteRestoredCardTagsOfTag(id);
+            return true;
+        });
+    }
+
+    private void compactLogged() {
+        try {
+            LOG.debug("Archived {} deleted rows", compact());
+        } catch (RuntimeException e) {
+            LOG.warn("Archiving the deleted rows failed", e);
+        }
+    }
+
+    private static List<Long> ids(List<Number> ids) {
+        return ids.stream().map(Number::longValue).collect(Collectors.toList());
+    }
+
+    /**
+     * Stops archiving the deleted rows
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (compactor != null) {
+            compactor.shutdown();
+        }
+    }
+}
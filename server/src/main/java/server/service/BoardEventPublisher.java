@@ -0,0 +1,93 @@
+package server.service;
+
+import commons.BoardEvent;
+import commons.Card;
+import commons.CardDto;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+@Service
+public class BoardEventPublisher {
+    private final SimpMessagingTemplate template;
+    private final BoardResolver resolver;
+    private final ChangeLog changes;
+
+    /**
+     * Initializes the publisher of the single event topic of every board
+     * @param template the template used for sending the events to the broker
+     * @param resolver the service finding the board of a list or a card
+     * @param changes the log every published event is appended to
+     */
+    public BoardEventPublisher(SimpMessagingTemplate template, BoardResolver resolver,
+                               ChangeLog changes) {
+        this.template = template;
+        this.resolver = resolver;
+        this.changes = changes;
+    }
+
+    /**
+     * @return the log of the published events
+     */
+    public ChangeLog getChangeLog() {
+        return changes;
+    }
+
+    /**
+     * Returns the topic on which all events of a board are published
+     * @param boardId the id of the board
+     * @return the destination of the topic
+     */
+    public static String destination(Long boardId) {
+        return "/topic/board/" + boardId + "/events";
+    }
+
+    /**
+     * Returns the topic on which the description of a card is published, only the clients
+     * having the card open subscribe to it
+     * @param cardId the id of the card
+     * @return the destination of the topic
+     */
+    public static String descriptionDestination(Long cardId) {
+        return "/topic/cards/" + cardId + "/description";
+    }
+
+    /**
+     * Publishes a card together with its description to the clients having it open, the
+     * events of the board only tell if the card has a description
+     * @param card the edited card
+     */
+    public void publishDescription(Card card) {
+        CardDto full = CardDto.full(card, null);
+        template.convertAndSend(descriptionDestination(card.id), full);
+    }
+
+    /**
+     * Appends an event to the change log of a board and publishes it on the topic of the board
+     * @param boardId the id of the board, nothing is sent if it is null
+     * @param event the event, its sequence number is set
+     */
+    public void publish(Long boardId, BoardEvent event) {
+        if (boardId != null) {
+            changes.append(boardId, event);
+            template.convertAndSend(destination(boardId), event);
+        }
+    }
+
+    /**
+     * Publishes an event on the topic of the board a list belongs to
+     * @param listId the id of the list
+     * @param event the event
+     */
+    public void publishForList(Long listId, BoardEvent event) {
+        publish(resolver.boardOfList(listId), event);
+    }
+
+    /**
+     * Publishes an event on the topic of the board a card belongs to
+     * @param cardId the id of the card
+     * @param event the event
+     */
+    public void publishForCard(Long cardId, BoardEvent event) {
+        publish(resolver.boardOfCard(cardId), event);
+    }
+}
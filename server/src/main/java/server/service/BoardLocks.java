@@ -0,0 +1,118 @@
+package server.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+@Service
+public class BoardLocks {
+    private final BoardResolver resolver;
+    private final Map<Long, Entry> locks = new ConcurrentHashMap<>();
+    private final Timer waitTimer;
+
+    /**
+     * Initializes the locks which make the changes to one board run one after the other,
+     * while changes to different boards still run in parallel
+     * @param resolver the service finding the board of a list or a card
+     * @param registry the registry the queue depth and the wait time are reported to
+     */
+    public BoardLocks(BoardResolver resolver, MeterRegistry registry) {
+        this.resolver = resolver;
+        this.waitTimer = Timer.builder("board.commands.wait")
+            .description("Time a change waited for the other changes of its board")
+            .register(registry);
+        Gauge.builder("board.commands.queued", this, BoardLocks::queued)
+            .description("Changes waiting for the other changes of their board")
+            .register(registry);
+    }
+
+    /**
+     * Runs a change of a board after the changes of that board which arrived earlier.
+     * Nested calls for the same board do not wait. The lock of a board is dropped once no
+     * change holds it or waits for it, so boards which are not edited take no memory.
+     * @param boardId the id of the board, the change runs right away if it is null
+     * @param change the change
+     * @param <T> the type of the result of the change
+     * @return the result of the change
+     */
+    public <T> T inBoard(Long boardId, Supplier<T> change) {
+        if (boardId == null) {
+            return change.get();
+        }
+        ReentrantLock lock = locks.compute(boardId, (id, entry) -> {
+            Entry res = entry == null ? new Entry() : entry;
+            res.users++;
+            return res;
+        }).lock;
+        try {
+            long start = System.nanoTime();
+            lock.lock();
+            try {
+                waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return change.get();
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            locks.computeIfPresent(boardId, (id, entry) -> --entry.users == 0 ? null : entry);
+        }
+    }
+
+    /**
+     * Runs a change in the board of a list, see inBoard
+     * @param listId the id of the list
+     * @param change the change
+     * @param <T> the type of the result of the change
+     * @return the result of the change
+     */
+    public <T> T inBoardOfList(Long listId, Supplier<T> change) {
+        return inBoard(resolver.boardOfList(listId), change);
+    }
+
+    /**
+     * Runs a change in the board of a card, see inBoard
+     * @param cardId the id of the card
+     * @param change the change
+     * @param <T> the type of the result of the change
+     * @return the result of the change
+     */
+    public <T> T inBoardOfCard(Long cardId, Supplier<T> change) {
+        return inBoard(resolver.boardOfCard(cardId), change);
+    }
+
+    /**
+     * Counts the changes which are waiting for the lock of their board
+     * @return the number of waiting changes over all boards
+     */
+    public int queued() {
+        int res = 0;
+        for (Entry entry : locks.values()) {
+            res += entry.lock.getQueueLength();
+        }
+        return res;
+    }
+
+    /**
+     * Counts the boards which have a lock, i.e. which are changed or waited for right now
+     * @return the number of locks
+     */
+    int locked() {
+        return locks.size();
+    }
+
+    /**
+     * The lock of a board with the number of changes holding it or waiting for it, the
+     * number is only changed inside compute so that the entry is removed atomically
+     */
+    private static final class Entry {
+        private final ReentrantLock lock = new ReentrantLock(true);
+        private int users;
+    }
+}
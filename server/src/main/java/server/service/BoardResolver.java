@@ -0,0 +1,72 @@
+package server.service;
+
+import org.springframework.stereotype.Service;
+import server.database.CardRepository;
+import server.database.ListRepository;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class BoardResolver {
+    private static final int MAX_CACHED = 100_000;
+
+    private final ListRepository lists;
+    private final CardRepository cards;
+    private final Map<Long, Long> boardByList = new ConcurrentHashMap<>();
+    private final Map<Long, Long> boardByCard = new ConcurrentHashMap<>();
+
+    /**
+     * Initializes the service finding the board a list or a card belongs to.
+     * Lists never leave their board and cards only move between lists of the same board,
+     * so the answers are cached.
+     * @param lists the repository of task lists
+     * @param cards the repository of cards
+     */
+    public BoardResolver(ListRepository lists, CardRepository cards) {
+        this.lists = lists;
+        this.cards = cards;
+    }
+
+    /**
+     * Finds the board a list belongs to
+     * @param listId the id of the list
+     * @return the id of the board or null if the list does not exist
+     */
+    public Long boardOfList(Long listId) {
+        if (listId == null) return null;
+        Long cached = boardByList.get(listId);
+        if (cached != null) return cached;
+        Long boardId = lists.findById(listId)
+            .filter(list -> list.board != null)
+            .map(list -> list.board.id)
+            .orElse(null);
+        return remember(boardByList, listId, boardId);
+    }
+
+    /**
+     * Finds the board a card belongs to
+     * @param cardId the id of the card
+     * @return the id of the board or null if the card does not exist
+     */
+    public Long boardOfCard(Long cardId) {
+        if (cardId == null) return null;
+        Long cached = boardByCard.get(cardId);
+        if (cached != null) return cached;
+        Long boardId = cards.findById(cardId)
+            .filter(card -> card.taskList != null && card.taskList.board != null)
+            .map(card -> card.taskList.board.id)
+            .orElse(null);
+        return remember(boardByCard, cardId, boardId);
+    }
+
+    private static Long remember(Map<Long, Long> cache, Long id, Long boardId) {
+        if (boardId != null) {
+            if (cache.size() >= MAX_CACHED) {
+                cache.clear();
+            }
+            cache.put(id, boardId);
+        }
+        return boardId;
+    }
+}
@@ -0,0 +1,72 @@
+package server.service;
+
+import commons.Board;
+import commons.BoardSnapshot;
+import commons.Card;
+import commons.CardDto;
+import commons.Status;
+import commons.Tag;
+import org.springframework.stereotype.Service;
+import server.database.BoardRepository;
+import server.database.CardRepository;
+import server.database.ListRepository;
+import server.database.TagRepository;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+@Service
+public class BoardSnapshotService {
+    private final BoardRepository boards;
+    private final ListRepository lists;
+    private final CardRepository cards;
+    private final TagRepository tags;
+    private final ChangeLog changes;
+
+    /**
+     * Constructs the service which assembles everything needed for opening a board
+     * @param boards the repository of boards
+     * @param lists the repository of task lists
+     * @param cards the repository of cards
+     * @param tags the repository of tags
+     * @param changes the log of the events of every board
+     */
+    public BoardSnapshotService(BoardRepository boards, ListRepository lists,
+                                CardRepository cards, TagRepository tags, ChangeLog changes) {
+        this.boards = boards;
+        this.lists = lists;
+        this.cards = cards;
+        this.tags = tags;
+        this.changes = changes;
+    }
+
+    /**
+     * Loads the board together with its not deleted lists, their active cards and the tags
+     * of the board. The number of queries does not depend on the size of the board. Has to run
+     * under the lock of the board, so that no event happens between the snapshot and its seq.
+     * @param boardId the id of the board
+     * @return the snapshot of the board or null if the board does not exist
+     */
+    public BoardSnapshot getSnapshot(Long boardId) {
+        Optional<Board> board = boards.findById(boardId);
+        if (board.isEmpty()) {
+            return null;
+        }
+        BoardSnapshot snapshot = new BoardSnapshot(board.get());
+        snapshot.seq = changes.current(boardId);
+        snapshot.lists = lists.findNotDeletedListsByBoardId(boardId);
+        snapshot.tags = tags.findNotDeletedTagsByBoardId(boardId);
+
+        Map<Long, Set<Tag>> tagsByCard =
+            CardTags.group(snapshot.tags, tags.findActiveCardTagIdsByBoardId(boardId));
+        Map<Long, Integer> positions = new HashMap<>();
+        for (Card card : cards.findCardsByBoardIdAndStatus(boardId, Status.ACTIVE.name())) {
+            CardDto dto = CardDto.of(card, tagsByCard.getOrDefault(card.id, Set.of()));
+            dto.index = positions.merge(card.taskList.id, 1, Integer::sum) - 1;
+            snapshot.cards.add(dto);
+        }
+        return snapshot;
+    }
+}
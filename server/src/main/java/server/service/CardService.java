@@ -1,14 +1,29 @@
 package server.service;
 
+import commons.BoardEvent;
 import commons.Card;
+import commons.CardMutation;
+import commons.Rank;
 import commons.Status;
 import commons.Tag;
+import commons.TaskList;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import server.database.CardRepository;
 import server.database.ListRepository;
 import server.database.TagRepository;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class CardService {
@@ -37,70 +52,138 @@ public class CardService {
         return cards.findAll();
     }
 
+    /**
+     * Returns a page of cards in increasing order of their ids
+     * @param after the id of the last card of the previous page or null for the first page
+     * @param limit the size of the page or null for the default size
+     * @return a list containing the cards of the page
+     */
+    public List<Card> getCardsAfter(Long after, Integer limit) {
+        return cards.findByIdGreaterThanOrderByIdAsc(Pagination.after(after),
+            Pagination.limit(limit));
+    }
+
+    /**
+     * Streams all cards, has to be consumed inside a transaction
+     * @return a stream of all cards in the repository
+     */
+    public Stream<Card> streamAllCards() {
+        return cards.streamAll();
+    }
+
+    /**
+     * Looks a card up with a single query, its index is not derived
+     * @param id the id of the card we are looking for
+     * @return the card or empty if there is no such card
+     */
+    public Optional<Card> findCard(Long id) {
+        if (id == null || id < 0) return Optional.empty();
+        return cards.findById(id);
+    }
+
+    /**
+     * Looks a card up together with its index among the not deleted cards of its list
+     * @param id the id of the card we are looking for
+     * @return the card or empty if there is no such card
+     */
+    private Optional<Card> findIndexedCard(Long id) {
+        Optional<Card> found = findCard(id);
+        found.ifPresent(this::deriveIndex);
+        return found;
+    }
+
     /**
      * Returns a card by its id
      * @param id the id of the card we are looking for
      * @return the card with the corresponding id or null if there is not such a card
      */
     public List<Card> getCardById(Long id) {
-        if (id < 0 || !cards.existsById(id)) {
-            return null;
-        } else {
-            return cards.findAllById(List.of(id));
-        }
+        return findIndexedCard(id).map(card -> new ArrayList<>(List.of(card))).orElse(null);
     }
 
     /**
-     * Returns a tag by its id
-     * @param id the id of the tag we are looking for
-     * @return the tag with the corresponding id or null if there is not such a card
+     * Loads the not deleted cards of a list in order. If some of them have no rank yet or the
+     * ranks became too long, the whole list is ranked again keeping its current order.
+     * @param listId the id of the task list
+     * @return the cards of the list sorted by their rank
      */
-    public List<Tag> getTagById(Long id) {
-        if (id < 0 || !tags.existsById(id)) {
-            return null;
-        } else {
-            return tags.findAllById(List.of(id));
+    private List<Card> loadRankedList(Long listId) {
+        List<Card> listOfCards = new ArrayList<>(cards.findNotDeletedCardsByTaskListId(listId));
+        if (needsRebalance(listOfCards)) {
+            List<String> ranks = Rank.spread(listOfCards.size());
+            for (int i = 0; i < listOfCards.size(); i++) {
+                listOfCards.get(i).rank = ranks.get(i);
+            }
+            cards.saveAll(listOfCards);
         }
+        return listOfCards;
     }
 
     /**
-     * A method which restores a card to a list rearranging the ones currently in it
-     * @param card the card to be restored
-     * @param newStatus the status after the card is restored
-     * @param newIdx the new index of the card in the list or -1 if it is not visible anymore
+     * Checks whether the ranks of a sorted list of cards are missing, too long or not distinct
+     * @param listOfCards the cards of the list sorted by their rank
+     * @return true if the list has to be ranked again
      */
-    private void restoreCardToList(Card card, Status newStatus, Integer newIdx) {
-        if (card.index.equals(newIdx) && card.status.equals(newStatus)) return;
-
-        List<Card> listOfCards = cards.findNotDeletedCardsByTaskListId(card.taskList.id);
+    private static boolean needsRebalance(List<Card> listOfCards) {
+        String previous = null;
         for (Card c : listOfCards) {
-            if (c.index >= newIdx) {
-                c.index++;
-                cards.save(c);
-            }
+            if (c.rank == null || c.rank.length() > Rank.MAX_LENGTH) return true;
+            if (previous != null && previous.compareTo(c.rank) >= 0) return true;
+            previous = c.rank;
         }
+        return false;
+    }
+
+    /**
+     * Places a card on a position in its list by giving it a rank between its new neighbours,
+     * so none of the other cards in the list have to be updated
+     * @param card the card to be placed
+     * @param newStatus the status of the card after it is placed
+     * @param newIdx the new index of the card in the list
+     */
+    private void placeCardInList(Card card, Status newStatus, int newIdx) {
+        List<Card> listOfCards = loadRankedList(card.taskList.id);
+        int oldIdx = indexOfCard(listOfCards, card.id);
+        String oldRank = oldIdx == -1 ? null : listOfCards.remove(oldIdx).rank;
+        int idx = Math.max(0, Math.min(newIdx, listOfCards.size()));
 
-        card.index = newIdx;
         card.status = newStatus;
+        card.index = idx;
+        card.rank = oldIdx == idx ? oldRank : rankAt(listOfCards, idx);
     }
 
     /**
-     * A method which removes a card from a list rearranging the ones currently in it
-     * @param card the card to be removed
+     * Finds the position of a card inside a list of cards
+     * @param listOfCards the cards of the list
+     * @param id the id of the card
+     * @return the position of the card or -1 if it is not in the list
      */
-    private void removeCardFromList(Card card) {
-        if (card.index.equals(-1) && card.status.equals(Status.DELETED)) return;
-
-        List<Card> listOfCards = cards.findNotDeletedCardsByTaskListId(card.taskList.id);
-        for (Card c : listOfCards) {
-            if (c.index > card.index) {
-                c.index--;
-                cards.save(c);
-            }
+    private static int indexOfCard(List<Card> listOfCards, Long id) {
+        for (int i = 0; i < listOfCards.size(); i++) {
+            if (listOfCards.get(i).id.equals(id)) return i;
         }
+        return -1;
+    }
+
+    /**
+     * Generates the rank for a card inserted at a given position
+     * @param listOfCards the ranked cards of the list without the inserted card
+     * @param idx the position of the inserted card
+     * @return a rank between the ranks of the neighbours of that position
+     */
+    private static String rankAt(List<Card> listOfCards, int idx) {
+        String lower = idx > 0 ? listOfCards.get(idx - 1).rank : null;
+        String upper = idx < listOfCards.size() ? listOfCards.get(idx).rank : null;
+        return Rank.between(lower, upper);
+    }
 
-        card.index = -1;
-        card.status = Status.DELETED;
+    /**
+     * Sets the index of a card to its current position in the list, derived from its rank
+     * @param card the card
+     */
+    private void deriveIndex(Card card) {
+        if (card.rank == null || card.status == Status.DELETED || card.taskList == null) return;
+        card.index = (int) cards.countNotDeletedCardsBeforeRank(card.taskList.id, card.rank);
     }
 
     /**
@@ -109,25 +192,85 @@ public class CardService {
      * @return the card with the applied changes or null if the id is invalid
      */
     public Card edit(Card info) {
-        Long id = info.id;
-        List<Card> list = getCardById(id);
-        if (list == null) return null;
-        Card card = getCardById(id).get(0);
+        Card card = findIndexedCard(info.id).orElse(null);
+        if (card == null) return null;
+        applyAttributes(card, info);
+        return cards.save(card);
+    }
+
+    /**
+     * Edits a card looking it up once: the basic attributes are changed like in edit and, if
+     * the edit carries a taskList, index or status, the card is placed like in assignCardToList
+     * @param info object of class Card with a valid id and only those fields which have to change
+     * @return an event about the card with the applied changes, telling what happened to it, or
+     *  null if the id or the placement is invalid, in which case nothing is changed
+     */
+    public BoardEvent editAndPlace(Card info) {
+        Card card = findIndexedCard(info.id).orElse(null);
+        if (card == null) return null;
+        Card before = CardTags.copyWithTags(card, Set.of());
+        boolean moves = info.taskList != null || info.index != null || info.status != null;
+        if (moves && !place(card, info)) return null;
+        applyAttributes(card, info);
+        Card saved = cards.save(card);
+        boolean placed = !Objects.equals(before.taskList.id, saved.taskList.id)
+            || !Objects.equals(before.index, saved.index);
+        return BoardEvent.ofCard(operationOf(before, saved, placed), before.taskList.id, saved);
+    }
+
+    /**
+     * Copies the basic attributes set in an edit to a card
+     * @param card the edited card
+     * @param info the edit
+     */
+    private static void applyAttributes(Card card, Card info) {
         if (info.title != null) card.title = info.title;
         if (info.description != null) card.description = info.description;
         if (info.color != null) card.color = info.color;
-        return cards.save(card);
     }
 
     /**
-     * Selects all active cards for a given list
+     * Selects all cards with a certain status for a given list. The index of every returned card
+     * is its position among the not deleted cards of the list.
      * @param id the id of the task list
      * @param status the status to search for
-     * @return List of all active cards inside the list sorted by index or null if invalid
+     * @return List of all matching cards inside the list sorted by rank or null if invalid
      */
     public List<Card> getAllCardsByTaskListAndStatus(Long id, Status status) {
         if (id < 0 || !lists.existsById(id)) return null;
-        return cards.findCardsByTaskListIdAndStatus(id, status.name());
+        if (status == Status.DELETED) {
+            return cards.findCardsByTaskListIdAndStatus(id, status.name());
+        }
+
+        List<Card> listOfCards = cards.findNotDeletedCardsByTaskListId(id);
+        List<Card> result = new ArrayList<>();
+        for (int i = 0; i < listOfCards.size(); i++) {
+            Card c = listOfCards.get(i);
+            c.index = i;
+            if (c.status == status) result.add(c);
+        }
+        return result;
+    }
+
+    /**
+     * Fills in the not deleted tags of cards of a task list with two queries, instead of
+     * loading the tags of every card on its own while the cards are serialized
+     * @param listId the id of the task list
+     * @param listCards cards of that task list
+     * @return copies of the cards carrying their tags, in the same order
+     */
+    public List<Card> withTags(Long listId, List<Card> listCards) {
+        List<Object[]> rows = tags.findCardTagIdsByTaskListId(listId);
+        Set<Long> tagIds = new HashSet<>();
+        for (Object[] row : rows) {
+            tagIds.add(((Number) row[1]).longValue());
+        }
+        Map<Long, Set<Tag>> tagsByCard = CardTags.group(tags.findAllById(tagIds), rows);
+        List<Card> result = new ArrayList<>();
+        for (Card card : listCards) {
+            result.add(CardTags.copyWithTags(card, tagsByCard.getOrDefault(card.id, Set.of())));
+        }
+        return result;
     }
 
     /**
@@ -137,8 +280,9 @@ public class CardService {
      */
     public Card addNewCard(Card card) {
         if (card.taskList.id == null || !lists.existsById(card.taskList.id)) return null;
-        Long tid = card.taskList.id;
-        card.index = calcNextIndex(tid);
+        List<Card> listOfCards = loadRankedList(card.taskList.id);
+        card.index = listOfCards.size();
+        card.rank = rankAt(listOfCards, card.index);
         card.doneSubtasks = 0;
         card.totalSubtasks = -1;
         return cards.save(card);
@@ -148,50 +292,316 @@ public class CardService {
      * Adds a tag to a card
      * @param cid the id of the card
      * @param tid the id of the tag
+     * @return the tag or null if the card or the tag does not exist
      */
-    public void addTagToCard(Long cid, Long tid) {
-        if (!tags.existsById(tid)) return;
-        Card card = getCardById(cid).get(0);
-        if (card == null) return;
+    public Tag addTagToCard(Long cid, Long tid) {
+        Tag tag = tid == null ? null : tags.findById(tid).orElse(null);
+        if (tag == null || cid == null || !cards.existsById(cid)) return null;
         cards.addTagToCard(cid, tid);
+        return tag;
     }
 
     /**
      * Removes a tag from a card
      * @param cid the id of the card
      * @param tid the id of the tag
+     * @return the tag or null if the card or the tag does not exist
      */
-    public void removeTagFromCard(Long cid, Long tid) {
-        if (!tags.existsById(tid)) return;
-        Tag tag = getTagById(tid).get(0);
-        Card card = getCardById(cid).get(0);
-        if (card == null) return;
+    public Tag removeTagFromCard(Long cid, Long tid) {
+        Tag tag = tid == null ? null : tags.findById(tid).orElse(null);
+        if (tag == null || cid == null || !cards.existsById(cid)) return null;
         cards.removeTagFromCard(cid, tid);
+        return tag;
     }
 
     /**
      * Assigns a card to another list (possibly the same but with different position)
+     * Only the row of the moved card is written, the other cards keep their ranks
      * @param info object of class Card containing a valid id and new taskList, index and status
      * @return the changes made on the Card object after the change or null if unsuccessful
      */
     public Card assignCardToList(Card info) {
-        Long id = info.id;
-        Card card = getCardById(id).get(0);
+        Card card = findIndexedCard(info.id).orElse(null);
+        if (card == null || !place(card, info)) return null;
+        cards.save(card);
+        return info;
+    }
 
-        if (card == null) return null;
-        if (info.index == null) { // inferring to add the card to the end
-            if (info.status.equals(Status.DELETED)) return null; // contradicting status
-            info.index = calcNextIndex(info.taskList.id);
-        }
-        if (info.status.equals(Status.DELETED) ^ info.index.equals(-1)) return null;
+    /**
+     * Moves a loaded card to the list, position and status of an edit without saving it. A
+     * missing status keeps the status of the card and a missing index moves it to the end of
+     * its list, both are filled in on the edit.
+     * @param card the card to be moved
+     * @param info the edit containing the new taskList, index and status
+     * @return false if the index and the status contradict each other
+     */
+    private boolean place(Card card, Card info) {
+        Status status = info.status == null ? card.status : info.status;
+        Integer index = targetIndex(card, info, status);
+        if (index == null || (status == Status.DELETED) ^ (index == -1)) return false;
 
-        removeCardFromList(card);
         if (info.taskList != null) card.taskList = info.taskList;
+        if (status == Status.DELETED) {
+            card.index = -1;
+            card.status = Status.DELETED;
+        } else {
+            placeCardInList(card, status, index);
+        }
+        info.status = card.status;
+        info.index = card.index;
+        return true;
+    }
 
-        restoreCardToList(card, info.status, info.index);
+    /**
+     * Finds the index a card is moved to by an edit
+     * @param card the card to be moved
+     * @param info the edit
+     * @param status the status of the card after the edit
+     * @return the index of the edit, the end of the list if it has none, or null if the edit
+     *  deletes the card without giving the index -1
+     */
+    private Integer targetIndex(Card card, Card info, Status status) {
+        if (info.index != null) return info.index;
+        if (status == Status.DELETED) return null; // contradicting status
+        return calcNextIndex((info.taskList == null ? card.taskList : info.taskList).id);
+    }
 
-        cards.save(card);
-        return info;
+    /**
+     * Applies the changes of a batch to cards of one board in a single transaction. Every
+     * affected list is loaded and ranked once, no matter how many of its cards are changed.
+     * @param mutations the changes in the order they are applied
+     * @return an event for every changed card in the order of their first change or null if
+     *  a card or a list does not exist or they are not all in the same board
+     */
+    @Transactional
+    public List<BoardEvent> applyBatch(List<CardMutation> mutations) {
+        Map<Long, Card> batch = loadBatch(mutations);
+        Map<Long, TaskList> targets = batch == null ? null : loadTargets(mutations, batch);
+        if (targets == null) return null;
+
+        List<Card> before = new ArrayList<>();
+        for (Card card : batch.values()) {
+            before.add(CardTags.copyWithTags(card, Set.of()));
+        }
+        Map<Long, List<Card>> order = loadOrders(affectedLists(mutations, batch), batch);
+        Set<Long> moved = new HashSet<>();
+        for (CardMutation m : mutations) {
+            applyMutation(batch.get(m.cardId), m, targets.get(m.listId), order, moved);
+        }
+        Map<Long, Card> dirty = new LinkedHashMap<>(batch);
+        for (List<Card> listOfCards : order.values()) {
+            for (Card c : rankPlaced(listOfCards, moved)) dirty.put(c.id, c);
+        }
+        cards.saveAll(dirty.values());
+        return before.stream()
+            .map(b -> batchEvent(b, batch.get(b.id), moved.contains(b.id)))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Loads the cards changed by a batch
+     * @param mutations the changes of the batch
+     * @return the cards by their id in the order of their first change or null if invalid
+     */
+    private Map<Long, Card> loadBatch(List<CardMutation> mutations) {
+        if (mutations == null || mutations.isEmpty() || mutations.contains(null)) return null;
+        Set<Long> ids = mutations.stream().map(m -> m.cardId).collect(Collectors.toSet());
+        if (ids.contains(null)) return null;
+        Map<Long, Card> found = new HashMap<>();
+        Optional.ofNullable(cards.findAllById(ids)).orElse(List.of()).stream()
+            .filter(Objects::nonNull).forEach(c -> found.put(c.id, c));
+        if (!found.keySet().equals(ids)) return null;
+        Map<Long, Card> batch = new LinkedHashMap<>();
+        for (CardMutation m : mutations) {
+            batch.putIfAbsent(m.cardId, found.get(m.cardId));
+        }
+        return batch;
+    }
+
+    /**
+     * Loads the lists the cards of a batch are moved to and checks that they are all in the
+     * board of the cards
+     * @param mutations the changes of the batch
+     * @param batch the cards changed by the batch
+     * @return the lists by their id or null if one of them is not in that board
+     */
+    private Map<Long, TaskList> loadTargets(List<CardMutation> mutations, Map<Long, Card> batch) {
+        Long boardId = boardOf(batch.values().iterator().next().taskList);
+        Map<Long, TaskList> targets = new HashMap<>();
+        for (Card c : batch.values()) {
+            if (!Objects.equals(boardOf(c.taskList), boardId)) return null;
+            targets.put(c.taskList.id, c.taskList);
+        }
+        for (CardMutation m : mutations) {
+            if (m.listId == null || targets.containsKey(m.listId)) continue;
+            TaskList target = lists.findById(m.listId).orElse(null);
+            if (target == null || !Objects.equals(boardOf(target), boardId)) return null;
+            targets.put(m.listId, target);
+        }
+        return targets;
+    }
+
+    private static Long boardOf(TaskList list) {
+        return list.board == null ? null : list.board.id;
+    }
+
+    /**
+     * Collects the lists in which cards are removed or placed by a batch
+     * @param mutations the changes of the batch
+     * @param batch the cards changed by the batch, before the changes
+     * @return the ids of the lists
+     */
+    private static Set<Long> affectedLists(List<CardMutation> mutations, Map<Long, Card> batch) {
+        Set<Long> affected = new HashSet<>();
+        for (CardMutation m : mutations) {
+            if (m.listId == null && m.index == null && m.status == null) continue;
+            affected.add(batch.get(m.cardId).taskList.id);
+            if (m.listId != null) affected.add(m.listId);
+        }
+        return affected;
+    }
+
+    /**
+     * Loads the ranked cards of every affected list once, using the loaded instances of the
+     * cards of the batch
+     * @param listIds the ids of the affected lists
+     * @param batch the cards changed by the batch
+     * @return the not deleted cards of every list in their current order
+     */
+    private Map<Long, List<Card>> loadOrders(Set<Long> listIds, Map<Long, Card> batch) {
+        Map<Long, List<Card>> order = new HashMap<>();
+        for (Long listId : listIds) {
+            List<Card> listOfCards = loadRankedList(listId);
+            listOfCards.replaceAll(c -> {
+                Card loaded = batch.getOrDefault(c.id, c);
+                loaded.rank = c.rank;
+                return loaded;
+            });
+            order.put(listId, listOfCards);
+        }
+        return order;
+    }
+
+    /**
+     * Applies one change of a batch to a card and to the order of the affected lists, the
+     * ranks of placed cards are only generated once all changes are applied
+     * @param card the card
+     * @param m the change
+     * @param target the list the card is moved to or null if it stays in its list
+     * @param order the not deleted cards of every affected list in their current order
+     * @param placed collects the ids of the cards which are placed on a new position
+     */
+    private static void applyMutation(Card card, CardMutation m, TaskList target,
+                                      Map<Long, List<Card>> order, Set<Long> placed) {
+        if (m.color != null) card.color = m.color;
+        boolean wasInList = card.status != Status.DELETED;
+        if (m.status != null) card.status = m.status;
+        boolean isInList = card.status != Status.DELETED;
+        boolean place = isInList && (!wasInList || target != null || m.index != null);
+        if (wasInList && (!isInList || place)) {
+            order.get(card.taskList.id).removeIf(c -> c.id.equals(card.id));
+        }
+        if (!isInList) {
+            card.index = -1;
+            placed.remove(card.id);
+        }
+        if (place) placeInOrder(card, target, m.index, order, placed);
+    }
+
+    /**
+     * Inserts a card of a batch into the order of its new list
+     * @param card the card, which is not in the order of any list
+     * @param target the list the card is moved to or null if it stays in its list
+     * @param index the new position of the card or null for the end of the list
+     * @param order the not deleted cards of every affected list in their current order
+     * @param placed collects the ids of the cards which are placed on a new position
+     */
+    private static void placeInOrder(Card card, TaskList target, Integer index,
+                                     Map<Long, List<Card>> order, Set<Long> placed) {
+        if (target != null) card.taskList = target;
+        List<Card> listOfCards = order.get(card.taskList.id);
+        int idx = index == null ? listOfCards.size() : index;
+        listOfCards.add(Math.max(0, Math.min(idx, listOfCards.size())), card);
+        placed.add(card.id);
+    }
+
+    /**
+     * Ranks the placed cards of a list between the neighbouring cards which kept their rank and
+     * sets the index of every card to its position. If a rank becomes too long, the whole list
+     * is ranked again.
+     * @param listOfCards the cards of the list in their new order
+     * @param placed the ids of the placed cards
+     * @return the cards of the list whose rank changed
+     */
+    private static List<Card> rankPlaced(List<Card> listOfCards, Set<Long> placed) {
+        List<Card> changed = new ArrayList<>();
+        boolean tooLong = false;
+        String lower = null;
+        for (int i = 0; i < listOfCards.size(); i++) {
+            Card c = listOfCards.get(i);
+            c.index = i;
+            if (!placed.contains(c.id)) {
+                lower = c.rank;
+                continue;
+            }
+            c.rank = Rank.between(lower, nextKeptRank(listOfCards, i, placed));
+            lower = c.rank;
+            tooLong |= c.rank.length() > Rank.MAX_LENGTH;
+            changed.add(c);
+        }
+        if (!tooLong) return changed;
+        List<String> ranks = Rank.spread(listOfCards.size());
+        for (int i = 0; i < listOfCards.size(); i++) {
+            listOfCards.get(i).rank = ranks.get(i);
+        }
+        return listOfCards;
+    }
+
+    private static String nextKeptRank(List<Card> listOfCards, int from, Set<Long> placed) {
+        for (int i = from + 1; i < listOfCards.size(); i++) {
+            if (!placed.contains(listOfCards.get(i).id)) return listOfCards.get(i).rank;
+        }
+        return null;
+    }
+
+    /**
+     * Creates the event about a card changed by a batch, carrying a detached copy of the card
+     * @param before the card before the batch
+     * @param card the card after the batch
+     * @param placed whether the card was placed on a new position
+     * @return the event
+     */
+    private static BoardEvent batchEvent(Card before, Card card, boolean placed) {
+        return BoardEvent.ofCard(operationOf(before, card, placed), before.taskList.id,
+            CardTags.copyWithTags(card, activeTags(card)));
+    }
+
+    /**
+     * Tells what happened to a changed card
+     * @param before a copy of the card before the change
+     * @param card the card after the change
+     * @param placed whether the card got another list or position
+     * @return the operation of the event about the change
+     */
+    private static BoardEvent.Operation operationOf(Card before, Card card, boolean placed) {
+        BoardEvent.Operation operation = BoardEvent.Operation.EDIT;
+        if (card.status == Status.DELETED) {
+            operation = before.status == Status.DELETED
+                ? BoardEvent.Operation.EDIT : BoardEvent.Operation.DELETE;
+        } else if (before.status == Status.DELETED) {
+            operation = BoardEvent.Operation.ADD;
+        } else if (placed) {
+            operation = BoardEvent.Operation.RELOCATE;
+        } else if (!Objects.equals(before.color, card.color) && before.status == card.status) {
+            operation = BoardEvent.Operation.RECOLOR;
+        }
+        return operation;
+    }
+
+    private static Set<Tag> activeTags(Card card) {
+        if (card.tags == null) return Set.of();
+        return card.tags.stream().filter(t -> t.status != Status.DELETED)
+            .collect(Collectors.toSet());
     }
 
     /**
@@ -0,0 +1,62 @@
+package server.service;
+
+import commons.Card;
+import commons.Tag;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Fills in the tags of cards from the (card id, tag id) rows of the card-tag relation, so that
+ * the tags of many cards are resolved with a constant number of queries
+ */
+final class CardTags {
+    private CardTags() {
+    }
+
+    /**
+     * Groups the tags by the cards they are assigned to
+     * @param tags the tags which may be assigned, rows with any other tag are ignored
+     * @param rows the rows of the relation, each holding the card id followed by the tag id
+     * @return a map from card id to the tags assigned to that card
+     */
+    static Map<Long, Set<Tag>> group(Collection<Tag> tags, List<Object[]> rows) {
+        Map<Long, Tag> tagsById = new HashMap<>();
+        for (Tag tag : tags) {
+            tagsById.put(tag.id, tag);
+        }
+        Map<Long, Set<Tag>> tagsByCard = new HashMap<>();
+        for (Object[] row : rows) {
+            Tag tag = tagsById.get(((Number) row[1]).longValue());
+            if (tag != null) {
+                tagsByCard.computeIfAbsent(((Number) row[0]).longValue(), id -> new HashSet<>())
+                        .add(tag);
+            }
+        }
+        return tagsByCard;
+    }
+
+    /**
+     * Copies a card so that its tags can be filled in without touching the persisted entity
+     * @param card the card loaded from the database
+     * @param cardTags the not deleted tags of the card
+     * @return a detached copy of the card
+     */
+    static Card copyWithTags(Card card, Set<Tag> cardTags) {
+        Card copy = new Card(card.title, card.description, card.taskList);
+        copy.id = card.id;
+        copy.color = card.color;
+        copy.createdBy = card.createdBy;
+        copy.index = card.index;
+        copy.rank = card.rank;
+        copy.doneSubtasks = card.doneSubtasks;
+        copy.totalSubtasks = card.totalSubtasks;
+        copy.status = card.status;
+        copy.tags = new HashSet<>(cardTags);
+        return copy;
+    }
+}
@@ -0,0 +1,151 @@
+package server.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import commons.BoardChanges;
+import commons.BoardEvent;
+import commons.ChangeLogEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import server.database.ChangeLogRepository;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class ChangeLog {
+    private static final Logger LOG = LoggerFactory.getLogger(ChangeLog.class);
+
+    private final ChangeLogRepository entries;
+    private final ObjectMapper mapper;
+    private final long retentionMs;
+    private final Map<Long, AtomicLong> lastSeq = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService compactor;
+
+    /**
+     * Initializes the durable log of the events of every board. Entries older than the
+     * retention are compacted once an hour.
+     * @param entries the repository of the entries
+     * @param mapper the mapper writing the events as JSON
+     * @param retentionHours how long the entries are kept, 0 keeps them forever
+     */
+    public ChangeLog(ChangeLogRepository entries, ObjectMapper mapper,
+                     @Value("${talio.changes.retention-hours:24}") long retentionHours) {
+        this.entries = entries;
+        this.mapper = mapper;
+        this.retentionMs = TimeUnit.HOURS.toMillis(retentionHours);
+        this.compactor = retentionHours > 0 ? Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "change-log-compactor");
+            t.setDaemon(true);
+            return t;
+        }) : null;
+        if (compactor != null) {
+            compactor.scheduleWithFixedDelay(this::compactLogged, 1, 60, TimeUnit.MINUTES);
+        }
+    }
+
+    /**
+     * Appends an event to the log of its board and sets the sequence number of the event.
+     * The events of a board are numbered without gaps in the order they are appended.
+     * @param boardId the id of the board
+     * @param event the event
+     * @return the sequence number of the event
+     */
+    public long append(Long boardId, BoardEvent event) {
+        AtomicLong last = last(boardId);
+        synchronized (last) {
+            event.seq = last.get() + 1;
+            entries.save(new ChangeLogEntry(boardId, event.seq, System.currentTimeMillis(),
+                write(event)));
+            last.set(event.seq);
+            return event.seq;
+        }
+    }
+
+    /**
+     * Returns the sequence number of the last event of a board
+     * @param boardId the id of the board
+     * @return the sequence number, 0 if the board has no events
+     */
+    public long current(Long boardId) {
+        return last(boardId).get();
+    }
+
+    /**
+     * Returns a page of the events of a board after a sequence number
+     * @param boardId the id of the board
+     * @param since the sequence number of the last event the client has seen
+     * @param limit the size of the page or null for the default size
+     * @return the events after since, seq is beyond the last returned event if there are more
+     *  of them and truncated is set if some of them were compacted or since is ahead of the board
+     */
+    public BoardChanges since(Long boardId, long since, Integer limit) {
+        long last = current(boardId);
+        List<BoardEvent> events = new ArrayList<>();
+        int size = Pagination.limit(limit).getPageSize();
+        for (ChangeLogEntry entry : entries.findByBoardIdAfter(boardId, since, size)) {
+            events.add(read(entry));
+        }
+        Long first = entries.findFirstSeq(boardId);
+        long oldest = first == null ? last + 1 : first;
+        boolean truncated = since < oldest - 1 || since > last;
+        return new BoardChanges(last, events, truncated);
+    }
+
+    /**
+     * Deletes the entries which are older than the retention
+     * @return the number of deleted entries
+     */
+    public int compact() {
+        return entries.deleteCreatedBefore(System.currentTimeMillis() - retentionMs);
+    }
+
+    private void compactLogged() {
+        try {
+            LOG.debug("Compacted {} change log entries", compact());
+        } catch (RuntimeException e) {
+            LOG.warn("Compacting the change log failed", e);
+        }
+    }
+
+    private AtomicLong last(Long boardId) {
+        return lastSeq.computeIfAbsent(boardId,
+            id -> new AtomicLong(Objects.requireNonNullElse(entries.findLastSeq(id), 0L)));
+    }
+
+    private String write(BoardEvent event) {
+        try {
+            return mapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Can't write " + event, e);
+        }
+    }
+
+    private BoardEvent read(ChangeLogEntry entry) {
+        try {
+            return mapper.readValue(entry.payload, BoardEvent.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Can't read change " + entry.seq, e);
+        }
+    }
+
+    /**
+     * Stops compacting the log
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (compactor != null) {
+            compactor.shutdown();
+        }
+    }
+}
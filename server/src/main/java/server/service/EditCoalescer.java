@@ -0,0 +1,149 @@
+package server.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+@Service
+public class EditCoalescer {
+    private static final Logger LOG = LoggerFactory.getLogger(EditCoalescer.class);
+
+    private final long windowMs;
+    private final SimpMessagingTemplate template;
+    private final Map<String, Pending> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * Initializes the stage merging the edits of an entity which arrive shortly after each other.
+     * A single thread applies the merged edits, so the edits of one entity are applied in the
+     * order in which they arrived and for every attribute the last edit setting it wins.
+     * @param windowMs how long an edit waits for later edits of the same entity, 0 disables
+     *                 merging and applies every edit right away
+     * @param template the template used for broadcasting the result of a merged edit
+     */
+    public EditCoalescer(@Value("${talio.edits.coalesce-ms:0}") long windowMs,
+                         SimpMessagingTemplate template) {
+        this.windowMs = windowMs;
+        this.template = template;
+        this.scheduler = windowMs > 0 ? Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "edit-coalescer");
+            t.setDaemon(true);
+            return t;
+        }) : null;
+    }
+
+    /**
+     * Checks whether edits are merged or applied right away
+     * @return true if edits are merged
+     */
+    public boolean isEnabled() {
+        return scheduler != null;
+    }
+
+    /**
+     * Applies an edit received by a websocket handler. If merging is disabled the result is
+     * returned so that the handler propagates it with @SendTo, otherwise null is returned and
+     * the result of the last edit of the window is sent to "/topic" + destination.
+     * @param destination the destination of the edit without "/app", e.g. "/5/cards/edit"
+     * @param edit the edit
+     * @param merge merges a later edit into the pending one, see submit
+     * @param apply applies an edit and returns the result to broadcast or null, in the form in
+     *              which it is sent to the clients
+     * @param <T> the type of the edit
+     * @param <R> the type of the result
+     * @return the result of the edit or null if it was merged
+     */
+    public <T, R> R coalesce(String destination, T edit, BinaryOperator<T> merge,
+                             Function<T, R> apply) {
+        if (!isEnabled()) {
+            return apply.apply(edit);
+        }
+        submit(destination, edit, merge, latest -> {
+            R res = apply.apply(latest);
+            if (res != null) {
+                template.convertAndSend("/topic" + destination, res);
+            }
+        });
+        return null;
+    }
+
+    /**
+     * Submits an edit of an entity. The first edit of an entity opens a window, the edits
+     * arriving inside the window are merged into the pending one and at its end the merged
+     * edit is applied. Edits may be partial, e.g. a PATCH only carrying a title, so merging
+     * has to keep what the earlier edits set and the later one does not.
+     * @param key identifies the entity and the kind of edit, e.g. "/5/cards/edit"
+     * @param edit the edit
+     * @param merge merges a later edit into the pending one and returns the merged edit
+     * @param apply applies an edit, called on the thread of the coalescer if merging is enabled
+     * @param <T> the type of the edit
+     */
+    @SuppressWarnings("unchecked")
+    public <T> void submit(String key, T edit, BinaryOperator<T> merge, Consumer<T> apply) {
+        if (!isEnabled()) {
+            apply.accept(edit);
+            return;
+        }
+        boolean[] opened = {false};
+        pending.compute(key, (k, p) -> {
+            if (p == null) {
+                opened[0] = true;
+                p = new Pending();
+                p.edit = edit;
+            } else {
+                p.edit = merge.apply((T) p.edit, edit);
+            }
+            return p;
+        });
+        if (opened[0]) {
+            scheduler.schedule(() -> flush(key, (Consumer<Object>) apply),
+                windowMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void flush(String key, Consumer<Object> apply) {
+        Pending p = pending.remove(key);
+        try {
+            apply.accept(p.edit);
+        } catch (RuntimeException e) {
+            LOG.warn("Applying the edit {} failed", key, e);
+        }
+    }
+
+    /**
+     * Picks the value of an attribute of a merged edit
+     * @param later the value set by the later edit, null if it does not change the attribute
+     * @param earlier the value set by the pending edit
+     * @param <V> the type of the attribute
+     * @return the later value if it is set, the earlier one otherwise
+     */
+    public static <V> V latest(V later, V earlier) {
+        return later != null ? later : earlier;
+    }
+
+    /**
+     * Applies the pending edits and stops the coalescer
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+    }
+
+    private static final class Pending {
+        private volatile Object edit;
+    }
+}
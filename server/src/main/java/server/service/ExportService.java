@@ -0,0 +1,83 @@
+package server.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+@Service
+public class ExportService {
+    /**
+     * Content type of the exports, one JSON document per line
+     */
+    public static final String NDJSON = "application/x-ndjson";
+
+    /**
+     * Number of rows written between clearing the persistence context, the fetch size of the
+     * streams
+     */
+    public static final int CLEAR_EVERY = 500;
+
+    private final EntityManager entityManager;
+    private final ObjectMapper mapper;
+    private final TransactionTemplate transactions;
+
+    /**
+     * Constructs the service which writes whole tables as newline delimited JSON
+     * @param entityManager the entity manager which is cleared of the streamed entities
+     * @param mapper the object mapper used for serializing the entities
+     * @param transactionManager the transaction manager the streams are read in
+     */
+    public ExportService(EntityManager entityManager, ObjectMapper mapper,
+                         PlatformTransactionManager transactionManager) {
+        this.entityManager = entityManager;
+        this.mapper = mapper;
+        this.transactions = new TransactionTemplate(transactionManager);
+        this.transactions.setReadOnly(true);
+    }
+
+    /**
+     * Writes every entity of a stream as a line of JSON. The persistence context is cleared
+     * every CLEAR_EVERY rows, which also drops the parents and collections loaded with the
+     * entities, so the memory used does not depend on the size of the table.
+     * @param rows supplier of the stream, called inside a read only transaction
+     * @param out the stream the lines are written to
+     * @param <T> the type of the entities
+     * @throws IOException if writing to the output fails
+     */
+    public <T> void writeNdjson(Supplier<Stream<T>> rows, OutputStream out) throws IOException {
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+            transactions.executeWithoutResult(status -> {
+                try (Stream<T> stream = rows.get()) {
+                    Iterator<T> it = stream.iterator();
+                    for (int written = 1; it.hasNext(); written++) {
+                        writeLine(generator, it.next());
+                        if (written % CLEAR_EVERY == 0) entityManager.clear();
+                    }
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static void writeLine(JsonGenerator generator, Object row) {
+        try {
+            generator.writeObject(row);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
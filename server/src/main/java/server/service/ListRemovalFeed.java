@@ -0,0 +1,200 @@
+package server.service;
+
+import commons.ListRemovals;
+import commons.TaskList;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+@Service
+public class ListRemovalFeed {
+    public static final int CAPACITY = 256;
+
+    private final Map<Long, BoardFeed> feeds = new ConcurrentHashMap<>();
+    private final long idleMillis;
+    private final AtomicLong lastSweep = new AtomicLong();
+
+    /**
+     * Initializes the feed, the removals of a board nobody polls for a minute are forgotten
+     */
+    public ListRemovalFeed() {
+        this(TimeUnit.MINUTES.toMillis(1));
+    }
+
+    /**
+     * @param idleMillis how long the removals of a board are kept once nobody polls for them
+     */
+    ListRemovalFeed(long idleMillis) {
+        this.idleMillis = idleMillis;
+    }
+
+    /**
+     * Records the removal of a list and completes the long polls waiting on its board, the
+     * removals of a board are only kept from its first removal on
+     * @param boardId the id of the board the list was removed from
+     * @param removed the removed list
+     * @return the sequence number of the removal
+     */
+    public long publish(Long boardId, TaskList removed) {
+        long now = System.currentTimeMillis();
+        List<Waiter> woken = new ArrayList<>();
+        long[] seq = new long[1];
+        BoardFeed feed = feeds.compute(boardId, (id, f) -> {
+            BoardFeed res = f == null ? new BoardFeed() : f;
+            synchronized (res) {
+                seq[0] = ++res.seq;
+                res.removals.addLast(new Removal(seq[0], removed));
+                if (res.removals.size() > CAPACITY) {
+                    res.removals.removeFirst();
+                }
+                woken.addAll(res.waiters);
+                res.waiters.clear();
+                res.lastUsed = now;
+            }
+            return res;
+        });
+        for (Waiter waiter : woken) {
+            waiter.callback.accept(since(feed, waiter.since));
+        }
+        sweep(now);
+        return seq[0];
+    }
+
+    /**
+     * Returns the sequence number of the last removal of a board without any lists,
+     * which is where a client starts polling from
+     * @param boardId the id of the board
+     * @return the current position of the board
+     */
+    public ListRemovals current(Long boardId) {
+        BoardFeed feed = feeds.get(boardId);
+        if (feed == null) return new ListRemovals(0, List.of(), false);
+        synchronized (feed) {
+            return new ListRemovals(feed.seq, List.of(), false);
+        }
+    }
+
+    /**
+     * Returns the removals of a board after a sequence number which are still kept
+     * @param boardId the id of the board
+     * @param since the sequence number of the last removal the client has seen
+     * @return the removals after since, truncated is set if some of them are no longer kept
+     *  or since is ahead of the board, e.g. after a restart of the server
+     */
+    public ListRemovals since(Long boardId, long since) {
+        BoardFeed feed = feeds.get(boardId);
+        if (feed == null) return new ListRemovals(0, List.of(), since != 0);
+        return since(feed, since);
+    }
+
+    private static ListRemovals since(BoardFeed feed, long since) {
+        synchronized (feed) {
+            List<TaskList> lists = new ArrayList<>();
+            for (Removal removal : feed.removals) {
+                if (removal.seq > since) {
+                    lists.add(removal.list);
+                }
+            }
+            long oldest = feed.removals.isEmpty() ? feed.seq + 1 : feed.removals.getFirst().seq;
+            boolean truncated = since < oldest - 1 || since > feed.seq;
+            return new ListRemovals(feed.seq, lists, truncated);
+        }
+    }
+
+    /**
+     * Calls back with the removals after since, right away if there are some and otherwise
+     * on the next removal from the board
+     * @param boardId the id of the board
+     * @param since the sequence number of the last removal the client has seen
+     * @param callback called at most once with the removals
+     * @return stops waiting, has to be called when the poll completes in another way
+     */
+    public Runnable await(Long boardId, long since, Consumer<ListRemovals> callback) {
+        long now = System.currentTimeMillis();
+        Waiter waiter = new Waiter(since, callback);
+        boolean[] waiting = new boolean[1];
+        // the waiter is added inside compute, so the feed cannot be dropped meanwhile
+        BoardFeed feed = feeds.compute(boardId, (id, f) -> {
+            long seq = f == null ? 0 : f.seq;
+            if (seq != since) return f;
+            BoardFeed res = f == null ? new BoardFeed() : f;
+            synchronized (res) {
+                res.waiters.add(waiter);
+                res.lastUsed = now;
+            }
+            waiting[0] = true;
+            return res;
+        });
+        sweep(now);
+        if (!waiting[0]) {
+            callback.accept(since(boardId, since));
+            return () -> { };
+        }
+        return () -> feeds.computeIfPresent(boardId, (id, f) -> {
+            synchronized (f) {
+                f.waiters.remove(waiter);
+                f.lastUsed = System.currentTimeMillis();
+                return f.removals.isEmpty() && f.waiters.isEmpty() ? null : f;
+            }
+        });
+    }
+
+    /**
+     * Drops the feeds of the boards nobody polled for longer than the idle time, checking at
+     * most once per idle time
+     */
+    private void sweep(long now) {
+        long last = lastSweep.get();
+        if (now - last < idleMillis || !lastSweep.compareAndSet(last, now)) return;
+        for (Long boardId : feeds.keySet()) {
+            feeds.computeIfPresent(boardId, (id, f) -> {
+                synchronized (f) {
+                    return f.waiters.isEmpty() && now - f.lastUsed >= idleMillis ? null : f;
+                }
+            });
+        }
+    }
+
+    /**
+     * Counts the boards whose removals are kept
+     * @return the number of feeds
+     */
+    int boards() {
+        return feeds.size();
+    }
+
+    private static final class BoardFeed {
+        private long seq;
+        private long lastUsed;
+        private final Deque<Removal> removals = new ArrayDeque<>();
+        private final List<Waiter> waiters = new ArrayList<>();
+    }
+
+    private static final class Removal {
+        private final long seq;
+        private final TaskList list;
+
+        private Removal(long seq, TaskList list) {
+            this.seq = seq;
+            this.list = list;
+        }
+    }
+
+    private static final class Waiter {
+        private final long since;
+        private final Consumer<ListRemovals> callback;
+
+        private Waiter(long since, Consumer<ListRemovals> callback) {
+            this.since = since;
+            this.callback = callback;
+        }
+    }
+}
@@ -9,6 +9,7 @@ import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Service
 public class ListService {
@@ -34,16 +35,33 @@ public class ListService {
         return lists.findAll();
     }
 
+    /**
+     * Returns a page of lists in increasing order of their ids, ignoring boardId
+     * @param after - the id of the last list of the previous page or null for the first page
+     * @param limit - the size of the page or null for the default size
+     * @return - a list of the TaskLists of the page
+     */
+    public List<TaskList> findAllAfter(Long after, Integer limit) {
+        return lists.findByIdGreaterThanOrderByIdAsc(Pagination.after(after),
+            Pagination.limit(limit));
+    }
+
+    /**
+     * Streams all lists, has to be consumed inside a transaction
+     * @return - a stream of all TaskLists
+     */
+    public Stream<TaskList> streamAll() {
+        return lists.streamAll();
+    }
+
     /**
      * Get tasklist by id
      * @param id - the id of the tasklist to get
      * @return - the tasklist object
      */
     public TaskList getById(Long id) {
-        if (id == null || !lists.existsById(id)) {
-            return null;
-        }
-        return lists.findById(id).get();
+        if (id == null) return null;
+        return lists.findById(id).orElse(null);
     }
 
     /**
@@ -91,9 +109,7 @@ public class ListService {
      * @return - the calculated next index
      */
     public int calcNextIndex(Long boardId) {
-        List<TaskList> taskListList = findNotDeletedListsByBoardId(boardId);
-        if(taskListList == null) return 0;
-        return taskListList.size();
+        return (int) lists.countNotDeletedListsByBoardId(boardId);
     }
 
     /**
@@ -123,28 +139,19 @@ public class ListService {
     }
 
     /**
-     * Method for changing the order of indexes from a list of TaskLists
+     * Method for changing the order of indexes of the TaskLists in a board. The lists between
+     * the old and the new index are shifted with a single update.
+     * @param boardId - the id of the board containing the TaskLists
      * @param oldIndex - the previous index of the TaskList
      * @param newIndex - the new index of the TaskList
-     * @param taskListList - the list of TaskLists to apply the updates to
      */
-    public void reorderLists(int oldIndex, int newIndex, List<TaskList> taskListList) {
-        // update all indexes to match the order of newly set index
+    public void reorderLists(Long boardId, int oldIndex, int newIndex) {
         if (newIndex > oldIndex) {
-            for (TaskList cur : taskListList) {
-                if (cur.index <= newIndex && cur.index > oldIndex) {
-                    cur.index--;
-                }
-            }
+            lists.shiftIndexes(boardId, oldIndex + 1, newIndex, -1);
         }
-        else {
-            for (TaskList cur : taskListList) {
-                if (cur.index >= newIndex && cur.index < oldIndex) {
-                    cur.index++;
-                }
-            }
+        else if (newIndex < oldIndex) {
+            lists.shiftIndexes(boardId, newIndex, oldIndex - 1, 1);
         }
-        lists.saveAll(taskListList);
     }
 
     /**
@@ -155,10 +162,8 @@ public class ListService {
      * @return - the updated tasklist now stored in the database
      */
     public TaskList editList(TaskList taskList) {
-        if (taskList.id == null || !lists.existsById(taskList.id)) {
-            return null;
-        }
-        TaskList updList = lists.findById(taskList.id).get();
+        TaskList updList = getById(taskList.id);
+        if (updList == null) return null;
 
         if (taskList.name != null) updList.name = taskList.name;
         if (taskList.color != null) updList.color = taskList.color;
@@ -166,17 +171,17 @@ public class ListService {
         // Update indexes of other TaskLists in the board, if the index of
         // the current TaskList is changed
         if (taskList.index != null) {
-            List<TaskList> taskListList = findNotDeletedListsByBoardId(updList.board.id);
+            int count = calcNextIndex(updList.board.id);
             // if index larger than amount of TaskLists in the board,
             // set index to match the end index
-            if (taskList.index >= taskListList.size()) {
-                taskList.index = taskListList.size() - 1;
+            if (taskList.index >= count) {
+                taskList.index = count - 1;
             }
-            reorderLists(updList.index, taskList.index, taskListList);
+            reorderLists(updList.board.id, updList.index, taskList.index);
             updList.index = taskList.index;
         }
-        TaskList saved = lists.save(updList);
-        return saved;
+        lists.save(updList);
+        return updList; // a shift cleared the persistence context, see removeListFromBoard
     }
 
     /**
@@ -194,16 +199,13 @@ public class ListService {
         TaskList taskList = tl.get();
         if (taskList.index.equals(-1) && taskList.status.equals(Status.DELETED)) return null;
 
-        List<TaskList> listOfLists = findNotDeletedListsByBoardId(taskList.board.id);
-        for (TaskList t : listOfLists) {
-            if (t.index > taskList.index) {
-                t.index--;
-                lists.save(t);
-            }
-        }
+        lists.shiftIndexes(taskList.board.id, taskList.index + 1, Integer.MAX_VALUE, -1);
 
         taskList.index = -1;
         taskList.status = Status.DELETED;
-        return lists.save(taskList);
+        lists.save(taskList);
+        // the shift cleared the persistence context, so the board of the saved copy may be an
+        // uninitialized proxy, while the board of the loaded list was fetched with it
+        return taskList;
     }
 }
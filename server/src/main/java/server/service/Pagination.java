@@ -0,0 +1,41 @@
+package server.service;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Parameters of the keyset pagination used by the endpoints returning whole tables
+ */
+public final class Pagination {
+    /**
+     * Page size used when the request does not specify one
+     */
+    public static final int DEFAULT_LIMIT = 100;
+
+    /**
+     * Largest page size a request can ask for
+     */
+    public static final int MAX_LIMIT = 1000;
+
+    private Pagination() {
+    }
+
+    /**
+     * Resolves the id after which the page starts
+     * @param after - the id of the last entity of the previous page or null for the first page
+     * @return - the id after which the page starts
+     */
+    public static long after(Long after) {
+        return after == null ? -1L : after;
+    }
+
+    /**
+     * Resolves the size of the page, keeping it between 1 and MAX_LIMIT
+     * @param limit - the requested size or null for the default size
+     * @return - the first page of the resolved size, the offset is given by the keyset
+     */
+    public static Pageable limit(Integer limit) {
+        int size = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+        return PageRequest.of(0, size);
+    }
+}
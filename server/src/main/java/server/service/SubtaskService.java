@@ -31,9 +31,7 @@ public class SubtaskService {
      * @return the specified card or null if such does not exist
      */
     public Card getCardById(Long id) {
-        var res = cards.findById(id);
-        if (res.isPresent()) return res.get();
-        else return null;
+        return cards.findById(id).orElse(null);
     }
 
     /**
@@ -42,9 +40,7 @@ public class SubtaskService {
      * @return the specified subtask or null if such does not exist
      */
     public Subtask getSubtaskById(Long id) {
-        var res = subtasks.findById(id);
-        if (res.isPresent()) return res.get();
-        else return null;
+        return subtasks.findById(id).orElse(null);
     }
 
     /**
@@ -62,10 +58,10 @@ public class SubtaskService {
      * @param cardId the id of the card
      * @return the updated card or null if the operation was not successful
      */
+    @Transactional
     public Card createSubtaskList(Long cardId) {
-        if (!cards.existsById(cardId)) return null;
         Card card = getCardById(cardId);
-        if (card.totalSubtasks != -1) return null;
+        if (card == null || card.totalSubtasks != -1) return null;
         card.totalSubtasks = 0;
         return cards.save(card);
     }
@@ -78,10 +74,8 @@ public class SubtaskService {
      */
     @Transactional
     public Subtask createSubtask(Subtask subtask, Long cardId) {
-        if (!cards.existsById(cardId)) return null;
         Card card = getCardById(cardId);
-        if (card.totalSubtasks == -1) return null;
-        subtask.card = getCardById(cardId);
+        if (card == null || card.totalSubtasks == -1) return null;
         subtask.status = Status.PLANNED;
         subtask.index = card.totalSubtasks++;
         subtask.card = cards.save(card);
@@ -96,9 +90,9 @@ public class SubtaskService {
      */
     @Transactional
     public Subtask editSubtask(Subtask info, Long cardId) {
-        if (!subtasks.existsById(info.id) || !cards.existsById(cardId)) return null;
         Card card = getCardById(cardId);
         Subtask subtask = getSubtaskById(info.id);
+        if (card == null || subtask == null) return null;
 
         if (info.status.equals(Status.PLANNED) && subtask.status.equals(Status.DONE)) {
             card.doneSubtasks--;
@@ -123,9 +117,9 @@ public class SubtaskService {
      */
     @Transactional
     public Subtask deleteSubtask(Subtask info, Long cardId) {
-        if (!subtasks.existsById(info.id) || !cards.existsById(cardId)) return null;
         Card card = getCardById(cardId);
         Subtask subtask = getSubtaskById(info.id);
+        if (card == null || subtask == null) return null;
 
         if (subtask.index == -1) return null; // the subtask is already deleted
         if (info.status.equals(Status.DONE)) card.doneSubtasks--;
@@ -147,9 +141,9 @@ public class SubtaskService {
      */
     @Transactional
     public Subtask relocateSubtask(Subtask info, Long cardId) {
-        if (!subtasks.existsById(info.id) || !cards.existsById(cardId)) return null;
         Card card = getCardById(cardId);
         Subtask subtask = getSubtaskById(info.id);
+        if (card == null || subtask == null) return null;
 
         if (subtask.index == -1) return null; // the subtask is already deleted
         if (info.index < 0 || info.index >= card.totalSubtasks) return null; // invalid index
@@ -157,25 +151,19 @@ public class SubtaskService {
         reorderSubtasks(card.id, subtask.index, info.index);
         subtask.index = info.index;
 
-        return subtasks.save(subtask);
+        subtasks.save(subtask);
+        return subtask; // its card is loaded, unlike the card of the copy saved after the shift
     }
 
     /**
-     * Reorders the subtasks and update their indexes
+     * Reorders the subtasks and update their indexes with a single update of the shifted range
      * @param cardId the index of the card to which the nested task list belongs
      * @param prevIdx the previous index of the subtask
      * @param newIdx the updated index of the subtask
      */
     private void reorderSubtasks(Long cardId, Integer prevIdx, Integer newIdx) {
-        List<Subtask> stList = subtasks.findNotDeletedSubtasksByCardId(cardId);
-        for (Subtask st : stList) {
-            if (newIdx == -1) {
-                if (st.index > prevIdx) st.index--;
-            }
-            else if (newIdx > prevIdx && st.index > prevIdx && st.index <= newIdx) st.index--;
-            else if (newIdx < prevIdx && st.index < prevIdx && st.index >= newIdx) st.index++;
-            else continue;
-            subtasks.save(st);
-        }
+        if (newIdx == -1) subtasks.shiftIndexes(cardId, prevIdx + 1, Integer.MAX_VALUE, -1);
+        else if (newIdx > prevIdx) subtasks.shiftIndexes(cardId, prevIdx + 1, newIdx, -1);
+        else if (newIdx < prevIdx) subtasks.shiftIndexes(cardId, newIdx, prevIdx - 1, 1);
     }
 }
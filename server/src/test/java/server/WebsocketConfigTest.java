@@ -0,0 +1,29 @@
+package server;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.converter.MessageConverter;
+import org.springframework.messaging.converter.StringMessageConverter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WebsocketConfigTest {
+
+    @Test
+    void stompMessagesUseTheMapperOfTheServer() {
+        ObjectMapper mapper = new ObjectMapper();
+        List<MessageConverter> converters = new ArrayList<>();
+
+        assertFalse(new WebsocketConfig(mapper).configureMessageConverters(converters));
+
+        assertTrue(converters.get(0) instanceof StringMessageConverter);
+        MappingJackson2MessageConverter json = converters.stream()
+            .filter(c -> c instanceof MappingJackson2MessageConverter)
+            .map(c -> (MappingJackson2MessageConverter) c).findFirst().orElseThrow();
+        assertSame(mapper, json.getObjectMapper());
+    }
+}
@@ -38,7 +38,8 @@ public class BoardControllerTest {
     public void setup() {
         repo = new BoardRepositoryTest();
 
-        sut = new BoardController(repo, new ListService(new ListRepositoryTest(), repo));
+        sut = new BoardController(repo, new ListService(new ListRepositoryTest(), repo), null,
+            null, null, null);
     }
 
     @Test
@@ -98,7 +99,7 @@ public class BoardControllerTest {
 
     @Test
     public void getNoBoards() {
-        var res = sut.all();
+        var res = sut.all(null, null);
 
         assertEquals(res, new ArrayList<Board>());
     }
@@ -114,10 +115,25 @@ public class BoardControllerTest {
         blist.add(b1);
         blist.add(b2);
 
-        var res = sut.all();
+        var res = sut.all(null, null);
         assertEquals(res, blist);
     }
 
+    @Test
+    public void getBoardsPageByPage() {
+        Board b1 = getBoard("one");
+        Board b2 = getBoard("two");
+        Board b3 = getBoard("three");
+        sut.add(b1);
+        sut.add(b2);
+        sut.add(b3);
+
+        assertEquals(List.of(b1, b2), sut.all(null, 2));
+        assertEquals(List.of(b3), sut.all(b2.id, 2));
+        assertEquals(List.of(), sut.all(b3.id, null));
+        assertEquals(List.of(b1), sut.all(null, 0));
+    }
+
     private static Board getBoard(String name) {
         return new Board(name);
     }
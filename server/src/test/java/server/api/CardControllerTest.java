@@ -16,36 +16,58 @@
 package server.api;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.OK;
 
+import commons.BoardEvent;
 import commons.Status;
+import commons.Tag;
 import commons.TaskList;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
 
 import commons.Card;
+import commons.CardDto;
 import org.springframework.scheduling.config.Task;
 import server.database.CardRepositoryTest;
 import server.database.ListRepositoryTest;
+import server.database.TagRepository;
+import server.service.BoardEventPublisher;
+import server.service.BoardLocks;
+import server.service.BoardResolver;
 import server.service.CardService;
+import server.service.EditCoalescer;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 public class CardControllerTest {
     private CardService cardService;
     private CardController sut;
     private List<Card> sampleCards;
     private List<TaskList> sampleLists;
+    private TagRepository tagRepo;
+    private BoardEventPublisher events;
 
     @BeforeEach
     public void setup() {
         var cardRepo = new CardRepositoryTest();
         var listRepo = new ListRepositoryTest();
-        cardService = new CardService(cardRepo, listRepo, null);
-        sut = new CardController(cardService);
+        tagRepo = Mockito.mock(TagRepository.class);
+        cardService = new CardService(cardRepo, listRepo, tagRepo);
+        var resolver = new BoardResolver(listRepo, cardRepo);
+        var locks = new BoardLocks(resolver, new SimpleMeterRegistry());
+        events = Mockito.mock(BoardEventPublisher.class);
+        sut = new CardController(cardService, null, events, locks, null);
 
         // add sample task lists
         sampleLists = new ArrayList<>();
@@ -62,21 +84,72 @@ public class CardControllerTest {
         Card c3 = new Card("Card 3", "-", listRepo.getById(0L));
         Card c4 = new Card("Card 4", "-", listRepo.getById(1L));
 
-        sampleCards.add(sut.add(c1).getBody());
-        sampleCards.add(sut.add(c2).getBody());
-        sampleCards.add(sut.add(c3).getBody());
-        sampleCards.add(sut.add(c4).getBody());
+        sampleCards.add(sut.add(c1).getBody().toCard());
+        sampleCards.add(sut.add(c2).getBody().toCard());
+        sampleCards.add(sut.add(c3).getBody().toCard());
+        sampleCards.add(sut.add(c4).getBody().toCard());
     }
 
     @Test
     public void areCardsSaved() {
-        List<Card> cards = sut.all();
+        List<Card> cards = sut.all(null, null);
         for (int i = 0; i < 4; ++ i) {
             assertTrue(cards.contains(sampleCards.get(i)));
             System.out.println(cards.get(i));
         }
     }
 
+    @Test
+    public void addAndEditAnswerWithTheWireForm() {
+        Card c = new Card("Card 5", "secret", sampleLists.get(1));
+        CardDto added = sut.add(c).getBody();
+        assertEquals(sampleLists.get(1).id, added.taskListId);
+        assertNull(added.description);
+
+        Card edit = new Card();
+        edit.id = added.id;
+        edit.title = "Edited";
+        CardDto edited = sut.edit(edit).getBody();
+        assertEquals("Edited", edited.title);
+        assertEquals(sampleLists.get(1).id, edited.taskListId);
+
+        // the REST changes reach the event topic and the change log like the websocket ones
+        Mockito.verify(events).publishForCard(Mockito.eq(added.id),
+            Mockito.argThat(e -> e.operation == BoardEvent.Operation.ADD));
+        Mockito.verify(events).publishForCard(Mockito.eq(added.id),
+            Mockito.argThat(e -> e.operation == BoardEvent.Operation.EDIT));
+    }
+
+    @Test
+    public void partialEditsInOneWindowAreMerged() throws InterruptedException {
+        EditCoalescer coalescer = new EditCoalescer(50, Mockito.mock(SimpMessagingTemplate.class));
+        try {
+            Card title = new Card();
+            title.id = 0L;
+            title.title = "New title";
+            Card color = new Card();
+            color.id = 0L;
+            color.color = "#000000";
+            CountDownLatch done = new CountDownLatch(1);
+
+            coalescer.submit("/0/cards/edit", title, CardController::merge, c -> {
+                sut.edit(c);
+                done.countDown();
+            });
+            coalescer.submit("/0/cards/edit", color, CardController::merge, c -> {
+                sut.edit(c);
+                done.countDown();
+            });
+
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+            CardDto edited = sut.getById(0L).getBody().get(0);
+            assertEquals("New title", edited.title);
+            assertEquals("#000000", edited.color);
+        } finally {
+            coalescer.shutdown();
+        }
+    }
+
     @Test
     public void cannotAddNullCard() {
         var actual = sut.add(getCard(null));
@@ -134,8 +207,8 @@ public class CardControllerTest {
 
     @Test
     public void getById() {
-        assertEquals(sampleCards.get(0), sut.getById(0L).getBody().get(0));
-        assertEquals(sampleCards.get(2), sut.getById(2L).getBody().get(0));
+        assertEquals(sampleCards.get(0), sut.getById(0L).getBody().get(0).toCard());
+        assertEquals(sampleCards.get(2), sut.getById(2L).getBody().get(0).toCard());
     }
 
     @Test
@@ -158,7 +231,8 @@ public class CardControllerTest {
 
     @Test
     public void getCardsInTaskList0() {
-        List<Card> cards = sut.getAllCardsByTaskListIdAndStatus(0L, Status.ACTIVE.name()).getBody();
+        List<Card> cards = sut.getAllCardsByTaskListIdAndStatus(0L, Status.ACTIVE.name()).getBody()
+            .stream().map(CardDto::toCard).collect(Collectors.toList());
         System.out.println(cards);
         assertTrue(cards.contains(sampleCards.get(0)));
         assertTrue(!cards.contains(sampleCards.get(1))); // not ACTIVE
@@ -166,6 +240,35 @@ public class CardControllerTest {
         assertTrue(!cards.contains(sampleCards.get(3))); // not in list 0
     }
 
+    @Test
+    public void getCardsInTaskListOnlyTellIfTheyHaveADescription() {
+        List<CardDto> cards = sut.getAllCardsByTaskListIdAndStatus(0L, Status.ACTIVE.name())
+            .getBody();
+
+        for (CardDto card : cards) {
+            assertNull(card.description);
+            assertTrue(card.hasDescription);
+        }
+        assertEquals("-", sut.getById(0L).getBody().get(0).description);
+    }
+
+    @Test
+    public void getCardsInTaskListCarryTheirTags() {
+        Tag tag = new Tag("Tag", "#FFFFFF");
+        tag.id = 7L;
+        Long cardId = sampleCards.get(0).id;
+        Mockito.when(tagRepo.findCardTagIdsByTaskListId(0L))
+            .thenReturn(List.<Object[]>of(new Object[] {cardId, 7L}));
+        Mockito.when(tagRepo.findAllById(Set.of(7L))).thenReturn(List.of(tag));
+
+        List<Card> cards = sut.getAllCardsByTaskListIdAndStatus(0L, Status.ACTIVE.name()).getBody()
+            .stream().map(CardDto::toCard).collect(Collectors.toList());
+
+        for (Card card : cards) {
+            assertEquals(card.id.equals(cardId) ? Set.of(tag) : Set.of(), card.tags);
+        }
+    }
+
     @Test
     public void getCardsInTaskListInvalidId() {
         assertEquals(BAD_REQUEST, sut.getAllCardsByTaskListIdAndStatus(5L, Status.ACTIVE.name()).getStatusCode());
@@ -185,7 +288,7 @@ public class CardControllerTest {
         c.description = "Updated description";
         c.color = "#00FF00";
         sut.edit(c);
-        c = sut.getById(0L).getBody().get(0);
+        c = sut.getById(0L).getBody().get(0).toCard();
         assertEquals(0L, c.id);
         assertEquals("Updated title", c.title);
         assertEquals("Updated description", c.description);
@@ -208,17 +311,17 @@ public class CardControllerTest {
         c.index = -1;
         c.status = Status.DELETED;
         sut.edit(c);
-        c = sut.getById(0L).getBody().get(0);
+        c = sut.getById(0L).getBody().get(0).toCard();
         assertEquals(0L, c.id);
         assertEquals(Status.DELETED, c.status);
         assertEquals(-1, c.index);
 
-        System.out.println(sut.all());
+        System.out.println(sut.all(null, null));
 
-        c = sut.getById(1L).getBody().get(0);
+        c = sut.getById(1L).getBody().get(0).toCard();
         assertEquals(0, c.index);
 
-        c = sut.getById(2L).getBody().get(0);
+        c = sut.getById(2L).getBody().get(0).toCard();
         assertEquals(1, c.index);
     }
 
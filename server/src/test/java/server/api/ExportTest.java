@@ -0,0 +1,168 @@
+package server.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import commons.Board;
+import commons.Card;
+import commons.Status;
+import commons.Tag;
+import commons.TaskList;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.PlatformTransactionManager;
+import server.Config;
+import server.database.BoardRepository;
+import server.database.CardRepository;
+import server.database.ListRepository;
+import server.database.TagRepository;
+import server.service.CardService;
+import server.service.ExportService;
+import server.service.ListService;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the export endpoints against the database and reads back the lines they write
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class ExportTest {
+    @Autowired
+    private BoardRepository boardRepo;
+    @Autowired
+    private ListRepository listRepo;
+    @Autowired
+    private CardRepository cardRepo;
+    @Autowired
+    private TagRepository tagRepo;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper mapper = new ObjectMapper()
+        .registerModule(new Config().hibernateModule());
+    private ExportService export;
+    private MockHttpServletResponse response;
+    private Board board;
+    private final List<TaskList> lists = new ArrayList<>();
+
+    /**
+     * A board with two lists of three cards each and a tag
+     */
+    @BeforeEach
+    void setup() {
+        export = new ExportService(entityManager, mapper, transactionManager);
+        response = new MockHttpServletResponse();
+        board = boardRepo.save(new Board("board", "password"));
+        for (String name : new String[] {"first", "second"}) {
+            TaskList list = new TaskList(name, board);
+            list.index = lists.size();
+            list.status = Status.ACTIVE;
+            lists.add(listRepo.save(list));
+            for (int i = 0; i < 3; i++) {
+                cardRepo.save(new Card(name + " " + i, "-", list));
+            }
+        }
+        Tag tag = new Tag("tag", "#FFFFFF");
+        tag.board = board;
+        tag.status = Status.ACTIVE;
+        tagRepo.save(tag);
+        flushAndClear();
+    }
+
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private List<JsonNode> lines() throws IOException {
+        assertEquals(ExportService.NDJSON, response.getContentType());
+        List<JsonNode> res = new ArrayList<>();
+        for (String line : response.getContentAsString().split("\n")) {
+            if (!line.isBlank()) res.add(mapper.readTree(line));
+        }
+        return res;
+    }
+
+    @Test
+    void boardsAreExported() throws IOException {
+        new BoardController(boardRepo, null, null, export, null, null).export(response);
+
+        List<JsonNode> lines = lines();
+        assertEquals(1, lines.size());
+        assertEquals("board", lines.get(0).get("name").asText());
+    }
+
+    @Test
+    void listsAreExported() throws IOException {
+        new ListController(new ListService(listRepo, boardRepo), export, null, null, null, null)
+            .export(response);
+
+        assertEquals(List.of("first", "second"), names(lines()));
+    }
+
+    @Test
+    void tagsAreExported() throws IOException {
+        new TagController(tagRepo, null, boardRepo, export, null, null).export(response);
+
+        assertEquals(List.of("tag"), names(lines()));
+    }
+
+    @Test
+    void cardsAreExportedWithTheirListsInOneStatement() throws IOException {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        cardController().export(response);
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        List<JsonNode> lines = lines();
+        assertEquals(6, lines.size());
+        for (JsonNode card : lines) {
+            assertTrue(card.get("title").asText().startsWith(card.get("taskList").get("name")
+                .asText()));
+        }
+    }
+
+    @Test
+    void exportedEntitiesAreClearedInBatches() throws IOException {
+        for (int i = 0; i < ExportService.CLEAR_EVERY; i++) {
+            cardRepo.save(new Card("card " + i, "-", lists.get(0)));
+        }
+        flushAndClear();
+        AtomicReference<Card> first = new AtomicReference<>();
+
+        export.writeNdjson(() -> cardRepo.streamAll().peek(c -> first.compareAndSet(null, c)),
+            response.getOutputStream());
+
+        assertEquals(ExportService.CLEAR_EVERY + 6,
+            response.getContentAsString().split("\n").length);
+        assertFalse(entityManager.contains(first.get()));
+    }
+
+    private CardController cardController() {
+        return new CardController(new CardService(cardRepo, listRepo, tagRepo), export, null,
+            null, null);
+    }
+
+    private static List<String> names(List<JsonNode> lines) {
+        List<String> res = new ArrayList<>();
+        lines.forEach(line -> res.add(line.get("name").asText()));
+        return res;
+    }
+}
@@ -0,0 +1,74 @@
+package server.api;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import server.HandlerMetrics;
+import server.StatementCounter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HandlerMetricsTest {
+    private SimpleMeterRegistry registry;
+    private MeteredHandlers sut;
+
+    @BeforeEach
+    void setup() {
+        registry = new SimpleMeterRegistry();
+        AspectJProxyFactory factory = new AspectJProxyFactory(new MeteredHandlers());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new HandlerMetrics(registry));
+        sut = factory.getProxy();
+    }
+
+    @Test
+    void handlersAreTimedPerTransport() {
+        sut.get();
+        sut.get();
+        sut.send();
+
+        assertEquals(2, registry.get("talio.handler")
+            .tags("handler", "MeteredHandlers.get", "transport", "rest").timer().count());
+        assertEquals(1, registry.get("talio.handler")
+            .tags("handler", "MeteredHandlers.send", "transport", "stomp").timer().count());
+    }
+
+    @Test
+    void statementsAreCountedPerCall() {
+        sut.send();
+        sut.send();
+
+        assertEquals(4, registry.get("talio.handler.statements")
+            .tag("handler", "MeteredHandlers.send").summary().totalAmount());
+    }
+
+    @Test
+    void failingHandlersAreTimed() {
+        assertThrows(IllegalStateException.class, sut::fail);
+
+        assertEquals(1, registry.get("talio.handler")
+            .tag("handler", "MeteredHandlers.fail").timer().count());
+    }
+}
+
+class MeteredHandlers {
+    @GetMapping("/get")
+    public int get() {
+        return 1;
+    }
+
+    @MessageMapping("/send")
+    public void send() {
+        StatementCounter counter = new StatementCounter();
+        counter.inspect("select 1");
+        counter.inspect("select 2");
+    }
+
+    @GetMapping("/fail")
+    public void fail() {
+        throw new IllegalStateException();
+    }
+}
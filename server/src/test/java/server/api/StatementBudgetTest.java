@@ -0,0 +1,344 @@
+package server.api;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.hibernate5.Hibernate5Module;
+import commons.Board;
+import commons.Card;
+import commons.CardMutation;
+import commons.Status;
+import commons.Subtask;
+import commons.Tag;
+import commons.TaskList;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.ResponseEntity;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import server.Config;
+import server.database.BoardRepository;
+import server.database.TagRepository;
+import server.service.BoardEventPublisher;
+import server.service.BoardLocks;
+import server.service.BoardResolver;
+import server.service.BoardSnapshotService;
+import server.service.CardService;
+import server.service.ChangeLog;
+import server.service.EditCoalescer;
+import server.service.ExportService;
+import server.service.ListRemovalFeed;
+import server.service.ListService;
+import server.service.SubtaskService;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the REST and STOMP handlers against the database and fails if one of them runs more
+ * SQL statements than its budget. The budgets do not depend on the size of the board, which
+ * has more cards than any budget, so loading something once per card exceeds them. The
+ * result of a handler is serialized as well, loading what its response would reference.
+ * The exports and the long poll of the list removals are not covered.
+ */
+@DataJpaTest(properties = {"spring.jpa.properties.hibernate.generate_statistics=true",
+    "talio.changes.retention-hours=0"})
+@Import({StatementBudgetTest.Beans.class, Config.class, BoardController.class, CardController.class,
+    ListController.class, SubtaskCtrl.class, TagController.class, BoardEventPublisher.class,
+    BoardLocks.class, BoardResolver.class, BoardSnapshotService.class, CardService.class,
+    ChangeLog.class, EditCoalescer.class, ExportService.class, ListRemovalFeed.class,
+    ListService.class, SubtaskService.class})
+public class StatementBudgetTest {
+    private static final int CARDS = 25;
+
+    @MockBean
+    private SimpMessagingTemplate template;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private BoardRepository boardRepo;
+    @Autowired
+    private TagRepository tagRepo;
+    @Autowired
+    private CardService cardService;
+    @Autowired
+    private ListService listService;
+    @Autowired
+    private SubtaskService subtaskService;
+    @Autowired
+    private BoardController boards;
+    @Autowired
+    private CardController cards;
+    @Autowired
+    private ListController lists;
+    @Autowired
+    private SubtaskCtrl subtasks;
+    @Autowired
+    private TagController tags;
+    @Autowired
+    private ObjectMapper mapper;
+
+    private Statistics statistics;
+    private Board board;
+    private TaskList full;
+    private TaskList other;
+    private final List<Card> fullCards = new ArrayList<>();
+    private Card plain;
+    private Subtask subtask;
+    private final List<Tag> boardTags = new ArrayList<>();
+
+    @TestConfiguration
+    static class Beans {
+        @Bean
+        ObjectMapper objectMapper(Hibernate5Module hibernateModule) {
+            return new ObjectMapper().registerModule(hibernateModule);
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    /**
+     * A board with a list of many cards having tags, and a list of two cards without tags,
+     * one of which has subtasks
+     */
+    @BeforeEach
+    void setup() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        board = boardRepo.save(new Board("board", "password"));
+        for (int i = 0; i < 3; i++) {
+            Tag tag = new Tag("tag " + i, "#FFFFFF");
+            tag.board = board;
+            tag.status = Status.ACTIVE;
+            boardTags.add(tagRepo.save(tag));
+        }
+        full = listService.addList(new TaskList("full", board), board.id);
+        other = listService.addList(new TaskList("other", board), board.id);
+        for (int i = 0; i < CARDS; i++) {
+            Card card = cardService.addNewCard(new Card("card " + i, "-", full));
+            cardService.addTagToCard(card.id, boardTags.get(i % 3).id);
+            cardService.addTagToCard(card.id, boardTags.get((i + 1) % 3).id);
+            fullCards.add(card);
+        }
+        cardService.addNewCard(new Card("first", "-", other));
+        plain = cardService.addNewCard(new Card("plain", "-", other));
+        subtaskService.createSubtaskList(plain.id);
+        for (int i = 0; i < 3; i++) {
+            subtask = subtaskService.createSubtask(new Subtask("subtask " + i, null), plain.id);
+        }
+    }
+
+    /**
+     * Runs a handler in a fresh persistence context, like a request would, and checks the
+     * statements it runs until its result is serialized and its changes are flushed
+     */
+    private <T> T assertBudget(int budget, String handler, Supplier<T> call) {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        T result = call.get();
+        serialize(result instanceof ResponseEntity ? ((ResponseEntity<?>) result).getBody()
+            : result);
+        entityManager.flush();
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(statements <= budget,
+            handler + " ran " + statements + " statements, its budget is " + budget);
+        return result;
+    }
+
+    private long loads(Class<?> entity) {
+        return statistics.getEntityStatistics(entity.getName()).getLoadCount();
+    }
+
+    private void serialize(Object body) {
+        try {
+            mapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Card cardInfo(Long id) {
+        Card info = new Card();
+        info.id = id;
+        return info;
+    }
+
+    private static Subtask subtaskInfo(Long id, Status status, Integer index) {
+        Subtask info = new Subtask();
+        info.id = id;
+        info.status = status;
+        info.index = index;
+        return info;
+    }
+
+    @Test
+    void boardHandlers() {
+        Board info = new Board("renamed", "secret");
+        info.id = board.id;
+
+        assertBudget(3, "GET /api/boards", () -> boards.all(null, null));
+        assertBudget(2, "GET /api/boards/{id}", () -> boards.getById(board.id));
+        assertBudget(10, "GET /api/boards/{id}/snapshot", () -> boards.getSnapshot(board.id));
+        assertBudget(5, "GET /api/boards/{id}/changes", () -> boards.getChanges(board.id, 0L,
+            null));
+        assertBudget(10, "POST /api/boards", () -> boards.add(new Board("new")));
+        assertBudget(3, "POST /api/boards/changeName", () -> boards.changeName(info));
+        assertBudget(3, "POST /api/boards/changePassword", () -> boards.changePassword(info));
+        assertBudget(6, "/app/{boardId}/changeName",
+            () -> boards.handleChangeName(info, board.id));
+        assertBudget(6, "/app/{boardId}/changePassword",
+            () -> boards.handleChangePassword(info, board.id));
+    }
+
+    @Test
+    void cardReadHandlers() {
+        Long id = fullCards.get(3).id;
+
+        assertBudget(10, "GET /api/cards", () -> cards.all(null, null));
+        assertBudget(4, "GET /api/cards/{id}", () -> cards.getById(id));
+        assertBudget(8, "GET /api/cards/taskList/{id}/{status}",
+            () -> cards.getAllCardsByTaskListIdAndStatus(full.id, "ACTIVE"));
+    }
+
+    @Test
+    void cardsOfAListAreLoadedWithoutTheBoard() {
+        assertBudget(8, "GET /api/cards/taskList/{id}/{status}",
+            () -> cards.getAllCardsByTaskListIdAndStatus(full.id, "ACTIVE"));
+
+        assertEquals(0, loads(Board.class));
+    }
+
+    @Test
+    void subtasksAreLoadedWithoutTheirCard() {
+        var res = assertBudget(6, "GET /api/subtasks/{cardId}", () -> subtasks.getById(plain.id));
+
+        assertEquals(0, loads(Card.class));
+        assertEquals(3, res.getBody().size());
+    }
+
+    @Test
+    void cardWriteHandlers() {
+        Card added = new Card("added", "-", full);
+        Card edit = cardInfo(fullCards.get(3).id);
+        edit.title = "edited";
+        Card recolor = cardInfo(fullCards.get(4).id);
+        recolor.color = "#000000";
+        Card relocate = cardInfo(fullCards.get(5).id);
+        relocate.taskList = other;
+        relocate.index = 0;
+        relocate.status = Status.ACTIVE;
+        Card delete = cardInfo(fullCards.get(6).id);
+        delete.taskList = full;
+        delete.index = -1;
+        delete.status = Status.DELETED;
+
+        assertBudget(10, "/app/{listId}/cards/add", () -> cards.handleAdd(added, full.id));
+        assertBudget(10, "/app/{cardId}/cards/edit", () -> cards.handleEditCardId(edit, edit.id));
+        assertBudget(10, "/app/{cardId}/changeCardColor",
+            () -> cards.changeCardColor(recolor, recolor.id));
+        assertBudget(14, "/app/{listId}/cards/relocate",
+            () -> cards.handleRelocate(relocate, other.id));
+        assertBudget(14, "/app/{listId}/cards/delete", () -> cards.handleDelete(delete, full.id));
+        assertBudget(18, "PATCH /api/cards/batch", () -> cards.batch(List.of(
+            CardMutation.move(fullCards.get(7).id, other.id, 0),
+            CardMutation.move(fullCards.get(8).id, other.id, 1),
+            CardMutation.recolor(fullCards.get(9).id, "#000000"))));
+    }
+
+    @Test
+    void listHandlers() {
+        TaskList added = new TaskList("added", null);
+        TaskList rename = new TaskList();
+        rename.id = other.id;
+        rename.name = "renamed";
+        TaskList relocate = new TaskList();
+        relocate.id = other.id;
+        relocate.index = 0;
+
+        assertBudget(3, "GET /api/lists", () -> lists.all(null, null));
+        assertBudget(2, "GET /api/lists/{id}", () -> lists.getById(full.id));
+        assertBudget(3, "GET /api/lists/board/{id}", () -> lists.getListsByBoard(board.id));
+        assertBudget(4, "GET /api/lists/board/{id}/{status}",
+            () -> lists.getListsByBoardAndStatus(board.id, "ACTIVE"));
+        assertBudget(4, "GET /api/lists/notDeleted/board/{id}",
+            () -> lists.getListsByBoardAndStatus(board.id));
+        assertBudget(8, "/app/{boardId}/lists/add", () -> lists.handleAdd(added, board.id));
+        assertBudget(8, "/app/{listId}/lists/edit/title",
+            () -> lists.handleListEdit(rename, other.id));
+        assertBudget(10, "/app/{boardId}/lists/relocate",
+            () -> lists.handleRelocation(relocate, board.id));
+        assertBudget(10, "DELETE /api/lists/{listId}", () -> lists.deleteById(full.id));
+    }
+
+    @Test
+    void subtaskHandlers() {
+        Subtask added = new Subtask("added", null);
+        Subtask done = subtaskInfo(subtask.id, Status.DONE, null);
+        Subtask relocate = subtaskInfo(subtask.id, null, 0);
+        Subtask delete = subtaskInfo(subtask.id, Status.DONE, null);
+
+        assertBudget(6, "GET /api/subtasks/{cardId}", () -> subtasks.getById(plain.id));
+        assertBudget(10, "/app/{cardId}/addSubtask", () -> subtasks.addSubtask(added, plain.id));
+        assertBudget(10, "/app/{cardId}/editSubtask",
+            () -> subtasks.editSubtask(done, plain.id));
+        assertBudget(10, "/app/{cardId}/relocateSubtask",
+            () -> subtasks.relocateSubtask(relocate, plain.id));
+        assertBudget(12, "/app/{cardId}/deleteSubtask",
+            () -> subtasks.deleteSubtask(delete, plain.id));
+    }
+
+    @Test
+    void tagHandlers() {
+        Long cardId = fullCards.get(3).id;
+        Tag assigned = boardTags.get(0);
+        Tag unassigned = boardTags.get(2);
+        Tag added = new Tag("added", "#FFFFFF");
+        added.board = board;
+        added.status = Status.ACTIVE;
+        Tag renamed = new Tag("renamed", "#000000");
+
+        assertBudget(3, "GET /api/tags", () -> tags.getAll(null, null));
+        assertBudget(2, "GET /api/tags/{id}", () -> tags.getById(assigned.id));
+        assertBudget(4, "GET /api/tags/board/{id}", () -> tags.getTagsByBoard(board.id));
+        assertBudget(4, "GET /api/tags/card/{cardId}/assigned",
+            () -> tags.getTagsByCard(cardId));
+        assertBudget(4, "GET /api/tags/card/{cardId}/available",
+            () -> tags.getAvailableTagsByCard(cardId));
+        assertBudget(4, "POST /api/tags", () -> tags.add(added));
+        assertBudget(8, "/app/{cardId}/addTagToCard",
+            () -> tags.handleAddTagToCard(unassigned, cardId));
+        assertBudget(8, "/app/{cardId}/removeTagFromCard",
+            () -> tags.handleRemoveTagFromCard(assigned, cardId));
+        assertBudget(8, "POST /api/tags/{id}", () -> tags.updateTag(assigned.id, renamed));
+        assertBudget(8, "DELETE /api/tags/{id}", () -> tags.deleteById(assigned.id));
+    }
+
+    @Test
+    void budgetIsExceededByLoadingPerCard() {
+        AssertionError error = assertThrows(AssertionError.class,
+            () -> assertBudget(CARDS - 1, "loading every card", () -> {
+                fullCards.forEach(c -> cardService.findCard(c.id));
+                return null;
+            }));
+        assertTrue(error.getMessage().contains("loading every card"));
+    }
+}
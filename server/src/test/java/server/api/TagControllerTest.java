@@ -0,0 +1,91 @@
+package server.api;
+
+import commons.Board;
+import commons.Status;
+import commons.Tag;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import server.database.BoardRepository;
+import server.database.CardRepository;
+import server.database.ListRepository;
+import server.database.TagRepository;
+import server.service.BoardEventPublisher;
+import server.service.BoardLocks;
+import server.service.BoardResolver;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.OK;
+
+/**
+ * Checks the names of the tags of a board against the database, they are unique among the
+ * tags which are not deleted
+ */
+@DataJpaTest
+class TagControllerTest {
+    @Autowired
+    private TagRepository tags;
+    @Autowired
+    private BoardRepository boards;
+    @Autowired
+    private ListRepository lists;
+    @Autowired
+    private CardRepository cards;
+
+    private TagController sut;
+    private Board board;
+
+    @BeforeEach
+    void setUp() {
+        BoardLocks locks = new BoardLocks(new BoardResolver(lists, cards),
+            new SimpleMeterRegistry());
+        sut = new TagController(tags, null, boards, null,
+            Mockito.mock(BoardEventPublisher.class), locks);
+        board = boards.save(new Board("board", "password"));
+    }
+
+    private Tag tag(String name, Status status) {
+        Tag res = new Tag(name, "#FFFFFF");
+        res.board = board;
+        res.status = status;
+        return res;
+    }
+
+    @Test
+    void nameOfATagIsNotAddedTwice() {
+        tags.save(tag("urgent", Status.ACTIVE));
+
+        assertEquals(BAD_REQUEST, sut.add(tag("urgent", Status.ACTIVE)).getStatusCode());
+        assertEquals(OK, sut.add(tag("later", Status.ACTIVE)).getStatusCode());
+    }
+
+    @Test
+    void nameOfADeletedTagIsFree() {
+        tags.save(tag("urgent", Status.DELETED));
+
+        assertEquals(OK, sut.add(tag("urgent", Status.ACTIVE)).getStatusCode());
+    }
+
+    @Test
+    void tagIsNotRenamedToTheNameOfAnother() {
+        tags.save(tag("urgent", Status.ACTIVE));
+        Tag renamed = tags.save(tag("later", Status.ACTIVE));
+
+        assertEquals(BAD_REQUEST,
+            sut.updateTag(renamed.id, tag("urgent", Status.ACTIVE)).getStatusCode());
+        assertEquals("later", tags.findById(renamed.id).orElseThrow().name);
+    }
+
+    @Test
+    void tagIsRenamedToTheNameOfADeletedOne() {
+        tags.save(tag("urgent", Status.DELETED));
+        Tag renamed = tags.save(tag("later", Status.ACTIVE));
+
+        assertEquals(OK, sut.updateTag(renamed.id, tag("urgent", Status.ACTIVE)).getStatusCode());
+        assertEquals("urgent", tags.findById(renamed.id).orElseThrow().name);
+    }
+}
@@ -23,9 +23,12 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.repository.query.FluentQuery;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @SuppressWarnings({"checkstyle:MissingJavadocMethod", "checkstyle:javadoctype"})
 public class BoardRepositoryTest implements BoardRepository {
@@ -37,6 +40,19 @@ public class BoardRepositoryTest implements BoardRepository {
     }
 
 
+    @Override
+    public List<Board> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable) {
+        call("findByIdGreaterThanOrderByIdAsc");
+        return boards.stream().filter(e -> e.id > id).sorted(Comparator.comparing(e -> e.id))
+            .limit(pageable.getPageSize()).collect(Collectors.toList());
+    }
+
+    @Override
+    public Stream<Board> streamAll() {
+        call("streamAll");
+        return boards.stream();
+    }
+
     @Override
     public List<Board> findAll() {
         call("findAll");
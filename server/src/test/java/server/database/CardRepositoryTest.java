@@ -28,12 +28,17 @@ import org.springframework.data.repository.query.FluentQuery;
 import java.util.*;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @SuppressWarnings({"checkstyle:MissingJavadocMethod", "checkstyle:javadoctype"})
 public class CardRepositoryTest implements CardRepository {
     public final List<Card> cards = new ArrayList<>();
     public final List<String> calledMethods = new ArrayList<>();
 
+    private static final Comparator<Card> BY_RANK = Comparator
+        .comparing((Card c) -> c.rank, Comparator.nullsFirst(Comparator.naturalOrder()))
+        .thenComparing(c -> c.index);
+
     private void call(String name) {
         calledMethods.add(name);
     }
@@ -60,6 +65,22 @@ public class CardRepositoryTest implements CardRepository {
     @Override
     public List<Card> findNotDeletedCardsByTaskListId(Long id) {
         return cards.stream().filter(c -> !c.status.equals(Status.DELETED) && c.taskList.id.equals(id))
+            .sorted(BY_RANK).collect(Collectors.toUnmodifiableList());
+    }
+
+    @Override
+    public long countNotDeletedCardsBeforeRank(Long id, String rank) {
+        call("countNotDeletedCardsBeforeRank");
+        return cards.stream().filter(c -> !c.status.equals(Status.DELETED)
+            && c.taskList.id.equals(id) && c.rank != null && c.rank.compareTo(rank) < 0).count();
+    }
+
+    @Override
+    public List<Card> findCardsByBoardIdAndStatus(Long boardId, String status) {
+        call("findCardsByBoardIdAndStatus");
+        return cards.stream().filter(c -> c.taskList.board != null
+                && c.taskList.board.id.equals(boardId) && c.status.name().equals(status))
+            .sorted(Comparator.comparing((Card c) -> c.taskList.id).thenComparing(BY_RANK))
             .collect(Collectors.toUnmodifiableList());
     }
 
@@ -73,6 +94,19 @@ public class CardRepositoryTest implements CardRepository {
         throw new NotImplementedException();
     }
 
+    @Override
+    public List<Card> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable) {
+        call("findByIdGreaterThanOrderByIdAsc");
+        return cards.stream().filter(e -> e.id > id).sorted(Comparator.comparing(e -> e.id))
+            .limit(pageable.getPageSize()).collect(Collectors.toList());
+    }
+
+    @Override
+    public Stream<Card> streamAll() {
+        call("streamAll");
+        return cards.stream();
+    }
+
     @Override
     public List<Card> findAll() {
         call("findAll");
@@ -149,7 +183,12 @@ public class CardRepositoryTest implements CardRepository {
 
     @Override
     public <S extends Card> List<S> saveAll(Iterable<S> entities) {
-        throw new NotImplementedException();
+        call("saveAll");
+        List<S> saved = new ArrayList<>();
+        for (S entity : entities) {
+            saved.add(save(entity));
+        }
+        return saved;
     }
 
     @Override
@@ -1,5 +1,6 @@
 package server.database;
 
+import commons.Status;
 import commons.TaskList;
 import org.apache.commons.lang3.NotImplementedException;
 import org.springframework.data.domain.Example;
@@ -9,11 +10,13 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.repository.query.FluentQuery;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -39,7 +42,42 @@ public class ListRepositoryTest implements ListRepository {
 
     @Override
     public List<TaskList> findNotDeletedListsByBoardId(Long id) {
-        return null;
+        call("findNotDeletedListsByBoardId");
+        return notDeleted(id).sorted(Comparator.comparing(l -> l.index))
+            .collect(Collectors.toUnmodifiableList());
+    }
+
+    @Override
+    public long countNotDeletedListsByBoardId(Long id) {
+        call("countNotDeletedListsByBoardId");
+        return notDeleted(id).count();
+    }
+
+    @Override
+    public int shiftIndexes(Long id, int from, int to, int delta) {
+        call("shiftIndexes");
+        List<TaskList> shifted = notDeleted(id).filter(l -> l.index >= from && l.index <= to)
+            .collect(Collectors.toList());
+        shifted.forEach(l -> l.index += delta);
+        return shifted.size();
+    }
+
+    private Stream<TaskList> notDeleted(Long boardId) {
+        return lists.stream().filter(l -> l.board != null && l.board.id.equals(boardId)
+            && l.status != Status.DELETED);
+    }
+
+    @Override
+    public List<TaskList> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable) {
+        call("findByIdGreaterThanOrderByIdAsc");
+        return lists.stream().filter(e -> e.id > id).sorted(Comparator.comparing(e -> e.id))
+            .limit(pageable.getPageSize()).collect(Collectors.toList());
+    }
+
+    @Override
+    public Stream<TaskList> streamAll() {
+        call("streamAll");
+        return lists.stream();
     }
 
     @Override
@@ -208,4 +246,4 @@ public class ListRepositoryTest implements ListRepository {
                                             Function<FluentQuery.FetchableFluentQuery<S>, R> queryFunction) {
         throw new NotImplementedException();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,84 @@
+package server.database;
+
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.jpa.repository.Query;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs EXPLAIN for every native query of the repositories against the schema generated from
+ * the entities and fails if H2 plans a full table scan for any of them.
+ */
+@DataJpaTest
+public class QueryPlanTest {
+    private static final List<Class<?>> REPOSITORIES = List.of(ArchiveRepository.class,
+        BoardRepository.class, CardRepository.class, ChangeLogRepository.class,
+        ListRepository.class, SubtaskRepository.class, TagRepository.class);
+    private static final Pattern PARAMETER = Pattern.compile("\\?(\\d+)");
+
+    @Autowired
+    private DataSource dataSource;
+
+    @TestFactory
+    Stream<DynamicTest> nativeQueriesUseIndexes() {
+        return REPOSITORIES.stream()
+            .flatMap(repo -> Arrays.stream(repo.getDeclaredMethods()))
+            .filter(m -> m.isAnnotationPresent(Query.class)
+                && m.getAnnotation(Query.class).nativeQuery())
+            .map(m -> DynamicTest.dynamicTest(
+                m.getDeclaringClass().getSimpleName() + "." + m.getName(),
+                () -> assertNoTableScan(m)));
+    }
+
+    private void assertNoTableScan(Method method) throws SQLException {
+        String plan = explain(withLiterals(method));
+        assertFalse(plan.contains("tableScan"), method.getName() + " scans a table:\n" + plan);
+    }
+
+    private String explain(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("EXPLAIN " + sql)) {
+            StringBuilder plan = new StringBuilder();
+            while (rs.next()) {
+                plan.append(rs.getString(1)).append('\n');
+            }
+            return plan.toString();
+        }
+    }
+
+    /**
+     * Replaces the positional parameters of the query with a literal of the parameter type,
+     * so the statement can be explained without binding values
+     */
+    private static String withLiterals(Method method) {
+        String sql = method.getAnnotation(Query.class).value().trim();
+        if (sql.endsWith(";")) {
+            sql = sql.substring(0, sql.length() - 1);
+        }
+        Class<?>[] types = method.getParameterTypes();
+        Matcher matcher = PARAMETER.matcher(sql);
+        StringBuilder res = new StringBuilder();
+        while (matcher.find()) {
+            Class<?> type = types[Integer.parseInt(matcher.group(1)) - 1];
+            matcher.appendReplacement(res, type.equals(String.class) ? "'ACTIVE'" : "1");
+        }
+        matcher.appendTail(res);
+        return res.toString();
+    }
+}
@@ -0,0 +1,112 @@
+package server.database;
+
+import commons.Board;
+import commons.Card;
+import commons.Status;
+import commons.Subtask;
+import commons.TaskList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import server.service.ListService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the native statements shifting the indexes of lists and subtasks against H2
+ */
+@DataJpaTest
+class ShiftIndexesTest {
+    @Autowired
+    private BoardRepository boards;
+    @Autowired
+    private ListRepository lists;
+    @Autowired
+    private CardRepository cards;
+    @Autowired
+    private SubtaskRepository subtasks;
+
+    private Board board;
+    private Card card;
+
+    @BeforeEach
+    void setUp() {
+        board = boards.save(new Board("board", "password"));
+        TaskList list = lists.save(list("list", 0));
+        card = cards.save(new Card("card", "-", list));
+    }
+
+    private TaskList list(String name, int index) {
+        TaskList res = new TaskList(name, board);
+        res.index = index;
+        res.status = Status.ACTIVE;
+        return res;
+    }
+
+    private Subtask subtask(String title, int index) {
+        Subtask res = new Subtask(title, card);
+        res.index = index;
+        return subtasks.save(res);
+    }
+
+    @Test
+    void listsInTheRangeAreShifted() {
+        List<TaskList> saved = new ArrayList<>();
+        for (int i = 1; i <= 4; i++) saved.add(lists.save(list("list " + i, i)));
+        TaskList deleted = list("deleted", 2);
+        deleted.status = Status.DELETED;
+        lists.save(deleted);
+
+        assertEquals(2, lists.shiftIndexes(board.id, 2, 3, -1));
+
+        assertEquals(List.of(0, 1, 1, 2, 4), lists.findByBoard_Id(board.id).stream()
+            .filter(l -> l.status == Status.ACTIVE).map(l -> l.index).sorted()
+            .collect(Collectors.toList()));
+        // the loaded lists were cleared, so they are read again with their new index
+        assertEquals(1, lists.findById(saved.get(1).id).orElseThrow().index);
+        assertEquals(2, lists.findById(deleted.id).orElseThrow().index);
+    }
+
+    @Test
+    void movedAndRemovedListsKeepTheirBoard() {
+        ListService service = new ListService(lists, boards);
+        TaskList second = lists.save(list("second", 1));
+        TaskList move = new TaskList();
+        move.id = second.id;
+        move.index = 0;
+
+        // the public fields of a board proxy left over by the shift would read null
+        assertEquals("board", service.editList(move).board.name);
+        assertEquals("board", service.removeListFromBoard(second.id).board.name);
+    }
+
+    @Test
+    void subtasksUpToTheEndAreShifted() {
+        Subtask first = subtask("first", 0);
+        Subtask second = subtask("second", 1);
+        Subtask third = subtask("third", 2);
+
+        assertEquals(2, subtasks.shiftIndexes(card.id, 1, Integer.MAX_VALUE, 1));
+
+        assertEquals(0, subtasks.findById(first.id).orElseThrow().index);
+        assertEquals(2, subtasks.findById(second.id).orElseThrow().index);
+        assertEquals(3, subtasks.findById(third.id).orElseThrow().index);
+    }
+
+    @Test
+    void pendingChangesAreWrittenBeforeTheShift() {
+        Subtask first = subtask("first", 0);
+        Subtask second = subtask("second", 1);
+        second.index = 5;
+
+        assertEquals(1, subtasks.shiftIndexes(card.id, 1, Integer.MAX_VALUE, 1));
+
+        assertEquals(0, subtasks.findById(first.id).orElseThrow().index);
+        assertEquals(6, subtasks.findById(second.id).orElseThrow().index);
+    }
+}
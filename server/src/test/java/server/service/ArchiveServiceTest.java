@@ -0,0 +1,217 @@
+package server.service;
+
+import commons.Board;
+import commons.Card;
+import commons.Status;
+import commons.Subtask;
+import commons.Tag;
+import commons.TaskList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import server.database.ArchiveRepository;
+import server.database.BoardRepository;
+import server.database.CardRepository;
+import server.database.ListRepository;
+import server.database.SubtaskRepository;
+import server.database.TagRepository;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class ArchiveServiceTest {
+    @Autowired
+    private ArchiveRepository archive;
+    @Autowired
+    private BoardRepository boards;
+    @Autowired
+    private ListRepository lists;
+    @Autowired
+    private CardRepository cards;
+    @Autowired
+    private SubtaskRepository subtasks;
+    @Autowired
+    private TagRepository tags;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ArchiveService sut;
+    private Board board;
+    private TaskList list;
+    private Card card;
+    private Tag tag;
+    private Subtask subtask;
+
+    /**
+     * A card with a tag and a subtask, everything is archived right away once deleted
+     */
+    @BeforeEach
+    void setUp() {
+        sut = new ArchiveService(archive, transactionManager, 0, 2);
+        board = boards.save(new Board("board", "password"));
+        list = lists.save(new TaskList("list", board));
+        tag = tag("tag");
+        card = new Card("card", "-", list);
+        card.tags.add(tag);
+        card = cards.save(card);
+        subtask = subtasks.save(new Subtask("subtask", card));
+    }
+
+    private Tag tag(String name) {
+        Tag res = new Tag(name, "#FFFFFF");
+        res.board = board;
+        res.status = Status.ACTIVE;
+        return tags.save(res);
+    }
+
+    /**
+     * Deletes a card a long time ago
+     */
+    private void delete(Card c) {
+        c.status = Status.DELETED;
+        c.deletedAt = 1L;
+    }
+
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void deletedCardIsArchivedWithItsSubtasksAndTags() {
+        delete(card);
+        flushAndClear();
+
+        assertEquals(1, sut.compact());
+        flushAndClear();
+
+        assertTrue(cards.findById(card.id).isEmpty());
+        assertTrue(subtasks.findById(subtask.id).isEmpty());
+        assertTrue(archive.findById(card.id).isPresent());
+        assertTrue(tags.findById(tag.id).isPresent());
+    }
+
+    @Test
+    void restoredCardGetsBackItsSubtasksAndTags() {
+        delete(card);
+        flushAndClear();
+        sut.compact();
+
+        assertTrue(sut.restoreCard(card.id));
+        flushAndClear();
+
+        Card restored = cards.findById(card.id).orElseThrow();
+        assertEquals(Status.DELETED, restored.status);
+        assertTrue(restored.deletedAt > 1L); // kept for another retention
+        assertEquals(Set.of(tag), restored.tags);
+        assertTrue(subtasks.findById(subtask.id).isPresent());
+        assertTrue(archive.findById(card.id).isEmpty());
+        assertFalse(sut.restoreCard(card.id));
+    }
+
+    @Test
+    void recentlyDeletedRowsAreKept() {
+        ArchiveService kept = new ArchiveService(archive, transactionManager, 1, 2);
+        try {
+            card.status = Status.DELETED;
+            flushAndClear();
+
+            assertEquals(0, kept.compact());
+            assertTrue(cards.findById(card.id).isPresent());
+        } finally {
+            kept.shutdown();
+        }
+    }
+
+    @Test
+    void rowsDeletedBeforeTheirTimeWasKeptAreStampedFirst() {
+        delete(card);
+        flushAndClear();
+        entityManager.createNativeQuery("UPDATE Card SET deleted_at = NULL").executeUpdate();
+
+        assertEquals(0, sut.compact());
+        flushAndClear();
+
+        assertNotNull(cards.findById(card.id).orElseThrow().deletedAt);
+    }
+
+    @Test
+    void cardRestoredAfterItWasFoundIsNotArchived() {
+        delete(card);
+        flushAndClear();
+        long before = System.currentTimeMillis();
+        List<Long> found = List.of(archive.findCardIdsDeletedBefore(before, 2).get(0)
+            .longValue());
+        entityManager.createNativeQuery("UPDATE Card SET status = 'ACTIVE', deleted_at = NULL")
+            .executeUpdate();
+
+        assertEquals(0, archive.archiveSubtasksOfCards(found, before, before));
+        assertEquals(0, archive.deleteSubtasksOfCards(found, before));
+        assertEquals(0, archive.archiveCards(found, before, before));
+        assertEquals(0, archive.deleteCards(found, before));
+        flushAndClear();
+        assertTrue(cards.findById(card.id).isPresent());
+        assertTrue(subtasks.findById(subtask.id).isPresent());
+        assertTrue(archive.findById(card.id).isEmpty());
+    }
+
+    @Test
+    void deletedListIsArchivedWithItsCards() {
+        list.status = Status.DELETED;
+        list.deletedAt = 1L;
+        flushAndClear();
+
+        assertEquals(1, sut.compact());
+        flushAndClear();
+        assertTrue(lists.findById(list.id).isEmpty());
+        assertTrue(cards.findById(card.id).isEmpty());
+        assertFalse(sut.restoreCard(card.id)); // its list is still archived
+
+        assertTrue(sut.restoreList(list.id));
+        flushAndClear();
+        Card restored = cards.findById(card.id).orElseThrow();
+        assertEquals(Status.ACTIVE, restored.status);
+        assertNull(restored.deletedAt);
+        assertTrue(subtasks.findById(subtask.id).isPresent());
+    }
+
+    @Test
+    void tagsAreArchivedInBatches() {
+        for (Tag t : new Tag[] {tag, tag("second"), tag("third")}) {
+            t.status = Status.DELETED;
+            t.deletedAt = 1L;
+        }
+        flushAndClear();
+
+        assertEquals(3, sut.compact());
+        flushAndClear();
+        assertTrue(cards.findById(card.id).orElseThrow().tags.isEmpty());
+
+        assertTrue(sut.restoreTag(tag.id));
+        flushAndClear();
+        assertEquals(Set.of(tag), cards.findById(card.id).orElseThrow().tags);
+    }
+
+    @Test
+    void deletedTagIsRestoredNextToATagWithItsName() {
+        tag.status = Status.DELETED;
+        tag.deletedAt = 1L;
+        flushAndClear();
+        sut.compact();
+        Tag reused = tag("tag");
+        flushAndClear();
+
+        assertTrue(sut.restoreTag(tag.id));
+        flushAndClear();
+        assertEquals(Status.DELETED, tags.findById(tag.id).orElseThrow().status);
+        assertEquals(Status.ACTIVE, tags.findById(reused.id).orElseThrow().status);
+    }
+}
@@ -0,0 +1,108 @@
+package server.service;
+
+import commons.Board;
+import commons.TaskList;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import server.database.CardRepositoryTest;
+import server.database.ListRepository;
+import server.database.ListRepositoryTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoardLocksTest {
+    private ListRepository lists;
+    private SimpleMeterRegistry registry;
+    private BoardLocks sut;
+    private int counter;
+
+    @BeforeEach
+    void setup() {
+        lists = new ListRepositoryTest();
+        registry = new SimpleMeterRegistry();
+        sut = new BoardLocks(new BoardResolver(lists, new CardRepositoryTest()), registry);
+    }
+
+    @Test
+    void nestedChangesOfTheSameBoard() {
+        assertEquals(5, sut.inBoard(1L, () -> sut.inBoard(1L, () -> 5)));
+    }
+
+    @Test
+    void changesOfOneBoardRunOneAfterTheOther() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            futures.add(pool.submit(() -> sut.inBoard(1L, () -> {
+                int read = counter;
+                Thread.yield();
+                counter = read + 1;
+                return counter;
+            })));
+        }
+        for (Future<?> f : futures) {
+            f.get(10, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+        assertEquals(400, counter);
+        assertEquals(400, registry.get("board.commands.wait").timer().count());
+        assertEquals(0, registry.get("board.commands.queued").gauge().value());
+        assertEquals(0, sut.locked());
+    }
+
+    @Test
+    void locksAreDroppedOnceIdle() {
+        assertEquals(1, sut.inBoard(1L, () -> sut.locked()));
+        assertEquals(2, sut.inBoard(1L, () -> sut.inBoard(2L, () -> sut.locked())));
+        assertEquals(0, sut.locked());
+        assertThrows(IllegalStateException.class, () -> sut.inBoard(1L, () -> {
+            throw new IllegalStateException();
+        }));
+        assertEquals(0, sut.locked());
+    }
+
+    @Test
+    void changesOfOtherBoardsDoNotWait() throws Exception {
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = new Thread(() -> sut.inBoard(1L, () -> {
+            holding.countDown();
+            try {
+                return release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                return false;
+            }
+        }));
+        holder.start();
+        assertTrue(holding.await(10, TimeUnit.SECONDS));
+
+        assertEquals(2L, sut.inBoard(2L, () -> 2L));
+        release.countDown();
+        holder.join();
+    }
+
+    @Test
+    void changeOfAListUsesItsBoard() {
+        Board board = new Board();
+        board.id = 7L;
+        TaskList list = lists.save(new TaskList("List", board));
+
+        assertTrue(sut.inBoardOfList(list.id, () -> sut.queued() == 0));
+        assertEquals(7L, new BoardResolver(lists, new CardRepositoryTest()).boardOfList(list.id));
+    }
+
+    @Test
+    void unknownBoardRunsRightAway() {
+        assertEquals("x", sut.inBoardOfList(42L, () -> "x"));
+        assertEquals("y", sut.inBoard(null, () -> "y"));
+    }
+}
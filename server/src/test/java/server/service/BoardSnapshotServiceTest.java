@@ -0,0 +1,153 @@
+package server.service;
+
+import commons.Board;
+import commons.BoardSnapshot;
+import commons.Card;
+import commons.CardDto;
+import commons.Status;
+import commons.Tag;
+import commons.TagDto;
+import commons.TaskList;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import server.database.BoardRepository;
+import server.database.CardRepository;
+import server.database.ListRepository;
+import server.database.TagRepository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Assembles snapshots from the repositories running against H2
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class BoardSnapshotServiceTest {
+    @Autowired
+    private BoardRepository boards;
+    @Autowired
+    private ListRepository lists;
+    @Autowired
+    private CardRepository cards;
+    @Autowired
+    private TagRepository tags;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private BoardSnapshotService sut;
+    private Board board;
+    private Tag active;
+    private Tag deleted;
+
+    /**
+     * A board with two lists and a deleted one, an active and a deleted tag, active and
+     * deleted cards, and another board which must not show up
+     */
+    @BeforeEach
+    void setUp() {
+        ChangeLog changes = Mockito.mock(ChangeLog.class);
+        Mockito.when(changes.current(Mockito.anyLong())).thenReturn(7L);
+        sut = new BoardSnapshotService(boards, lists, cards, tags, changes);
+
+        board = boards.save(new Board("board", "password"));
+        active = tag(board, "active", Status.ACTIVE);
+        deleted = tag(board, "deleted", Status.DELETED);
+        TaskList first = list(board, "first", 0, Status.ACTIVE);
+        TaskList second = list(board, "second", 1, Status.ACTIVE);
+        TaskList gone = list(board, "gone", -1, Status.DELETED);
+        card(first, "a", 0, Status.ACTIVE, active, deleted);
+        card(first, "removed", 1, Status.DELETED, active);
+        card(first, "b", 2, Status.ACTIVE);
+        card(second, "c", 0, Status.ACTIVE, active);
+        card(gone, "in a deleted list", 0, Status.ACTIVE);
+
+        Board other = boards.save(new Board("other", "password"));
+        card(list(other, "other", 0, Status.ACTIVE), "other", 0, Status.ACTIVE,
+            tag(other, "other", Status.ACTIVE));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private Tag tag(Board b, String name, Status status) {
+        Tag res = new Tag(name, "#FFFFFF");
+        res.board = b;
+        res.status = status;
+        return tags.save(res);
+    }
+
+    private TaskList list(Board b, String name, int index, Status status) {
+        TaskList res = new TaskList(name, b);
+        res.index = index;
+        res.status = status;
+        return lists.save(res);
+    }
+
+    private void card(TaskList list, String title, int index, Status status, Tag... assigned) {
+        Card res = new Card(title, "-", list);
+        res.index = index;
+        res.status = status;
+        res.tags.addAll(List.of(assigned));
+        cards.save(res);
+    }
+
+    @Test
+    void unknownBoardHasNoSnapshot() {
+        assertNull(sut.getSnapshot(board.id + 100));
+    }
+
+    @Test
+    void deletedListsCardsAndTagsAreLeftOut() {
+        BoardSnapshot snapshot = sut.getSnapshot(board.id);
+
+        assertEquals(board.id, snapshot.board.id);
+        assertEquals(7L, snapshot.seq);
+        assertEquals(List.of("first", "second"), snapshot.lists.stream().map(l -> l.name)
+            .collect(Collectors.toList()));
+        assertEquals(List.of(active.id), snapshot.tags.stream().map(t -> t.id)
+            .collect(Collectors.toList()));
+        assertEquals(List.of("a", "b", "c"), snapshot.cards.stream().map(c -> c.title)
+            .collect(Collectors.toList()));
+    }
+
+    @Test
+    void cardsGetTheirActiveTagsAndPositions() {
+        Map<String, CardDto> byTitle = sut.getSnapshot(board.id).cards.stream()
+            .collect(Collectors.toMap(c -> c.title, c -> c));
+
+        assertEquals(Set.of(active.id), tagIds(byTitle.get("a")));
+        assertEquals(Set.of(), tagIds(byTitle.get("b")));
+        assertEquals(Set.of(active.id), tagIds(byTitle.get("c")));
+        assertEquals(0, byTitle.get("a").index);
+        assertEquals(1, byTitle.get("b").index); // the deleted card between them is skipped
+        assertEquals(0, byTitle.get("c").index);
+    }
+
+    @Test
+    void snapshotIsAssembledWithAFixedNumberOfQueries() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        sut.getSnapshot(board.id);
+
+        // the board, then its lists, tags, tag assignments and cards
+        assertEquals(5, statistics.getPrepareStatementCount());
+    }
+
+    private static Set<Long> tagIds(CardDto card) {
+        return card.tags.stream().map((TagDto t) -> t.id).collect(Collectors.toSet());
+    }
+}
@@ -1,6 +1,8 @@
 package server.service;
 
+import commons.BoardEvent;
 import commons.Card;
+import commons.CardMutation;
 import commons.Status;
 import commons.TaskList;
 import org.junit.jupiter.api.Assertions;
@@ -15,6 +17,7 @@ import server.database.ListRepositoryTest;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -77,6 +80,42 @@ class CardServiceTest {
         assertEquals(null, cardService.edit(info));
     }
 
+    @Test
+    void editAndPlaceAppliesBothChanges() {
+        Card info = new Card("New title", null, null);
+        info.id = 1L;
+        info.taskList = listRepo.getById(1L);
+        info.status = Status.ACTIVE;
+        info.index = 0;
+
+        BoardEvent event = cardService.editAndPlace(info);
+        assertEquals(BoardEvent.Operation.RELOCATE, event.operation);
+        assertEquals(0L, event.parentId);
+        assertEquals("New title", event.card.title);
+        assertEquals(1L, event.card.taskListId);
+        assertEquals(0, event.card.index);
+        assertEquals("-", cardService.getCardById(1L).get(0).description);
+
+        List<Card> cards = cardService.getAllCardsByTaskListAndStatus(1L, Status.ACTIVE);
+        assertEquals(List.of(1L, 3L), cards.stream().map(c -> c.id).collect(Collectors.toList()));
+        assertEquals("New title", cards.get(0).title);
+    }
+
+    @Test
+    void editAndPlaceChangesNothingIfThePlacementIsInvalid() {
+        Card info = new Card("New title", null, null);
+        info.id = 1L;
+        info.status = Status.DELETED; // contradicts the index
+        info.index = 0;
+
+        assertNull(cardService.editAndPlace(info));
+        Card card = cardService.getCardById(1L).get(0);
+        assertEquals("Card 2", card.title);
+        assertEquals(Status.ACTIVE, card.status);
+        info.id = 5L;
+        assertNull(cardService.editAndPlace(info));
+    }
+
     @Test
     void getAllActiveCardsByTaskList() {
         assertEquals(3, cardService.getAllCardsByTaskListAndStatus(0L, Status.ACTIVE).size());
@@ -149,6 +188,84 @@ class CardServiceTest {
         assertEquals(1, cards2.get(1).index);
     }
 
+    @Test
+    void moveWithoutStatusKeepsTheStatus() {
+        Card info = new Card(null, null, null);
+        info.id = 1L;
+        info.taskList = listRepo.getById(1L);
+        info.status = null;
+        info.index = 0;
+
+        assertEquals(Status.ACTIVE, cardService.assignCardToList(info).status);
+
+        List<Card> cards2 = cardService.getAllCardsByTaskListAndStatus(1L, Status.ACTIVE);
+        assertEquals(2, cards2.size());
+        assertEquals(1L, cards2.get(0).id);
+        assertEquals(3L, cards2.get(1).id);
+    }
+
+    @Test
+    void moveWithoutIndexGoesToTheEndOfItsList() {
+        Card info = new Card(null, null, null);
+        info.id = 0L;
+        info.status = Status.ACTIVE;
+
+        assertEquals(2, cardService.assignCardToList(info).index);
+
+        List<Card> cards1 = cardService.getAllCardsByTaskListAndStatus(0L, Status.ACTIVE);
+        assertEquals(3, cards1.size());
+        assertEquals(1L, cards1.get(0).id);
+        assertEquals(2L, cards1.get(1).id);
+        assertEquals(0L, cards1.get(2).id);
+    }
+
+    @Test
+    void batchMovesAndDeletesCardsOfSeveralLists() {
+        List<BoardEvent> events = cardService.applyBatch(List.of(
+            CardMutation.move(2L, 1L, 0),
+            CardMutation.move(0L, 1L, null),
+            CardMutation.status(3L, Status.DELETED),
+            CardMutation.recolor(1L, "#00FF00")));
+
+        assertEquals(4, events.size());
+        assertEquals(BoardEvent.Operation.RELOCATE, events.get(0).operation);
+        assertEquals(0L, events.get(0).parentId);
+        assertEquals(BoardEvent.Operation.DELETE, events.get(2).operation);
+        assertEquals(BoardEvent.Operation.RECOLOR, events.get(3).operation);
+        assertEquals("#00FF00", events.get(3).card.color);
+
+        List<Card> cards1 = cardService.getAllCardsByTaskListAndStatus(0L, Status.ACTIVE);
+        assertEquals(List.of(1L), ids(cards1));
+        List<Card> cards2 = cardService.getAllCardsByTaskListAndStatus(1L, Status.ACTIVE);
+        assertEquals(List.of(2L, 0L), ids(cards2));
+        assertEquals(1, cards2.get(1).index);
+    }
+
+    @Test
+    void batchKeepsTheOrderOfCardsPlacedNextToEachOther() {
+        cardService.applyBatch(List.of(
+            CardMutation.move(2L, null, 0),
+            CardMutation.move(1L, null, 1)));
+
+        List<Card> cards = cardService.getAllCardsByTaskListAndStatus(0L, Status.ACTIVE);
+        assertEquals(List.of(2L, 1L, 0L), ids(cards));
+    }
+
+    @Test
+    void invalidBatchChangesNothing() {
+        assertNull(cardService.applyBatch(List.of(
+            CardMutation.recolor(1L, "#00FF00"),
+            CardMutation.recolor(7L, "#00FF00"))));
+        assertNull(cardService.applyBatch(List.of(CardMutation.move(1L, 5L, 0))));
+        assertNull(cardService.applyBatch(List.of()));
+
+        assertNotEquals("#00FF00", cardService.getCardById(1L).get(0).color);
+    }
+
+    private static List<Long> ids(List<Card> cards) {
+        return cards.stream().map(c -> c.id).collect(Collectors.toList());
+    }
+
     @Test
     void addTagToCard() {
     }
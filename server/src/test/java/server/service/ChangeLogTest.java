@@ -0,0 +1,110 @@
+package server.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import commons.BoardChanges;
+import commons.BoardEvent;
+import commons.ChangeLogEntry;
+import commons.TaskList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import server.database.ChangeLogRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+
+class ChangeLogTest {
+    private final List<ChangeLogEntry> saved = new ArrayList<>();
+    private ChangeLogRepository repo;
+    private ChangeLog sut;
+
+    @BeforeEach
+    void setUp() {
+        repo = Mockito.mock(ChangeLogRepository.class);
+        Mockito.when(repo.save(any())).thenAnswer(inv -> {
+            saved.add(inv.getArgument(0));
+            return inv.getArgument(0);
+        });
+        Mockito.when(repo.findByBoardIdAfter(anyLong(), anyLong(), anyInt())).thenAnswer(inv ->
+            entries(inv.getArgument(0)).stream().filter(e -> e.seq > inv.<Long>getArgument(1))
+                .limit(inv.<Integer>getArgument(2)).collect(Collectors.toList()));
+        Mockito.when(repo.findFirstSeq(anyLong())).thenAnswer(inv ->
+            entries(inv.getArgument(0)).stream().map(e -> e.seq).min(Long::compare).orElse(null));
+        Mockito.when(repo.findLastSeq(anyLong())).thenAnswer(inv ->
+            entries(inv.getArgument(0)).stream().map(e -> e.seq).max(Long::compare).orElse(null));
+        Mockito.when(repo.deleteCreatedBefore(anyLong())).thenAnswer(inv -> {
+            int before = saved.size();
+            saved.removeIf(e -> e.createdAt < inv.<Long>getArgument(0));
+            return before - saved.size();
+        });
+        sut = new ChangeLog(repo, new ObjectMapper(), 0);
+    }
+
+    private List<ChangeLogEntry> entries(Long boardId) {
+        return saved.stream().filter(e -> e.boardId.equals(boardId)).collect(Collectors.toList());
+    }
+
+    private static BoardEvent listEvent(long id, String name) {
+        TaskList list = new TaskList(name, null);
+        list.id = id;
+        return BoardEvent.ofList(BoardEvent.Operation.EDIT, list);
+    }
+
+    @Test
+    void eventsAreNumberedPerBoard() {
+        assertEquals(1, sut.append(1L, listEvent(10, "a")));
+        assertEquals(2, sut.append(1L, listEvent(10, "b")));
+        assertEquals(1, sut.append(2L, listEvent(20, "c")));
+
+        assertEquals(2, sut.current(1L));
+        assertEquals(0, sut.current(3L));
+    }
+
+    @Test
+    void numberingContinuesAfterARestart() {
+        sut.append(1L, listEvent(10, "a"));
+
+        ChangeLog restarted = new ChangeLog(repo, new ObjectMapper(), 0);
+        BoardEvent event = listEvent(10, "b");
+        restarted.append(1L, event);
+
+        assertEquals(2, event.seq);
+    }
+
+    @Test
+    void returnsTheEventsAfterSince() {
+        sut.append(1L, listEvent(10, "a"));
+        sut.append(1L, listEvent(10, "b"));
+        sut.append(1L, listEvent(10, "c"));
+
+        BoardChanges changes = sut.since(1L, 1, null);
+        assertEquals(3, changes.seq);
+        assertFalse(changes.truncated);
+        assertEquals(List.of("b", "c"),
+            changes.events.stream().map(e -> e.list.name).collect(Collectors.toList()));
+        assertEquals(List.of(2L, 3L),
+            changes.events.stream().map(e -> e.seq).collect(Collectors.toList()));
+        assertEquals(1, sut.since(1L, 0, 1).events.size());
+    }
+
+    @Test
+    void compactedEventsTruncate() {
+        sut.append(1L, listEvent(10, "a"));
+        sut.append(1L, listEvent(10, "b"));
+        saved.get(0).createdAt = 0;
+        ChangeLog compacting = new ChangeLog(repo, new ObjectMapper(), 1);
+
+        assertEquals(1, compacting.compact());
+        compacting.shutdown();
+
+        assertTrue(sut.since(1L, 0, null).truncated);
+        assertFalse(sut.since(1L, 1, null).truncated);
+        assertTrue(sut.since(1L, 5, null).truncated);
+    }
+}
@@ -0,0 +1,121 @@
+package server.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BinaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EditCoalescerTest {
+    private final SimpMessagingTemplate template = Mockito.mock(SimpMessagingTemplate.class);
+    private static final BinaryOperator<String> LAST = (pending, later) -> later;
+    private EditCoalescer sut;
+
+    @AfterEach
+    void shutdown() {
+        sut.shutdown();
+    }
+
+    @Test
+    void disabledAppliesRightAway() {
+        sut = new EditCoalescer(0, template);
+        List<String> applied = new ArrayList<>();
+
+        assertFalse(sut.isEnabled());
+        assertEquals("A!", sut.coalesce("/1/cards/edit", "A", LAST, s -> {
+            applied.add(s);
+            return s + "!";
+        }));
+        assertEquals(List.of("A"), applied);
+        Mockito.verifyNoInteractions(template);
+    }
+
+    @Test
+    void editsInsideTheWindowAreMerged() throws InterruptedException {
+        sut = new EditCoalescer(200, template);
+        List<String> applied = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(1);
+
+        for (int i = 0; i < 10; i++) {
+            assertNull(sut.coalesce("/1/cards/edit", "title " + i, LAST, s -> {
+                applied.add(s);
+                done.countDown();
+                return s;
+            }));
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        Thread.sleep(100);
+        assertEquals(List.of("title 9"), applied);
+        Mockito.verify(template).convertAndSend("/topic/1/cards/edit", (Object) "title 9");
+    }
+
+    @Test
+    void mergedEditBroadcastsTheConvertedResult() throws InterruptedException {
+        sut = new EditCoalescer(20, template);
+        CountDownLatch done = new CountDownLatch(1);
+
+        sut.coalesce("/1/cards/edit", "title", LAST, s -> {
+            done.countDown();
+            return s.length();
+        });
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        Thread.sleep(50);
+        Mockito.verify(template).convertAndSend("/topic/1/cards/edit", (Object) 5);
+    }
+
+    @Test
+    void entitiesAreMergedSeparately() throws InterruptedException {
+        sut = new EditCoalescer(50, template);
+        List<String> applied = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(2);
+
+        sut.submit("/1/cards/edit", "a1", LAST, s -> {
+            applied.add(s);
+            done.countDown();
+        });
+        sut.submit("/2/cards/edit", "b1", LAST, s -> {
+            applied.add(s);
+            done.countDown();
+        });
+        sut.submit("/1/cards/edit", "a2", LAST, s -> {
+            applied.add(s);
+            done.countDown();
+        });
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(2, applied.size());
+        assertTrue(applied.containsAll(List.of("a2", "b1")));
+    }
+
+    @Test
+    void invalidEditIsNotBroadcast() throws InterruptedException {
+        sut = new EditCoalescer(20, template);
+        CountDownLatch done = new CountDownLatch(1);
+
+        sut.coalesce("/1/lists/edit/title", "x", LAST, s -> {
+            done.countDown();
+            return null;
+        });
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        Thread.sleep(50);
+        Mockito.verifyNoInteractions(template);
+    }
+
+    @Test
+    void latestKeepsTheEarlierValueIfTheLaterIsNotSet() {
+        assertEquals("b", EditCoalescer.latest("b", "a"));
+        assertEquals("a", EditCoalescer.latest(null, "a"));
+        assertNull(EditCoalescer.latest(null, null));
+    }
+}
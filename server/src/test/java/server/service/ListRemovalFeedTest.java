@@ -0,0 +1,135 @@
+package server.service;
+
+import commons.ListRemovals;
+import commons.TaskList;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ListRemovalFeedTest {
+    private final ListRemovalFeed sut = new ListRemovalFeed();
+
+    private static TaskList list(long id) {
+        TaskList tl = new TaskList();
+        tl.id = id;
+        return tl;
+    }
+
+    private static List<Long> ids(ListRemovals removals) {
+        return removals.lists.stream().map(l -> l.id).collect(Collectors.toList());
+    }
+
+    @Test
+    void startsAtTheCurrentPosition() {
+        sut.publish(1L, list(10));
+        sut.publish(1L, list(11));
+
+        ListRemovals current = sut.current(1L);
+        assertEquals(2, current.seq);
+        assertTrue(current.lists.isEmpty());
+        assertEquals(0, sut.current(2L).seq);
+    }
+
+    @Test
+    void returnsEverythingAfterSince() {
+        sut.publish(1L, list(10));
+        sut.publish(1L, list(11));
+        sut.publish(1L, list(12));
+
+        ListRemovals res = sut.since(1L, 1);
+        assertEquals(3, res.seq);
+        assertEquals(List.of(11L, 12L), ids(res));
+        assertFalse(res.truncated);
+    }
+
+    @Test
+    void removalBetweenPollsIsNotLost() {
+        sut.publish(1L, list(10));
+        List<ListRemovals> received = new ArrayList<>();
+
+        sut.await(1L, 0, received::add);
+
+        assertEquals(1, received.size());
+        assertEquals(List.of(10L), ids(received.get(0)));
+    }
+
+    @Test
+    void onlyPollersOfTheBoardAreCompleted() {
+        List<ListRemovals> board1 = new ArrayList<>();
+        List<ListRemovals> board2 = new ArrayList<>();
+        sut.await(1L, 0, board1::add);
+        sut.await(2L, 0, board2::add);
+
+        sut.publish(1L, list(10));
+
+        assertEquals(1, board1.size());
+        assertEquals(List.of(10L), ids(board1.get(0)));
+        assertTrue(board2.isEmpty());
+    }
+
+    @Test
+    void cancelledPollIsNotCompleted() {
+        List<ListRemovals> received = new ArrayList<>();
+        sut.await(1L, 0, received::add).run();
+
+        sut.publish(1L, list(10));
+
+        assertTrue(received.isEmpty());
+    }
+
+    @Test
+    void oldRemovalsAreDropped() {
+        for (int i = 0; i < ListRemovalFeed.CAPACITY + 10; i++) {
+            sut.publish(1L, list(i));
+        }
+
+        ListRemovals res = sut.since(1L, 0);
+        assertTrue(res.truncated);
+        assertEquals(ListRemovalFeed.CAPACITY, res.lists.size());
+        assertFalse(sut.since(1L, 10).truncated);
+    }
+
+    @Test
+    void sinceAheadOfTheBoardIsTruncated() {
+        sut.publish(1L, list(10));
+
+        assertTrue(sut.since(1L, 5).truncated);
+    }
+
+    @Test
+    void unknownBoardsAreNotKept() {
+        assertEquals(0, sut.current(2L).seq);
+        assertFalse(sut.since(2L, 0).truncated);
+        assertTrue(sut.since(2L, 3).truncated);
+
+        assertEquals(0, sut.boards());
+    }
+
+    @Test
+    void cancelledPollOfABoardWithoutRemovalsIsForgotten() {
+        Runnable cancel = sut.await(2L, 0, r -> { });
+        assertEquals(1, sut.boards());
+
+        cancel.run();
+
+        assertEquals(0, sut.boards());
+    }
+
+    @Test
+    void feedsWithoutWaitersAreDroppedOnceIdle() {
+        ListRemovalFeed idle = new ListRemovalFeed(0);
+        List<ListRemovals> received = new ArrayList<>();
+        idle.publish(1L, list(10));
+        idle.await(2L, 0, received::add);
+
+        idle.publish(3L, list(11));
+
+        assertEquals(1, idle.boards());
+        idle.publish(2L, list(12));
+        assertEquals(List.of(12L), ids(received.get(0)));
+    }
+}
@@ -0,0 +1,87 @@
+package server.service;
+
+import commons.Board;
+import commons.TaskList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import server.database.BoardRepositoryTest;
+import server.database.ListRepositoryTest;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ListServiceTest {
+
+    private ListRepositoryTest repo;
+    private ListService service;
+    private Board board;
+
+    @BeforeEach
+    void setup() {
+        repo = new ListRepositoryTest();
+        BoardRepositoryTest boards = new BoardRepositoryTest();
+        board = boards.save(new Board("board"));
+        service = new ListService(repo, boards);
+        for (String name : new String[] {"A", "B", "C", "D"}) {
+            service.addList(new TaskList(name, board), board.id);
+        }
+    }
+
+    private List<String> namesInOrder() {
+        return repo.findNotDeletedListsByBoardId(board.id).stream().map(l -> l.name)
+            .collect(Collectors.toList());
+    }
+
+    private List<Integer> indexesInOrder() {
+        return repo.findNotDeletedListsByBoardId(board.id).stream().map(l -> l.index)
+            .collect(Collectors.toList());
+    }
+
+    private TaskList moveTo(String name, int index) {
+        TaskList info = new TaskList();
+        info.id = repo.lists.stream().filter(l -> l.name.equals(name)).findFirst().get().id;
+        info.index = index;
+        return info;
+    }
+
+    @Test
+    void moveListForward() {
+        service.editList(moveTo("A", 2));
+
+        assertEquals(List.of("B", "C", "A", "D"), namesInOrder());
+        assertEquals(List.of(0, 1, 2, 3), indexesInOrder());
+    }
+
+    @Test
+    void moveListBackward() {
+        service.editList(moveTo("D", 1));
+
+        assertEquals(List.of("A", "D", "B", "C"), namesInOrder());
+    }
+
+    @Test
+    void moveListPastTheEnd() {
+        service.editList(moveTo("A", 10));
+
+        assertEquals(List.of("B", "C", "D", "A"), namesInOrder());
+    }
+
+    @Test
+    void moveUsesSingleShift() {
+        repo.calledMethods.clear();
+        service.editList(moveTo("B", 3));
+
+        assertEquals(1, repo.calledMethods.stream().filter(m -> m.equals("shiftIndexes")).count());
+        assertEquals(1, repo.calledMethods.stream().filter(m -> m.equals("save")).count());
+    }
+
+    @Test
+    void removeListShiftsFollowingLists() {
+        service.removeListFromBoard(moveTo("B", 0).id);
+
+        assertEquals(List.of("A", "C", "D"), namesInOrder());
+        assertEquals(List.of(0, 1, 2), indexesInOrder());
+    }
+}
@@ -0,0 +1,33 @@
+package server.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PaginationTest {
+
+    @Test
+    void firstPageStartsBeforeEveryId() {
+        assertEquals(-1L, Pagination.after(null));
+        assertEquals(42L, Pagination.after(42L));
+    }
+
+    @Test
+    void missingLimitUsesTheDefault() {
+        assertEquals(Pagination.DEFAULT_LIMIT, Pagination.limit(null).getPageSize());
+    }
+
+    @Test
+    void limitIsKeptWithinBounds() {
+        assertEquals(1, Pagination.limit(0).getPageSize());
+        assertEquals(1, Pagination.limit(-5).getPageSize());
+        assertEquals(7, Pagination.limit(7).getPageSize());
+        assertEquals(Pagination.MAX_LIMIT, Pagination.limit(Pagination.MAX_LIMIT).getPageSize());
+        assertEquals(Pagination.MAX_LIMIT, Pagination.limit(Integer.MAX_VALUE).getPageSize());
+    }
+
+    @Test
+    void pageStartsAtTheKeyset() {
+        assertEquals(0, Pagination.limit(10).getPageNumber());
+    }
+}